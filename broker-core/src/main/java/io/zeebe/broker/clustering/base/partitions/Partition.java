@@ -28,6 +28,7 @@ import io.zeebe.broker.exporter.stream.ExporterColumnFamilies;
 import io.zeebe.broker.exporter.stream.ExportersState;
 import io.zeebe.broker.logstreams.state.DefaultOnDemandSnapshotReplication;
 import io.zeebe.broker.system.configuration.BrokerCfg;
+import io.zeebe.broker.transport.clientapi.CommandRateLimiter;
 import io.zeebe.db.ZeebeDb;
 import io.zeebe.engine.state.DefaultZeebeDbFactory;
 import io.zeebe.engine.state.StateStorageFactory;
@@ -67,6 +68,7 @@ public class Partition implements Service<Partition> {
   private final Injector<StateStorageFactory> stateStorageFactoryInjector = new Injector<>();
   private final int partitionId;
   private final RaftState state;
+  private final CommandRateLimiter commandRateLimiter = new CommandRateLimiter();
 
   private LogStream logStream;
   private SnapshotController exporterSnapshotController;
@@ -115,7 +117,11 @@ public class Partition implements Service<Partition> {
 
     processorSnapshotController =
         new StateSnapshotController(
-            DefaultZeebeDbFactory.DEFAULT_DB_FACTORY,
+            DefaultZeebeDbFactory.newFactory(
+                brokerCfg
+                    .getData()
+                    .getRocksDb()
+                    .createConfiguration(DefaultZeebeDbFactory.defaultConfiguration())),
             stateStorage,
             processorStateReplication,
             brokerCfg.getData().getMaxSnapshots());
@@ -135,13 +141,13 @@ public class Partition implements Service<Partition> {
       processorSnapshotRequestServer.serve(
           request -> {
             LOG.info("Received snapshot replication request for partition {}", partitionId);
-            processorSnapshotController.replicateLatestSnapshot(r -> r.run());
+            processorSnapshotController.replicateLatestSnapshotFully(r -> r.run());
           });
       exporterSnapshotRequestServer =
           new DefaultOnDemandSnapshotReplication(
               communicationService, partitionId, exporterProcessorName, executor);
       exporterSnapshotRequestServer.serve(
-          request -> exporterSnapshotController.replicateLatestSnapshot(r -> r.run()));
+          request -> exporterSnapshotController.replicateLatestSnapshotFully(r -> r.run()));
     }
   }
 
@@ -215,6 +221,10 @@ public class Partition implements Service<Partition> {
     return state;
   }
 
+  public CommandRateLimiter getCommandRateLimiter() {
+    return commandRateLimiter;
+  }
+
   public LogStream getLogStream() {
     return logStream;
   }
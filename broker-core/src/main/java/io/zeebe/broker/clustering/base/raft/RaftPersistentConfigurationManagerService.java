@@ -27,6 +27,7 @@ import io.zeebe.servicecontainer.ServiceStopContext;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.List;
 
 public class RaftPersistentConfigurationManagerService
     implements Service<StorageConfigurationManager> {
@@ -41,7 +42,25 @@ public class RaftPersistentConfigurationManagerService
   public void start(ServiceStartContext startContext) {
     final DataCfg dataConfiguration = configuration.getData();
 
-    for (String directory : dataConfiguration.getDirectories()) {
+    createDirectories(dataConfiguration.getDirectories());
+    createDirectories(dataConfiguration.getStateDirectories());
+
+    service =
+        new StorageConfigurationManager(
+            dataConfiguration.getDirectories(),
+            dataConfiguration.getStateDirectories(),
+            dataConfiguration.getDefaultLogSegmentSize(),
+            dataConfiguration.getIndexBlockSize(),
+            dataConfiguration.getLogWriteBufferSize());
+
+    /* A temp solution so that DistributedLogstream primitive can create logs in this directory */
+    LogstreamConfig.putConfig(String.valueOf(configuration.getCluster().getNodeId()), service);
+
+    startContext.async(startContext.getScheduler().submitActor(service));
+  }
+
+  private void createDirectories(List<String> directories) {
+    for (String directory : directories) {
       final File configDirectory = new File(directory);
 
       if (!configDirectory.exists()) {
@@ -53,17 +72,6 @@ public class RaftPersistentConfigurationManagerService
         }
       }
     }
-
-    service =
-        new StorageConfigurationManager(
-            configuration.getData().getDirectories(),
-            configuration.getData().getDefaultLogSegmentSize(),
-            configuration.getData().getIndexBlockSize());
-
-    /* A temp solution so that DistributedLogstream primitive can create logs in this directory */
-    LogstreamConfig.putConfig(String.valueOf(configuration.getCluster().getNodeId()), service);
-
-    startContext.async(startContext.getScheduler().submitActor(service));
   }
 
   @Override
@@ -40,9 +40,18 @@ public class EngineComponent implements Component {
     final Duration snapshotPeriod =
         DurationUtil.parse(brokerConfiguration.getData().getSnapshotPeriod());
     final int maxSnapshots = brokerConfiguration.getData().getMaxSnapshots();
+    final int commitBatchSize = brokerConfiguration.getData().getProcessingCommitBatchSize();
+    final Duration commitBatchDuration =
+        DurationUtil.parse(brokerConfiguration.getData().getProcessingCommitBatchDuration());
 
     final StreamProcessorServiceFactory streamProcessorFactory =
-        new StreamProcessorServiceFactory(serviceContainer, snapshotPeriod, maxSnapshots);
+        new StreamProcessorServiceFactory(
+            serviceContainer,
+            snapshotPeriod,
+            maxSnapshots,
+            commitBatchSize,
+            commitBatchDuration,
+            brokerConfiguration.getData().isSpeculativeProcessing());
     serviceContainer
         .createService(STREAM_PROCESSOR_SERVICE_FACTORY, streamProcessorFactory)
         .install();
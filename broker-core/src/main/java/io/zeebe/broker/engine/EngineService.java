@@ -17,6 +17,8 @@
  */
 package io.zeebe.broker.engine;
 
+import static io.zeebe.protocol.Protocol.JOBS_AVAILABLE_TOPIC;
+
 import io.atomix.core.Atomix;
 import io.zeebe.broker.clustering.base.partitions.Partition;
 import io.zeebe.broker.clustering.base.topology.TopologyManager;
@@ -102,7 +104,8 @@ public class EngineService implements Service<EngineService> {
               final TypedStreamEnvironment streamEnvironment =
                   new TypedStreamEnvironment(
                       partition.getLogStream(),
-                      new CommandResponseWriterImpl(clientApiTransport.getOutput()));
+                      new CommandResponseWriterImpl(
+                          clientApiTransport.getOutput(), partition.getCommandRateLimiter()));
 
               return createTypedStreamProcessor(actor, partitionId, streamEnvironment, zeebeState);
             })
@@ -206,7 +209,10 @@ public class EngineService implements Service<EngineService> {
 
   private void addJobProcessors(
       ZeebeState zeebeState, TypedEventStreamProcessorBuilder typedProcessorBuilder) {
-    JobEventProcessors.addJobProcessors(typedProcessorBuilder, zeebeState);
+    JobEventProcessors.addJobProcessors(
+        typedProcessorBuilder,
+        zeebeState,
+        type -> atomix.getEventService().broadcast(JOBS_AVAILABLE_TOPIC, type));
   }
 
   private void addMessageProcessors(
@@ -43,13 +43,24 @@ public class StreamProcessorServiceFactory implements Service<StreamProcessorSer
   private final ServiceContainer serviceContainer;
   private final Duration snapshotPeriod;
   private final int maxSnapshots;
+  private final int commitBatchSize;
+  private final Duration commitBatchDuration;
+  private final boolean speculativeProcessing;
   private ActorScheduler actorScheduler;
 
   public StreamProcessorServiceFactory(
-      ServiceContainer serviceContainer, Duration snapshotPeriod, int maxSnapshots) {
+      ServiceContainer serviceContainer,
+      Duration snapshotPeriod,
+      int maxSnapshots,
+      int commitBatchSize,
+      Duration commitBatchDuration,
+      boolean speculativeProcessing) {
     this.serviceContainer = serviceContainer;
     this.snapshotPeriod = snapshotPeriod;
     this.maxSnapshots = maxSnapshots;
+    this.commitBatchSize = commitBatchSize;
+    this.commitBatchDuration = commitBatchDuration;
+    this.speculativeProcessing = speculativeProcessing;
   }
 
   @Override
@@ -125,6 +136,8 @@ public class StreamProcessorServiceFactory implements Service<StreamProcessorSer
           .snapshotController(snapshotController)
           .snapshotPeriod(snapshotPeriod)
           .maxSnapshots(maxSnapshots)
+          .commitBatch(commitBatchSize, commitBatchDuration)
+          .speculativeProcessing(speculativeProcessing)
           .logStream(logStream)
           .eventFilter(eventFilter)
           .additionalDependencies(additionalDependencies)
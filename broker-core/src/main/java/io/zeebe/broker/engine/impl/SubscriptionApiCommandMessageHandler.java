@@ -17,6 +17,7 @@
  */
 package io.zeebe.broker.engine.impl;
 
+import io.zeebe.broker.Loggers;
 import io.zeebe.broker.clustering.base.partitions.Partition;
 import io.zeebe.engine.processor.workflow.message.command.CloseMessageSubscriptionCommand;
 import io.zeebe.engine.processor.workflow.message.command.CloseMessageSubscriptionDecoder;
@@ -33,8 +34,8 @@ import io.zeebe.engine.processor.workflow.message.command.OpenWorkflowInstanceSu
 import io.zeebe.engine.processor.workflow.message.command.OpenWorkflowInstanceSubscriptionDecoder;
 import io.zeebe.engine.processor.workflow.message.command.RejectCorrelateMessageSubscriptionCommand;
 import io.zeebe.engine.processor.workflow.message.command.RejectCorrelateMessageSubscriptionDecoder;
-import io.zeebe.logstreams.log.LogStreamRecordWriter;
-import io.zeebe.logstreams.log.LogStreamWriterImpl;
+import io.zeebe.logstreams.log.LogStreamBatchWriter;
+import io.zeebe.logstreams.log.LogStreamBatchWriterImpl;
 import io.zeebe.msgpack.UnpackedObject;
 import io.zeebe.protocol.Protocol;
 import io.zeebe.protocol.clientapi.RecordType;
@@ -45,16 +46,28 @@ import io.zeebe.protocol.impl.record.value.message.WorkflowInstanceSubscriptionR
 import io.zeebe.protocol.intent.Intent;
 import io.zeebe.protocol.intent.MessageSubscriptionIntent;
 import io.zeebe.protocol.intent.WorkflowInstanceSubscriptionIntent;
+import io.zeebe.util.retry.EndlessRetryStrategy;
+import io.zeebe.util.retry.RetryStrategy;
 import io.zeebe.util.sched.ActorControl;
+import io.zeebe.util.sched.future.ActorFuture;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import org.agrona.DirectBuffer;
 import org.agrona.collections.Int2ObjectHashMap;
 import org.agrona.concurrent.UnsafeBuffer;
+import org.slf4j.Logger;
 
+/**
+ * Writes the received subscription commands to the log streams of the partitions. The commands of a
+ * frame are written in one batch per partition. If a batch can't be written (e.g. because of
+ * backpressure), then it is retried before the next frame is handled, so that the commands keep
+ * their order.
+ */
 public class SubscriptionApiCommandMessageHandler
     implements Function<byte[], CompletableFuture<Void>> {
 
+  private static final Logger LOG = Loggers.CLUSTERING_LOGGER;
+
   private final MessageHeaderDecoder messageHeaderDecoder = new MessageHeaderDecoder();
 
   private final OpenMessageSubscriptionCommand openMessageSubscriptionCommand =
@@ -79,7 +92,7 @@ public class SubscriptionApiCommandMessageHandler
   private final RejectCorrelateMessageSubscriptionCommand resetMessageCorrelationCommand =
       new RejectCorrelateMessageSubscriptionCommand();
 
-  private final LogStreamRecordWriter logStreamWriter = new LogStreamWriterImpl();
+  private final Int2ObjectHashMap<PartitionBatch> partitionBatches = new Int2ObjectHashMap<>();
   private final RecordMetadata recordMetadata = new RecordMetadata();
 
   private final MessageSubscriptionRecord messageSubscriptionRecord =
@@ -90,11 +103,13 @@ public class SubscriptionApiCommandMessageHandler
 
   private final Int2ObjectHashMap<Partition> leaderPartitions;
   private final ActorControl actor;
+  private final RetryStrategy writeRetryStrategy;
 
   public SubscriptionApiCommandMessageHandler(
       ActorControl actor, Int2ObjectHashMap<Partition> leaderPartitions) {
     this.leaderPartitions = leaderPartitions;
     this.actor = actor;
+    this.writeRetryStrategy = new EndlessRetryStrategy(actor);
   }
 
   @Override
@@ -102,44 +117,53 @@ public class SubscriptionApiCommandMessageHandler
     final CompletableFuture<Void> future = new CompletableFuture<>();
     actor.call(
         () -> {
-          final DirectBuffer buffer = new UnsafeBuffer(bytes);
-          final int offset = 0;
-          final int length = buffer.capacity();
-          messageHeaderDecoder.wrap(buffer, offset);
-
-          if (messageHeaderDecoder.schemaId() == OpenMessageSubscriptionDecoder.SCHEMA_ID) {
-
-            switch (messageHeaderDecoder.templateId()) {
-              case OpenMessageSubscriptionDecoder.TEMPLATE_ID:
-                onOpenMessageSubscription(buffer, offset, length);
-                break;
-              case OpenWorkflowInstanceSubscriptionDecoder.TEMPLATE_ID:
-                onOpenWorkflowInstanceSubscription(buffer, offset, length);
-                break;
-              case CorrelateWorkflowInstanceSubscriptionDecoder.TEMPLATE_ID:
-                onCorrelateWorkflowInstanceSubscription(buffer, offset, length);
-                break;
-              case CorrelateMessageSubscriptionDecoder.TEMPLATE_ID:
-                onCorrelateMessageSubscription(buffer, offset, length);
-                break;
-              case CloseMessageSubscriptionDecoder.TEMPLATE_ID:
-                onCloseMessageSubscription(buffer, offset, length);
-                break;
-              case CloseWorkflowInstanceSubscriptionDecoder.TEMPLATE_ID:
-                onCloseWorkflowInstanceSubscription(buffer, offset, length);
-                break;
-              case RejectCorrelateMessageSubscriptionDecoder.TEMPLATE_ID:
-                onRejectCorrelateMessageSubscription(buffer, offset, length);
-                break;
-              default:
-                break;
-            }
+          final DirectBuffer frame = new UnsafeBuffer(bytes);
+          if (!SubscriptionCommandBatch.forEachCommand(frame, this::onCommand)) {
+            LOG.warn("Ignore subscription commands of an unknown frame type.");
+            future.complete(null);
+            return;
           }
-          future.complete(null);
+
+          // blocks the actor until the batches are written
+          final ActorFuture<Boolean> written = writeRetryStrategy.runWithRetry(this::tryWrite);
+          actor.runOnCompletion(written, (result, error) -> future.complete(null));
         });
     return future;
   }
 
+  private void onCommand(final DirectBuffer buffer, final int offset, final int length) {
+    messageHeaderDecoder.wrap(buffer, offset);
+
+    if (messageHeaderDecoder.schemaId() == OpenMessageSubscriptionDecoder.SCHEMA_ID) {
+
+      switch (messageHeaderDecoder.templateId()) {
+        case OpenMessageSubscriptionDecoder.TEMPLATE_ID:
+          onOpenMessageSubscription(buffer, offset, length);
+          break;
+        case OpenWorkflowInstanceSubscriptionDecoder.TEMPLATE_ID:
+          onOpenWorkflowInstanceSubscription(buffer, offset, length);
+          break;
+        case CorrelateWorkflowInstanceSubscriptionDecoder.TEMPLATE_ID:
+          onCorrelateWorkflowInstanceSubscription(buffer, offset, length);
+          break;
+        case CorrelateMessageSubscriptionDecoder.TEMPLATE_ID:
+          onCorrelateMessageSubscription(buffer, offset, length);
+          break;
+        case CloseMessageSubscriptionDecoder.TEMPLATE_ID:
+          onCloseMessageSubscription(buffer, offset, length);
+          break;
+        case CloseWorkflowInstanceSubscriptionDecoder.TEMPLATE_ID:
+          onCloseWorkflowInstanceSubscription(buffer, offset, length);
+          break;
+        case RejectCorrelateMessageSubscriptionDecoder.TEMPLATE_ID:
+          onRejectCorrelateMessageSubscription(buffer, offset, length);
+          break;
+        default:
+          break;
+      }
+    }
+  }
+
   private boolean onOpenMessageSubscription(DirectBuffer buffer, int offset, int length) {
     openMessageSubscriptionCommand.wrap(buffer, offset, length);
 
@@ -285,6 +309,10 @@ public class SubscriptionApiCommandMessageHandler
         messageSubscriptionRecord);
   }
 
+  /**
+   * Adds the command to the batch of the partition. The commands of a frame are written together
+   * when the whole frame is read.
+   */
   private boolean writeCommand(
       int partitionId, ValueType valueType, Intent intent, UnpackedObject command) {
 
@@ -294,13 +322,65 @@ public class SubscriptionApiCommandMessageHandler
       return true;
     }
 
-    logStreamWriter.wrap(partition.getLogStream());
-
     recordMetadata.reset().recordType(RecordType.COMMAND).valueType(valueType).intent(intent);
 
-    final long position =
-        logStreamWriter.key(-1).metadataWriter(recordMetadata).valueWriter(command).tryWrite();
+    partitionBatches
+        .computeIfAbsent(partitionId, PartitionBatch::new)
+        .add(partition, recordMetadata, command);
+    return true;
+  }
+
+  private boolean tryWrite() {
+    boolean isWritten = true;
+    for (final PartitionBatch batch : partitionBatches.values()) {
+      isWritten &= batch.tryWrite();
+    }
+    return isWritten;
+  }
+
+  private final class PartitionBatch {
+    private final LogStreamBatchWriter writer = new LogStreamBatchWriterImpl();
+    private final int partitionId;
+    private Partition partition;
+    private int eventCount;
 
-    return position > 0;
+    PartitionBatch(int partitionId) {
+      this.partitionId = partitionId;
+    }
+
+    void add(Partition partition, RecordMetadata metadata, UnpackedObject command) {
+      if (this.partition != partition) {
+        // the partition became leader again, the batch of the former term was written already
+        this.partition = partition;
+        writer.wrap(partition.getLogStream());
+      }
+
+      writer.event().key(-1).metadataWriter(metadata).valueWriter(command).done();
+      eventCount += 1;
+    }
+
+    boolean tryWrite() {
+      if (eventCount == 0) {
+        return true;
+      }
+
+      if (leaderPartitions.get(partitionId) != partition) {
+        // the partition is not led anymore, the senders send the commands again to the new leader
+        discard();
+        return true;
+      }
+
+      if (writer.tryWrite() < 0) {
+        return false;
+      }
+
+      discard();
+      return true;
+    }
+
+    private void discard() {
+      writer.reset();
+      eventCount = 0;
+    }
   }
 }
@@ -0,0 +1,129 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.engine.impl;
+
+import static org.agrona.BitUtil.SIZE_OF_INT;
+
+import io.zeebe.protocol.Protocol;
+import io.zeebe.util.buffer.BufferWriter;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+
+/**
+ * A frame of subscription commands which are sent together as one message to a partition.
+ *
+ * <pre>
+ * +-----------------------+
+ * | frame type (int32)    |
+ * +-----------------------+
+ * | command count (int32) |
+ * +-----------------------+------------------+
+ * | command length (int32) | command (SBE)   |  * command count
+ * +------------------------+-----------------+
+ * </pre>
+ *
+ * The frame type marks the frame as a batch and holds its version. Its sign bit is set, so it can't
+ * be confused with the SBE header of a single command, which was sent without a frame before.
+ */
+public class SubscriptionCommandBatch {
+
+  private static final int FRAME_TYPE = 0x8000_0001;
+
+  private static final int FRAME_TYPE_OFFSET = 0;
+  private static final int COUNT_OFFSET = FRAME_TYPE_OFFSET + SIZE_OF_INT;
+  private static final int COMMANDS_OFFSET = COUNT_OFFSET + SIZE_OF_INT;
+  private static final int INITIAL_CAPACITY = 1024;
+
+  private final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer(INITIAL_CAPACITY);
+
+  private int length = COMMANDS_OFFSET;
+  private int count;
+
+  public void add(final BufferWriter command) {
+    final int commandLength = command.getLength();
+    final int commandOffset = length + SIZE_OF_INT;
+    buffer.checkLimit(commandOffset + commandLength);
+
+    buffer.putInt(length, commandLength, Protocol.ENDIANNESS);
+    command.write(buffer, commandOffset);
+
+    length = commandOffset + commandLength;
+    count += 1;
+  }
+
+  public boolean isEmpty() {
+    return count == 0;
+  }
+
+  /** @return the length of the frame in bytes */
+  public int getLength() {
+    return length;
+  }
+
+  public byte[] toByteArray() {
+    buffer.putInt(FRAME_TYPE_OFFSET, FRAME_TYPE, Protocol.ENDIANNESS);
+    buffer.putInt(COUNT_OFFSET, count, Protocol.ENDIANNESS);
+
+    final byte[] bytes = new byte[length];
+    buffer.getBytes(0, bytes);
+    return bytes;
+  }
+
+  public void reset() {
+    length = COMMANDS_OFFSET;
+    count = 0;
+  }
+
+  /**
+   * Calls the given consumer for each command of the frame. A frame without a frame type is read as
+   * one command.
+   *
+   * @return {@code false} if the frame has an unknown frame type, i.e. is sent by a newer version
+   */
+  public static boolean forEachCommand(final DirectBuffer frame, final CommandConsumer consumer) {
+    final int frameType =
+        frame.capacity() >= COMMANDS_OFFSET
+            ? frame.getInt(FRAME_TYPE_OFFSET, Protocol.ENDIANNESS)
+            : 0;
+
+    if (frameType >= 0) {
+      consumer.accept(frame, 0, frame.capacity());
+      return true;
+    } else if (frameType != FRAME_TYPE) {
+      return false;
+    }
+
+    final int count = frame.getInt(COUNT_OFFSET, Protocol.ENDIANNESS);
+
+    int offset = COMMANDS_OFFSET;
+    for (int i = 0; i < count; i++) {
+      final int commandLength = frame.getInt(offset, Protocol.ENDIANNESS);
+      offset += SIZE_OF_INT;
+
+      consumer.accept(frame, offset, commandLength);
+      offset += commandLength;
+    }
+
+    return true;
+  }
+
+  @FunctionalInterface
+  public interface CommandConsumer {
+    void accept(DirectBuffer buffer, int offset, int length);
+  }
+}
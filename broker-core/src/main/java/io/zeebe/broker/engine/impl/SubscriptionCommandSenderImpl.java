@@ -35,9 +35,7 @@ import io.zeebe.protocol.Protocol;
 import io.zeebe.util.buffer.BufferWriter;
 import io.zeebe.util.sched.ActorControl;
 import org.agrona.DirectBuffer;
-import org.agrona.MutableDirectBuffer;
 import org.agrona.collections.Int2ObjectHashMap;
-import org.agrona.concurrent.UnsafeBuffer;
 
 /**
  * Send commands via the subscription endpoint. The commands are send as single messages (instead of request-response).
@@ -59,6 +57,10 @@ import org.agrona.concurrent.UnsafeBuffer;
  * |                                                   Workflow Instance Partition                                                        |
  * +--------------------------------------------------------------------------------------------------------------------------------------+
  * <pre>
+ *
+ * The commands are not send immediately, but collected per receiver partition. All commands which
+ * are collected within the same job of the actor (e.g. when the pending subscriptions are checked)
+ * are send together as one message (see {@link SubscriptionCommandBatch}) at the end of the job.
  */
 public class SubscriptionCommandSenderImpl implements SubscriptionCommandSender {
 
@@ -84,10 +86,17 @@ public class SubscriptionCommandSenderImpl implements SubscriptionCommandSender
   private final RejectCorrelateMessageSubscriptionCommand
       rejectCorrelateMessageSubscriptionCommand = new RejectCorrelateMessageSubscriptionCommand();
 
+  private static final int MAX_BATCH_LENGTH = 64 * 1024;
+
+  private final Int2ObjectHashMap<SubscriptionCommandBatch> pendingBatches =
+      new Int2ObjectHashMap<>();
+
   private final Atomix atomix;
 
   private int partitionId;
   private TopologyPartitionListenerImpl partitionListener;
+  private ActorControl actor;
+  private boolean isFlushScheduled;
 
   public SubscriptionCommandSenderImpl(Atomix atomix) {
     this.atomix = atomix;
@@ -96,6 +105,7 @@ public class SubscriptionCommandSenderImpl implements SubscriptionCommandSender
   public void init(
       final TopologyManager topologyManager, final ActorControl actor, final LogStream logStream) {
     this.partitionId = logStream.getPartitionId();
+    this.actor = actor;
 
     this.partitionListener = new TopologyPartitionListenerImpl(actor);
     topologyManager.addTopologyPartitionListener(partitionListener);
@@ -222,20 +232,50 @@ public class SubscriptionCommandSenderImpl implements SubscriptionCommandSender
   private boolean sendSubscriptionCommand(
       final int receiverPartitionId, final BufferWriter command) {
 
-    final Int2ObjectHashMap<NodeInfo> partitionLeaders = partitionListener.getPartitionLeaders();
-    final NodeInfo partitionLeader = partitionLeaders.get(receiverPartitionId);
+    final NodeInfo partitionLeader = getPartitionLeader(receiverPartitionId);
     if (partitionLeader == null) {
       // retry when no leader is known
       return true;
     }
 
-    final byte bytes[] = new byte[command.getLength()];
-    final MutableDirectBuffer buffer = new UnsafeBuffer(bytes);
-    command.write(buffer, 0);
+    final SubscriptionCommandBatch batch =
+        pendingBatches.computeIfAbsent(receiverPartitionId, p -> new SubscriptionCommandBatch());
+    batch.add(command);
+
+    if (batch.getLength() >= MAX_BATCH_LENGTH) {
+      sendBatch(receiverPartitionId, batch);
+    } else if (!isFlushScheduled) {
+      isFlushScheduled = true;
+      actor.submit(this::flush);
+    }
 
-    atomix
-        .getCommunicationService()
-        .send("subscription", bytes, MemberId.from("" + partitionLeader.getNodeId()));
     return true;
   }
+
+  private void flush() {
+    isFlushScheduled = false;
+    pendingBatches.forEach(this::sendBatch);
+  }
+
+  private void sendBatch(final int receiverPartitionId, final SubscriptionCommandBatch batch) {
+    if (batch.isEmpty()) {
+      return;
+    }
+
+    final NodeInfo partitionLeader = getPartitionLeader(receiverPartitionId);
+    if (partitionLeader != null) {
+      atomix
+          .getCommunicationService()
+          .send(
+              "subscription", batch.toByteArray(), MemberId.from("" + partitionLeader.getNodeId()));
+    }
+    // otherwise, the commands are dropped and sent again when the pending subscriptions are checked
+
+    batch.reset();
+  }
+
+  private NodeInfo getPartitionLeader(final int partitionId) {
+    final Int2ObjectHashMap<NodeInfo> partitionLeaders = partitionListener.getPartitionLeaders();
+    return partitionLeaders.get(partitionId);
+  }
 }
@@ -57,10 +57,19 @@ public class ExporterRepository {
       final Class<? extends Exporter> exporterClass,
       final Map<String, Object> args)
       throws ExporterLoadException {
+    return load(id, exporterClass, args, false);
+  }
+
+  public ExporterDescriptor load(
+      final String id,
+      final Class<? extends Exporter> exporterClass,
+      final Map<String, Object> args,
+      final boolean isolated)
+      throws ExporterLoadException {
     ExporterDescriptor descriptor = exporters.get(id);
 
     if (descriptor == null) {
-      descriptor = new ExporterDescriptor(id, exporterClass, args);
+      descriptor = new ExporterDescriptor(id, exporterClass, args, isolated);
       validate(descriptor);
 
       exporters.put(id, descriptor);
@@ -92,7 +101,7 @@ public class ExporterRepository {
       throw new ExporterLoadException(id, "cannot load specified class", e);
     }
 
-    return load(id, exporterClass, config.getArgs());
+    return load(id, exporterClass, config.getArgs(), config.isIsolated());
   }
 
   private void validate(final ExporterDescriptor descriptor) throws ExporterLoadException {
@@ -25,71 +25,85 @@ import io.zeebe.broker.exporter.repo.ExporterDescriptor;
 import io.zeebe.db.ZeebeDb;
 import io.zeebe.engine.processor.AsyncSnapshotDirector;
 import io.zeebe.engine.processor.EventFilter;
+import io.zeebe.exporter.api.context.Context.RecordFilter;
 import io.zeebe.exporter.api.context.Controller;
 import io.zeebe.exporter.api.record.Record;
 import io.zeebe.exporter.api.spi.Exporter;
+import io.zeebe.logstreams.log.BufferedLogStreamReader;
 import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.logstreams.log.LogStreamReader;
 import io.zeebe.logstreams.log.LoggedEvent;
 import io.zeebe.logstreams.spi.SnapshotController;
+import io.zeebe.protocol.clientapi.RecordType;
+import io.zeebe.protocol.clientapi.ValueType;
 import io.zeebe.protocol.impl.record.RecordMetadata;
+import io.zeebe.protocol.intent.Intent;
 import io.zeebe.servicecontainer.Service;
 import io.zeebe.servicecontainer.ServiceStartContext;
 import io.zeebe.servicecontainer.ServiceStopContext;
 import io.zeebe.util.LangUtil;
 import io.zeebe.util.buffer.BufferUtil;
+import io.zeebe.util.metrics.Metric;
 import io.zeebe.util.metrics.MetricsManager;
+import io.zeebe.util.metrics.Timer;
 import io.zeebe.util.retry.AbortableRetryStrategy;
 import io.zeebe.util.retry.EndlessRetryStrategy;
 import io.zeebe.util.retry.RetryStrategy;
 import io.zeebe.util.sched.Actor;
 import io.zeebe.util.sched.ActorCondition;
+import io.zeebe.util.sched.ActorControl;
 import io.zeebe.util.sched.ActorScheduler;
+import io.zeebe.util.sched.clock.ActorClock;
 import io.zeebe.util.sched.future.ActorFuture;
 import io.zeebe.util.sched.future.CompletableActorFuture;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 
+/**
+ * Exports the records of a partition to the configured exporters. By default, all exporters share
+ * the actor and the log reader of the director. Exporters which are configured as isolated get
+ * their own actor and log reader instead (see {@link ExporterDescriptor#isIsolated()}), so they
+ * can't be slowed down by the other exporters. The positions of all exporters are kept in the
+ * {@link ExportersState} of the director.
+ */
 public class ExporterDirector extends Actor implements Service<ExporterDirector> {
 
   private static final String ERROR_MESSAGE_EXPORTING_ABORTED =
-      "Expected to export record '{}' successfully, but exception was thrown.";
+      "Expected to export records up to position '{}' successfully, but exception was thrown.";
   private static final String ERROR_MESSAGE_RECOVER_FROM_SNAPSHOT_FAILED =
       "Expected to find event with the snapshot position %s in log stream, but nothing was found. Failed to recover '%s'.";
 
   private static final Logger LOG = Loggers.EXPORTER_LOGGER;
   private static final long NO_LAST_WRITTEN_EVENT_POSITION = -1L;
   private static final Consumer<Long> NO_DATA_REMOVER = pos -> {};
-
-  private final RecordMetadata rawMetadata = new RecordMetadata();
+  private static final int MAX_BATCH_SIZE = 100;
 
   private ActorScheduler actorScheduler;
   private final AtomicBoolean isOpened = new AtomicBoolean(false);
 
   private final List<ExporterContainer> containers;
+  private final List<ExporterContainer> sharedContainers;
+  private final List<IsolatedExporter> isolatedExporters = new ArrayList<>();
   private final int partitionId;
 
   private final LogStream logStream;
   private final LogStreamReader logStreamReader;
-  private final RecordExporter recordExporter = new RecordExporter();
+  private final ExportLoop sharedExportLoop;
 
   private final SnapshotController snapshotController;
   private final String name;
   private final ExporterDirectorContext context;
   private final EventFilter eventFilter;
-  private final RetryStrategy exportingRetryStrategy;
-  private final RetryStrategy recordWrapStrategy;
   private ExportersState state;
 
   private ExporterMetrics metrics;
   private AsyncSnapshotDirector asyncSnapshotDirector;
-  private ActorCondition onCommitPositionUpdatedCondition;
-  private long lastExportedPosition;
-  private boolean inExportingPhase;
 
   public ExporterDirector(ExporterDirectorContext context) {
     this.name = context.getName();
@@ -97,13 +111,14 @@ public class ExporterDirector extends Actor implements Service<ExporterDirector>
 
     this.containers =
         context.getDescriptors().stream().map(ExporterContainer::new).collect(Collectors.toList());
+    this.sharedContainers =
+        containers.stream().filter(c -> !c.descriptor.isIsolated()).collect(Collectors.toList());
 
     this.logStream = context.getLogStream();
     this.partitionId = logStream.getPartitionId();
     this.logStreamReader = context.getLogStreamReader();
     this.eventFilter = context.getEventFilter();
-    this.exportingRetryStrategy = new AbortableRetryStrategy(actor);
-    this.recordWrapStrategy = new EndlessRetryStrategy(actor);
+    this.sharedExportLoop = new ExportLoop(actor, logStreamReader, sharedContainers, name);
 
     this.snapshotController = context.getSnapshotController();
   }
@@ -133,6 +148,10 @@ public class ExporterDirector extends Actor implements Service<ExporterDirector>
   protected void onActorStarting() {
     final MetricsManager metricsManager = actorScheduler.getMetricsManager();
     metrics = new ExporterMetrics(metricsManager, getName(), Integer.toString(partitionId));
+    for (final ExporterContainer container : containers) {
+      container.exportTimer = metrics.newExportTimer(container.getId());
+      container.exportLag = metrics.newExportLagMetric(container.getId());
+    }
 
     this.logStreamReader.wrap(logStream);
   }
@@ -160,12 +179,13 @@ public class ExporterDirector extends Actor implements Service<ExporterDirector>
     final ZeebeDb zeebeDb = snapshotController.openDb();
     this.state = new ExportersState(zeebeDb, zeebeDb.createContext());
 
-    final long snapshotPosition = getLowestExporterPosition();
+    final long snapshotPosition = getLowestPosition(sharedContainers);
     final boolean failedToRecoverReader = !logStreamReader.seekToNextEvent(snapshotPosition);
     if (failedToRecoverReader) {
       throw new IllegalStateException(
           String.format(ERROR_MESSAGE_RECOVER_FROM_SNAPSHOT_FAILED, snapshotPosition, getName()));
     }
+    sharedExportLoop.lastExportedPosition = snapshotPosition;
 
     LOG.info(
         "Recovered exporter '{}' from snapshot at lastExportedPosition {}",
@@ -173,6 +193,13 @@ public class ExporterDirector extends Actor implements Service<ExporterDirector>
         snapshotPosition);
   }
 
+  private long getLowestPosition(List<ExporterContainer> containers) {
+    return containers.stream()
+        .mapToLong(container -> state.getPosition(container.getId()))
+        .min()
+        .orElse(ExportersState.VALUE_NOT_FOUND);
+  }
+
   public long getLowestExporterPosition() {
     return state.getLowestPosition();
   }
@@ -185,23 +212,28 @@ public class ExporterDirector extends Actor implements Service<ExporterDirector>
   private void onSnapshotRecovered() {
     installSnapshotting();
 
-    onCommitPositionUpdatedCondition =
-        actor.onCondition(
-            getName() + "-on-commit-lastExportedPosition-updated", this::readNextEvent);
-    logStream.registerOnCommitPositionUpdatedCondition(onCommitPositionUpdatedCondition);
-
-    // start reading
     for (final ExporterContainer container : containers) {
       container.position = state.getPosition(container.getId());
       if (container.position == ExportersState.VALUE_NOT_FOUND) {
         state.setPosition(container.getId(), -1L);
       }
-      container.exporter.open(container);
     }
 
     clearExporterState();
 
-    actor.submit(this::readNextEvent);
+    // start reading
+    for (final ExporterContainer container : sharedContainers) {
+      container.exporter.open(container);
+    }
+    sharedExportLoop.open();
+
+    for (final ExporterContainer container : containers) {
+      if (container.descriptor.isIsolated()) {
+        final IsolatedExporter isolatedExporter = new IsolatedExporter(container);
+        isolatedExporters.add(isolatedExporter);
+        actorScheduler.submitActor(isolatedExporter);
+      }
+    }
   }
 
   private void installSnapshotting() {
@@ -209,7 +241,7 @@ public class ExporterDirector extends Actor implements Service<ExporterDirector>
         new AsyncSnapshotDirector(
             getName(),
             context.getSnapshotPeriod(),
-            () -> actor.call(() -> lastExportedPosition),
+            () -> actor.call(this::getLastExportedPosition),
             () -> CompletableActorFuture.completed(NO_LAST_WRITTEN_EVENT_POSITION),
             snapshotController,
             logStream::registerOnCommitPositionUpdatedCondition,
@@ -222,55 +254,18 @@ public class ExporterDirector extends Actor implements Service<ExporterDirector>
     actorScheduler.submitActor(asyncSnapshotDirector);
   }
 
-  private void skipRecord() {
-    actor.submit(this::readNextEvent);
-    metrics.incrementEventsSkippedCount();
-  }
-
-  private void readNextEvent() {
-    if (isOpened.get() && logStreamReader.hasNext() && !inExportingPhase) {
-      final LoggedEvent currentEvent = logStreamReader.next();
-      if (eventFilter == null || eventFilter.applies(currentEvent)) {
-        inExportingPhase = true;
-        exportEvent(currentEvent);
-      } else {
-        skipRecord();
-      }
+  /** @return the lowest position which was read by the shared and all isolated exporters */
+  private long getLastExportedPosition() {
+    if (isolatedExporters.isEmpty()) {
+      return sharedExportLoop.lastExportedPosition;
     }
-  }
 
-  private void exportEvent(final LoggedEvent event) {
-    final ActorFuture<Boolean> wrapRetryFuture =
-        recordWrapStrategy.runWithRetry(
-            () -> {
-              event.readMetadata(rawMetadata);
-              recordExporter.wrap(event);
-              return true;
-            },
-            this::isClosed);
-
-    actor.runOnCompletion(
-        wrapRetryFuture,
-        (b, t) -> {
-          assert t == null : "Throwable must be null";
-
-          final ActorFuture<Boolean> retryFuture =
-              exportingRetryStrategy.runWithRetry(recordExporter::export, this::isClosed);
-
-          actor.runOnCompletion(
-              retryFuture,
-              (bool, throwable) -> {
-                if (throwable != null) {
-                  LOG.error(ERROR_MESSAGE_EXPORTING_ABORTED, event, throwable);
-                  onFailure();
-                } else {
-                  lastExportedPosition = event.getPosition();
-                  metrics.incrementEventsExportedCount();
-                  inExportingPhase = false;
-                  actor.submit(this::readNextEvent);
-                }
-              });
-        });
+    long position =
+        sharedContainers.isEmpty() ? Long.MAX_VALUE : sharedExportLoop.lastExportedPosition;
+    for (final IsolatedExporter isolatedExporter : isolatedExporters) {
+      position = Math.min(position, isolatedExporter.exportLoop.lastExportedPosition);
+    }
+    return position;
   }
 
   public ExportersState getState() {
@@ -295,12 +290,20 @@ public class ExporterDirector extends Actor implements Service<ExporterDirector>
   @Override
   protected void onActorCloseRequested() {
     isOpened.set(false);
-    for (final ExporterContainer container : containers) {
-      try {
-        container.exporter.close();
-      } catch (final Exception e) {
-        container.context.getLogger().error("Error on close", e);
-      }
+    for (final ExporterContainer container : sharedContainers) {
+      closeExporter(container);
+    }
+
+    for (final IsolatedExporter isolatedExporter : isolatedExporters) {
+      actor.runOnCompletionBlockingCurrentPhase(isolatedExporter.close(), (v, t) -> {});
+    }
+  }
+
+  private static void closeExporter(ExporterContainer container) {
+    try {
+      container.exporter.close();
+    } catch (final Exception e) {
+      container.context.getLogger().error("Error on close", e);
     }
   }
 
@@ -313,7 +316,7 @@ public class ExporterDirector extends Actor implements Service<ExporterDirector>
           if (asyncSnapshotDirector != null) {
             actor.runOnCompletionBlockingCurrentPhase(
                 asyncSnapshotDirector.enforceSnapshotCreation(
-                    NO_LAST_WRITTEN_EVENT_POSITION, lastExportedPosition),
+                    NO_LAST_WRITTEN_EVENT_POSITION, getLastExportedPosition()),
                 (v, ex) -> {
                   try {
                     asyncSnapshotDirector.close();
@@ -331,11 +334,7 @@ public class ExporterDirector extends Actor implements Service<ExporterDirector>
           }
         });
 
-    logStreamReader.close();
-    if (onCommitPositionUpdatedCondition != null) {
-      logStream.removeOnCommitPositionUpdatedCondition(onCommitPositionUpdatedCondition);
-      onCommitPositionUpdatedCondition = null;
-    }
+    sharedExportLoop.close();
   }
 
   @Override
@@ -348,11 +347,19 @@ public class ExporterDirector extends Actor implements Service<ExporterDirector>
   }
 
   private class ExporterContainer implements Controller {
+    private final ExporterDescriptor descriptor;
     private final ExporterContext context;
     private final Exporter exporter;
-    private long position;
+    private final List<Record> batch = new ArrayList<>();
+    // written by the director, read by the actor which exports the records
+    private volatile long position;
+    private volatile long lastUnacknowledgedPosition = -1L;
+    private ActorControl exportActor = actor;
+    private Timer exportTimer;
+    private Metric exportLag;
 
     ExporterContainer(ExporterDescriptor descriptor) {
+      this.descriptor = descriptor;
       context =
           new ExporterContext(
               Loggers.getExporterLogger(descriptor.getId()), descriptor.getConfiguration());
@@ -370,22 +377,269 @@ public class ExporterDirector extends Actor implements Service<ExporterDirector>
 
     @Override
     public void scheduleTask(final Duration delay, final Runnable task) {
-      actor.runDelayed(delay, task);
+      exportActor.runDelayed(delay, task);
     }
 
     private String getId() {
       return context.getConfiguration().getId();
     }
+
+    /**
+     * Updates the position of the exporter if the records were not exported because of its filter.
+     * The position is only updated if the exporter acknowledged all records it received so far,
+     * otherwise these records would not be exported again on recovery.
+     */
+    private void updatePositionOnSkipIfUpToDate(final long skippedPosition) {
+      actor.run(
+          () -> {
+            if (position >= lastUnacknowledgedPosition && position < skippedPosition) {
+              state.setPosition(getId(), skippedPosition);
+              position = skippedPosition;
+            }
+          });
+    }
+
+    private boolean accepts(final Record record) {
+      final io.zeebe.exporter.api.record.RecordMetadata metadata = record.getMetadata();
+      return accepts(metadata.getRecordType(), metadata.getValueType(), metadata.getIntent());
+    }
+
+    private boolean accepts(
+        final RecordType recordType, final ValueType valueType, final Intent intent) {
+      final RecordFilter filter = context.getFilter();
+      return filter.acceptType(recordType)
+          && filter.acceptValue(valueType)
+          && filter.acceptIntent(intent);
+    }
+  }
+
+  /** Runs an exporter on its own actor, with its own log reader. */
+  private class IsolatedExporter extends Actor {
+    private final ExporterContainer container;
+    private final LogStreamReader reader = new BufferedLogStreamReader();
+    private final ExportLoop exportLoop;
+
+    IsolatedExporter(ExporterContainer container) {
+      this.container = container;
+      container.exportActor = actor;
+
+      exportLoop =
+          new ExportLoop(
+              actor,
+              reader,
+              Collections.singletonList(container),
+              ExporterDirector.this.getName() + "-" + container.getId());
+      exportLoop.lastExportedPosition = container.position;
+    }
+
+    @Override
+    public String getName() {
+      return exportLoop.name;
+    }
+
+    ActorFuture<Void> close() {
+      return actor.close();
+    }
+
+    @Override
+    protected void onActorStarted() {
+      reader.wrap(logStream);
+      if (!reader.seekToNextEvent(container.position)) {
+        LOG.error(
+            String.format(
+                ERROR_MESSAGE_RECOVER_FROM_SNAPSHOT_FAILED, container.position, getName()));
+        ExporterDirector.this.actor.run(ExporterDirector.this::onFailure);
+        return;
+      }
+
+      container.exporter.open(container);
+      exportLoop.open();
+    }
+
+    @Override
+    protected void onActorCloseRequested() {
+      closeExporter(container);
+    }
+
+    @Override
+    protected void onActorClosing() {
+      exportLoop.close();
+    }
+  }
+
+  /**
+   * Reads the records from the log and exports them to the exporters, on the given actor. The
+   * available records are collected in a batch, until there are no more records or the batch is
+   * full, and the batch is exported then. Records which are not accepted by any exporter are
+   * skipped before they are deserialized.
+   */
+  private class ExportLoop {
+    private final ActorControl actor;
+    private final LogStreamReader reader;
+    private final List<ExporterContainer> containers;
+    private final String name;
+    private final RecordMetadata rawMetadata = new RecordMetadata();
+    private final RecordExporter recordExporter;
+    private final RetryStrategy exportingRetryStrategy;
+    private final RetryStrategy recordWrapStrategy;
+    private ActorCondition onCommitPositionUpdatedCondition;
+    // written by the actor of the loop, read by the director to take snapshots
+    private volatile long lastExportedPosition;
+    private long lastSkippedPosition = -1L;
+    private boolean inExportingPhase;
+
+    ExportLoop(
+        ActorControl actor,
+        LogStreamReader reader,
+        List<ExporterContainer> containers,
+        String name) {
+      this.actor = actor;
+      this.reader = reader;
+      this.containers = containers;
+      this.name = name;
+      this.recordExporter = new RecordExporter(containers);
+      this.exportingRetryStrategy = new AbortableRetryStrategy(actor);
+      this.recordWrapStrategy = new EndlessRetryStrategy(actor);
+    }
+
+    void open() {
+      if (containers.isEmpty()) {
+        return;
+      }
+
+      onCommitPositionUpdatedCondition =
+          actor.onCondition(name + "-on-commit-lastExportedPosition-updated", this::readNextEvent);
+      logStream.registerOnCommitPositionUpdatedCondition(onCommitPositionUpdatedCondition);
+
+      actor.submit(this::readNextEvent);
+    }
+
+    void close() {
+      reader.close();
+      if (onCommitPositionUpdatedCondition != null) {
+        logStream.removeOnCommitPositionUpdatedCondition(onCommitPositionUpdatedCondition);
+        onCommitPositionUpdatedCondition = null;
+      }
+    }
+
+    private void skipRecord(final LoggedEvent event) {
+      if (recordExporter.getSize() == 0) {
+        // no record before is waiting to be exported
+        lastSkippedPosition = event.getPosition();
+      }
+
+      actor.submit(this::readNextEvent);
+      metrics.incrementEventsSkippedCount();
+    }
+
+    /**
+     * Moves the exporters which are up to date over the records which were skipped because no
+     * exporter accepts them. Otherwise, these records would be read again on recovery and the log
+     * could not be compacted until an exporter accepts a record again.
+     */
+    private void updatePositionsOnSkip() {
+      if (lastSkippedPosition > lastExportedPosition) {
+        for (int i = 0; i < containers.size(); i++) {
+          containers.get(i).updatePositionOnSkipIfUpToDate(lastSkippedPosition);
+        }
+        lastExportedPosition = lastSkippedPosition;
+      }
+    }
+
+    private void readNextEvent() {
+      if (!isOpened.get() || inExportingPhase) {
+        return;
+      }
+
+      if (reader.hasNext() && recordExporter.getSize() < MAX_BATCH_SIZE) {
+        final LoggedEvent currentEvent = reader.next();
+        if (eventFilter == null || eventFilter.applies(currentEvent)) {
+          rawMetadata.reset();
+          currentEvent.readMetadata(rawMetadata);
+
+          if (recordExporter.accepts(rawMetadata)) {
+            inExportingPhase = true;
+            wrapEvent(currentEvent);
+          } else {
+            skipRecord(currentEvent);
+          }
+        } else {
+          skipRecord(currentEvent);
+        }
+      } else if (recordExporter.getSize() > 0) {
+        inExportingPhase = true;
+        exportBatch();
+      } else {
+        updatePositionsOnSkip();
+      }
+    }
+
+    private void wrapEvent(final LoggedEvent event) {
+      final ActorFuture<Boolean> wrapRetryFuture =
+          recordWrapStrategy.runWithRetry(
+              () -> {
+                recordExporter.wrap(event, rawMetadata);
+                return true;
+              },
+              ExporterDirector.this::isClosed);
+
+      actor.runOnCompletion(
+          wrapRetryFuture,
+          (b, t) -> {
+            assert t == null : "Throwable must be null";
+
+            inExportingPhase = false;
+            actor.submit(this::readNextEvent);
+          });
+    }
+
+    private void exportBatch() {
+      final ActorFuture<Boolean> retryFuture =
+          exportingRetryStrategy.runWithRetry(
+              recordExporter::export, ExporterDirector.this::isClosed);
+
+      actor.runOnCompletion(
+          retryFuture,
+          (bool, throwable) -> {
+            if (throwable != null) {
+              LOG.error(ERROR_MESSAGE_EXPORTING_ABORTED, recordExporter.getPosition(), throwable);
+              ExporterDirector.this.actor.run(ExporterDirector.this::onFailure);
+            } else {
+              lastExportedPosition = recordExporter.getPosition();
+              metrics.incrementEventsExportedCount(recordExporter.getSize());
+              recordExporter.reset();
+              inExportingPhase = false;
+              actor.submit(this::readNextEvent);
+            }
+          });
+    }
   }
 
   private class RecordExporter {
     private final ExporterObjectMapper objectMapper = new ExporterObjectMapper();
     private final ExporterRecordMapper recordMapper = new ExporterRecordMapper(objectMapper);
-    private Record record;
-    private boolean shouldExecuteSideEffects;
+    private final List<ExporterContainer> containers;
+    private final List<Record> records = new ArrayList<>();
+    private int size;
+    private long position;
     private int exporterIndex;
 
-    void wrap(LoggedEvent rawEvent) {
+    RecordExporter(List<ExporterContainer> containers) {
+      this.containers = containers;
+    }
+
+    boolean accepts(final RecordMetadata metadata) {
+      for (int i = 0; i < containers.size(); i++) {
+        if (containers
+            .get(i)
+            .accepts(metadata.getRecordType(), metadata.getValueType(), metadata.getIntent())) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    void wrap(LoggedEvent rawEvent, RecordMetadata rawMetadata) {
       final RecordMetadataImpl metadata =
           new RecordMetadataImpl(
               objectMapper,
@@ -396,31 +650,80 @@ public class ExporterDirector extends Actor implements Service<ExporterDirector>
               BufferUtil.bufferAsString(rawMetadata.getRejectionReason()),
               rawMetadata.getValueType());
 
-      record = recordMapper.map(rawEvent, metadata);
+      final Record record = recordMapper.map(rawEvent, metadata);
+      if (record != null) {
+        records.add(record);
+      }
+
+      size++;
+      position = rawEvent.getPosition();
+    }
+
+    /** @return the number of wrapped events, including the ones which can't be exported */
+    int getSize() {
+      return size;
+    }
+
+    /** @return the position of the last wrapped event */
+    long getPosition() {
+      return position;
+    }
+
+    void reset() {
+      records.clear();
+      size = 0;
       exporterIndex = 0;
-      shouldExecuteSideEffects = record != null;
     }
 
     public boolean export() {
-      if (!shouldExecuteSideEffects) {
-        return true;
-      }
-
       final int exportersCount = containers.size();
 
-      // current error handling strategy is simply to repeat forever until the record can be
+      // current error handling strategy is simply to repeat forever until the records can be
       // successfully exported.
       while (exporterIndex < exportersCount) {
         final ExporterContainer container = containers.get(exporterIndex);
+        final List<Record> batch = container.batch;
+
+        batch.clear();
+        for (int i = 0; i < records.size(); i++) {
+          final Record record = records.get(i);
+          if (container.position < record.getPosition() && container.accepts(record)) {
+            batch.add(record);
+          }
+        }
 
         try {
-          if (container.position < record.getPosition()) {
-            container.exporter.export(record);
+          if (!batch.isEmpty()) {
+            final long exportStartTime = container.exportTimer.start();
+            container.exporter.exportBatch(batch);
+            container.exportTimer.stop(exportStartTime);
+
+            final Record lastRecord = batch.get(batch.size() - 1);
+            container.lastUnacknowledgedPosition = lastRecord.getPosition();
+            container.exportLag.setOrdered(
+                ActorClock.currentTimeMillis() - lastRecord.getTimestamp().toEpochMilli());
+          } else {
+            container.updatePositionOnSkipIfUpToDate(position);
           }
 
+          batch.clear();
           exporterIndex++;
         } catch (final Exception ex) {
-          container.context.getLogger().error("Error exporting record {}", record, ex);
+          if (batch.isEmpty()) {
+            container
+                .context
+                .getLogger()
+                .error("Error updating the position on skipped records to {}", position, ex);
+          } else {
+            container
+                .context
+                .getLogger()
+                .error(
+                    "Error exporting records from position {} to {}",
+                    batch.get(0).getPosition(),
+                    batch.get(batch.size() - 1).getPosition(),
+                    ex);
+          }
           return false;
         }
       }
@@ -20,14 +20,27 @@ package io.zeebe.broker.exporter.stream;
 import io.zeebe.engine.processor.SnapshotMetrics;
 import io.zeebe.util.metrics.Metric;
 import io.zeebe.util.metrics.MetricsManager;
+import io.zeebe.util.metrics.Timer;
+import java.util.ArrayList;
+import java.util.List;
 
 public class ExporterMetrics {
   private final Metric eventsExportedCountMetric;
   private final Metric eventsSkippedCountMetric;
   private final SnapshotMetrics snapshotMetrics;
+  private final List<Timer> exportTimers = new ArrayList<>();
+  private final List<Metric> exportLagMetrics = new ArrayList<>();
+
+  private final MetricsManager metricsManager;
+  private final String processorName;
+  private final String partitionId;
 
   public ExporterMetrics(
       final MetricsManager metricsManager, final String processorName, final String partitionId) {
+    this.metricsManager = metricsManager;
+    this.processorName = processorName;
+    this.partitionId = partitionId;
+
     eventsExportedCountMetric =
         metricsManager
             .newMetric("exporter_events_count")
@@ -53,14 +66,54 @@ public class ExporterMetrics {
     eventsExportedCountMetric.close();
     eventsSkippedCountMetric.close();
     snapshotMetrics.close();
+    exportTimers.forEach(Timer::close);
+    exportTimers.clear();
+    exportLagMetrics.forEach(Metric::close);
+    exportLagMetrics.clear();
+  }
+
+  /** Creates a timer for the time the given exporter spends to export a record. */
+  public Timer newExportTimer(final String exporterId) {
+    final Timer timer =
+        metricsManager
+            .newHistogram("exporter_export_latency_microseconds")
+            .description("Time spent by an exporter to export a record")
+            .label("processor", processorName)
+            .label("exporter", exporterId)
+            .label("partition", partitionId)
+            .createTimer();
+
+    exportTimers.add(timer);
+    return timer;
   }
 
-  public void incrementEventsExportedCount() {
-    eventsExportedCountMetric.incrementOrdered();
+  /**
+   * Creates a gauge for the time between writing the last exported record to the log and exporting
+   * it with the given exporter.
+   */
+  public Metric newExportLagMetric(final String exporterId) {
+    final Metric metric =
+        metricsManager
+            .newMetric("exporter_lag_milliseconds")
+            .type("gauge")
+            .description("Time between writing a record and exporting it by an exporter")
+            .label("processor", processorName)
+            .label("exporter", exporterId)
+            .label("partition", partitionId)
+            .create();
+
+    exportLagMetrics.add(metric);
+    return metric;
+  }
+
+  // the counters are updated atomically, as isolated exporters update them from their own actors
+
+  public void incrementEventsExportedCount(final long count) {
+    eventsExportedCountMetric.getAndAdd(count);
   }
 
   public void incrementEventsSkippedCount() {
-    eventsSkippedCountMetric.incrementOrdered();
+    eventsSkippedCountMetric.getAndAdd(1);
   }
 
   public SnapshotMetrics getSnapshotMetrics() {
@@ -408,8 +408,7 @@ public class ExporterRecordMapper {
   }
 
   private String asJson(final DirectBuffer msgPackEncoded) {
-    serderInputStream.wrap(msgPackEncoded);
-    return objectMapper.getMsgPackConverter().convertToJson(serderInputStream);
+    return objectMapper.getMsgPackConverter().convertToJson(msgPackEncoded);
   }
 
   private ResourceType asResourceType(
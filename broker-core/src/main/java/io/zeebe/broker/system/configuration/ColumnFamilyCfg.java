@@ -0,0 +1,108 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.system.configuration;
+
+import io.zeebe.db.impl.rocksdb.ColumnFamilyConfiguration;
+import io.zeebe.util.ByteValue;
+
+/** The RocksDB options of a column family. Options which are not set keep their default. */
+public class ColumnFamilyCfg {
+
+  private String writeBufferSize;
+  private Integer maxWriteBufferNumber;
+  private String compression;
+  private Integer bloomFilterBitsPerKey;
+  private String cacheSize;
+
+  public void applyTo(ColumnFamilyConfiguration configuration) {
+    if (writeBufferSize != null) {
+      configuration.setWriteBufferSize(new ByteValue(writeBufferSize).toBytes());
+    }
+    if (maxWriteBufferNumber != null) {
+      configuration.setMaxWriteBufferNumber(maxWriteBufferNumber);
+    }
+    if (compression != null) {
+      configuration.setCompression(compression);
+    }
+    if (bloomFilterBitsPerKey != null) {
+      configuration.setBloomFilterBitsPerKey(bloomFilterBitsPerKey);
+    }
+    if (cacheSize != null) {
+      configuration.setCacheSize(new ByteValue(cacheSize).toBytes());
+    }
+  }
+
+  public String getWriteBufferSize() {
+    return writeBufferSize;
+  }
+
+  public void setWriteBufferSize(String writeBufferSize) {
+    this.writeBufferSize = writeBufferSize;
+  }
+
+  public Integer getMaxWriteBufferNumber() {
+    return maxWriteBufferNumber;
+  }
+
+  public void setMaxWriteBufferNumber(Integer maxWriteBufferNumber) {
+    this.maxWriteBufferNumber = maxWriteBufferNumber;
+  }
+
+  public String getCompression() {
+    return compression;
+  }
+
+  public void setCompression(String compression) {
+    this.compression = compression;
+  }
+
+  public Integer getBloomFilterBitsPerKey() {
+    return bloomFilterBitsPerKey;
+  }
+
+  public void setBloomFilterBitsPerKey(Integer bloomFilterBitsPerKey) {
+    this.bloomFilterBitsPerKey = bloomFilterBitsPerKey;
+  }
+
+  public String getCacheSize() {
+    return cacheSize;
+  }
+
+  public void setCacheSize(String cacheSize) {
+    this.cacheSize = cacheSize;
+  }
+
+  @Override
+  public String toString() {
+    return "ColumnFamilyCfg{"
+        + "writeBufferSize='"
+        + writeBufferSize
+        + '\''
+        + ", maxWriteBufferNumber="
+        + maxWriteBufferNumber
+        + ", compression='"
+        + compression
+        + '\''
+        + ", bloomFilterBitsPerKey="
+        + bloomFilterBitsPerKey
+        + ", cacheSize='"
+        + cacheSize
+        + '\''
+        + '}';
+  }
+}
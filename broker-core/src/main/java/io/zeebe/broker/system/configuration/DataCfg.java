@@ -18,6 +18,7 @@
 package io.zeebe.broker.system.configuration;
 
 import io.zeebe.util.Environment;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -27,24 +28,40 @@ public class DataCfg implements ConfigurationEntry {
   // Hint: do not use Collections.singletonList as this does not support replaceAll
   private List<String> directories = Arrays.asList(DEFAULT_DIRECTORY);
 
+  private List<String> stateDirectories = new ArrayList<>();
+
   private String defaultLogSegmentSize = "512M";
 
   private String indexBlockSize = "4M";
 
+  private String logWriteBufferSize = "8M";
+
   private String snapshotPeriod = "15m";
 
   private String snapshotReplicationPeriod = "5m";
 
   private int maxSnapshots = 1;
 
+  private int processingCommitBatchSize = 1;
+
+  private String processingCommitBatchDuration = "10ms";
+
+  private boolean speculativeProcessing = false;
+
+  private RocksDbCfg rocksDb = new RocksDbCfg();
+
   @Override
   public void init(BrokerCfg globalConfig, String brokerBase, Environment environment) {
     applyEnvironment(environment);
     directories.replaceAll(d -> ConfigurationUtil.toAbsolutePath(d, brokerBase));
+    stateDirectories.replaceAll(d -> ConfigurationUtil.toAbsolutePath(d, brokerBase));
   }
 
   private void applyEnvironment(final Environment environment) {
     environment.getList(EnvironmentConstants.ENV_DIRECTORIES).ifPresent(v -> directories = v);
+    environment
+        .getList(EnvironmentConstants.ENV_STATE_DIRECTORIES)
+        .ifPresent(v -> stateDirectories = v);
   }
 
   public List<String> getDirectories() {
@@ -55,6 +72,14 @@ public class DataCfg implements ConfigurationEntry {
     this.directories = directories;
   }
 
+  public List<String> getStateDirectories() {
+    return stateDirectories;
+  }
+
+  public void setStateDirectories(List<String> stateDirectories) {
+    this.stateDirectories = stateDirectories;
+  }
+
   public String getDefaultLogSegmentSize() {
     return defaultLogSegmentSize;
   }
@@ -71,6 +96,14 @@ public class DataCfg implements ConfigurationEntry {
     this.indexBlockSize = indexBlockSize;
   }
 
+  public String getLogWriteBufferSize() {
+    return logWriteBufferSize;
+  }
+
+  public void setLogWriteBufferSize(final String logWriteBufferSize) {
+    this.logWriteBufferSize = logWriteBufferSize;
+  }
+
   public String getSnapshotPeriod() {
     return snapshotPeriod;
   }
@@ -95,17 +128,54 @@ public class DataCfg implements ConfigurationEntry {
     return maxSnapshots;
   }
 
+  public int getProcessingCommitBatchSize() {
+    return processingCommitBatchSize;
+  }
+
+  public void setProcessingCommitBatchSize(final int processingCommitBatchSize) {
+    this.processingCommitBatchSize = processingCommitBatchSize;
+  }
+
+  public String getProcessingCommitBatchDuration() {
+    return processingCommitBatchDuration;
+  }
+
+  public void setProcessingCommitBatchDuration(final String processingCommitBatchDuration) {
+    this.processingCommitBatchDuration = processingCommitBatchDuration;
+  }
+
+  public boolean isSpeculativeProcessing() {
+    return speculativeProcessing;
+  }
+
+  public void setSpeculativeProcessing(final boolean speculativeProcessing) {
+    this.speculativeProcessing = speculativeProcessing;
+  }
+
+  public RocksDbCfg getRocksDb() {
+    return rocksDb;
+  }
+
+  public void setRocksDb(RocksDbCfg rocksDb) {
+    this.rocksDb = rocksDb;
+  }
+
   @Override
   public String toString() {
     return "DataCfg{"
         + "directories="
         + directories
+        + ", stateDirectories="
+        + stateDirectories
         + ", defaultLogSegmentSize='"
         + defaultLogSegmentSize
         + '\''
         + ", indexBlockSize='"
         + indexBlockSize
         + '\''
+        + ", logWriteBufferSize='"
+        + logWriteBufferSize
+        + '\''
         + ", snapshotPeriod='"
         + snapshotPeriod
         + '\''
@@ -115,6 +185,16 @@ public class DataCfg implements ConfigurationEntry {
         + ", maxSnapshots='"
         + maxSnapshots
         + '\''
+        + ", processingCommitBatchSize='"
+        + processingCommitBatchSize
+        + '\''
+        + ", processingCommitBatchDuration='"
+        + processingCommitBatchDuration
+        + '\''
+        + ", speculativeProcessing="
+        + speculativeProcessing
+        + ", rocksDb="
+        + rocksDb
         + '}';
   }
 }
@@ -41,6 +41,12 @@ public class ExporterCfg implements ConfigurationEntry {
   /** map of arguments to use when instantiating the exporter */
   private Map<String, Object> args;
 
+  /**
+   * if true, the exporter reads the log with its own reader on its own actor, so it is not slowed
+   * down by the other exporters and does not slow them down
+   */
+  private boolean isolated;
+
   @Override
   public void init(BrokerCfg globalConfig, String brokerBase, Environment environment) {
     if (isExternal()) {
@@ -84,6 +90,14 @@ public class ExporterCfg implements ConfigurationEntry {
     this.args = args;
   }
 
+  public boolean isIsolated() {
+    return isolated;
+  }
+
+  public void setIsolated(boolean isolated) {
+    this.isolated = isolated;
+  }
+
   private boolean isEmpty(final String value) {
     return value == null || value.isEmpty();
   }
@@ -102,6 +116,8 @@ public class ExporterCfg implements ConfigurationEntry {
         + '\''
         + ", args="
         + args
+        + ", isolated="
+        + isolated
         + '}';
   }
 }
@@ -0,0 +1,121 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.system.configuration;
+
+import io.zeebe.db.impl.rocksdb.ColumnFamilyConfiguration;
+import io.zeebe.db.impl.rocksdb.RocksDbConfiguration;
+import io.zeebe.engine.state.ZbColumnFamilies;
+import io.zeebe.util.ByteValue;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The RocksDB options of the workflow engine state. The options are applied on top of the defaults,
+ * see {@link io.zeebe.engine.state.DefaultZeebeDbFactory#defaultConfiguration()}.
+ */
+public class RocksDbCfg {
+
+  private Boolean useWriteBatch;
+  private String blockCacheSize;
+  private ColumnFamilyCfg columnFamilyDefaults = new ColumnFamilyCfg();
+  private Map<String, ColumnFamilyCfg> columnFamilies = new HashMap<>();
+
+  public RocksDbConfiguration createConfiguration(RocksDbConfiguration defaults) {
+    final RocksDbConfiguration configuration = new RocksDbConfiguration(defaults);
+
+    if (useWriteBatch != null) {
+      configuration.setUseWriteBatch(useWriteBatch);
+    }
+
+    if (blockCacheSize != null) {
+      configuration.setBlockCacheSize(new ByteValue(blockCacheSize).toBytes());
+    }
+
+    // the defaults apply to all column families, also to the ones with specific defaults
+    columnFamilyDefaults.applyTo(configuration.getDefaultColumnFamilyConfiguration());
+    configuration.getColumnFamilyConfigurations().values().forEach(columnFamilyDefaults::applyTo);
+
+    columnFamilies.forEach(
+        (name, columnFamilyCfg) -> {
+          ensureIsColumnFamily(name);
+
+          final ColumnFamilyConfiguration columnFamilyConfiguration =
+              new ColumnFamilyConfiguration(configuration.getColumnFamilyConfiguration(name));
+          columnFamilyCfg.applyTo(columnFamilyConfiguration);
+          configuration.setColumnFamilyConfiguration(name, columnFamilyConfiguration);
+        });
+
+    return configuration;
+  }
+
+  private static void ensureIsColumnFamily(String name) {
+    try {
+      ZbColumnFamilies.valueOf(name.toUpperCase());
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException(
+          String.format("Expected '%s' to be the name of a column family, but it is not", name));
+    }
+  }
+
+  public Boolean getUseWriteBatch() {
+    return useWriteBatch;
+  }
+
+  public void setUseWriteBatch(Boolean useWriteBatch) {
+    this.useWriteBatch = useWriteBatch;
+  }
+
+  public String getBlockCacheSize() {
+    return blockCacheSize;
+  }
+
+  public void setBlockCacheSize(String blockCacheSize) {
+    this.blockCacheSize = blockCacheSize;
+  }
+
+  public ColumnFamilyCfg getColumnFamilyDefaults() {
+    return columnFamilyDefaults;
+  }
+
+  public void setColumnFamilyDefaults(ColumnFamilyCfg columnFamilyDefaults) {
+    this.columnFamilyDefaults = columnFamilyDefaults;
+  }
+
+  public Map<String, ColumnFamilyCfg> getColumnFamilies() {
+    return columnFamilies;
+  }
+
+  public void setColumnFamilies(Map<String, ColumnFamilyCfg> columnFamilies) {
+    this.columnFamilies = columnFamilies;
+  }
+
+  @Override
+  public String toString() {
+    return "RocksDbCfg{"
+        + "useWriteBatch="
+        + useWriteBatch
+        + ", blockCacheSize='"
+        + blockCacheSize
+        + '\''
+        + ", columnFamilyDefaults="
+        + columnFamilyDefaults
+        + ", columnFamilies="
+        + columnFamilies
+        + '}';
+  }
+}
@@ -133,6 +133,15 @@ public class ClientApiMessageHandler implements ServerMessageHandler, ServerRequ
           .tryWriteResponseOrLogFailure(output, requestAddress.getStreamId(), requestId);
     }
 
+    final CommandRateLimiter limiter = partition.getCommandRateLimiter();
+    final int requestStreamId = requestAddress.getStreamId();
+
+    if (!limiter.tryAcquire(requestStreamId, requestId)) {
+      return errorResponseWriter
+          .resourceExhausted(partitionId, limiter.getLimit())
+          .tryWriteResponseOrLogFailure(output, requestStreamId, requestId);
+    }
+
     eventMetadata.recordType(RecordType.COMMAND);
     eventMetadata.intent(Intent.fromProtocolValue(eventType, intent));
     eventMetadata.valueType(eventType);
@@ -151,7 +160,13 @@ public class ClientApiMessageHandler implements ServerMessageHandler, ServerRequ
             .value(buffer, eventOffset, eventLength)
             .tryWrite();
 
-    return eventPosition >= 0;
+    if (eventPosition < 0) {
+      // the request is retried by the transport
+      limiter.release(requestStreamId, requestId);
+      return false;
+    }
+
+    return true;
   }
 
   public void addPartition(final Partition partition) {
@@ -0,0 +1,185 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.transport.clientapi;
+
+import io.zeebe.util.sched.clock.ActorClock;
+import java.util.Iterator;
+import java.util.function.LongSupplier;
+import org.agrona.collections.Int2ObjectHashMap;
+import org.agrona.collections.Long2LongHashMap;
+
+/**
+ * Limits the number of commands of a partition which are written to the log but not yet responded
+ * to. The limit adapts to the observed response latency (additive increase, multiplicative
+ * decrease): it grows by one for every response that arrives within the expected latency while the
+ * limit is in use, and shrinks by a constant factor if a response is slower. It shrinks at most
+ * once per expected latency, since a burst of slow responses is caused by the same congestion.
+ *
+ * <p>The limiter is acquired by the client API thread and released by the stream processor which
+ * writes the response, so all access is synchronized.
+ */
+public class CommandRateLimiter {
+  public static final int DEFAULT_INITIAL_LIMIT = 100;
+  public static final int DEFAULT_MIN_LIMIT = 10;
+  public static final int DEFAULT_MAX_LIMIT = 1_000;
+  public static final long DEFAULT_EXPECTED_LATENCY_MILLIS = 200;
+  public static final long DEFAULT_MAX_INFLIGHT_MILLIS = 15_000;
+
+  private static final double BACKOFF_RATIO = 0.9;
+  private static final long MISSING = -1;
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final long expectedLatencyMillis;
+  private final long maxInflightMillis;
+  private final LongSupplier clock;
+
+  /** start times of the in-flight requests, by request stream id and request id */
+  private final Int2ObjectHashMap<Long2LongHashMap> inflightRequests = new Int2ObjectHashMap<>();
+
+  private double limit;
+  private int inflight;
+  private long lastBackoffTime = MISSING;
+
+  public CommandRateLimiter() {
+    this(
+        DEFAULT_INITIAL_LIMIT,
+        DEFAULT_MIN_LIMIT,
+        DEFAULT_MAX_LIMIT,
+        DEFAULT_EXPECTED_LATENCY_MILLIS,
+        DEFAULT_MAX_INFLIGHT_MILLIS,
+        ActorClock::currentTimeMillis);
+  }
+
+  public CommandRateLimiter(
+      final int initialLimit,
+      final int minLimit,
+      final int maxLimit,
+      final long expectedLatencyMillis,
+      final long maxInflightMillis,
+      final LongSupplier clock) {
+    this.limit = initialLimit;
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.expectedLatencyMillis = expectedLatencyMillis;
+    this.maxInflightMillis = maxInflightMillis;
+    this.clock = clock;
+  }
+
+  /**
+   * Tries to admit a new command.
+   *
+   * @return true if the command can be written, false if the partition has too many in-flight
+   *     commands
+   */
+  public synchronized boolean tryAcquire(final int requestStreamId, final long requestId) {
+    final long now = clock.getAsLong();
+
+    if (inflight >= (int) limit) {
+      expireInflightRequests(now);
+
+      if (inflight >= (int) limit) {
+        return false;
+      }
+    }
+
+    inflightRequests
+        .computeIfAbsent(requestStreamId, id -> new Long2LongHashMap(MISSING))
+        .put(requestId, now);
+    inflight += 1;
+
+    return true;
+  }
+
+  /** Releases an admitted command, e.g. if it could not be written to the log. */
+  public synchronized void release(final int requestStreamId, final long requestId) {
+    removeInflightRequest(requestStreamId, requestId);
+  }
+
+  /** Completes an admitted command after its response was sent and adapts the limit. */
+  public synchronized void onResponse(final int requestStreamId, final long requestId) {
+    final long startTime = removeInflightRequest(requestStreamId, requestId);
+
+    if (startTime != MISSING) {
+      final long now = clock.getAsLong();
+      final long latency = now - startTime;
+
+      if (latency > expectedLatencyMillis) {
+        decreaseLimit(now);
+      } else if (inflight + 1 >= limit / 2) {
+        // only grow the limit if it is actually used
+        limit = Math.min(maxLimit, limit + 1);
+      }
+    }
+  }
+
+  public synchronized int getLimit() {
+    return (int) limit;
+  }
+
+  public synchronized int getInflight() {
+    return inflight;
+  }
+
+  private long removeInflightRequest(final int requestStreamId, final long requestId) {
+    final Long2LongHashMap requests = inflightRequests.get(requestStreamId);
+    if (requests == null) {
+      return MISSING;
+    }
+
+    final long startTime = requests.remove(requestId);
+    if (startTime != MISSING) {
+      inflight -= 1;
+    }
+    if (requests.isEmpty()) {
+      inflightRequests.remove(requestStreamId);
+    }
+
+    return startTime;
+  }
+
+  private void expireInflightRequests(final long now) {
+    // commands which are never responded to (e.g. the client is gone or the processing failed)
+    // must not occupy the limit forever
+    final Iterator<Long2LongHashMap> streams = inflightRequests.values().iterator();
+    while (streams.hasNext()) {
+      final Long2LongHashMap requests = streams.next();
+
+      final Long2LongHashMap.EntryIterator entries = requests.entrySet().iterator();
+      while (entries.hasNext()) {
+        entries.next();
+        if (now - entries.getLongValue() > maxInflightMillis) {
+          entries.remove();
+          inflight -= 1;
+          decreaseLimit(now);
+        }
+      }
+
+      if (requests.isEmpty()) {
+        streams.remove();
+      }
+    }
+  }
+
+  private void decreaseLimit(final long now) {
+    if (lastBackoffTime == MISSING || now - lastBackoffTime >= expectedLatencyMillis) {
+      limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+      lastBackoffTime = now;
+    }
+  }
+}
@@ -54,9 +54,15 @@ public class CommandResponseWriterImpl implements CommandResponseWriter, BufferW
 
   protected final ServerResponse response = new ServerResponse();
   protected final ServerOutput output;
+  private final CommandRateLimiter rateLimiter;
 
   public CommandResponseWriterImpl(final ServerOutput output) {
+    this(output, null);
+  }
+
+  public CommandResponseWriterImpl(final ServerOutput output, final CommandRateLimiter limiter) {
     this.output = output;
+    this.rateLimiter = limiter;
   }
 
   public CommandResponseWriterImpl recordType(RecordType recordType) {
@@ -105,7 +111,13 @@ public class CommandResponseWriterImpl implements CommandResponseWriter, BufferW
     try {
       response.reset().remoteStreamId(remoteStreamId).requestId(requestId).writer(this);
 
-      return output.sendResponse(response);
+      final boolean isSent = output.sendResponse(response);
+
+      if (isSent && rateLimiter != null) {
+        rateLimiter.onResponse(remoteStreamId, requestId);
+      }
+
+      return isSent;
     } finally {
       reset();
     }
@@ -0,0 +1,187 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.engine.impl;
+
+import static io.zeebe.test.util.TestUtil.waitUntil;
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.zeebe.broker.clustering.base.partitions.Partition;
+import io.zeebe.broker.util.TestStreams;
+import io.zeebe.engine.processor.workflow.message.command.CloseMessageSubscriptionCommand;
+import io.zeebe.engine.processor.workflow.message.command.CorrelateMessageSubscriptionCommand;
+import io.zeebe.logstreams.log.LogStream;
+import io.zeebe.protocol.clientapi.RecordType;
+import io.zeebe.protocol.clientapi.ValueType;
+import io.zeebe.protocol.impl.record.RecordMetadata;
+import io.zeebe.protocol.intent.Intent;
+import io.zeebe.protocol.intent.MessageSubscriptionIntent;
+import io.zeebe.servicecontainer.testing.ServiceContainerRule;
+import io.zeebe.test.util.AutoCloseableRule;
+import io.zeebe.util.buffer.BufferWriter;
+import io.zeebe.util.sched.Actor;
+import io.zeebe.util.sched.testing.ActorSchedulerRule;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.agrona.collections.Int2ObjectHashMap;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+import org.junit.rules.TemporaryFolder;
+
+public class SubscriptionApiCommandMessageHandlerTest {
+
+  private static final String STREAM_NAME = "stream";
+  private static final int PARTITION_ID = 1;
+
+  private final TemporaryFolder tempFolder = new TemporaryFolder();
+  private final AutoCloseableRule closeables = new AutoCloseableRule();
+  private final ActorSchedulerRule actorSchedulerRule = new ActorSchedulerRule();
+  private final ServiceContainerRule serviceContainerRule =
+      new ServiceContainerRule(actorSchedulerRule);
+
+  @Rule
+  public RuleChain chain =
+      RuleChain.outerRule(tempFolder)
+          .around(actorSchedulerRule)
+          .around(serviceContainerRule)
+          .around(closeables);
+
+  private final Int2ObjectHashMap<Partition> leaderPartitions = new Int2ObjectHashMap<>();
+
+  private TestStreams streams;
+  private SubscriptionApiCommandMessageHandler messageHandler;
+
+  @Before
+  public void setUp() {
+    streams =
+        new TestStreams(
+            tempFolder, closeables, serviceContainerRule.get(), actorSchedulerRule.get());
+    final LogStream logStream = streams.createLogStream(STREAM_NAME, PARTITION_ID);
+
+    final Partition partition = mock(Partition.class);
+    when(partition.getPartitionId()).thenReturn(PARTITION_ID);
+    when(partition.getLogStream()).thenReturn(logStream);
+    leaderPartitions.put(PARTITION_ID, partition);
+
+    final HandlerActor handlerActor = new HandlerActor();
+    actorSchedulerRule.submitActor(handlerActor).join();
+    messageHandler = handlerActor.messageHandler;
+  }
+
+  @Test
+  public void shouldWriteCommandsOfBatch() {
+    // given
+    final SubscriptionCommandBatch batch = new SubscriptionCommandBatch();
+    batch.add(correlateCommand(1L));
+    batch.add(closeCommand(2L));
+    batch.add(correlateCommand(3L));
+
+    // when
+    messageHandler.apply(batch.toByteArray()).join();
+
+    // then
+    waitUntil(() -> streams.events(STREAM_NAME).count() == 3);
+    assertThat(getWrittenIntents())
+        .containsExactly(
+            MessageSubscriptionIntent.CORRELATE,
+            MessageSubscriptionIntent.CLOSE,
+            MessageSubscriptionIntent.CORRELATE);
+  }
+
+  @Test
+  public void shouldWriteSingleCommandWithoutBatch() {
+    // given
+    final CloseMessageSubscriptionCommand command = closeCommand(1L);
+    final UnsafeBuffer buffer = new UnsafeBuffer(new byte[command.getLength()]);
+    command.write(buffer, 0);
+
+    // when
+    messageHandler.apply(buffer.byteArray()).join();
+
+    // then
+    waitUntil(() -> streams.events(STREAM_NAME).count() == 1);
+    assertThat(getWrittenIntents()).containsExactly(MessageSubscriptionIntent.CLOSE);
+  }
+
+  @Test
+  public void shouldIgnoreCommandsForOtherPartitions() {
+    // given
+    final SubscriptionCommandBatch batch = new SubscriptionCommandBatch();
+    batch.add(correlateCommand(PARTITION_ID + 1, 1L));
+    batch.add(correlateCommand(2L));
+
+    // when
+    messageHandler.apply(batch.toByteArray()).join();
+
+    // then
+    waitUntil(() -> streams.events(STREAM_NAME).count() == 1);
+    assertThat(getWrittenIntents()).containsExactly(MessageSubscriptionIntent.CORRELATE);
+  }
+
+  private List<Intent> getWrittenIntents() {
+    return streams
+        .events(STREAM_NAME)
+        .map(
+            event -> {
+              final RecordMetadata metadata = new RecordMetadata();
+              event.readMetadata(metadata);
+
+              assertThat(metadata.getRecordType()).isEqualTo(RecordType.COMMAND);
+              assertThat(metadata.getValueType()).isEqualTo(ValueType.MESSAGE_SUBSCRIPTION);
+              return metadata.getIntent();
+            })
+        .collect(Collectors.toList());
+  }
+
+  private static BufferWriter correlateCommand(final long workflowInstanceKey) {
+    return correlateCommand(PARTITION_ID, workflowInstanceKey);
+  }
+
+  private static BufferWriter correlateCommand(
+      final int partitionId, final long workflowInstanceKey) {
+    final CorrelateMessageSubscriptionCommand command = new CorrelateMessageSubscriptionCommand();
+    command.setSubscriptionPartitionId(partitionId);
+    command.setWorkflowInstanceKey(workflowInstanceKey);
+    command.setElementInstanceKey(workflowInstanceKey + 1);
+    command.getMessageName().wrap(wrapString("message"));
+    return command;
+  }
+
+  private static CloseMessageSubscriptionCommand closeCommand(final long workflowInstanceKey) {
+    final CloseMessageSubscriptionCommand command = new CloseMessageSubscriptionCommand();
+    command.setSubscriptionPartitionId(PARTITION_ID);
+    command.setWorkflowInstanceKey(workflowInstanceKey);
+    command.setElementInstanceKey(workflowInstanceKey + 1);
+    command.setMessageName(wrapString("message"));
+    return command;
+  }
+
+  private final class HandlerActor extends Actor {
+    private SubscriptionApiCommandMessageHandler messageHandler;
+
+    @Override
+    protected void onActorStarting() {
+      messageHandler = new SubscriptionApiCommandMessageHandler(actor, leaderPartitions);
+    }
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.engine.impl;
+
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.engine.processor.workflow.message.command.CloseMessageSubscriptionCommand;
+import io.zeebe.engine.processor.workflow.message.command.CorrelateMessageSubscriptionCommand;
+import io.zeebe.protocol.Protocol;
+import java.util.ArrayList;
+import java.util.List;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Test;
+
+public class SubscriptionCommandBatchTest {
+
+  private final SubscriptionCommandBatch batch = new SubscriptionCommandBatch();
+
+  @Test
+  public void shouldReadWrittenCommands() {
+    // given
+    final CorrelateMessageSubscriptionCommand correlateCommand =
+        new CorrelateMessageSubscriptionCommand();
+    correlateCommand.setSubscriptionPartitionId(1);
+    correlateCommand.setWorkflowInstanceKey(2L);
+    correlateCommand.setElementInstanceKey(3L);
+    correlateCommand.getMessageName().wrap(wrapString("foo"));
+
+    final CloseMessageSubscriptionCommand closeCommand = new CloseMessageSubscriptionCommand();
+    closeCommand.setSubscriptionPartitionId(4);
+    closeCommand.setWorkflowInstanceKey(5L);
+    closeCommand.setElementInstanceKey(6L);
+    closeCommand.setMessageName(wrapString("bar"));
+
+    // when
+    batch.add(correlateCommand);
+    batch.add(closeCommand);
+    final byte[] frame = batch.toByteArray();
+
+    // then
+    final List<Integer> lengths = new ArrayList<>();
+    final CorrelateMessageSubscriptionCommand readCorrelateCommand =
+        new CorrelateMessageSubscriptionCommand();
+    final CloseMessageSubscriptionCommand readCloseCommand = new CloseMessageSubscriptionCommand();
+
+    SubscriptionCommandBatch.forEachCommand(
+        new UnsafeBuffer(frame),
+        (buffer, offset, length) -> {
+          if (lengths.isEmpty()) {
+            readCorrelateCommand.wrap(buffer, offset, length);
+          } else {
+            readCloseCommand.wrap(buffer, offset, length);
+          }
+          lengths.add(length);
+        });
+
+    assertThat(lengths).containsExactly(correlateCommand.getLength(), closeCommand.getLength());
+    assertThat(frame).hasSize(batch.getLength());
+
+    assertThat(readCorrelateCommand.getSubscriptionPartitionId()).isEqualTo(1);
+    assertThat(readCorrelateCommand.getWorkflowInstanceKey()).isEqualTo(2L);
+    assertThat(readCorrelateCommand.getElementInstanceKey()).isEqualTo(3L);
+    assertThat(readCorrelateCommand.getMessageName()).isEqualTo(wrapString("foo"));
+
+    assertThat(readCloseCommand.getSubscriptionPartitionId()).isEqualTo(4);
+    assertThat(readCloseCommand.getWorkflowInstanceKey()).isEqualTo(5L);
+    assertThat(readCloseCommand.getElementInstanceKey()).isEqualTo(6L);
+    assertThat(readCloseCommand.getMessageName()).isEqualTo(wrapString("bar"));
+  }
+
+  @Test
+  public void shouldBeEmptyAfterReset() {
+    // given
+    final CloseMessageSubscriptionCommand closeCommand = new CloseMessageSubscriptionCommand();
+    closeCommand.setMessageName(wrapString("foo"));
+    batch.add(closeCommand);
+
+    // when
+    batch.reset();
+
+    // then
+    assertThat(batch.isEmpty()).isTrue();
+
+    final List<Integer> lengths = new ArrayList<>();
+    SubscriptionCommandBatch.forEachCommand(
+        new UnsafeBuffer(batch.toByteArray()), (buffer, offset, length) -> lengths.add(length));
+    assertThat(lengths).isEmpty();
+  }
+
+  @Test
+  public void shouldReadFrameWithoutFrameTypeAsOneCommand() {
+    // given
+    final CloseMessageSubscriptionCommand closeCommand = new CloseMessageSubscriptionCommand();
+    closeCommand.setMessageName(wrapString("foo"));
+
+    final UnsafeBuffer frame = new UnsafeBuffer(new byte[closeCommand.getLength()]);
+    closeCommand.write(frame, 0);
+
+    // when
+    final List<Integer> lengths = new ArrayList<>();
+    final boolean isKnownFrame =
+        SubscriptionCommandBatch.forEachCommand(
+            frame, (buffer, offset, length) -> lengths.add(length));
+
+    // then
+    assertThat(isKnownFrame).isTrue();
+    assertThat(lengths).containsExactly(closeCommand.getLength());
+  }
+
+  @Test
+  public void shouldNotReadFrameOfUnknownType() {
+    // given
+    final CloseMessageSubscriptionCommand closeCommand = new CloseMessageSubscriptionCommand();
+    closeCommand.setMessageName(wrapString("foo"));
+    batch.add(closeCommand);
+
+    final UnsafeBuffer frame = new UnsafeBuffer(batch.toByteArray());
+    frame.putInt(0, 0x8000_0002, Protocol.ENDIANNESS);
+
+    // when
+    final List<Integer> lengths = new ArrayList<>();
+    final boolean isKnownFrame =
+        SubscriptionCommandBatch.forEachCommand(
+            frame, (buffer, offset, length) -> lengths.add(length));
+
+    // then
+    assertThat(isKnownFrame).isFalse();
+    assertThat(lengths).isEmpty();
+  }
+}
@@ -0,0 +1,214 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.engine.impl;
+
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.atomix.cluster.MemberId;
+import io.atomix.cluster.messaging.ClusterCommunicationService;
+import io.atomix.core.Atomix;
+import io.zeebe.broker.clustering.base.topology.NodeInfo;
+import io.zeebe.broker.clustering.base.topology.TopologyManager;
+import io.zeebe.broker.clustering.base.topology.TopologyPartitionListener;
+import io.zeebe.logstreams.log.LogStream;
+import io.zeebe.transport.SocketAddress;
+import io.zeebe.util.sched.Actor;
+import io.zeebe.util.sched.ActorControl;
+import io.zeebe.util.sched.testing.ControlledActorSchedulerRule;
+import java.util.ArrayList;
+import java.util.List;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class SubscriptionCommandSenderImplTest {
+
+  private static final int PARTITION_ID = 1;
+  private static final int RECEIVER_PARTITION_ID = 2;
+  private static final int RECEIVER_NODE_ID = 3;
+  private static final DirectBuffer MESSAGE_NAME = wrapString("message");
+
+  @Rule public ControlledActorSchedulerRule actorSchedulerRule = new ControlledActorSchedulerRule();
+
+  private final ClusterCommunicationService communicationService =
+      mock(ClusterCommunicationService.class);
+  private final TestActor actor = new TestActor();
+
+  private TopologyPartitionListener partitionListener;
+  private SubscriptionCommandSenderImpl sender;
+
+  @Before
+  public void setUp() {
+    final Atomix atomix = mock(Atomix.class);
+    when(atomix.getCommunicationService()).thenReturn(communicationService);
+
+    final LogStream logStream = mock(LogStream.class);
+    when(logStream.getPartitionId()).thenReturn(PARTITION_ID);
+
+    final TopologyManager topologyManager = mock(TopologyManager.class);
+
+    actorSchedulerRule.submitActor(actor);
+    actorSchedulerRule.workUntilDone();
+
+    sender = new SubscriptionCommandSenderImpl(atomix);
+    sender.init(topologyManager, actor.getActorControl(), logStream);
+
+    final ArgumentCaptor<TopologyPartitionListener> listenerCaptor =
+        ArgumentCaptor.forClass(TopologyPartitionListener.class);
+    verify(topologyManager).addTopologyPartitionListener(listenerCaptor.capture());
+    partitionListener = listenerCaptor.getValue();
+  }
+
+  @Test
+  public void shouldSendCommandsOfOneJobTogether() {
+    // given
+    setPartitionLeader(RECEIVER_PARTITION_ID, RECEIVER_NODE_ID);
+
+    // when
+    actor.run(
+        () -> {
+          sender.correlateMessageSubscription(RECEIVER_PARTITION_ID, 1L, 2L, MESSAGE_NAME);
+          sender.correlateMessageSubscription(RECEIVER_PARTITION_ID, 3L, 4L, MESSAGE_NAME);
+          sender.closeMessageSubscription(RECEIVER_PARTITION_ID, 5L, 6L, MESSAGE_NAME);
+        });
+    actorSchedulerRule.workUntilDone();
+
+    // then
+    final List<byte[]> frames = getSentFrames(1);
+    assertThat(getCommandCount(frames.get(0))).isEqualTo(3);
+  }
+
+  @Test
+  public void shouldSendCommandsPerReceiverPartition() {
+    // given
+    setPartitionLeader(RECEIVER_PARTITION_ID, RECEIVER_NODE_ID);
+    setPartitionLeader(RECEIVER_PARTITION_ID + 1, RECEIVER_NODE_ID);
+
+    // when
+    actor.run(
+        () -> {
+          sender.correlateMessageSubscription(RECEIVER_PARTITION_ID, 1L, 2L, MESSAGE_NAME);
+          sender.correlateMessageSubscription(RECEIVER_PARTITION_ID + 1, 3L, 4L, MESSAGE_NAME);
+        });
+    actorSchedulerRule.workUntilDone();
+
+    // then
+    final List<byte[]> frames = getSentFrames(2);
+    assertThat(getCommandCount(frames.get(0))).isEqualTo(1);
+    assertThat(getCommandCount(frames.get(1))).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldSendFullBatchImmediately() {
+    // given
+    setPartitionLeader(RECEIVER_PARTITION_ID, RECEIVER_NODE_ID);
+    final DirectBuffer largeMessageName = new UnsafeBuffer(new byte[40 * 1024]);
+
+    // when
+    actor.run(
+        () -> {
+          sender.correlateMessageSubscription(RECEIVER_PARTITION_ID, 1L, 2L, largeMessageName);
+          sender.correlateMessageSubscription(RECEIVER_PARTITION_ID, 3L, 4L, largeMessageName);
+          sender.correlateMessageSubscription(RECEIVER_PARTITION_ID, 5L, 6L, MESSAGE_NAME);
+        });
+    actorSchedulerRule.workUntilDone();
+
+    // then
+    final List<byte[]> frames = getSentFrames(2);
+    assertThat(getCommandCount(frames.get(0))).isEqualTo(2);
+    assertThat(getCommandCount(frames.get(1))).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldNotSendCommandsWithoutPartitionLeader() {
+    // when
+    actor.run(
+        () -> sender.correlateMessageSubscription(RECEIVER_PARTITION_ID, 1L, 2L, MESSAGE_NAME));
+    actorSchedulerRule.workUntilDone();
+
+    // then
+    verify(communicationService, never()).send(any(), any(), any(MemberId.class));
+  }
+
+  @Test
+  public void shouldSendCommandsOfNextJobSeparately() {
+    // given
+    setPartitionLeader(RECEIVER_PARTITION_ID, RECEIVER_NODE_ID);
+
+    actor.run(
+        () -> sender.correlateMessageSubscription(RECEIVER_PARTITION_ID, 1L, 2L, MESSAGE_NAME));
+    actorSchedulerRule.workUntilDone();
+
+    // when
+    actor.run(
+        () -> sender.correlateMessageSubscription(RECEIVER_PARTITION_ID, 3L, 4L, MESSAGE_NAME));
+    actorSchedulerRule.workUntilDone();
+
+    // then
+    final List<byte[]> frames = getSentFrames(2);
+    assertThat(getCommandCount(frames.get(0))).isEqualTo(1);
+    assertThat(getCommandCount(frames.get(1))).isEqualTo(1);
+  }
+
+  private void setPartitionLeader(final int partitionId, final int nodeId) {
+    final NodeInfo leader = new NodeInfo(nodeId, new SocketAddress("localhost", 26501));
+    leader.addLeader(partitionId);
+
+    partitionListener.onPartitionUpdated(partitionId, leader);
+    actorSchedulerRule.workUntilDone();
+  }
+
+  private List<byte[]> getSentFrames(final int count) {
+    final ArgumentCaptor<byte[]> frameCaptor = ArgumentCaptor.forClass(byte[].class);
+    verify(communicationService, times(count))
+        .send(
+            eq("subscription"),
+            frameCaptor.capture(),
+            eq(MemberId.from(String.valueOf(RECEIVER_NODE_ID))));
+    return frameCaptor.getAllValues();
+  }
+
+  private static int getCommandCount(final byte[] frame) {
+    final List<Integer> offsets = new ArrayList<>();
+    SubscriptionCommandBatch.forEachCommand(
+        new UnsafeBuffer(frame), (buffer, offset, length) -> offsets.add(offset));
+    return offsets.size();
+  }
+
+  private static final class TestActor extends Actor {
+
+    void run(final Runnable runnable) {
+      actor.run(runnable);
+    }
+
+    ActorControl getActorControl() {
+      return actor;
+    }
+  }
+}
@@ -31,9 +31,11 @@ import io.zeebe.broker.exporter.util.PojoConfigurationExporter;
 import io.zeebe.broker.exporter.util.PojoConfigurationExporter.PojoExporterConfiguration;
 import io.zeebe.engine.Loggers;
 import io.zeebe.exporter.api.context.Context;
+import io.zeebe.exporter.api.context.Context.RecordFilter;
 import io.zeebe.exporter.api.record.Record;
 import io.zeebe.protocol.impl.record.value.deployment.DeploymentRecord;
 import io.zeebe.protocol.intent.DeploymentIntent;
+import io.zeebe.protocol.intent.Intent;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -74,10 +76,15 @@ public class ExporterDirectorTest {
   }
 
   private void createExporter(final String exporterId, final Map<String, Object> arguments) {
+    createExporter(exporterId, arguments, false);
+  }
+
+  private void createExporter(
+      final String exporterId, final Map<String, Object> arguments, final boolean isolated) {
     final ControlledTestExporter exporter = spy(new ControlledTestExporter());
 
     final ExporterDescriptor descriptor =
-        spy(new ExporterDescriptor(exporterId, exporter.getClass(), arguments));
+        spy(new ExporterDescriptor(exporterId, exporter.getClass(), arguments, isolated));
     doAnswer(c -> exporter).when(descriptor).newInstance();
 
     exporters.add(exporter);
@@ -338,6 +345,117 @@ public class ExporterDirectorTest {
     assertThat(exporters.get(1).getExportedRecords()).isEmpty();
   }
 
+  @Test
+  public void shouldExportOnlyRecordsWhichPassTheFilter() {
+    // given
+    exporters
+        .get(0)
+        .onConfigure(
+            context ->
+                context.setFilter(
+                    new RecordFilter() {
+                      @Override
+                      public boolean acceptIntent(Intent intent) {
+                        return intent == DeploymentIntent.CREATED;
+                      }
+                    }));
+
+    startExporterDirector(exporterDescriptors);
+
+    // when
+    final long eventPosition1 = writeEvent();
+    final long eventPosition2 =
+        rule.writeEvent(DeploymentIntent.DISTRIBUTED, new DeploymentRecord());
+    final long eventPosition3 = writeEvent();
+
+    // then
+    waitUntil(() -> exporters.get(1).getExportedRecords().size() == 3);
+    assertThat(exporters.get(1).getExportedRecords())
+        .extracting(Record::getPosition)
+        .containsExactly(eventPosition1, eventPosition2, eventPosition3);
+
+    waitUntil(() -> exporters.get(0).getExportedRecords().size() == 2);
+    assertThat(exporters.get(0).getExportedRecords())
+        .extracting(Record::getPosition)
+        .containsExactly(eventPosition1, eventPosition3);
+  }
+
+  @Test
+  public void shouldUpdatePositionOfUpToDateExportersOnSkippedRecords() {
+    // given
+    for (final ControlledTestExporter exporter : exporters) {
+      exporter.onConfigure(
+          context ->
+              context.setFilter(
+                  new RecordFilter() {
+                    @Override
+                    public boolean acceptIntent(Intent intent) {
+                      return intent == DeploymentIntent.CREATED;
+                    }
+                  }));
+    }
+
+    startExporterDirector(exporterDescriptors);
+
+    final long eventPosition1 = writeEvent();
+    waitUntil(() -> exporters.get(0).getExportedRecords().size() == 1);
+    waitUntil(() -> exporters.get(1).getExportedRecords().size() == 1);
+
+    final ExportersState exportersState = rule.getExportersState();
+    exporters.get(0).getController().updateLastExportedRecordPosition(eventPosition1);
+    waitUntil(() -> exportersState.getPosition(EXPORTER_ID_1) == eventPosition1);
+
+    // when
+    final long eventPosition2 =
+        rule.writeEvent(DeploymentIntent.DISTRIBUTED, new DeploymentRecord());
+
+    // then
+    waitUntil(() -> exportersState.getPosition(EXPORTER_ID_1) == eventPosition2);
+    assertThat(exportersState.getPosition(EXPORTER_ID_2)).isEqualTo(-1L);
+  }
+
+  @Test
+  public void shouldNotBlockOtherExportersByIsolatedExporter() throws Exception {
+    // given
+    exporters.clear();
+    exporterDescriptors.clear();
+    createExporter(EXPORTER_ID_1, Collections.emptyMap(), true);
+    createExporter(EXPORTER_ID_2, Collections.emptyMap());
+
+    final CountDownLatch exportLatch = new CountDownLatch(1);
+    exporters.get(0).onExport(r -> awaitLatch(exportLatch));
+
+    startExporterDirector(exporterDescriptors);
+
+    // when
+    final long eventPosition1 = writeEvent();
+    final long eventPosition2 = writeEvent();
+
+    // then
+    waitUntil(() -> exporters.get(1).getExportedRecords().size() == 2);
+    assertThat(exporters.get(1).getExportedRecords())
+        .extracting(Record::getPosition)
+        .containsExactly(eventPosition1, eventPosition2);
+    assertThat(exporters.get(0).getExportedRecords()).isEmpty();
+
+    // when
+    exportLatch.countDown();
+
+    // then
+    waitUntil(() -> exporters.get(0).getExportedRecords().size() == 2);
+    assertThat(exporters.get(0).getExportedRecords())
+        .extracting(Record::getPosition)
+        .containsExactly(eventPosition1, eventPosition2);
+  }
+
+  private static void awaitLatch(final CountDownLatch latch) {
+    try {
+      latch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
   private long writeEvent() {
     final DeploymentRecord event = new DeploymentRecord();
     return rule.writeEvent(DeploymentIntent.CREATED, event);
@@ -59,7 +59,9 @@ public class ExporterRule implements TestRule {
   private final TemporaryFolder tempFolder = new TemporaryFolder();
   private final AutoCloseableRule closeables = new AutoCloseableRule();
   private final ControlledActorClock clock = new ControlledActorClock();
-  private final ActorSchedulerRule actorSchedulerRule = new ActorSchedulerRule(clock);
+  // isolated exporters must not block the director if they are blocked on export
+  private final ActorSchedulerRule actorSchedulerRule =
+      new ActorSchedulerRule(Math.max(2, Runtime.getRuntime().availableProcessors() - 2), clock);
   private final ServiceContainerRule serviceContainerRule =
       new ServiceContainerRule(actorSchedulerRule);
   private final RuleChain chain;
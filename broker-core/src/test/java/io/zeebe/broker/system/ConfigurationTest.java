@@ -34,6 +34,7 @@ import static io.zeebe.broker.system.configuration.EnvironmentConstants.ENV_NODE
 import static io.zeebe.broker.system.configuration.EnvironmentConstants.ENV_PARTITIONS_COUNT;
 import static io.zeebe.broker.system.configuration.EnvironmentConstants.ENV_PORT_OFFSET;
 import static io.zeebe.broker.system.configuration.EnvironmentConstants.ENV_REPLICATION_FACTOR;
+import static io.zeebe.broker.system.configuration.EnvironmentConstants.ENV_STATE_DIRECTORIES;
 import static io.zeebe.broker.system.configuration.NetworkCfg.DEFAULT_HOST;
 import static io.zeebe.protocol.Protocol.START_PARTITION_ID;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -45,8 +46,11 @@ import io.zeebe.broker.system.configuration.EmbeddedGatewayCfg;
 import io.zeebe.broker.system.configuration.ExporterCfg;
 import io.zeebe.broker.system.configuration.MetricsCfg;
 import io.zeebe.broker.system.configuration.NetworkCfg;
+import io.zeebe.broker.system.configuration.RocksDbCfg;
 import io.zeebe.broker.system.configuration.SocketBindingAtomixCfg;
 import io.zeebe.broker.system.configuration.SocketBindingClientApiCfg;
+import io.zeebe.db.impl.rocksdb.ColumnFamilyConfiguration;
+import io.zeebe.db.impl.rocksdb.RocksDbConfiguration;
 import io.zeebe.util.Environment;
 import io.zeebe.util.TomlConfigurationReader;
 import java.io.ByteArrayInputStream;
@@ -295,6 +299,43 @@ public class ConfigurationTest {
     assertDirectories("directories", "foo", "bar");
   }
 
+  @Test
+  public void shouldNotUseStateDirectoriesByDefault() {
+    // when
+    final DataCfg cfg = readConfig("default").getData();
+
+    // then
+    assertThat(cfg.getStateDirectories()).isEmpty();
+    assertThat(cfg.getLogWriteBufferSize()).isEqualTo("8M");
+  }
+
+  @Test
+  public void shouldUseSpecifiedStateDirectories() {
+    // when
+    final DataCfg cfg = readConfig("state-directories").getData();
+
+    // then
+    assertThat(cfg.getStateDirectories())
+        .containsExactly(
+            Paths.get(BROKER_BASE, "state1").toString(),
+            Paths.get(BROKER_BASE, "state2").toString());
+    assertThat(cfg.getLogWriteBufferSize()).isEqualTo("16M");
+  }
+
+  @Test
+  public void shouldUseStateDirectoriesFromEnvironment() {
+    // given
+    environment.put(ENV_STATE_DIRECTORIES, "foo,bar");
+
+    // when
+    final DataCfg cfg = readConfig("default").getData();
+
+    // then
+    assertThat(cfg.getStateDirectories())
+        .containsExactly(
+            Paths.get(BROKER_BASE, "foo").toString(), Paths.get(BROKER_BASE, "bar").toString());
+  }
+
   @Test
   public void shouldReadDefaultSystemClusterConfiguration() {
     // given
@@ -394,6 +435,26 @@ public class ConfigurationTest {
     assertThat(cfgCluster.getNodeId()).isEqualTo(4);
   }
 
+  @Test
+  public void shouldReadRocksDbConfiguration() {
+    // given
+    final RocksDbCfg rocksDbCfg = readConfig("rocksdb-cfg").getData().getRocksDb();
+
+    // when
+    final RocksDbConfiguration configuration =
+        rocksDbCfg.createConfiguration(new RocksDbConfiguration());
+
+    // then
+    assertThat(configuration.getBlockCacheSize()).isEqualTo(32 * 1024 * 1024);
+    assertThat(configuration.getDefaultColumnFamilyConfiguration().getCompression())
+        .isEqualTo("none");
+
+    final ColumnFamilyConfiguration variables =
+        configuration.getColumnFamilyConfiguration("variables");
+    assertThat(variables.getCompression()).isEqualTo("none");
+    assertThat(variables.getBloomFilterBitsPerKey()).isEqualTo(12);
+  }
+
   @Test
   public void shouldReadDefaultEmbedGateway() {
     // when
@@ -0,0 +1,184 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.transport.clientapi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class CommandRateLimiterTest {
+  private static final int STREAM_ID = 3;
+
+  private long currentTime;
+  private CommandRateLimiter limiter;
+
+  @Before
+  public void setup() {
+    currentTime = 0;
+    limiter = new CommandRateLimiter(4, 2, 5, 100, 1_000, () -> currentTime);
+  }
+
+  @Test
+  public void shouldRejectCommandsOverLimit() {
+    // given
+    for (int i = 0; i < 4; i++) {
+      assertThat(limiter.tryAcquire(STREAM_ID, i)).isTrue();
+    }
+
+    // when
+    final boolean acquired = limiter.tryAcquire(STREAM_ID, 4);
+
+    // then
+    assertThat(acquired).isFalse();
+    assertThat(limiter.getInflight()).isEqualTo(4);
+  }
+
+  @Test
+  public void shouldAdmitCommandAfterResponse() {
+    // given
+    for (int i = 0; i < 4; i++) {
+      limiter.tryAcquire(STREAM_ID, i);
+    }
+
+    // when
+    limiter.onResponse(STREAM_ID, 0);
+
+    // then
+    assertThat(limiter.getInflight()).isEqualTo(3);
+    assertThat(limiter.tryAcquire(STREAM_ID, 4)).isTrue();
+  }
+
+  @Test
+  public void shouldDistinguishRequestsOfDifferentStreams() {
+    // given
+    limiter.tryAcquire(STREAM_ID, 1);
+    limiter.tryAcquire(STREAM_ID + 1, 1);
+
+    // when
+    limiter.onResponse(STREAM_ID + 1, 1);
+
+    // then
+    assertThat(limiter.getInflight()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldIncreaseLimitOnFastResponses() {
+    // given
+    limiter.tryAcquire(STREAM_ID, 1);
+    limiter.tryAcquire(STREAM_ID, 2);
+
+    // when
+    currentTime += 50;
+    limiter.onResponse(STREAM_ID, 1);
+
+    // then
+    assertThat(limiter.getLimit()).isEqualTo(5);
+  }
+
+  @Test
+  public void shouldNotIncreaseLimitOverMaximum() {
+    // given
+    for (int i = 0; i < 4; i++) {
+      limiter.tryAcquire(STREAM_ID, i);
+    }
+
+    // when
+    for (int i = 0; i < 4; i++) {
+      limiter.onResponse(STREAM_ID, i);
+    }
+
+    // then
+    assertThat(limiter.getLimit()).isEqualTo(5);
+  }
+
+  @Test
+  public void shouldDecreaseLimitOnSlowResponses() {
+    // given
+    limiter.tryAcquire(STREAM_ID, 1);
+    limiter.tryAcquire(STREAM_ID, 2);
+    limiter.tryAcquire(STREAM_ID, 3);
+
+    // when
+    currentTime += 500;
+    limiter.onResponse(STREAM_ID, 1);
+    limiter.onResponse(STREAM_ID, 2);
+    limiter.onResponse(STREAM_ID, 3);
+
+    // then
+    assertThat(limiter.getLimit()).isEqualTo(3);
+    assertThat(limiter.getInflight()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldDecreaseLimitOncePerExpectedLatencyOnSlowResponses() {
+    // given
+    limiter = new CommandRateLimiter(100, 2, 200, 100, 1_000, () -> currentTime);
+    for (int i = 0; i < 10; i++) {
+      limiter.tryAcquire(STREAM_ID, i);
+    }
+    limiter.tryAcquire(STREAM_ID + 1, 1);
+
+    // when
+    currentTime += 500;
+    for (int i = 0; i < 10; i++) {
+      limiter.onResponse(STREAM_ID, i);
+      currentTime += 5;
+    }
+    final int limitAfterBurst = limiter.getLimit();
+
+    currentTime += 100;
+    limiter.onResponse(STREAM_ID + 1, 1);
+
+    // then
+    assertThat(limitAfterBurst).isEqualTo(90);
+    assertThat(limiter.getLimit()).isEqualTo(81);
+  }
+
+  @Test
+  public void shouldNotAdaptLimitOnReleasedCommand() {
+    // given
+    limiter.tryAcquire(STREAM_ID, 1);
+
+    // when
+    currentTime += 500;
+    limiter.release(STREAM_ID, 1);
+    limiter.onResponse(STREAM_ID, 1);
+
+    // then
+    assertThat(limiter.getLimit()).isEqualTo(4);
+    assertThat(limiter.getInflight()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldExpireCommandsWithoutResponse() {
+    // given
+    for (int i = 0; i < 4; i++) {
+      limiter.tryAcquire(STREAM_ID, i);
+    }
+
+    // when
+    currentTime += 2_000;
+    final boolean acquired = limiter.tryAcquire(STREAM_ID, 4);
+
+    // then
+    assertThat(acquired).isTrue();
+    assertThat(limiter.getInflight()).isEqualTo(1);
+    assertThat(limiter.getLimit()).isEqualTo(3);
+  }
+}
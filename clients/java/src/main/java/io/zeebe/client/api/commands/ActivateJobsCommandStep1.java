@@ -113,5 +113,20 @@ public interface ActivateJobsCommandStep1 {
      *     it to the broker.
      */
     ActivateJobsCommandStep3 fetchVariables(String... fetchVariables);
+
+    /**
+     * Set the time for how long the request is held open by the gateway if no jobs can be
+     * activated.
+     *
+     * <p>Within this time, the request is completed as soon as jobs of the given type become
+     * available. If the time is over then the request is completed without jobs.
+     *
+     * <p>If no request timeout is set then the request is completed immediately.
+     *
+     * @param requestTimeout the time as duration (e.g. "Duration.ofSeconds(30)")
+     * @return the builder for this command. Call {@link #send()} to complete the command and send
+     *     it to the broker.
+     */
+    ActivateJobsCommandStep3 requestTimeout(Duration requestTimeout);
   }
 }
@@ -141,6 +141,19 @@ public interface JobWorkerBuilderStep1 {
      */
     JobWorkerBuilderStep3 pollInterval(Duration pollInterval);
 
+    /**
+     * Set the time for how long a poll request is held open by the gateway if no jobs can be
+     * activated.
+     *
+     * <p>Within this time, the worker receives jobs as soon as they become available instead of
+     * waiting for the next poll. If no request timeout is set then a poll request is completed
+     * immediately.
+     *
+     * @param requestTimeout the time as duration (e.g. "Duration.ofSeconds(30)")
+     * @return the builder for this worker
+     */
+    JobWorkerBuilderStep3 requestTimeout(Duration requestTimeout);
+
     /**
      * Set a list of variable names which should be fetch on job activation.
      *
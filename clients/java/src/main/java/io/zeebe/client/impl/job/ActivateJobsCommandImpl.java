@@ -88,6 +88,12 @@ public class ActivateJobsCommandImpl
     return fetchVariables(Arrays.asList(fetchVariables));
   }
 
+  @Override
+  public ActivateJobsCommandStep3 requestTimeout(Duration requestTimeout) {
+    builder.setRequestTimeout(requestTimeout.toMillis());
+    return this;
+  }
+
   @Override
   public ZeebeFuture<ActivateJobsResponse> send() {
     final ActivateJobsRequest request = builder.build();
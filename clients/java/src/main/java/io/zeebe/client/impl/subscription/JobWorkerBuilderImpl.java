@@ -51,6 +51,7 @@ public class JobWorkerBuilderImpl
   private String workerName;
   private int maxJobsActive;
   private Duration pollInterval;
+  private Duration requestTimeout = Duration.ZERO;
   private List<String> fetchVariables;
 
   public JobWorkerBuilderImpl(
@@ -113,6 +114,12 @@ public class JobWorkerBuilderImpl
     return this;
   }
 
+  @Override
+  public JobWorkerBuilderStep3 requestTimeout(Duration requestTimeout) {
+    this.requestTimeout = requestTimeout;
+    return this;
+  }
+
   @Override
   public JobWorkerBuilderStep3 fetchVariables(List<String> fetchVariables) {
     this.fetchVariables = fetchVariables;
@@ -131,13 +138,15 @@ public class JobWorkerBuilderImpl
     ensureGreaterThan("timeout", timeout, 0L);
     ensureNotNullNorEmpty("workerName", workerName);
     ensureGreaterThan("maxJobsActive", maxJobsActive, 0);
+    ensureNotNull("requestTimeout", requestTimeout);
 
     final Builder requestBuilder =
         ActivateJobsRequest.newBuilder()
             .setType(jobType)
             .setTimeout(timeout)
             .setWorker(workerName)
-            .setMaxJobsToActivate(maxJobsActive);
+            .setMaxJobsToActivate(maxJobsActive)
+            .setRequestTimeout(requestTimeout.toMillis());
 
     if (fetchVariables != null) {
       requestBuilder.addAllFetchVariable(fetchVariables);
@@ -48,6 +48,17 @@ public interface EventProcessor {
     return true;
   }
 
+  /**
+   * (Optional) Returns whether the processed event caused side effects which are executed by {@link
+   * #executeSideEffects()}. Side effects of events which are not committed yet are held back until
+   * the event is committed.
+   *
+   * @return <code>true</code>, if there may be side effects to execute
+   */
+  default boolean hasSideEffects() {
+    return true;
+  }
+
   /**
    * (Optional) Write an event to the log stream that is caused by the processed event. Note that
    * the controller may invoke this method multiple times if the write operation fails.
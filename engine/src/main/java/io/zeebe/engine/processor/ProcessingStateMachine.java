@@ -24,11 +24,13 @@ import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.logstreams.log.LogStreamReader;
 import io.zeebe.logstreams.log.LogStreamRecordWriter;
 import io.zeebe.logstreams.log.LoggedEvent;
+import io.zeebe.logstreams.log.UncommittedEventReader;
 import io.zeebe.util.exception.RecoverableException;
 import io.zeebe.util.retry.AbortableRetryStrategy;
 import io.zeebe.util.retry.RecoverableRetryStrategy;
 import io.zeebe.util.retry.RetryStrategy;
 import io.zeebe.util.sched.ActorControl;
+import io.zeebe.util.sched.clock.ActorClock;
 import io.zeebe.util.sched.future.ActorFuture;
 import java.time.Duration;
 import java.util.Objects;
@@ -73,6 +75,26 @@ import org.slf4j.Logger;
  *                                       +-----+
  *
  * </pre>
+ *
+ * <p>If a commit batch size greater than one is configured, the state machine works in group commit
+ * mode: {@code updateState()} only marks a save point in the current transaction and the
+ * transaction is committed once for a batch of records. A batch is committed if it reaches the
+ * configured size or duration, if an error record was written, if a record has side effects, or if
+ * there is no further record to process. A failing record inside a batch is rolled back to its save
+ * point, so the records before it stay in the batch. The positions which are exposed for
+ * snapshotting are only updated after the batch is committed.
+ *
+ * <p>A record with side effects (e.g. a response or a sent command) always ends the batch, so its
+ * side effects are only executed after its state is committed. If a batch can't be committed, the
+ * follow up events of its records are already written, so the stream processor fails instead of
+ * continuing without their state. It recovers from the last snapshot when it is opened again.
+ *
+ * <p>If speculative processing is enabled, the leader also processes the events which it has
+ * written but which are not committed yet, instead of waiting for the replication of each follow up
+ * event. The side effects (e.g. responses) of such an event are held back until it is committed.
+ * Events from the committed log which were already processed speculatively are skipped. If the
+ * leadership is lost, the speculative state is discarded together with the stream processor, since
+ * a snapshot only becomes valid after the processed and written positions are committed.
  */
 public final class ProcessingStateMachine {
 
@@ -84,6 +106,8 @@ public final class ProcessingStateMachine {
       "Expected to roll back the current transaction for event '{}' successfully, but exception was thrown.";
   private static final String ERROR_MESSAGE_EXECUTE_SIDE_EFFECT_ABORTED =
       "Expected to execute side effects for event '{}' successfully, but exception was thrown.";
+  private static final String ERROR_MESSAGE_COMMIT_BATCH_FAILED =
+      "Expected to commit batch of {} records up to event '{}' successfully on stream processor '{}', but caught an exception. Fail the stream processor.";
   private static final String ERROR_MESSAGE_UPDATE_STATE_FAILED =
       "Expected to successfully update state for event '{}' with processor '{}', but caught an exception. Retry.";
   private static final String ERROR_MESSAGE_ON_EVENT_FAILED_SKIP_EVENT =
@@ -113,6 +137,7 @@ public final class ProcessingStateMachine {
   private final LogStream logStream;
   private final LogStreamReader logStreamReader;
   private final LogStreamRecordWriter logStreamWriter;
+  private final UncommittedEventReader uncommittedEventReader;
 
   private final DbContext dbContext;
   private final RetryStrategy writeRetryStrategy;
@@ -121,6 +146,10 @@ public final class ProcessingStateMachine {
 
   private final BooleanSupplier shouldProcessNext;
   private final BooleanSupplier abortCondition;
+  private final Runnable onFailure;
+
+  private final int maxCommitBatchSize;
+  private final long maxCommitBatchDurationMillis;
 
   private ProcessingStateMachine(
       StreamProcessorContext context,
@@ -128,7 +157,8 @@ public final class ProcessingStateMachine {
       StreamProcessor streamProcessor,
       DbContext dbContext,
       BooleanSupplier shouldProcessNext,
-      BooleanSupplier abortCondition) {
+      BooleanSupplier abortCondition,
+      Runnable onFailure) {
     this.actor = context.getActorControl();
     this.producerId = context.getId();
     this.streamProcessorName = context.getName();
@@ -136,6 +166,9 @@ public final class ProcessingStateMachine {
     this.logStreamReader = context.getLogStreamReader();
     this.logStreamWriter = context.logStreamWriter;
     this.logStream = context.getLogStream();
+    this.uncommittedEventReader = context.getUncommittedEventReader();
+    this.maxCommitBatchSize = context.getMaxCommitBatchSize();
+    this.maxCommitBatchDurationMillis = context.getMaxCommitBatchDuration().toMillis();
 
     this.metrics = metrics;
     this.streamProcessor = streamProcessor;
@@ -145,6 +178,7 @@ public final class ProcessingStateMachine {
     this.updateStateRetryStrategy = new RecoverableRetryStrategy(actor);
     this.shouldProcessNext = shouldProcessNext;
     this.abortCondition = abortCondition;
+    this.onFailure = onFailure;
   }
 
   // current iteration
@@ -153,36 +187,87 @@ public final class ProcessingStateMachine {
   private ZeebeDbTransaction zeebeDbTransaction;
 
   private long eventPosition = -1L;
+  private long lastReadEventPosition = -1L;
+  private boolean isAwaitingCommit;
   private long lastSuccessfulProcessedEventPosition = -1L;
   private long lastWrittenEventPosition = -1L;
 
   private boolean onErrorHandling;
   private long errorRecordPosition = -1;
 
+  // current commit batch
+  private int uncommittedRecordCount;
+  private long commitBatchStartTime;
+  private long uncommittedProcessedEventPosition = -1L;
+  private long uncommittedWrittenEventPosition = -1L;
+  private boolean isCommittingBatch;
+  private boolean isFailed;
+
   private void skipRecord() {
     actor.submit(this::readNextEvent);
     metrics.incrementEventsSkippedCount();
   }
 
   void readNextEvent() {
+    if (isCommittingBatch || isFailed) {
+      return;
+    }
+
+    if (isAwaitingCommit) {
+      if (logStream.getCommitPosition() >= currentEvent.getPosition()) {
+        isAwaitingCommit = false;
+        executeSideEffects();
+      }
+      return;
+    }
+
+    LoggedEvent nextEvent = null;
     if (shouldProcessNext.getAsBoolean()
-        && logStreamReader.hasNext()
         && eventProcessor == null
         && logStream.getCommitPosition() >= errorRecordPosition) {
+      nextEvent = readEvent();
+    }
+
+    if (nextEvent != null) {
 
       if (onErrorHandling) {
         LOG.info(LOG_ERROR_EVENT_COMMITTED);
         onErrorHandling = false;
       }
 
-      currentEvent = logStreamReader.next();
+      currentEvent = nextEvent;
 
       if (eventFilter == null || eventFilter.applies(currentEvent)) {
         processEvent(currentEvent);
       } else {
         skipRecord();
       }
+    } else if (eventProcessor == null && uncommittedRecordCount > 0) {
+      // nothing more to process at the moment, don't hold back the pending batch
+      commitBatch();
+    }
+  }
+
+  private LoggedEvent readEvent() {
+    while (logStreamReader.hasNext()) {
+      final LoggedEvent event = logStreamReader.next();
+
+      // skip the events which were already processed speculatively
+      if (event.getPosition() > lastReadEventPosition) {
+        lastReadEventPosition = event.getPosition();
+        return event;
+      }
+    }
+
+    if (uncommittedEventReader != null) {
+      final LoggedEvent event = uncommittedEventReader.next(lastReadEventPosition);
+      if (event != null) {
+        lastReadEventPosition = event.getPosition();
+      }
+      return event;
     }
+
+    return null;
   }
 
   private void processEvent(final LoggedEvent event) {
@@ -201,7 +286,12 @@ public final class ProcessingStateMachine {
 
     try {
       zeebeDbTransaction = dbContext.getCurrentTransaction();
+      if (uncommittedRecordCount > 0) {
+        zeebeDbTransaction.setSavePoint();
+      }
+      final long processingStartTime = metrics.getProcessingTimer().start();
       zeebeDbTransaction.run(eventProcessor::processEvent);
+      metrics.getProcessingTimer().stop(processingStartTime);
       metrics.incrementEventsProcessedCount();
       writeEvent();
     } catch (final RecoverableException recoverableException) {
@@ -222,7 +312,13 @@ public final class ProcessingStateMachine {
     final ActorFuture<Boolean> retryFuture =
         updateStateRetryStrategy.runWithRetry(
             () -> {
-              zeebeDbTransaction.rollback();
+              if (uncommittedRecordCount > 0) {
+                // keep the changes of the previous records in the batch
+                zeebeDbTransaction.rollbackToSavePoint();
+                zeebeDbTransaction.setSavePoint();
+              } else {
+                zeebeDbTransaction.rollback();
+              }
               return true;
             },
             abortCondition);
@@ -245,6 +341,7 @@ public final class ProcessingStateMachine {
   }
 
   private void writeEvent() {
+    final long writingStartTime = metrics.getWritingTimer().start();
     logStreamWriter.producerId(producerId).sourceRecordPosition(currentEvent.getPosition());
 
     final ActorFuture<Boolean> retryFuture =
@@ -262,6 +359,7 @@ public final class ProcessingStateMachine {
             LOG.error(ERROR_MESSAGE_WRITE_EVENT_ABORTED, currentEvent, t);
             onError(t, this::writeEvent);
           } else {
+            metrics.getWritingTimer().stop(writingStartTime);
             metrics.incrementEventsWrittenCount();
             updateState();
           }
@@ -272,7 +370,12 @@ public final class ProcessingStateMachine {
     final ActorFuture<Boolean> retryFuture =
         updateStateRetryStrategy.runWithRetry(
             () -> {
-              zeebeDbTransaction.commit();
+              if (shouldDeferCommit()) {
+                addToCommitBatch();
+                return true;
+              }
+
+              commit();
 
               // needs to be directly after commit
               // so no other ActorJob can interfere between commit and update the positions
@@ -282,7 +385,8 @@ public final class ProcessingStateMachine {
                     LOG_ERROR_EVENT_WRITTEN, errorRecordPosition, logStream.getCommitPosition());
               }
               lastSuccessfulProcessedEventPosition = currentEvent.getPosition();
-              lastWrittenEventPosition = eventPosition;
+              lastWrittenEventPosition = Math.max(eventPosition, uncommittedWrittenEventPosition);
+              resetCommitBatch();
               return true;
             },
             abortCondition);
@@ -291,6 +395,12 @@ public final class ProcessingStateMachine {
         retryFuture,
         (bool, throwable) -> {
           if (throwable != null) {
+            if (uncommittedRecordCount > 0) {
+              // a failed commit discards the whole transaction, including the pending batch
+              failProcessing(throwable);
+              return;
+            }
+
             LOG.error(
                 ERROR_MESSAGE_UPDATE_STATE_FAILED, currentEvent, streamProcessorName, throwable);
             onError(throwable, this::updateState);
@@ -300,7 +410,92 @@ public final class ProcessingStateMachine {
         });
   }
 
+  private boolean shouldDeferCommit() {
+    if (maxCommitBatchSize <= 1 || onErrorHandling || eventProcessor.hasSideEffects()) {
+      return false;
+    }
+
+    final boolean isBatchFull =
+        uncommittedRecordCount + 1 >= maxCommitBatchSize
+            || (uncommittedRecordCount > 0
+                && ActorClock.currentTimeMillis() - commitBatchStartTime
+                    >= maxCommitBatchDurationMillis);
+
+    return !isBatchFull && shouldProcessNext.getAsBoolean() && logStreamReader.hasNext();
+  }
+
+  private void addToCommitBatch() {
+    if (uncommittedRecordCount == 0) {
+      commitBatchStartTime = ActorClock.currentTimeMillis();
+    }
+    uncommittedRecordCount += 1;
+    uncommittedProcessedEventPosition = currentEvent.getPosition();
+    uncommittedWrittenEventPosition = Math.max(eventPosition, uncommittedWrittenEventPosition);
+  }
+
+  private void resetCommitBatch() {
+    uncommittedRecordCount = 0;
+    uncommittedProcessedEventPosition = -1L;
+    uncommittedWrittenEventPosition = -1L;
+  }
+
+  private void commitBatch() {
+    isCommittingBatch = true;
+
+    final ActorFuture<Boolean> retryFuture =
+        updateStateRetryStrategy.runWithRetry(
+            () -> {
+              commit();
+
+              lastSuccessfulProcessedEventPosition = uncommittedProcessedEventPosition;
+              lastWrittenEventPosition = uncommittedWrittenEventPosition;
+              resetCommitBatch();
+              return true;
+            },
+            abortCondition);
+
+    actor.runOnCompletion(
+        retryFuture,
+        (bool, throwable) -> {
+          isCommittingBatch = false;
+
+          if (throwable != null) {
+            failProcessing(throwable);
+          } else {
+            actor.submit(this::readNextEvent);
+          }
+        });
+  }
+
+  private void failProcessing(Throwable throwable) {
+    LOG.error(
+        ERROR_MESSAGE_COMMIT_BATCH_FAILED,
+        uncommittedRecordCount,
+        uncommittedProcessedEventPosition,
+        streamProcessorName,
+        throwable);
+
+    isFailed = true;
+    resetCommitBatch();
+    onFailure.run();
+  }
+
+  private void commit() throws Exception {
+    final long commitStartTime = metrics.getCommitTimer().start();
+    zeebeDbTransaction.commit();
+    metrics.getCommitTimer().stop(commitStartTime);
+  }
+
   private void executeSideEffects() {
+    if (uncommittedEventReader != null
+        && currentEvent.getPosition() > logStream.getCommitPosition()
+        && eventProcessor.hasSideEffects()) {
+      // the event was processed speculatively - continue on commit
+      isAwaitingCommit = true;
+      return;
+    }
+
+    final long sideEffectsStartTime = metrics.getSideEffectsTimer().start();
     final ActorFuture<Boolean> retryFuture =
         sideEffectsRetryStrategy.runWithRetry(eventProcessor::executeSideEffects, abortCondition);
 
@@ -310,6 +505,7 @@ public final class ProcessingStateMachine {
           if (throwable != null) {
             LOG.error(ERROR_MESSAGE_EXECUTE_SIDE_EFFECT_ABORTED, currentEvent, throwable);
           }
+          metrics.getSideEffectsTimer().stop(sideEffectsStartTime);
 
           // continue with next event
           eventProcessor = null;
@@ -322,7 +518,9 @@ public final class ProcessingStateMachine {
   }
 
   public long getLastWrittenEventPosition() {
-    return lastWrittenEventPosition;
+    // a snapshot must not contain the state of a speculatively processed event which is not
+    // committed, even if it wrote no follow up event
+    return Math.max(lastWrittenEventPosition, lastSuccessfulProcessedEventPosition);
   }
 
   public ActorFuture<Long> getLastWrittenPositionAsync() {
@@ -342,6 +540,7 @@ public final class ProcessingStateMachine {
     private DbContext dbContext;
     private BooleanSupplier shouldProcessNext;
     private BooleanSupplier abortCondition;
+    private Runnable onFailure;
 
     public ProcessingStateMachineBuilder setMetrics(StreamProcessorMetrics metrics) {
       this.metrics = metrics;
@@ -373,6 +572,11 @@ public final class ProcessingStateMachine {
       return this;
     }
 
+    public ProcessingStateMachineBuilder setOnFailure(Runnable onFailure) {
+      this.onFailure = onFailure;
+      return this;
+    }
+
     public ProcessingStateMachine build() {
       Objects.requireNonNull(streamProcessorContext);
       Objects.requireNonNull(metrics);
@@ -380,13 +584,15 @@ public final class ProcessingStateMachine {
       Objects.requireNonNull(dbContext);
       Objects.requireNonNull(shouldProcessNext);
       Objects.requireNonNull(abortCondition);
+      Objects.requireNonNull(onFailure);
       return new ProcessingStateMachine(
           streamProcessorContext,
           metrics,
           streamProcessor,
           dbContext,
           shouldProcessNext,
-          abortCondition);
+          abortCondition,
+          onFailure);
     }
   }
 }
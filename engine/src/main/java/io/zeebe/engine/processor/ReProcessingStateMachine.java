@@ -20,6 +20,7 @@ package io.zeebe.engine.processor;
 import io.zeebe.db.DbContext;
 import io.zeebe.db.TransactionOperation;
 import io.zeebe.db.ZeebeDbTransaction;
+import io.zeebe.logstreams.impl.LoggedEventImpl;
 import io.zeebe.logstreams.impl.Loggers;
 import io.zeebe.logstreams.log.LogStreamReader;
 import io.zeebe.logstreams.log.LoggedEvent;
@@ -32,43 +33,51 @@ import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.BooleanSupplier;
+import org.agrona.ExpandableArrayBuffer;
 import org.slf4j.Logger;
 
 /**
  * Represents the reprocessing state machine, which is executed on reprocessing.
  *
  * <pre>
- * +------------------+   +-------------+           +------------------------+
- * |                  |   |             |           |                        |
- * |  startRecover()  |--->  scanLog()  |---------->|  reprocessNextEvent()  |
- * |                  |   |             |           |                        |
- * +------------------+   +---+---------+           +-----^------+-----------+
- *                            |                           |      |
- * +-----------------+        | no source events          |      |
- * |                 |        |                           |      |
- * |  onRecovered()  <--------+                           |      |    +--------------------+
- * |                 |                                    |      |    |                    |
- * +--------^--------+                hasNext             |      +--->|  reprocessEvent()  |
- *          |            +--------------------------------+           |                    |
- *          |            |                                            +----+----------+----+
- *          |            |                                                 |          |
- *   +------+------------+-----+                                           |          |
- *   |                         |               no event processor          |          |
- *   |  onRecordReprocessed()  |<------------------------------------------+          |
- *   |                         |                                                      |
- *   +---------^---------------+                                                      |
- *             |                                                                      |
- *             |      +--------------------------+       +----------------------+     |
- *             |      |                          |       |                      |     |
- *             +------+  updateStateUntilDone()  <-------+  processUntilDone()  |<----+
- *                    |                          |       |                      |
- *                    +------^------------+------+       +---^------------+-----+
- *                           |            |                  |            |
- *                           +------------+                  +------------+
- *                             exception                       exception
+ * +------------------+           +------------------------+
+ * |                  |           |                        |
+ * |  startRecover()  |---------->|  reprocessNextEvent()  |<--------------------+
+ * |                  |           |                        |                     |
+ * +------------------+           +---+--------+-------+---+                     |
+ *                                    |        |       |  ^                      |
+ * +-----------------+  end of log    |        |       |  | next event undecided |
+ * |                 |  no decided    |        |       |  |                      |
+ * |  onRecovered()  <----------------+        |    +--v--+-----------+          |
+ * |                 |  event                  |    |                 |          |
+ * +-----------------+                         |    |   scanEvent()   |          |
+ *                               next event    |    |                 |          |
+ *                               decided       |    +-----------------+          |
+ *                                             |                                 |
+ *                                  +----------v---------+                       |
+ *                                  |                    |  no event processor   |
+ *                                  |  reprocessEvent()  |-------------+         |
+ *                                  |                    |             |         |
+ *                                  +----+----------+----+             |         |
+ *                                       |          |                  |         |
+ *   +--------------------------+       +v----------+----------+  +----v---------+----------+
+ *   |                          |<------+  processUntilDone()  |  |                         |
+ *   |  updateStateUntilDone()  |       |                      |  |  onRecordReprocessed()  |
+ *   |                          |------------------------------------>                      |
+ *   +--------------------------+       +----------------------+  +-------------------------+
  * </pre>
  *
- * See https://textik.com/#773271ce7ea2096a
+ * <p>The log is read only once on reprocessing. Each event is scanned when it is read: the scan
+ * collects the positions of failed events, for which an error event was written, and the last
+ * source event position of the follow up events written by this processor. The events are copied
+ * into a pending buffer until it is known how they were processed before. Since the follow up
+ * events of this processor are written in processing order, an event is decided as soon as a follow
+ * up event with a greater source event position is read, or when the end of the log is reached.
+ * Decided events are reprocessed, the remaining events are processed by the normal processing
+ * afterwards.
+ *
+ * <p>If the pending buffer is full, the following events are only scanned. After the pending events
+ * are reprocessed, the reader seeks back to the first event which was not buffered.
  */
 public final class ReProcessingStateMachine {
 
@@ -78,13 +87,16 @@ public final class ReProcessingStateMachine {
       "Expected to find event processor for event '{}' with processor '{}', but caught an exception. Skip this event.";
   private static final String ERROR_MESSAGE_REPROCESSING_NO_SOURCE_EVENT =
       "Expected to find last source event position '%d', but last position was '%d'. Failed to reprocess on processor '%s'";
-  private static final String ERROR_MESSAGE_REPROCESSING_NO_NEXT_EVENT =
-      "Expected to find last source event position '%d', but found no next event. Failed to reprocess on processor '%s'";
 
   private static final String LOG_STMT_REPROCESSING_FINISHED =
       "Processor {} finished reprocessing at event position {}";
   private static final String LOG_STMT_FAILED_ON_PROCESSING =
       "Event {} failed on processing last time, will call #onError to update workflow instance blacklist.";
+  private static final String LOG_STMT_PENDING_BUFFER_FULL =
+      "Pending event buffer of processor {} is full at event position {}, will read the log again from there.";
+
+  static final int DEFAULT_PENDING_EVENTS_BUFFER_SIZE = 32 * 1024 * 1024;
+  private static final int INITIAL_PENDING_EVENTS_BUFFER_CAPACITY = 64 * 1024;
 
   private final int producerId;
 
@@ -105,11 +117,23 @@ public final class ReProcessingStateMachine {
   private final BooleanSupplier abortCondition;
   private final Set<Long> failedEventPositions = new HashSet<>();
 
+  // events which are read, but not yet reprocessed
+  private final int maxPendingEventsBufferSize;
+  private final ExpandableArrayBuffer pendingEventsBuffer =
+      new ExpandableArrayBuffer(INITIAL_PENDING_EVENTS_BUFFER_CAPACITY);
+  private final LoggedEventImpl pendingEvent = new LoggedEventImpl();
+  private final LoggedEventImpl peekedEvent = new LoggedEventImpl();
+  private int pendingEventsHeadOffset;
+  private int pendingEventsTailOffset;
+  private boolean isPendingEventsBufferFull;
+  private long firstNotBufferedEventPosition = -1L;
+
   private ReProcessingStateMachine(
       StreamProcessorContext context,
       StreamProcessor streamProcessor,
       DbContext dbContext,
-      BooleanSupplier abortCondition) {
+      BooleanSupplier abortCondition,
+      int maxPendingEventsBufferSize) {
     this.actor = context.getActorControl();
     this.streamProcessorName = context.getName();
     this.eventFilter = context.getEventFilter();
@@ -121,10 +145,13 @@ public final class ReProcessingStateMachine {
     this.updateStateRetryStrategy = new EndlessRetryStrategy(actor);
     this.processRetryStrategy = new EndlessRetryStrategy(actor);
     this.abortCondition = abortCondition;
+    this.maxPendingEventsBufferSize = maxPendingEventsBufferSize;
   }
 
   // current iteration
+  private long snapshotPosition;
   private long lastSourceEventPosition;
+  private long lastReprocessedEventPosition;
   private ActorFuture<Void> recoveryFuture;
   private LoggedEvent currentEvent;
   private EventProcessor eventProcessor;
@@ -133,91 +160,149 @@ public final class ReProcessingStateMachine {
   ActorFuture<Void> startRecover(final long snapshotPosition) {
     recoveryFuture = new CompletableActorFuture<>();
 
-    final long startPosition = logStreamReader.getPosition();
+    this.snapshotPosition = snapshotPosition;
+    lastSourceEventPosition = snapshotPosition;
+    lastReprocessedEventPosition = -1L;
 
-    LOG.info("Start scanning the log for error events.");
-    lastSourceEventPosition = scanLog(snapshotPosition);
-    LOG.info("Finished scanning the log for error events.");
-
-    if (lastSourceEventPosition > snapshotPosition) {
-      LOG.info(
-          "Processor {} starts reprocessing, until last source event position {}",
-          streamProcessorName,
-          lastSourceEventPosition);
+    final long startPosition = logStreamReader.getPosition();
+    if (startPosition >= 0) {
       logStreamReader.seek(startPosition);
-      reprocessNextEvent();
-    } else {
-      recoveryFuture.complete(null);
     }
+
+    LOG.info("Processor {} starts reprocessing.", streamProcessorName);
+    reprocessNextEvent();
     return recoveryFuture;
   }
 
-  private long scanLog(final long snapshotPosition) {
-    long lastSourceEventPosition = -1L;
-
-    if (logStreamReader.hasNext()) {
-      lastSourceEventPosition = snapshotPosition;
-      while (logStreamReader.hasNext()) {
-        final LoggedEvent newEvent = logStreamReader.next();
-
-        final long errorPosition = streamProcessor.getFailedPosition(newEvent);
-        if (errorPosition >= 0) {
-          LOG.debug(
-              "Found error-prone event {} on reprocessing, will add position {} to the blacklist.",
-              newEvent,
-              errorPosition);
-          failedEventPositions.add(errorPosition);
-        }
+  private void reprocessNextEvent() {
+    try {
+      if (isPendingEventsBufferFull && !hasPendingEvents()) {
+        logStreamReader.seek(firstNotBufferedEventPosition);
+        isPendingEventsBufferFull = false;
+      }
 
-        // ignore events from other producers
-        if (newEvent.getProducerId() == producerId) {
-          final long sourceEventPosition = newEvent.getSourceEventPosition();
-          if (sourceEventPosition > 0 && sourceEventPosition > lastSourceEventPosition) {
-            lastSourceEventPosition = sourceEventPosition;
-          }
+      while (!isNextPendingEventDecided(false) && logStreamReader.hasNext()) {
+        scanEvent(logStreamReader.next());
+      }
+
+      if (isNextPendingEventDecided(true)) {
+        currentEvent = pollPendingEvent();
+
+        if (eventFilter == null || eventFilter.applies(currentEvent)) {
+          reprocessEvent(currentEvent);
+        } else {
+          onRecordReprocessed(currentEvent);
         }
+      } else {
+        onEndOfLog();
+      }
+
+    } catch (final RuntimeException e) {
+      recoveryFuture.completeExceptionally(e);
+    }
+  }
+
+  private void scanEvent(final LoggedEvent event) {
+    final long errorPosition = streamProcessor.getFailedPosition(event);
+    if (errorPosition >= 0) {
+      LOG.debug(
+          "Found error-prone event {} on reprocessing, will add position {} to the blacklist.",
+          event,
+          errorPosition);
+      failedEventPositions.add(errorPosition);
+    }
+
+    // ignore events from other producers
+    if (event.getProducerId() == producerId) {
+      final long sourceEventPosition = event.getSourceEventPosition();
+      if (sourceEventPosition > 0 && sourceEventPosition > lastSourceEventPosition) {
+        lastSourceEventPosition = sourceEventPosition;
       }
+    }
 
-      // reset position
-      logStreamReader.seek(snapshotPosition + 1);
+    if (!isPendingEventsBufferFull && !tryAddPendingEvent(event)) {
+      LOG.debug(LOG_STMT_PENDING_BUFFER_FULL, streamProcessorName, event.getPosition());
+      isPendingEventsBufferFull = true;
+      firstNotBufferedEventPosition = event.getPosition();
     }
+  }
+
+  private boolean hasPendingEvents() {
+    return pendingEventsHeadOffset < pendingEventsTailOffset;
+  }
+
+  /**
+   * An event is decided if all follow up events for it are read. This is the case if a follow up
+   * event of a later event was read, or if the end of the log is reached.
+   */
+  private boolean isNextPendingEventDecided(final boolean isEndOfLog) {
+    if (!hasPendingEvents()) {
+      return false;
+    }
+
+    peekedEvent.wrap(pendingEventsBuffer, pendingEventsHeadOffset);
+    final long position = peekedEvent.getPosition();
 
-    return lastSourceEventPosition;
+    return position < lastSourceEventPosition
+        || (isEndOfLog
+            && position == lastSourceEventPosition
+            && lastSourceEventPosition > snapshotPosition);
   }
 
-  private void readNextEvent() {
-    if (!logStreamReader.hasNext()) {
-      throw new IllegalStateException(
-          String.format(
-              ERROR_MESSAGE_REPROCESSING_NO_NEXT_EVENT,
-              lastSourceEventPosition,
-              streamProcessorName));
+  private boolean tryAddPendingEvent(final LoggedEvent event) {
+    final int length = event.getLength();
+
+    if (pendingEventsTailOffset + length > maxPendingEventsBufferSize
+        && pendingEventsHeadOffset > 0) {
+      // compact the buffer, the events before the head offset are already reprocessed
+      final int pendingLength = pendingEventsTailOffset - pendingEventsHeadOffset;
+      pendingEventsBuffer.putBytes(0, pendingEventsBuffer, pendingEventsHeadOffset, pendingLength);
+      pendingEventsHeadOffset = 0;
+      pendingEventsTailOffset = pendingLength;
     }
 
-    currentEvent = logStreamReader.next();
-    if (currentEvent.getPosition() > lastSourceEventPosition) {
-      throw new IllegalStateException(
-          String.format(
-              ERROR_MESSAGE_REPROCESSING_NO_SOURCE_EVENT,
-              lastSourceEventPosition,
-              currentEvent.getPosition(),
-              streamProcessorName));
+    if (pendingEventsTailOffset + length > maxPendingEventsBufferSize && hasPendingEvents()) {
+      return false;
     }
+
+    event.write(pendingEventsBuffer, pendingEventsTailOffset);
+    pendingEventsTailOffset += length;
+    return true;
   }
 
-  private void reprocessNextEvent() {
-    try {
-      readNextEvent();
+  private LoggedEvent pollPendingEvent() {
+    pendingEvent.wrap(pendingEventsBuffer, pendingEventsHeadOffset);
+    pendingEventsHeadOffset += pendingEvent.getLength();
 
-      if (eventFilter == null || eventFilter.applies(currentEvent)) {
-        reprocessEvent(currentEvent);
-      } else {
-        onRecordReprocessed(currentEvent);
+    if (!hasPendingEvents()) {
+      // the event stays valid until the next event is scanned
+      pendingEventsHeadOffset = 0;
+      pendingEventsTailOffset = 0;
+    }
+
+    return pendingEvent;
+  }
+
+  private void onEndOfLog() {
+    if (lastSourceEventPosition > snapshotPosition) {
+      if (lastReprocessedEventPosition != lastSourceEventPosition) {
+        throw new IllegalStateException(
+            String.format(
+                ERROR_MESSAGE_REPROCESSING_NO_SOURCE_EVENT,
+                lastSourceEventPosition,
+                lastReprocessedEventPosition,
+                streamProcessorName));
       }
 
-    } catch (final RuntimeException e) {
-      recoveryFuture.completeExceptionally(e);
+      LOG.info(LOG_STMT_REPROCESSING_FINISHED, streamProcessorName, lastSourceEventPosition);
+    }
+
+    if (hasPendingEvents() || isPendingEventsBufferFull) {
+      // the remaining events are processed by the normal processing
+      logStreamReader.seek(lastSourceEventPosition + 1);
     }
+
+    onRecovered();
   }
 
   private void reprocessEvent(final LoggedEvent currentEvent) {
@@ -292,17 +377,16 @@ public final class ReProcessingStateMachine {
   }
 
   private void onRecordReprocessed(final LoggedEvent currentEvent) {
-    if (currentEvent.getPosition() == lastSourceEventPosition) {
-      LOG.info(LOG_STMT_REPROCESSING_FINISHED, streamProcessorName, currentEvent.getPosition());
-      onRecovered();
-    } else {
-      actor.submit(this::reprocessNextEvent);
-    }
+    lastReprocessedEventPosition = currentEvent.getPosition();
+    actor.submit(this::reprocessNextEvent);
   }
 
   private void onRecovered() {
     recoveryFuture.complete(null);
     failedEventPositions.clear();
+    pendingEventsHeadOffset = 0;
+    pendingEventsTailOffset = 0;
+    isPendingEventsBufferFull = false;
   }
 
   public static class ReprocessingStateMachineBuilder {
@@ -311,6 +395,7 @@ public final class ReProcessingStateMachine {
     private DbContext dbContext;
     private StreamProcessor streamProcessor;
     private BooleanSupplier abortCondition;
+    private int maxPendingEventsBufferSize = DEFAULT_PENDING_EVENTS_BUFFER_SIZE;
 
     public ReprocessingStateMachineBuilder setStreamProcessor(StreamProcessor streamProcessor) {
       this.streamProcessor = streamProcessor;
@@ -333,13 +418,22 @@ public final class ReProcessingStateMachine {
       return this;
     }
 
+    ReprocessingStateMachineBuilder setMaxPendingEventsBufferSize(int maxPendingEventsBufferSize) {
+      this.maxPendingEventsBufferSize = maxPendingEventsBufferSize;
+      return this;
+    }
+
     public ReProcessingStateMachine build() {
       Objects.requireNonNull(streamProcessorContext);
       Objects.requireNonNull(streamProcessor);
       Objects.requireNonNull(dbContext);
       Objects.requireNonNull(abortCondition);
       return new ReProcessingStateMachine(
-          streamProcessorContext, streamProcessor, dbContext, abortCondition);
+          streamProcessorContext,
+          streamProcessor,
+          dbContext,
+          abortCondition,
+          maxPendingEventsBufferSize);
     }
   }
 }
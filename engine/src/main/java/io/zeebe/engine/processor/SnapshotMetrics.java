@@ -17,12 +17,14 @@
  */
 package io.zeebe.engine.processor;
 
+import io.zeebe.util.metrics.Histogram;
 import io.zeebe.util.metrics.Metric;
 import io.zeebe.util.metrics.MetricsManager;
 
 public class SnapshotMetrics {
   private final Metric snapshotSizeMetric;
   private final Metric snapshotTimeMillisMetric;
+  private final Histogram snapshotDurationHistogram;
 
   public SnapshotMetrics(
       final MetricsManager metricsManager, final String processorName, final String partitionId) {
@@ -41,10 +43,19 @@ public class SnapshotMetrics {
             .label("processor", processorName)
             .label("partition", partitionId)
             .create();
+
+    snapshotDurationHistogram =
+        metricsManager
+            .newHistogram("streamprocessor_snapshot_duration_millis")
+            .description("Time spent to create a snapshot")
+            .label("processor", processorName)
+            .label("partition", partitionId)
+            .create();
   }
 
   public void close() {
     snapshotTimeMillisMetric.close();
+    snapshotDurationHistogram.close();
     snapshotSizeMetric.close();
   }
 
@@ -54,5 +65,6 @@ public class SnapshotMetrics {
 
   public void recordSnapshotCreationTime(final long creationTime) {
     snapshotTimeMillisMetric.setOrdered(creationTime);
+    snapshotDurationHistogram.record(creationTime);
   }
 }
@@ -56,6 +56,9 @@ public class StreamProcessorBuilder {
   private StreamProcessorFactory streamProcessorFactory;
   private int maxSnapshots;
   private boolean deleteDataOnSnapshot;
+  private int maxCommitBatchSize = 1;
+  private Duration maxCommitBatchDuration = Duration.ZERO;
+  private boolean speculativeProcessing;
 
   public StreamProcessorBuilder(int id, String name) {
     this.id = id;
@@ -115,6 +118,28 @@ public class StreamProcessorBuilder {
     return this;
   }
 
+  /**
+   * @param maxCommitBatchSize the maximum number of records which are processed in one state
+   *     transaction, a value of one commits the state after each record
+   * @param maxCommitBatchDuration the maximum time a commit batch is kept open
+   */
+  public StreamProcessorBuilder commitBatch(
+      final int maxCommitBatchSize, final Duration maxCommitBatchDuration) {
+    this.maxCommitBatchSize = maxCommitBatchSize;
+    this.maxCommitBatchDuration = maxCommitBatchDuration;
+    return this;
+  }
+
+  /**
+   * @param speculativeProcessing if true, the leader processes the events which it has written but
+   *     which are not committed yet; side effects of these events are held back until they are
+   *     committed
+   */
+  public StreamProcessorBuilder speculativeProcessing(final boolean speculativeProcessing) {
+    this.speculativeProcessing = speculativeProcessing;
+    return this;
+  }
+
   public ActorFuture<StreamProcessorService> build() {
     validate();
 
@@ -169,6 +194,9 @@ public class StreamProcessorBuilder {
     ctx.setMaxSnapshots(maxSnapshots);
     ctx.setSnapshotController(snapshotController);
     ctx.setDeleteDataOnSnapshot(deleteDataOnSnapshot);
+    ctx.setMaxCommitBatchSize(maxCommitBatchSize);
+    ctx.setMaxCommitBatchDuration(maxCommitBatchDuration);
+    ctx.setSpeculativeProcessing(speculativeProcessing);
 
     logStreamReader = new BufferedLogStreamReader();
     ctx.setLogStreamReader(logStreamReader);
@@ -20,6 +20,7 @@ package io.zeebe.engine.processor;
 import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.logstreams.log.LogStreamReader;
 import io.zeebe.logstreams.log.LogStreamRecordWriter;
+import io.zeebe.logstreams.log.UncommittedEventReader;
 import io.zeebe.logstreams.spi.SnapshotController;
 import io.zeebe.util.sched.ActorControl;
 import io.zeebe.util.sched.ActorScheduler;
@@ -46,6 +47,10 @@ public class StreamProcessorContext {
   private Runnable resumeRunnable;
   private int maxSnapshots;
   private boolean deleteDataOnSnapshot;
+  private int maxCommitBatchSize = 1;
+  private Duration maxCommitBatchDuration = Duration.ZERO;
+  private boolean speculativeProcessing;
+  private UncommittedEventReader uncommittedEventReader;
 
   public LogStream getLogStream() {
     return logStream;
@@ -176,4 +181,37 @@ public class StreamProcessorContext {
   public boolean getDeleteDataOnSnapshot() {
     return deleteDataOnSnapshot;
   }
+
+  public int getMaxCommitBatchSize() {
+    return maxCommitBatchSize;
+  }
+
+  public void setMaxCommitBatchSize(final int maxCommitBatchSize) {
+    this.maxCommitBatchSize = maxCommitBatchSize;
+  }
+
+  public Duration getMaxCommitBatchDuration() {
+    return maxCommitBatchDuration;
+  }
+
+  public void setMaxCommitBatchDuration(final Duration maxCommitBatchDuration) {
+    this.maxCommitBatchDuration = maxCommitBatchDuration;
+  }
+
+  public boolean isSpeculativeProcessing() {
+    return speculativeProcessing;
+  }
+
+  public void setSpeculativeProcessing(final boolean speculativeProcessing) {
+    this.speculativeProcessing = speculativeProcessing;
+  }
+
+  /** @return the reader of the uncommitted events, or null if speculative processing is off */
+  public UncommittedEventReader getUncommittedEventReader() {
+    return uncommittedEventReader;
+  }
+
+  public void setUncommittedEventReader(final UncommittedEventReader uncommittedEventReader) {
+    this.uncommittedEventReader = uncommittedEventReader;
+  }
 }
@@ -23,6 +23,7 @@ import io.zeebe.logstreams.impl.Loggers;
 import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.logstreams.log.LogStreamReader;
 import io.zeebe.logstreams.log.LogStreamRecordWriter;
+import io.zeebe.logstreams.log.UncommittedEventReader;
 import io.zeebe.logstreams.spi.SnapshotController;
 import io.zeebe.util.LangUtil;
 import io.zeebe.util.metrics.MetricsManager;
@@ -58,6 +59,8 @@ public class StreamProcessorController extends Actor {
   private long snapshotPosition = -1L;
 
   private ActorCondition onCommitPositionUpdatedCondition;
+  private ActorCondition onUncommittedEventsCondition;
+  private UncommittedEventReader uncommittedEventReader;
 
   private boolean suspended = false;
 
@@ -125,6 +128,14 @@ public class StreamProcessorController extends Actor {
     }
 
     try {
+      if (streamProcessorContext.isSpeculativeProcessing()) {
+        onUncommittedEventsCondition =
+            actor.onCondition(
+                getName() + "-on-uncommitted-events", () -> processingStateMachine.readNextEvent());
+        uncommittedEventReader = new UncommittedEventReader(onUncommittedEventsCondition::signal);
+        streamProcessorContext.setUncommittedEventReader(uncommittedEventReader);
+      }
+
       processingStateMachine =
           ProcessingStateMachine.builder()
               .setStreamProcessorContext(streamProcessorContext)
@@ -133,6 +144,7 @@ public class StreamProcessorController extends Actor {
               .setDbContext(dbContext)
               .setShouldProcessNext(() -> isOpened() && !isSuspended())
               .setAbortCondition(this::isClosed)
+              .setOnFailure(this::onFailure)
               .build();
 
       final ReProcessingStateMachine reProcessingStateMachine =
@@ -209,6 +221,10 @@ public class StreamProcessorController extends Actor {
             getName() + "-on-commit-position-updated", processingStateMachine::readNextEvent);
     logStream.registerOnCommitPositionUpdatedCondition(onCommitPositionUpdatedCondition);
 
+    if (uncommittedEventReader != null) {
+      logStream.registerUncommittedBlockListener(uncommittedEventReader);
+    }
+
     // start reading
     streamProcessor.onRecovered();
     actor.submit(processingStateMachine::readNextEvent);
@@ -266,6 +282,11 @@ public class StreamProcessorController extends Actor {
           onCommitPositionUpdatedCondition);
       onCommitPositionUpdatedCondition = null;
     }
+
+    if (uncommittedEventReader != null) {
+      streamProcessorContext.logStream.removeUncommittedBlockListener(uncommittedEventReader);
+      uncommittedEventReader = null;
+    }
   }
 
   @Override
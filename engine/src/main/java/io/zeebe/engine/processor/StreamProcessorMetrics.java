@@ -19,11 +19,16 @@ package io.zeebe.engine.processor;
 
 import io.zeebe.util.metrics.Metric;
 import io.zeebe.util.metrics.MetricsManager;
+import io.zeebe.util.metrics.Timer;
 
 public class StreamProcessorMetrics {
   private final Metric eventsProcessedCountMetric;
   private final Metric eventsWrittenCountMetric;
   private final Metric eventsSkippedCountMetric;
+  private final Timer processingTimer;
+  private final Timer writingTimer;
+  private final Timer commitTimer;
+  private final Timer sideEffectsTimer;
   private final SnapshotMetrics snapshotMetrics;
 
   public StreamProcessorMetrics(
@@ -55,13 +60,37 @@ public class StreamProcessorMetrics {
             .label("partition", partitionId)
             .create();
 
+    processingTimer = createLatencyTimer(metricsManager, processorName, partitionId, "process");
+    writingTimer = createLatencyTimer(metricsManager, processorName, partitionId, "write");
+    commitTimer = createLatencyTimer(metricsManager, processorName, partitionId, "commit");
+    sideEffectsTimer =
+        createLatencyTimer(metricsManager, processorName, partitionId, "side_effect");
+
     snapshotMetrics = new SnapshotMetrics(metricsManager, processorName, partitionId);
   }
 
+  private static Timer createLatencyTimer(
+      final MetricsManager metricsManager,
+      final String processorName,
+      final String partitionId,
+      final String phase) {
+    return metricsManager
+        .newHistogram("streamprocessor_latency_microseconds")
+        .description("Time spent in the phases of processing an event")
+        .label("processor", processorName)
+        .label("phase", phase)
+        .label("partition", partitionId)
+        .createTimer();
+  }
+
   public void close() {
     eventsProcessedCountMetric.close();
     eventsSkippedCountMetric.close();
     eventsWrittenCountMetric.close();
+    processingTimer.close();
+    writingTimer.close();
+    commitTimer.close();
+    sideEffectsTimer.close();
     snapshotMetrics.close();
   }
 
@@ -77,6 +106,22 @@ public class StreamProcessorMetrics {
     eventsWrittenCountMetric.incrementOrdered();
   }
 
+  public Timer getProcessingTimer() {
+    return processingTimer;
+  }
+
+  public Timer getWritingTimer() {
+    return writingTimer;
+  }
+
+  public Timer getCommitTimer() {
+    return commitTimer;
+  }
+
+  public Timer getSideEffectsTimer() {
+    return sideEffectsTimer;
+  }
+
   public SnapshotMetrics getSnapshotMetrics() {
     return snapshotMetrics;
   }
@@ -78,7 +78,13 @@ public class TypedStreamProcessor implements StreamProcessor {
 
     this.eventCache = new EnumMap<>(ValueType.class);
 
-    eventRegistry.forEach((t, c) -> eventCache.put(t, ReflectUtil.newInstance(c)));
+    eventRegistry.forEach(
+        (t, c) -> {
+          final UnpackedObject value = ReflectUtil.newInstance(c);
+          // most processors access only a few properties of the record
+          value.setLazyDecoding(true);
+          eventCache.put(t, value);
+        });
     this.eventRegistry = eventRegistry;
     this.environment = environment;
   }
@@ -274,6 +280,11 @@ public class TypedStreamProcessor implements StreamProcessor {
       return sideEffectProducer.flush();
     }
 
+    @Override
+    public boolean hasSideEffects() {
+      return sideEffectProducer != responseWriter || responseWriter.isResponseStaged();
+    }
+
     @Override
     public long writeEvent(final LogStreamRecordWriter writer) {
       return this.writer.flush();
@@ -24,12 +24,23 @@ import io.zeebe.engine.state.instance.JobState;
 import io.zeebe.protocol.clientapi.ValueType;
 import io.zeebe.protocol.intent.JobBatchIntent;
 import io.zeebe.protocol.intent.JobIntent;
+import java.util.function.Consumer;
 
 public class JobEventProcessors {
   public static void addJobProcessors(
       TypedEventStreamProcessorBuilder typedEventStreamProcessorBuilder, ZeebeState zeebeState) {
+    addJobProcessors(typedEventStreamProcessorBuilder, zeebeState, type -> {});
+  }
+
+  public static void addJobProcessors(
+      TypedEventStreamProcessorBuilder typedEventStreamProcessorBuilder,
+      ZeebeState zeebeState,
+      Consumer<String> onJobsAvailableCallback) {
     final WorkflowState workflowState = zeebeState.getWorkflowState();
     final JobState jobState = zeebeState.getJobState();
+    final JobsAvailableNotifier jobsAvailableNotifier =
+        new JobsAvailableNotifier(onJobsAvailableCallback);
+    jobState.setJobsAvailableCallback(jobsAvailableNotifier);
 
     typedEventStreamProcessorBuilder
         .onEvent(ValueType.JOB, JobIntent.CREATED, new JobCreatedProcessor(workflowState))
@@ -48,6 +59,7 @@ public class JobEventProcessors {
                 jobState,
                 workflowState.getElementInstanceState().getVariablesState(),
                 zeebeState.getKeyGenerator()))
-        .withListener(new JobTimeoutTrigger(jobState));
+        .withListener(new JobTimeoutTrigger(jobState))
+        .withListener(jobsAvailableNotifier);
   }
 }
@@ -0,0 +1,54 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.processor.workflow.job;
+
+import io.zeebe.engine.processor.StreamProcessorLifecycleAware;
+import io.zeebe.engine.processor.TypedStreamProcessor;
+import java.util.function.Consumer;
+
+/**
+ * Forwards the job types of committed activatable jobs to the given callback. Nothing is forwarded
+ * while the log is reprocessed, since the jobs were already announced when the records were
+ * processed the first time.
+ */
+public class JobsAvailableNotifier implements Consumer<String>, StreamProcessorLifecycleAware {
+
+  private final Consumer<String> onJobsAvailable;
+  private boolean isProcessing;
+
+  public JobsAvailableNotifier(Consumer<String> onJobsAvailable) {
+    this.onJobsAvailable = onJobsAvailable;
+  }
+
+  @Override
+  public void onRecovered(TypedStreamProcessor streamProcessor) {
+    isProcessing = true;
+  }
+
+  @Override
+  public void onClose() {
+    isProcessing = false;
+  }
+
+  @Override
+  public void accept(String jobType) {
+    if (isProcessing) {
+      onJobsAvailable.accept(jobType);
+    }
+  }
+}
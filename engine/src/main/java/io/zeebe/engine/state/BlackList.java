@@ -19,29 +19,50 @@ package io.zeebe.engine.state;
 
 import io.zeebe.db.ColumnFamily;
 import io.zeebe.db.DbContext;
+import io.zeebe.db.TransactionalChanges;
 import io.zeebe.db.ZeebeDb;
 import io.zeebe.db.impl.DbLong;
 import io.zeebe.db.impl.DbNil;
+import java.util.List;
+import org.agrona.collections.LongHashSet;
 
+/**
+ * The blacklisted workflow instances are mirrored in memory, since the blacklist is checked for
+ * every processed record and is usually empty. The in-memory set is loaded from the state on
+ * creation. A blacklisted key is only added to it when the transaction which put the key into the
+ * state is committed, but is visible to the following records of the same transaction.
+ */
 public class BlackList {
 
   private final ColumnFamily<DbLong, DbNil> blackListColumnFamily;
   private final DbLong workflowInstanceKey;
+  private final LongHashSet blacklistedKeys = new LongHashSet();
+  private final TransactionalChanges<Long> uncommittedKeys =
+      new TransactionalChanges<>(blacklistedKeys::addAll);
 
   public BlackList(ZeebeDb<ZbColumnFamilies> zeebeDb, DbContext dbContext) {
     workflowInstanceKey = new DbLong();
     blackListColumnFamily =
         zeebeDb.createColumnFamily(
             ZbColumnFamilies.BLACKLIST, dbContext, workflowInstanceKey, DbNil.INSTANCE);
+
+    blackListColumnFamily.forEach((key, nil) -> blacklistedKeys.add(key.getValue()));
+    dbContext.addTransactionListener(uncommittedKeys);
   }
 
   public void blacklist(long key) {
+    uncommittedKeys.add(key);
+
     workflowInstanceKey.wrapLong(key);
     blackListColumnFamily.put(workflowInstanceKey, DbNil.INSTANCE);
   }
 
   public boolean isOnBlacklist(long key) {
-    workflowInstanceKey.wrapLong(key);
-    return blackListColumnFamily.exists(workflowInstanceKey);
+    if (blacklistedKeys.contains(key)) {
+      return true;
+    }
+
+    final List<Long> keys = uncommittedKeys.getChanges();
+    return !keys.isEmpty() && keys.contains(key);
   }
 }
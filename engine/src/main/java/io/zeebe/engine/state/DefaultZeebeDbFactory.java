@@ -18,16 +18,45 @@
 package io.zeebe.engine.state;
 
 import io.zeebe.db.ZeebeDbFactory;
+import io.zeebe.db.impl.rocksdb.ColumnFamilyConfiguration;
+import io.zeebe.db.impl.rocksdb.RocksDbConfiguration;
 import io.zeebe.db.impl.rocksdb.ZeebeRocksDbFactory;
 
 public final class DefaultZeebeDbFactory {
 
+  private static final long BLOCK_CACHE_SIZE = 64 * 1024 * 1024;
+  private static final int BLOOM_FILTER_BITS_PER_KEY = 10;
+  private static final int LONG_PREFIX_LENGTH = Long.BYTES;
+  private static final long HOT_COLUMN_FAMILY_CACHE_SIZE = 8 * 1024 * 1024;
+
+  /**
+   * The column families which are iterated by the first long of their composite key, e.g. the
+   * children of an element instance or the variables of a scope.
+   */
+  private static final ZbColumnFamilies[] LONG_PREFIX_COLUMN_FAMILIES = {
+    ZbColumnFamilies.ELEMENT_INSTANCE_PARENT_CHILD,
+    ZbColumnFamilies.STORED_INSTANCE_EVENTS_PARENT_CHILD,
+    ZbColumnFamilies.VARIABLES,
+    ZbColumnFamilies.TIMERS,
+    ZbColumnFamilies.EVENT_TRIGGER
+  };
+
+  /**
+   * The column families which are read for almost every processed record, e.g. to look up the
+   * element instance or the parent scope of variables. Their committed values are cached in memory.
+   */
+  private static final ZbColumnFamilies[] HOT_COLUMN_FAMILIES = {
+    ZbColumnFamilies.ELEMENT_INSTANCE_KEY,
+    ZbColumnFamilies.ELEMENT_INSTANCE_CHILD_PARENT,
+    ZbColumnFamilies.JOBS
+  };
+
   /**
    * The default zeebe database factory, which is used in most of the places except for the
    * exporters.
    */
   public static final ZeebeDbFactory<ZbColumnFamilies> DEFAULT_DB_FACTORY =
-      defaultFactory(ZbColumnFamilies.class);
+      newFactory(defaultConfiguration());
 
   /**
    * Returns the default zeebe database factory which is used in the broker.
@@ -42,4 +71,45 @@ public final class DefaultZeebeDbFactory {
     // one place to replace the zeebe database implementation
     return ZeebeRocksDbFactory.newFactory(columnFamilyNamesClass);
   }
+
+  /**
+   * Returns a factory for the state of the workflow engine with the given RocksDB options.
+   *
+   * @see #defaultConfiguration()
+   */
+  public static ZeebeDbFactory<ZbColumnFamilies> newFactory(RocksDbConfiguration configuration) {
+    return ZeebeRocksDbFactory.newFactory(ZbColumnFamilies.class, configuration);
+  }
+
+  /**
+   * Returns the default RocksDB options for the state of the workflow engine: a shared block cache,
+   * bloom filters for all column families, prefix extractors for the column families which are
+   * iterated by a long prefix and a read-through cache for the hot column families.
+   */
+  public static RocksDbConfiguration defaultConfiguration() {
+    final ColumnFamilyConfiguration defaultColumnFamilyConfiguration =
+        new ColumnFamilyConfiguration().setBloomFilterBitsPerKey(BLOOM_FILTER_BITS_PER_KEY);
+    final RocksDbConfiguration configuration =
+        new RocksDbConfiguration()
+            .setBlockCacheSize(BLOCK_CACHE_SIZE)
+            .setDefaultColumnFamilyConfiguration(defaultColumnFamilyConfiguration);
+
+    for (ZbColumnFamilies columnFamily : LONG_PREFIX_COLUMN_FAMILIES) {
+      configuration.setColumnFamilyConfiguration(
+          columnFamily.name(),
+          new ColumnFamilyConfiguration()
+              .setBloomFilterBitsPerKey(BLOOM_FILTER_BITS_PER_KEY)
+              .setFixedPrefixLength(LONG_PREFIX_LENGTH));
+    }
+
+    for (ZbColumnFamilies columnFamily : HOT_COLUMN_FAMILIES) {
+      configuration.setColumnFamilyConfiguration(
+          columnFamily.name(),
+          new ColumnFamilyConfiguration()
+              .setBloomFilterBitsPerKey(BLOOM_FILTER_BITS_PER_KEY)
+              .setCacheSize(HOT_COLUMN_FAMILY_CACHE_SIZE));
+    }
+
+    return configuration;
+  }
 }
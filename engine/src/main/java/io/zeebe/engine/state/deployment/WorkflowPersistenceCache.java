@@ -19,6 +19,7 @@ package io.zeebe.engine.state.deployment;
 
 import io.zeebe.db.ColumnFamily;
 import io.zeebe.db.DbContext;
+import io.zeebe.db.TransactionalChanges;
 import io.zeebe.db.ZeebeDb;
 import io.zeebe.db.impl.DbCompositeKey;
 import io.zeebe.db.impl.DbLong;
@@ -32,24 +33,40 @@ import io.zeebe.protocol.impl.record.value.deployment.DeploymentRecord;
 import io.zeebe.protocol.impl.record.value.deployment.DeploymentResource;
 import io.zeebe.protocol.impl.record.value.deployment.Workflow;
 import io.zeebe.util.buffer.BufferUtil;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import org.agrona.DirectBuffer;
 import org.agrona.ExpandableArrayBuffer;
-import org.agrona.collections.Long2ObjectHashMap;
+import org.agrona.collections.Int2ObjectHashMap;
 import org.agrona.collections.LongHashSet;
+import org.agrona.collections.Object2IntHashMap;
 import org.agrona.io.DirectBufferInputStream;
 
+/**
+ * Persists the deployed workflows and keeps the most recently used ones in memory. The in-memory
+ * state is bounded by the cache capacity; the least recently used workflow is evicted when the
+ * capacity is exceeded, and is transformed again from the persisted resource on the next access.
+ */
 public class WorkflowPersistenceCache {
+  public static final int DEFAULT_CACHE_CAPACITY = 1_000;
+
+  private static final int NO_VERSION = -1;
+
   private final BpmnTransformer transformer = new BpmnTransformer();
 
-  private final Map<DirectBuffer, Long2ObjectHashMap<DeployedWorkflow>>
+  private final int cacheCapacity;
+  private final Map<DirectBuffer, Int2ObjectHashMap<DeployedWorkflow>>
       workflowsByProcessIdAndVersion = new HashMap<>();
+  private final Object2IntHashMap<DirectBuffer> latestVersionsByProcessId =
+      new Object2IntHashMap<>(NO_VERSION);
+  // the process ids whose latest version changed in the current transaction
+  private final TransactionalChanges<DirectBuffer> changedLatestVersions;
   private final LongHashSet deployments;
-  private final Long2ObjectHashMap<DeployedWorkflow> workflowsByKey;
+  private final LinkedHashMap<Long, DeployedWorkflow> workflowsByKey;
 
   // workflow
   private final ColumnFamily<DbLong, PersistedWorkflow> workflowColumnFamily;
@@ -64,6 +81,13 @@ public class WorkflowPersistenceCache {
   private final DbLong workflowVersion;
 
   public WorkflowPersistenceCache(ZeebeDb<ZbColumnFamilies> zeebeDb, DbContext dbContext) {
+    this(zeebeDb, dbContext, DEFAULT_CACHE_CAPACITY);
+  }
+
+  public WorkflowPersistenceCache(
+      ZeebeDb<ZbColumnFamilies> zeebeDb, DbContext dbContext, int cacheCapacity) {
+    this.cacheCapacity = cacheCapacity;
+
     workflowKey = new DbLong();
     persistedWorkflow = new PersistedWorkflow();
     workflowColumnFamily =
@@ -84,8 +108,21 @@ public class WorkflowPersistenceCache {
         zeebeDb.createColumnFamily(
             ZbColumnFamilies.WORKFLOW_CACHE_LATEST_KEY, dbContext, workflowId, workflowVersion);
 
+    changedLatestVersions = new TransactionalChanges<>(this::invalidateLatestVersions);
+    dbContext.addTransactionListener(changedLatestVersions);
+
     deployments = new LongHashSet();
-    workflowsByKey = new Long2ObjectHashMap<>();
+    workflowsByKey =
+        new LinkedHashMap<Long, DeployedWorkflow>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<Long, DeployedWorkflow> eldest) {
+            final boolean isFull = size() > cacheCapacity;
+            if (isFull) {
+              removeFromVersionIndex(eldest.getValue());
+            }
+            return isFull;
+          }
+        };
   }
 
   protected boolean putDeployment(
@@ -125,14 +162,28 @@ public class WorkflowPersistenceCache {
     final long latestVersion = storedVersion == null ? -1 : storedVersion.getValue();
 
     if (workflow.getVersion() > latestVersion) {
+      changedLatestVersions.add(BufferUtil.cloneBuffer(workflow.getBpmnProcessId()));
+
       workflowVersion.wrapLong(workflow.getVersion());
       latestWorkflowColumnFamily.put(workflowId, workflowVersion);
     }
   }
 
+  private void invalidateLatestVersions(final List<DirectBuffer> processIds) {
+    // the new versions are read from the column family on the next access
+    processIds.forEach(latestVersionsByProcessId::removeKey);
+  }
+
   private final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer();
   // is called on getters, if workflow is not in memory
   private DeployedWorkflow updateInMemoryState(PersistedWorkflow persistedWorkflow) {
+    final DeployedWorkflow deployedWorkflow = transformWorkflow(persistedWorkflow);
+    addWorkflowToInMemoryState(deployedWorkflow);
+
+    return deployedWorkflow;
+  }
+
+  private DeployedWorkflow transformWorkflow(PersistedWorkflow persistedWorkflow) {
 
     // we have to copy to store this in cache
     persistedWorkflow.write(buffer, 0);
@@ -149,12 +200,7 @@ public class WorkflowPersistenceCache {
             .findFirst()
             .get();
 
-    final DeployedWorkflow deployedWorkflow =
-        new DeployedWorkflow(executableWorkflow, copiedWorkflow);
-
-    addWorkflowToInMemoryState(deployedWorkflow);
-
-    return deployedWorkflow;
+    return new DeployedWorkflow(executableWorkflow, copiedWorkflow);
   }
 
   private BpmnModelInstance readModelInstanceFromBuffer(DirectBuffer buffer) {
@@ -167,11 +213,11 @@ public class WorkflowPersistenceCache {
     final DirectBuffer bpmnProcessId = deployedWorkflow.getBpmnProcessId();
     workflowsByKey.put(deployedWorkflow.getKey(), deployedWorkflow);
 
-    Long2ObjectHashMap<DeployedWorkflow> versionMap =
+    Int2ObjectHashMap<DeployedWorkflow> versionMap =
         workflowsByProcessIdAndVersion.get(bpmnProcessId);
 
     if (versionMap == null) {
-      versionMap = new Long2ObjectHashMap<>();
+      versionMap = new Int2ObjectHashMap<>();
       workflowsByProcessIdAndVersion.put(bpmnProcessId, versionMap);
     }
 
@@ -179,52 +225,75 @@ public class WorkflowPersistenceCache {
     versionMap.put(version, deployedWorkflow);
   }
 
-  public DeployedWorkflow getLatestWorkflowVersionByProcessId(final DirectBuffer processId) {
-    final Long2ObjectHashMap<DeployedWorkflow> versionMap =
-        workflowsByProcessIdAndVersion.get(processId);
+  private void removeFromVersionIndex(final DeployedWorkflow deployedWorkflow) {
+    final DirectBuffer bpmnProcessId = deployedWorkflow.getBpmnProcessId();
+    final Int2ObjectHashMap<DeployedWorkflow> versionMap =
+        workflowsByProcessIdAndVersion.get(bpmnProcessId);
 
-    workflowId.wrapBuffer(processId);
-    final DbLong latestVersion = latestWorkflowColumnFamily.get(workflowId);
+    if (versionMap != null) {
+      versionMap.remove(deployedWorkflow.getVersion());
+      if (versionMap.isEmpty()) {
+        workflowsByProcessIdAndVersion.remove(bpmnProcessId);
+      }
+    }
+  }
 
-    DeployedWorkflow deployedWorkflow;
-    if (versionMap == null) {
-      deployedWorkflow = lookupWorkflowByIdAndPersistedVersion(latestVersion);
-    } else {
-      deployedWorkflow = versionMap.get(latestVersion.getValue());
-      if (deployedWorkflow == null) {
-        deployedWorkflow = lookupWorkflowByIdAndPersistedVersion(latestVersion);
+  private DeployedWorkflow getCachedWorkflow(final DirectBuffer processId, final int version) {
+    final Int2ObjectHashMap<DeployedWorkflow> versionMap =
+        workflowsByProcessIdAndVersion.get(processId);
+
+    if (versionMap != null) {
+      final DeployedWorkflow deployedWorkflow = versionMap.get(version);
+      if (deployedWorkflow != null) {
+        // marks the workflow as recently used
+        workflowsByKey.get(deployedWorkflow.getKey());
+        return deployedWorkflow;
       }
     }
-    return deployedWorkflow;
+    return null;
   }
 
-  private DeployedWorkflow lookupWorkflowByIdAndPersistedVersion(DbLong version) {
-    final long latestVersion = version != null ? version.getValue() : -1;
-    workflowVersion.wrapLong(latestVersion);
+  // is used to list workflows, which should not evict the recently used ones from the cache
+  private DeployedWorkflow getOrTransformWorkflow(final PersistedWorkflow persistedWorkflow) {
+    final DeployedWorkflow deployedWorkflow = workflowsByKey.get(persistedWorkflow.getKey());
+    return deployedWorkflow != null ? deployedWorkflow : transformWorkflow(persistedWorkflow);
+  }
 
-    final PersistedWorkflow persistedWorkflow =
-        workflowByIdAndVersionColumnFamily.get(idAndVersionKey);
+  public DeployedWorkflow getLatestWorkflowVersionByProcessId(final DirectBuffer processId) {
+    // a version which is not committed yet is not kept in memory
+    final boolean isChanged = hasUncommittedLatestVersion(processId);
+    int latestVersion = isChanged ? NO_VERSION : latestVersionsByProcessId.getValue(processId);
+
+    if (latestVersion == NO_VERSION) {
+      workflowId.wrapBuffer(processId);
+      final DbLong storedVersion = latestWorkflowColumnFamily.get(workflowId);
+      if (storedVersion == null) {
+        return null;
+      }
 
-    if (persistedWorkflow != null) {
-      final DeployedWorkflow deployedWorkflow = updateInMemoryState(persistedWorkflow);
-      return deployedWorkflow;
+      latestVersion = (int) storedVersion.getValue();
+      if (!isChanged) {
+        latestVersionsByProcessId.put(BufferUtil.cloneBuffer(processId), latestVersion);
+      }
     }
-    return null;
+
+    return getWorkflowByProcessIdAndVersion(processId, latestVersion);
+  }
+
+  private boolean hasUncommittedLatestVersion(final DirectBuffer processId) {
+    for (final DirectBuffer changedProcessId : changedLatestVersions.getChanges()) {
+      if (BufferUtil.equals(changedProcessId, processId)) {
+        return true;
+      }
+    }
+    return false;
   }
 
   public DeployedWorkflow getWorkflowByProcessIdAndVersion(
       final DirectBuffer processId, final int version) {
-    final Long2ObjectHashMap<DeployedWorkflow> versionMap =
-        workflowsByProcessIdAndVersion.get(processId);
+    final DeployedWorkflow deployedWorkflow = getCachedWorkflow(processId, version);
 
-    if (versionMap != null) {
-      final DeployedWorkflow deployedWorkflow = versionMap.get(version);
-      return deployedWorkflow != null
-          ? deployedWorkflow
-          : lookupPersistenceState(processId, version);
-    } else {
-      return lookupPersistenceState(processId, version);
-    }
+    return deployedWorkflow != null ? deployedWorkflow : lookupPersistenceState(processId, version);
   }
 
   private DeployedWorkflow lookupPersistenceState(DirectBuffer processId, int version) {
@@ -235,14 +304,7 @@ public class WorkflowPersistenceCache {
         workflowByIdAndVersionColumnFamily.get(idAndVersionKey);
 
     if (persistedWorkflow != null) {
-      updateInMemoryState(persistedWorkflow);
-
-      final Long2ObjectHashMap<DeployedWorkflow> newVersionMap =
-          workflowsByProcessIdAndVersion.get(processId);
-
-      if (newVersionMap != null) {
-        return newVersionMap.get(version);
-      }
+      return updateInMemoryState(persistedWorkflow);
     }
     // does not exist in persistence and in memory state
     return null;
@@ -263,36 +325,28 @@ public class WorkflowPersistenceCache {
 
     final PersistedWorkflow persistedWorkflow = workflowColumnFamily.get(this.workflowKey);
     if (persistedWorkflow != null) {
-      updateInMemoryState(persistedWorkflow);
-
-      final DeployedWorkflow deployedWorkflow = workflowsByKey.get(workflowKey);
-      if (deployedWorkflow != null) {
-        return deployedWorkflow;
-      }
+      return updateInMemoryState(persistedWorkflow);
     }
     // does not exist in persistence and in memory state
     return null;
   }
 
   public Collection<DeployedWorkflow> getWorkflows() {
-    updateCompleteInMemoryState();
-    return workflowsByKey.values();
+    final List<DeployedWorkflow> workflows = new ArrayList<>();
+    workflowColumnFamily.forEach((workflow) -> workflows.add(getOrTransformWorkflow(workflow)));
+    return workflows;
   }
 
   public Collection<DeployedWorkflow> getWorkflowsByBpmnProcessId(
       final DirectBuffer bpmnProcessId) {
-    updateCompleteInMemoryState();
-
-    final Long2ObjectHashMap<DeployedWorkflow> workflowsByVersions =
-        workflowsByProcessIdAndVersion.get(bpmnProcessId);
-
-    if (workflowsByVersions != null) {
-      return workflowsByVersions.values();
-    }
-    return Collections.emptyList();
-  }
-
-  private void updateCompleteInMemoryState() {
-    workflowColumnFamily.forEach((workflow) -> updateInMemoryState(persistedWorkflow));
+    final List<DeployedWorkflow> workflows = new ArrayList<>();
+
+    workflowId.wrapBuffer(bpmnProcessId);
+    workflowByIdAndVersionColumnFamily.whileEqualPrefix(
+        workflowId,
+        (key, workflow) -> {
+          workflows.add(getOrTransformWorkflow(workflow));
+        });
+    return workflows;
   }
 }
@@ -19,6 +19,7 @@ package io.zeebe.engine.state.instance;
 
 import io.zeebe.db.ColumnFamily;
 import io.zeebe.db.DbContext;
+import io.zeebe.db.TransactionalChanges;
 import io.zeebe.db.ZeebeDb;
 import io.zeebe.db.impl.DbByte;
 import io.zeebe.db.impl.DbCompositeKey;
@@ -28,7 +29,12 @@ import io.zeebe.db.impl.DbString;
 import io.zeebe.engine.state.ZbColumnFamilies;
 import io.zeebe.protocol.impl.record.value.job.JobRecord;
 import io.zeebe.util.EnsureUtil;
+import io.zeebe.util.buffer.BufferUtil;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import org.agrona.DirectBuffer;
 
 public class JobState {
@@ -56,6 +62,11 @@ public class JobState {
   private final DbCompositeKey<DbLong, DbLong> deadlineJobKey;
   private final ColumnFamily<DbCompositeKey<DbLong, DbLong>, DbNil> deadlinesColumnFamily;
 
+  // the types of the jobs which became activatable in the current transaction
+  private final TransactionalChanges<String> activatableJobTypes;
+  private final Set<String> notifiedJobTypes = new HashSet<>();
+  private Consumer<String> onJobsAvailableCallback = type -> {};
+
   public JobState(ZeebeDb<ZbColumnFamilies> zeebeDb, DbContext dbContext) {
 
     jobRecordToRead = new UnpackedObjectValue();
@@ -81,6 +92,9 @@ public class JobState {
     deadlinesColumnFamily =
         zeebeDb.createColumnFamily(
             ZbColumnFamilies.JOB_DEADLINES, dbContext, deadlineJobKey, DbNil.INSTANCE);
+
+    activatableJobTypes = new TransactionalChanges<>(this::notifyJobsAvailable);
+    dbContext.addTransactionListener(activatableJobTypes);
   }
 
   public void create(final long key, final JobRecord record) {
@@ -242,6 +256,14 @@ public class JobState {
     return unpackedObjectValue == null ? null : (JobRecord) unpackedObjectValue.getObject();
   }
 
+  /**
+   * Sets the callback which is invoked with the job type when jobs became activatable, e.g. to
+   * notify waiting workers. It is invoked once per job type after the transaction is committed.
+   */
+  public void setJobsAvailableCallback(Consumer<String> onJobsAvailableCallback) {
+    this.onJobsAvailableCallback = onJobsAvailableCallback;
+  }
+
   public enum State {
     ACTIVATABLE((byte) 0),
     ACTIVATED((byte) 1),
@@ -284,10 +306,22 @@ public class JobState {
   private void makeJobActivatable(DirectBuffer type) {
     EnsureUtil.ensureNotNullOrEmpty("type", type);
 
+    activatableJobTypes.add(BufferUtil.bufferAsString(type));
+
     jobTypeKey.wrapBuffer(type);
     activatableColumnFamily.put(typeJobKey, DbNil.INSTANCE);
   }
 
+  private void notifyJobsAvailable(List<String> jobTypes) {
+    for (int i = 0; i < jobTypes.size(); i++) {
+      final String jobType = jobTypes.get(i);
+      if (notifiedJobTypes.add(jobType)) {
+        onJobsAvailableCallback.accept(jobType);
+      }
+    }
+    notifiedJobTypes.clear();
+  }
+
   private void makeJobNotActivatable(DirectBuffer type) {
     EnsureUtil.ensureNotNullOrEmpty("type", type);
 
@@ -17,6 +17,7 @@
  */
 package io.zeebe.engine.state.replication;
 
+import io.zeebe.engine.state.BooleanType;
 import io.zeebe.engine.state.SnapshotChunkDecoder;
 import io.zeebe.engine.state.SnapshotChunkEncoder;
 import io.zeebe.engine.util.SbeBufferWriterReader;
@@ -37,6 +38,8 @@ public class SnapshotChunkImpl
   private int totalCount;
   private String chunkName;
   private long checksum;
+  private long fileOffset;
+  private boolean fileReference;
 
   private final DirectBuffer content = new UnsafeBuffer(0, 0);
 
@@ -47,6 +50,8 @@ public class SnapshotChunkImpl
     totalCount = chunk.getTotalCount();
     chunkName = chunk.getChunkName();
     checksum = chunk.getChecksum();
+    fileOffset = chunk.getFileOffset();
+    fileReference = chunk.isFileReference();
     content.wrap(chunk.getContent());
   }
 
@@ -78,6 +83,8 @@ public class SnapshotChunkImpl
         .totalCount(totalCount)
         .chunkName(chunkName)
         .checksum(checksum)
+        .fileOffset(fileOffset)
+        .fileReference(fileReference ? BooleanType.TRUE : BooleanType.FALSE)
         .putContent(content, 0, content.capacity());
   }
 
@@ -89,6 +96,11 @@ public class SnapshotChunkImpl
     totalCount = decoder.totalCount();
     chunkName = decoder.chunkName();
     checksum = decoder.checksum();
+    // a chunk of an older version contains a whole file
+    final long decodedFileOffset = decoder.fileOffset();
+    fileOffset =
+        decodedFileOffset == SnapshotChunkDecoder.fileOffsetNullValue() ? 0 : decodedFileOffset;
+    fileReference = decoder.fileReference() == BooleanType.TRUE;
     decoder.wrapContent(content);
   }
 
@@ -99,6 +111,8 @@ public class SnapshotChunkImpl
     snapshotPosition = SnapshotChunkDecoder.snapshotPositionNullValue();
     totalCount = SnapshotChunkDecoder.totalCountNullValue();
     checksum = SnapshotChunkDecoder.checksumNullValue();
+    fileOffset = SnapshotChunkDecoder.fileOffsetNullValue();
+    fileReference = false;
 
     chunkName = "";
     content.wrap(0, 0);
@@ -124,6 +138,16 @@ public class SnapshotChunkImpl
     return checksum;
   }
 
+  @Override
+  public long getFileOffset() {
+    return fileOffset;
+  }
+
+  @Override
+  public boolean isFileReference() {
+    return fileReference;
+  }
+
   @Override
   public byte[] getContent() {
     return BufferUtil.bufferAsArray(content);
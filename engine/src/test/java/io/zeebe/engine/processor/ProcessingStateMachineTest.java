@@ -17,8 +17,11 @@
  */
 package io.zeebe.engine.processor;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
@@ -33,10 +36,14 @@ import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.logstreams.log.LogStreamReader;
 import io.zeebe.logstreams.log.LogStreamRecordWriter;
 import io.zeebe.logstreams.log.LoggedEvent;
+import io.zeebe.logstreams.log.UncommittedEventReader;
+import io.zeebe.util.metrics.MetricsManager;
 import io.zeebe.util.sched.Actor;
 import io.zeebe.util.sched.ActorControl;
 import io.zeebe.util.sched.testing.ControlledActorSchedulerRule;
+import java.time.Duration;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -55,8 +62,11 @@ public class ProcessingStateMachineTest {
   @Mock private LogStreamRecordWriter logStreamWriter;
   @Mock private DbContext dbContext;
   @Mock private LogStream logStream;
+  @Mock private Runnable onFailure;
+  @Mock private UncommittedEventReader uncommittedEventReader;
 
   private ZeebeDbTransaction zeebeDbTransaction;
+  private StreamProcessorContext streamProcessorContext;
   private ActorControl actor;
   private EventProcessor eventProcessor;
 
@@ -85,7 +95,7 @@ public class ProcessingStateMachineTest {
 
     when(streamProcessor.onEvent(any())).thenReturn(eventProcessor);
 
-    final StreamProcessorContext streamProcessorContext = new StreamProcessorContext();
+    streamProcessorContext = new StreamProcessorContext();
     streamProcessorContext.setLogStream(logStream);
     streamProcessorContext.setActorControl(actor);
     streamProcessorContext.setLogStreamReader(logStreamReader);
@@ -95,11 +105,12 @@ public class ProcessingStateMachineTest {
     processingStateMachine =
         ProcessingStateMachine.builder()
             .setStreamProcessorContext(streamProcessorContext)
-            .setMetrics(mock(StreamProcessorMetrics.class))
+            .setMetrics(new StreamProcessorMetrics(new MetricsManager(), "testProcessor", "1"))
             .setStreamProcessor(streamProcessor)
             .setDbContext(dbContext)
             .setShouldProcessNext(() -> true)
             .setAbortCondition(() -> false)
+            .setOnFailure(onFailure)
             .build();
 
     actorSchedulerRule.submitActor(controllableActor);
@@ -431,6 +442,279 @@ public class ProcessingStateMachineTest {
     inOrder.verifyNoMoreInteractions();
   }
 
+  @Test
+  public void shouldCommitBatchOfRecordsOnce() throws Exception {
+    // given
+    final ProcessingStateMachine batchingStateMachine = createBatchingStateMachine(10);
+    givenRecordsToProcess(3);
+
+    final CountDownLatch latch = new CountDownLatch(3);
+    when(eventProcessor.executeSideEffects())
+        .then(
+            (invocationOnMock -> {
+              latch.countDown();
+              return true;
+            }));
+
+    // when
+    actor.call(() -> batchingStateMachine.readNextEvent());
+    actorSchedulerRule.workUntilDone();
+
+    // then
+    latch.await();
+    Mockito.verify(eventProcessor, times(3)).processEvent();
+    Mockito.verify(eventProcessor, times(3)).executeSideEffects();
+    Mockito.verify(zeebeDbTransaction, times(2)).setSavePoint();
+    Mockito.verify(zeebeDbTransaction, times(1)).commit();
+    Mockito.verify(zeebeDbTransaction, times(0)).rollback();
+  }
+
+  @Test
+  public void shouldCommitBatchWhenMaxSizeIsReached() throws Exception {
+    // given
+    final ProcessingStateMachine batchingStateMachine = createBatchingStateMachine(2);
+    givenRecordsToProcess(4);
+
+    final CountDownLatch latch = new CountDownLatch(4);
+    when(eventProcessor.executeSideEffects())
+        .then(
+            (invocationOnMock -> {
+              latch.countDown();
+              return true;
+            }));
+
+    // when
+    actor.call(() -> batchingStateMachine.readNextEvent());
+    actorSchedulerRule.workUntilDone();
+
+    // then
+    latch.await();
+    Mockito.verify(eventProcessor, times(4)).processEvent();
+    Mockito.verify(zeebeDbTransaction, times(2)).commit();
+  }
+
+  @Test
+  public void shouldRollbackToSavePointOnErrorInBatch() throws Exception {
+    // given
+    final ProcessingStateMachine batchingStateMachine = createBatchingStateMachine(10);
+    givenRecordsToProcess(3);
+
+    final RuntimeException expected = new RuntimeException("expected");
+    doCallRealMethod().doThrow(expected).doCallRealMethod().when(zeebeDbTransaction).run(any());
+
+    final CountDownLatch latch = new CountDownLatch(3);
+    when(eventProcessor.executeSideEffects())
+        .then(
+            (invocationOnMock -> {
+              latch.countDown();
+              return true;
+            }));
+
+    // when
+    actor.call(() -> batchingStateMachine.readNextEvent());
+    actorSchedulerRule.workUntilDone();
+
+    // then
+    latch.await();
+    Mockito.verify(eventProcessor, times(1)).onError(expected);
+    Mockito.verify(zeebeDbTransaction, times(1)).rollbackToSavePoint();
+    Mockito.verify(zeebeDbTransaction, times(0)).rollback();
+
+    // the error record ends the batch
+    Mockito.verify(zeebeDbTransaction, times(2)).commit();
+    assertThat(batchingStateMachine.getLastSuccessfulProcessedEventPosition()).isEqualTo(3L);
+  }
+
+  @Test
+  public void shouldCommitBatchBeforeExecutingSideEffects() throws Exception {
+    // given
+    final ProcessingStateMachine batchingStateMachine = createBatchingStateMachine(10);
+    givenRecordsToProcess(3);
+    when(eventProcessor.hasSideEffects()).thenReturn(false, true, false);
+
+    final CountDownLatch latch = new CountDownLatch(3);
+    when(eventProcessor.executeSideEffects())
+        .then(
+            (invocationOnMock -> {
+              latch.countDown();
+              return true;
+            }));
+
+    // when
+    actor.call(() -> batchingStateMachine.readNextEvent());
+    actorSchedulerRule.workUntilDone();
+
+    // then
+    latch.await();
+    final InOrder inOrder = Mockito.inOrder(eventProcessor, zeebeDbTransaction);
+
+    // the first record is added to the batch
+    inOrder.verify(eventProcessor, times(1)).processEvent();
+    inOrder.verify(eventProcessor, times(1)).executeSideEffects();
+
+    // the second record has side effects and ends the batch
+    inOrder.verify(eventProcessor, times(1)).processEvent();
+    inOrder.verify(zeebeDbTransaction, times(1)).commit();
+    inOrder.verify(eventProcessor, times(1)).executeSideEffects();
+
+    // the last record is committed on its own
+    inOrder.verify(eventProcessor, times(1)).processEvent();
+    inOrder.verify(zeebeDbTransaction, times(1)).commit();
+    inOrder.verify(eventProcessor, times(1)).executeSideEffects();
+
+    assertThat(batchingStateMachine.getLastSuccessfulProcessedEventPosition()).isEqualTo(3L);
+  }
+
+  @Test
+  public void shouldFailIfBatchCanNotBeCommitted() throws Exception {
+    // given
+    final ProcessingStateMachine batchingStateMachine = createBatchingStateMachine(10);
+    givenRecordsToProcess(3);
+    doThrow(new RuntimeException("expected")).when(zeebeDbTransaction).commit();
+
+    // when
+    actor.call(() -> batchingStateMachine.readNextEvent());
+    actorSchedulerRule.workUntilDone();
+
+    // then
+    Mockito.verify(onFailure, times(1)).run();
+    Mockito.verify(eventProcessor, times(3)).processEvent();
+    Mockito.verify(eventProcessor, times(2)).executeSideEffects();
+    Mockito.verify(eventProcessor, times(0)).onError(any());
+    Mockito.verify(zeebeDbTransaction, times(0)).rollback();
+
+    assertThat(batchingStateMachine.getLastSuccessfulProcessedEventPosition()).isEqualTo(-1L);
+  }
+
+  @Test
+  public void shouldNotContinueAfterFailedBatchCommit() throws Exception {
+    // given
+    final ProcessingStateMachine batchingStateMachine = createBatchingStateMachine(10);
+    givenRecordsToProcess(3);
+    doThrow(new RuntimeException("expected")).when(zeebeDbTransaction).commit();
+
+    actor.call(() -> batchingStateMachine.readNextEvent());
+    actorSchedulerRule.workUntilDone();
+
+    // when
+    givenRecordsToProcess(1);
+    actor.call(() -> batchingStateMachine.readNextEvent());
+    actorSchedulerRule.workUntilDone();
+
+    // then
+    Mockito.verify(eventProcessor, times(3)).processEvent();
+  }
+
+  @Test
+  public void shouldExecuteSideEffectsOfSpeculativeEventOnCommit() {
+    // given
+    final ProcessingStateMachine speculativeStateMachine = createSpeculativeStateMachine();
+    givenSpeculativeEvent(10L);
+    when(eventProcessor.hasSideEffects()).thenReturn(true);
+    when(logStream.getCommitPosition()).thenReturn(9L);
+
+    actor.call(() -> speculativeStateMachine.readNextEvent());
+    actorSchedulerRule.workUntilDone();
+
+    Mockito.verify(eventProcessor, times(1)).processEvent();
+    Mockito.verify(eventProcessor, times(0)).executeSideEffects();
+
+    // when
+    when(logStream.getCommitPosition()).thenReturn(10L);
+    actor.call(() -> speculativeStateMachine.readNextEvent());
+    actorSchedulerRule.workUntilDone();
+
+    // then
+    Mockito.verify(eventProcessor, times(1)).executeSideEffects();
+  }
+
+  @Test
+  public void shouldNotExecuteSideEffectsOfDiscardedSpeculativeEvent() {
+    // given
+    final ProcessingStateMachine speculativeStateMachine = createSpeculativeStateMachine();
+    givenSpeculativeEvent(10L);
+    when(eventProcessor.hasSideEffects()).thenReturn(true);
+    when(logStream.getCommitPosition()).thenReturn(9L);
+
+    actor.call(() -> speculativeStateMachine.readNextEvent());
+    actorSchedulerRule.workUntilDone();
+
+    // when - the block of the event is never committed
+    actor.call(() -> speculativeStateMachine.readNextEvent());
+    actorSchedulerRule.workUntilDone();
+
+    // then
+    Mockito.verify(eventProcessor, times(1)).processEvent();
+    Mockito.verify(eventProcessor, times(0)).executeSideEffects();
+  }
+
+  @Test
+  public void shouldNotTakeSnapshotOfUncommittedSpeculativeEvent() {
+    // given
+    final ProcessingStateMachine speculativeStateMachine = createSpeculativeStateMachine();
+    givenSpeculativeEvent(10L);
+    when(eventProcessor.writeEvent(any())).thenReturn(0L);
+    when(logStream.getCommitPosition()).thenReturn(9L);
+
+    // when
+    actor.call(() -> speculativeStateMachine.readNextEvent());
+    actorSchedulerRule.workUntilDone();
+
+    // then - the snapshot is only valid when the written position is committed
+    Mockito.verify(eventProcessor, times(1)).executeSideEffects();
+    assertThat(speculativeStateMachine.getLastSuccessfulProcessedEventPosition()).isEqualTo(10L);
+    assertThat(speculativeStateMachine.getLastWrittenEventPosition()).isEqualTo(10L);
+  }
+
+  private ProcessingStateMachine createSpeculativeStateMachine() {
+    streamProcessorContext.setUncommittedEventReader(uncommittedEventReader);
+
+    return ProcessingStateMachine.builder()
+        .setStreamProcessorContext(streamProcessorContext)
+        .setMetrics(new StreamProcessorMetrics(new MetricsManager(), "testProcessor", "1"))
+        .setStreamProcessor(streamProcessor)
+        .setDbContext(dbContext)
+        .setShouldProcessNext(() -> true)
+        .setAbortCondition(() -> false)
+        .setOnFailure(onFailure)
+        .build();
+  }
+
+  private void givenSpeculativeEvent(long position) {
+    final LoggedEvent event = mock(LoggedEvent.class);
+    when(event.getPosition()).thenReturn(position);
+
+    when(logStreamReader.hasNext()).thenReturn(false);
+    when(uncommittedEventReader.next(anyLong())).thenReturn(event, (LoggedEvent) null);
+  }
+
+  private ProcessingStateMachine createBatchingStateMachine(int batchSize) {
+    streamProcessorContext.setMaxCommitBatchSize(batchSize);
+    streamProcessorContext.setMaxCommitBatchDuration(Duration.ofMinutes(1));
+
+    return ProcessingStateMachine.builder()
+        .setStreamProcessorContext(streamProcessorContext)
+        .setMetrics(new StreamProcessorMetrics(new MetricsManager(), "testProcessor", "1"))
+        .setStreamProcessor(streamProcessor)
+        .setDbContext(dbContext)
+        .setShouldProcessNext(() -> true)
+        .setAbortCondition(() -> false)
+        .setOnFailure(onFailure)
+        .build();
+  }
+
+  private void givenRecordsToProcess(int count) {
+    final AtomicInteger position = new AtomicInteger();
+    when(logStreamReader.hasNext()).then(i -> position.get() < count);
+    when(logStreamReader.next())
+        .then(
+            i -> {
+              final LoggedEvent event = mock(LoggedEvent.class);
+              when(event.getPosition()).thenReturn((long) position.incrementAndGet());
+              return event;
+            });
+  }
+
   private class ControllableActor extends Actor {
 
     public ActorControl getActor() {
@@ -454,5 +738,11 @@ public class ProcessingStateMachineTest {
 
     @Override
     public void rollback() {}
+
+    @Override
+    public void setSavePoint() {}
+
+    @Override
+    public void rollbackToSavePoint() {}
   }
 }
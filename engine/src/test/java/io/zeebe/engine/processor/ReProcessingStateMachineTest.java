@@ -17,7 +17,14 @@
  */
 package io.zeebe.engine.processor;
 
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.alignedFramedLength;
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.framedLength;
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.lengthOffset;
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.messageOffset;
+import static io.zeebe.logstreams.impl.LogEntryDescriptor.headerLength;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
@@ -28,13 +35,19 @@ import static org.mockito.internal.verification.VerificationModeFactory.times;
 import io.zeebe.db.DbContext;
 import io.zeebe.db.TransactionOperation;
 import io.zeebe.db.ZeebeDbTransaction;
+import io.zeebe.logstreams.impl.LogEntryDescriptor;
+import io.zeebe.logstreams.impl.LoggedEventImpl;
 import io.zeebe.logstreams.log.LogStreamReader;
 import io.zeebe.logstreams.log.LoggedEvent;
+import io.zeebe.protocol.Protocol;
 import io.zeebe.util.sched.Actor;
 import io.zeebe.util.sched.ActorControl;
 import io.zeebe.util.sched.future.ActorFuture;
 import io.zeebe.util.sched.testing.ControlledActorSchedulerRule;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
+import org.agrona.concurrent.UnsafeBuffer;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -46,6 +59,9 @@ public class ReProcessingStateMachineTest {
 
   @Rule public ControlledActorSchedulerRule actorSchedulerRule = new ControlledActorSchedulerRule();
 
+  private static final int PRODUCER_ID = 1;
+  private static final int OTHER_PRODUCER_ID = 2;
+
   private ReProcessingStateMachine reProcessingStateMachine;
 
   @Mock private StreamProcessor streamProcessor;
@@ -55,7 +71,10 @@ public class ReProcessingStateMachineTest {
   private ZeebeDbTransaction zeebeDbTransaction;
   private ActorControl actor;
   private EventProcessor eventProcessor;
-  private LoggedEvent loggedEvent;
+  private StreamProcessorContext streamProcessorContext;
+
+  private final List<LoggedEvent> events = new ArrayList<>();
+  private int readerIndex;
 
   @Before
   public void setup() {
@@ -64,10 +83,24 @@ public class ReProcessingStateMachineTest {
     final ControllableActor controllableActor = new ControllableActor();
     actor = controllableActor.getActor();
 
-    when(logStreamReader.hasNext()).thenReturn(true, true, false, true, false);
-    loggedEvent = mock(LoggedEvent.class);
-    when(loggedEvent.getSourceEventPosition()).thenReturn(1L);
-    when(logStreamReader.next()).thenReturn(loggedEvent);
+    // a command and its follow up event
+    events.add(createEvent(1L, OTHER_PRODUCER_ID, -1L));
+    events.add(createEvent(2L, PRODUCER_ID, 1L));
+
+    when(logStreamReader.hasNext()).then(i -> readerIndex < events.size());
+    when(logStreamReader.next()).then(i -> events.get(readerIndex++));
+    when(logStreamReader.getPosition()).then(i -> events.get(readerIndex).getPosition());
+    when(logStreamReader.seek(anyLong()))
+        .then(
+            i -> {
+              final long position = i.getArgument(0);
+              readerIndex = 0;
+              while (readerIndex < events.size()
+                  && events.get(readerIndex).getPosition() < position) {
+                readerIndex++;
+              }
+              return readerIndex < events.size();
+            });
 
     zeebeDbTransaction = spy(new Transaction());
     when(dbContext.getCurrentTransaction()).thenReturn(zeebeDbTransaction);
@@ -76,7 +109,8 @@ public class ReProcessingStateMachineTest {
     when(streamProcessor.onEvent(any())).thenReturn(eventProcessor);
     when(streamProcessor.getFailedPosition(any())).thenReturn(-1L);
 
-    final StreamProcessorContext streamProcessorContext = new StreamProcessorContext();
+    streamProcessorContext = new StreamProcessorContext();
+    streamProcessorContext.setId(PRODUCER_ID);
     streamProcessorContext.setActorControl(actor);
     streamProcessorContext.setLogStreamReader(logStreamReader);
     streamProcessorContext.setName("testProcessor");
@@ -125,8 +159,7 @@ public class ReProcessingStateMachineTest {
   public void shouldRunLifecycleWithFailedEvent() throws Exception {
     // given
     final CountDownLatch latch = new CountDownLatch(1);
-    when(streamProcessor.getFailedPosition(any())).thenReturn(1L);
-    when(loggedEvent.getPosition()).thenReturn(1L);
+    when(streamProcessor.getFailedPosition(events.get(1))).thenReturn(1L);
 
     // when
     actor.call(
@@ -217,7 +250,7 @@ public class ReProcessingStateMachineTest {
     latch.await();
     final InOrder inOrder =
         Mockito.inOrder(streamProcessor, eventProcessor, dbContext, zeebeDbTransaction);
-    inOrder.verify(streamProcessor, times(1)).getFailedPosition(any());
+    inOrder.verify(streamProcessor, times(2)).getFailedPosition(any());
     inOrder.verify(streamProcessor, times(1)).onEvent(any());
 
     // process
@@ -231,6 +264,101 @@ public class ReProcessingStateMachineTest {
     inOrder.verifyNoMoreInteractions();
   }
 
+  @Test
+  public void shouldReadLogOnlyOnce() throws Exception {
+    // given
+    events.add(createEvent(3L, PRODUCER_ID, 2L));
+    events.add(createEvent(4L, OTHER_PRODUCER_ID, -1L));
+    final CountDownLatch latch = new CountDownLatch(1);
+
+    // when
+    actor.call(
+        () -> {
+          final ActorFuture<Void> recoverFuture = reProcessingStateMachine.startRecover(0L);
+          actor.runOnCompletion(recoverFuture, (v, t) -> latch.countDown());
+        });
+    actorSchedulerRule.workUntilDone();
+
+    // then
+    latch.await();
+    Mockito.verify(logStreamReader, times(4)).next();
+    Mockito.verify(streamProcessor, times(4)).getFailedPosition(any());
+    Mockito.verify(streamProcessor, times(2)).onEvent(any());
+    Mockito.verify(zeebeDbTransaction, times(2)).commit();
+
+    // continue processing after the last source event
+    assertThat(events.get(readerIndex).getPosition()).isEqualTo(3L);
+  }
+
+  @Test
+  public void shouldNotReprocessWithoutFollowUpEvents() throws Exception {
+    // given
+    events.clear();
+    events.add(createEvent(1L, OTHER_PRODUCER_ID, -1L));
+    events.add(createEvent(2L, OTHER_PRODUCER_ID, -1L));
+    final CountDownLatch latch = new CountDownLatch(1);
+
+    // when
+    actor.call(
+        () -> {
+          final ActorFuture<Void> recoverFuture = reProcessingStateMachine.startRecover(0L);
+          actor.runOnCompletion(recoverFuture, (v, t) -> latch.countDown());
+        });
+    actorSchedulerRule.workUntilDone();
+
+    // then
+    latch.await();
+    Mockito.verify(streamProcessor, times(0)).onEvent(any());
+    assertThat(readerIndex).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldReprocessWhenPendingEventsDontFitIntoBuffer() throws Exception {
+    // given
+    events.add(createEvent(3L, PRODUCER_ID, 2L));
+    events.add(createEvent(4L, PRODUCER_ID, 3L));
+    reProcessingStateMachine =
+        ReProcessingStateMachine.builder()
+            .setStreamProcessorContext(streamProcessorContext)
+            .setStreamProcessor(streamProcessor)
+            .setDbContext(dbContext)
+            .setAbortCondition(() -> false)
+            .setMaxPendingEventsBufferSize(events.get(0).getLength())
+            .build();
+    final CountDownLatch latch = new CountDownLatch(1);
+
+    // when
+    actor.call(
+        () -> {
+          final ActorFuture<Void> recoverFuture = reProcessingStateMachine.startRecover(0L);
+          actor.runOnCompletion(recoverFuture, (v, t) -> latch.countDown());
+        });
+    actorSchedulerRule.workUntilDone();
+
+    // then
+    latch.await();
+    Mockito.verify(streamProcessor, times(3)).onEvent(any());
+    Mockito.verify(zeebeDbTransaction, times(3)).commit();
+    assertThat(events.get(readerIndex).getPosition()).isEqualTo(4L);
+  }
+
+  private static LoggedEvent createEvent(
+      final long position, final int producerId, final long sourceEventPosition) {
+    final int messageLength = headerLength(0);
+    final UnsafeBuffer buffer = new UnsafeBuffer(new byte[alignedFramedLength(messageLength)]);
+    buffer.putInt(lengthOffset(0), framedLength(messageLength), Protocol.ENDIANNESS);
+
+    final int messageOffset = messageOffset(0);
+    LogEntryDescriptor.setPosition(buffer, messageOffset, position);
+    LogEntryDescriptor.setProducerId(buffer, messageOffset, producerId);
+    LogEntryDescriptor.setSourceEventPosition(buffer, messageOffset, sourceEventPosition);
+    LogEntryDescriptor.setMetadataLength(buffer, messageOffset, (short) 0);
+
+    final LoggedEventImpl event = new LoggedEventImpl();
+    event.wrap(buffer, 0);
+    return event;
+  }
+
   private class ControllableActor extends Actor {
 
     public ActorControl getActor() {
@@ -254,5 +382,11 @@ public class ReProcessingStateMachineTest {
 
     @Override
     public void rollback() {}
+
+    @Override
+    public void setSavePoint() {}
+
+    @Override
+    public void rollbackToSavePoint() {}
   }
 }
@@ -0,0 +1,118 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.state;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.db.DbContext;
+import io.zeebe.db.ZeebeDb;
+import io.zeebe.db.ZeebeDbTransaction;
+import io.zeebe.engine.util.ZeebeStateRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class BlackListTest {
+
+  @Rule public ZeebeStateRule stateRule = new ZeebeStateRule();
+
+  private ZeebeDb<ZbColumnFamilies> db;
+  private BlackList blackList;
+
+  @Before
+  public void setUp() {
+    db = stateRule.createNewDb();
+    blackList = new BlackList(db, db.createContext());
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    db.close();
+  }
+
+  @Test
+  public void shouldNotBeOnBlacklist() {
+    // when
+    final boolean isOnBlacklist = blackList.isOnBlacklist(1);
+
+    // then
+    assertThat(isOnBlacklist).isFalse();
+  }
+
+  @Test
+  public void shouldBeOnBlacklist() {
+    // given
+    blackList.blacklist(1);
+
+    // when
+    final boolean isOnBlacklist = blackList.isOnBlacklist(1);
+
+    // then
+    assertThat(isOnBlacklist).isTrue();
+    assertThat(blackList.isOnBlacklist(2)).isFalse();
+  }
+
+  @Test
+  public void shouldLoadBlacklistFromState() {
+    // given
+    blackList.blacklist(1);
+    blackList.blacklist(3);
+
+    // when
+    final BlackList recoveredBlackList = new BlackList(db, db.createContext());
+
+    // then
+    assertThat(recoveredBlackList.isOnBlacklist(1)).isTrue();
+    assertThat(recoveredBlackList.isOnBlacklist(2)).isFalse();
+    assertThat(recoveredBlackList.isOnBlacklist(3)).isTrue();
+  }
+
+  @Test
+  public void shouldBeOnBlacklistWithinTransaction() throws Exception {
+    // given
+    final DbContext dbContext = db.createContext();
+    blackList = new BlackList(db, dbContext);
+    final ZeebeDbTransaction transaction = dbContext.getCurrentTransaction();
+
+    // when
+    transaction.run(() -> blackList.blacklist(1));
+
+    // then
+    assertThat(blackList.isOnBlacklist(1)).isTrue();
+
+    transaction.commit();
+    assertThat(blackList.isOnBlacklist(1)).isTrue();
+  }
+
+  @Test
+  public void shouldNotBeOnBlacklistAfterRollback() throws Exception {
+    // given
+    final DbContext dbContext = db.createContext();
+    blackList = new BlackList(db, dbContext);
+    final ZeebeDbTransaction transaction = dbContext.getCurrentTransaction();
+    transaction.run(() -> blackList.blacklist(1));
+
+    // when
+    transaction.rollback();
+
+    // then
+    assertThat(blackList.isOnBlacklist(1)).isFalse();
+    assertThat(new BlackList(db, db.createContext()).isOnBlacklist(1)).isFalse();
+  }
+}
@@ -0,0 +1,187 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.state.deployment;
+
+import static io.zeebe.engine.state.deployment.WorkflowStateTest.creatingDeploymentRecord;
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.db.DbContext;
+import io.zeebe.db.ZeebeDb;
+import io.zeebe.db.ZeebeDbTransaction;
+import io.zeebe.engine.state.ZbColumnFamilies;
+import io.zeebe.engine.state.ZeebeState;
+import io.zeebe.engine.util.ZeebeStateRule;
+import io.zeebe.protocol.impl.record.value.deployment.DeploymentRecord;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class WorkflowPersistenceCacheTest {
+
+  @Rule public ZeebeStateRule stateRule = new ZeebeStateRule();
+
+  private ZeebeDb<ZbColumnFamilies> db;
+  private ZeebeState zeebeState;
+  private WorkflowPersistenceCache cache;
+
+  @Before
+  public void setUp() {
+    zeebeState = stateRule.getZeebeState();
+    db = stateRule.createNewDb();
+    cache = new WorkflowPersistenceCache(db, db.createContext(), 1);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    db.close();
+  }
+
+  @Test
+  public void shouldGetEvictedWorkflowByKey() {
+    // given
+    final DeploymentRecord first = creatingDeploymentRecord(zeebeState, "first");
+    final DeploymentRecord second = creatingDeploymentRecord(zeebeState, "second");
+    cache.putDeployment(1, first);
+    cache.putDeployment(2, second);
+
+    final long firstKey = first.workflows().iterator().next().getKey();
+    final long secondKey = second.workflows().iterator().next().getKey();
+    cache.getWorkflowByKey(firstKey);
+    cache.getWorkflowByKey(secondKey);
+
+    // when
+    final DeployedWorkflow workflow = cache.getWorkflowByKey(firstKey);
+
+    // then
+    assertThat(workflow).isNotNull();
+    assertThat(workflow.getKey()).isEqualTo(firstKey);
+    assertThat(workflow.getBpmnProcessId()).isEqualTo(wrapString("first"));
+  }
+
+  @Test
+  public void shouldGetEvictedWorkflowByProcessIdAndVersion() {
+    // given
+    cache.putDeployment(1, creatingDeploymentRecord(zeebeState, "process", 1));
+    cache.putDeployment(2, creatingDeploymentRecord(zeebeState, "process", 2));
+
+    cache.getWorkflowByProcessIdAndVersion(wrapString("process"), 1);
+    cache.getWorkflowByProcessIdAndVersion(wrapString("process"), 2);
+
+    // when
+    final DeployedWorkflow workflow =
+        cache.getWorkflowByProcessIdAndVersion(wrapString("process"), 1);
+
+    // then
+    assertThat(workflow).isNotNull();
+    assertThat(workflow.getVersion()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldReturnCachedWorkflow() {
+    // given
+    cache.putDeployment(1, creatingDeploymentRecord(zeebeState, "process", 1));
+    final DeployedWorkflow workflow =
+        cache.getLatestWorkflowVersionByProcessId(wrapString("process"));
+
+    // when
+    final DeployedWorkflow cachedWorkflow =
+        cache.getWorkflowByProcessIdAndVersion(wrapString("process"), 1);
+
+    // then
+    assertThat(cachedWorkflow).isSameAs(workflow);
+  }
+
+  @Test
+  public void shouldUpdateLatestVersionOnNewDeployment() {
+    // given
+    cache.putDeployment(1, creatingDeploymentRecord(zeebeState, "process", 1));
+    cache.getLatestWorkflowVersionByProcessId(wrapString("process"));
+
+    // when
+    cache.putDeployment(2, creatingDeploymentRecord(zeebeState, "process", 2));
+
+    // then
+    assertThat(cache.getLatestWorkflowVersionByProcessId(wrapString("process")).getVersion())
+        .isEqualTo(2);
+  }
+
+  @Test
+  public void shouldGetAllWorkflowsExceedingCapacity() {
+    // given
+    cache.putDeployment(1, creatingDeploymentRecord(zeebeState, "process", 1));
+    cache.putDeployment(2, creatingDeploymentRecord(zeebeState, "process", 2));
+    cache.putDeployment(3, creatingDeploymentRecord(zeebeState, "other", 1));
+
+    // then
+    assertThat(cache.getWorkflows()).hasSize(3);
+    assertThat(cache.getWorkflowsByBpmnProcessId(wrapString("process")))
+        .extracting(DeployedWorkflow::getVersion)
+        .containsExactly(1, 2);
+  }
+
+  @Test
+  public void shouldNotEvictCachedWorkflowOnListing() {
+    // given
+    final DeploymentRecord first = creatingDeploymentRecord(zeebeState, "first");
+    cache.putDeployment(1, first);
+    cache.putDeployment(2, creatingDeploymentRecord(zeebeState, "second"));
+
+    final long firstKey = first.workflows().iterator().next().getKey();
+    final DeployedWorkflow workflow = cache.getWorkflowByKey(firstKey);
+
+    // when
+    cache.getWorkflows();
+    cache.getWorkflowsByBpmnProcessId(wrapString("second"));
+
+    // then
+    assertThat(cache.getWorkflowByKey(firstKey)).isSameAs(workflow);
+  }
+
+  @Test
+  public void shouldNotKeepLatestVersionOfRolledBackDeployment() throws Exception {
+    // given
+    final DbContext dbContext = db.createContext();
+    cache = new WorkflowPersistenceCache(db, dbContext, 1);
+    cache.putDeployment(1, creatingDeploymentRecord(zeebeState, "process", 1));
+    cache.getLatestWorkflowVersionByProcessId(wrapString("process"));
+
+    final ZeebeDbTransaction transaction = dbContext.getCurrentTransaction();
+    transaction.run(
+        () -> cache.putDeployment(2, creatingDeploymentRecord(zeebeState, "process", 2)));
+    assertThat(cache.getLatestWorkflowVersionByProcessId(wrapString("process")).getVersion())
+        .isEqualTo(2);
+
+    // when
+    transaction.rollback();
+
+    // then
+    assertThat(cache.getLatestWorkflowVersionByProcessId(wrapString("process")).getVersion())
+        .isEqualTo(1);
+  }
+
+  @Test
+  public void shouldReturnNullIfNoWorkflowDeployed() {
+    // when
+    final DeployedWorkflow workflow = cache.getLatestWorkflowVersionByProcessId(wrapString("foo"));
+
+    // then
+    assertThat(workflow).isNull();
+  }
+}
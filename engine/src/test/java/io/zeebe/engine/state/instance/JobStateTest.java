@@ -21,6 +21,10 @@ import static io.zeebe.util.buffer.BufferUtil.wrapString;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import io.zeebe.db.DbContext;
+import io.zeebe.db.ZeebeDb;
+import io.zeebe.db.ZeebeDbTransaction;
+import io.zeebe.engine.state.ZbColumnFamilies;
 import io.zeebe.engine.state.ZeebeState;
 import io.zeebe.engine.state.instance.JobState.State;
 import io.zeebe.engine.util.ZeebeStateRule;
@@ -37,6 +41,7 @@ import java.util.stream.Collectors;
 import org.agrona.DirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.assertj.core.api.Assertions;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -46,11 +51,18 @@ public class JobStateTest {
 
   private JobState jobState;
   private ZeebeState zeebeState;
+  private ZeebeDb<ZbColumnFamilies> db;
 
   @Before
   public void setUp() {
     zeebeState = stateRule.getZeebeState();
     jobState = zeebeState.getJobState();
+    db = stateRule.createNewDb();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    db.close();
   }
 
   @Test
@@ -432,6 +444,49 @@ public class JobStateTest {
     jobState.activate(key, record);
   }
 
+  @Test
+  public void shouldNotifyJobsAvailableOncePerTypeOnCommit() throws Exception {
+    // given
+    final DbContext dbContext = db.createContext();
+    final JobState jobState = new JobState(db, dbContext);
+    final List<String> notifiedJobTypes = new ArrayList<>();
+    jobState.setJobsAvailableCallback(notifiedJobTypes::add);
+
+    final ZeebeDbTransaction transaction = dbContext.getCurrentTransaction();
+    transaction.run(
+        () -> {
+          jobState.create(1L, newJobRecord());
+          jobState.create(2L, newJobRecord());
+          jobState.create(3L, newJobRecord().setType("other"));
+        });
+    assertThat(notifiedJobTypes).isEmpty();
+
+    // when
+    transaction.commit();
+
+    // then
+    assertThat(notifiedJobTypes).containsExactly("test", "other");
+  }
+
+  @Test
+  public void shouldNotNotifyJobsAvailableOnRollback() throws Exception {
+    // given
+    final DbContext dbContext = db.createContext();
+    final JobState jobState = new JobState(db, dbContext);
+    final List<String> notifiedJobTypes = new ArrayList<>();
+    jobState.setJobsAvailableCallback(notifiedJobTypes::add);
+
+    final ZeebeDbTransaction transaction = dbContext.getCurrentTransaction();
+    transaction.run(() -> jobState.create(1L, newJobRecord()));
+
+    // when
+    transaction.rollback();
+    dbContext.getCurrentTransaction().commit();
+
+    // then
+    assertThat(notifiedJobTypes).isEmpty();
+  }
+
   private JobRecord newJobRecord() {
     final JobRecord jobRecord = new JobRecord();
 
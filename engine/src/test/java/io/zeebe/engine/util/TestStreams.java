@@ -24,6 +24,7 @@ import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.withSettings;
 
 import io.zeebe.db.ZeebeDbFactory;
 import io.zeebe.distributedlog.DistributedLogstreamService;
@@ -160,7 +161,9 @@ public class TestStreams {
             .join();
 
     // Create distributed log service
-    final DistributedLogstreamPartition mockDistLog = mock(DistributedLogstreamPartition.class);
+    // don't record the invocations, the log is appended very often in long running benchmarks
+    final DistributedLogstreamPartition mockDistLog =
+        mock(DistributedLogstreamPartition.class, withSettings().stubOnly());
 
     final DistributedLogstreamService distributedLogImpl =
         new DefaultDistributedLogstreamService(new DistributedLogstreamServiceConfig());
@@ -0,0 +1,296 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.benchmark;
+
+import io.zeebe.db.ZeebeDbFactory;
+import io.zeebe.engine.processor.StreamProcessorLifecycleAware;
+import io.zeebe.engine.processor.StreamProcessorService;
+import io.zeebe.engine.processor.StreamProcessors;
+import io.zeebe.engine.processor.TypedEventStreamProcessorBuilder;
+import io.zeebe.engine.processor.TypedStreamEnvironment;
+import io.zeebe.engine.processor.TypedStreamProcessor;
+import io.zeebe.engine.processor.workflow.BpmnStepProcessor;
+import io.zeebe.engine.processor.workflow.CatchEventBehavior;
+import io.zeebe.engine.processor.workflow.WorkflowEventProcessors;
+import io.zeebe.engine.processor.workflow.incident.IncidentEventProcessors;
+import io.zeebe.engine.processor.workflow.job.JobEventProcessors;
+import io.zeebe.engine.processor.workflow.message.MessageEventProcessors;
+import io.zeebe.engine.processor.workflow.timer.DueDateTimerChecker;
+import io.zeebe.engine.state.DefaultZeebeDbFactory;
+import io.zeebe.engine.state.StateStorageFactory;
+import io.zeebe.engine.state.ZeebeState;
+import io.zeebe.engine.util.TestStreams;
+import io.zeebe.logstreams.log.BufferedLogStreamReader;
+import io.zeebe.logstreams.log.LogStream;
+import io.zeebe.logstreams.log.LogStreamRecordWriter;
+import io.zeebe.logstreams.log.LogStreamWriterImpl;
+import io.zeebe.logstreams.log.LoggedEvent;
+import io.zeebe.logstreams.state.StateSnapshotController;
+import io.zeebe.model.bpmn.Bpmn;
+import io.zeebe.model.bpmn.BpmnModelInstance;
+import io.zeebe.model.bpmn.instance.Process;
+import io.zeebe.msgpack.UnpackedObject;
+import io.zeebe.protocol.Protocol;
+import io.zeebe.protocol.clientapi.RecordType;
+import io.zeebe.protocol.clientapi.ValueType;
+import io.zeebe.protocol.impl.record.RecordMetadata;
+import io.zeebe.protocol.impl.record.value.deployment.DeploymentRecord;
+import io.zeebe.protocol.impl.record.value.deployment.ResourceType;
+import io.zeebe.protocol.impl.record.value.workflowinstance.WorkflowInstanceRecord;
+import io.zeebe.protocol.intent.Intent;
+import io.zeebe.protocol.intent.WorkflowInstanceIntent;
+import io.zeebe.servicecontainer.impl.ServiceContainerImpl;
+import io.zeebe.test.util.AutoCloseableRule;
+import io.zeebe.util.buffer.BufferUtil;
+import io.zeebe.util.sched.ActorControl;
+import io.zeebe.util.sched.ActorScheduler;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.rules.TemporaryFolder;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Runs the stream processor of the workflow engine on a single partition, with the same record
+ * processors as the broker. The log and the state are stored in a temporary folder below the
+ * directory given by the system property {@code zeebe.benchmark.dir}, e.g. a tmpfs like {@code
+ * /dev/shm}, or below the default temporary directory.
+ *
+ * <p>The benchmarks write commands to the log, like a client does, and wait until the engine has
+ * written the expected follow-up records.
+ */
+@State(Scope.Benchmark)
+public class EngineBenchmarkContext implements StreamProcessorLifecycleAware {
+
+  public static final String STORAGE_DIRECTORY_PROPERTY = "zeebe.benchmark.dir";
+
+  private static final String STREAM_NAME = "benchmark";
+  private static final int PARTITION_ID = Protocol.START_PARTITION_ID;
+  private static final long AWAIT_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+  private final CompletableFuture<ActorControl> recovered = new CompletableFuture<>();
+
+  private final RecordMetadata writeMetadata = new RecordMetadata();
+  private final RecordMetadata readMetadata = new RecordMetadata();
+  private final WorkflowInstanceRecord workflowInstanceRecord = new WorkflowInstanceRecord();
+
+  private TemporaryFolder storageDirectory;
+  private AutoCloseableRule closeables;
+  private ActorScheduler actorScheduler;
+  private ServiceContainerImpl serviceContainer;
+  private StreamProcessorService streamProcessorService;
+
+  private LogStream logStream;
+  private LogStreamRecordWriter logStreamWriter;
+  private BufferedLogStreamReader logStreamReader;
+
+  private ZeebeState zeebeState;
+  private ActorControl actor;
+  private long deploymentKey = 1;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Throwable {
+    final String parentDirectory = System.getProperty(STORAGE_DIRECTORY_PROPERTY);
+    storageDirectory =
+        parentDirectory != null
+            ? new TemporaryFolder(new File(parentDirectory))
+            : new TemporaryFolder();
+    storageDirectory.create();
+    closeables = new AutoCloseableRule();
+
+    actorScheduler =
+        ActorScheduler.newActorScheduler()
+            .setCpuBoundActorThreadCount(2)
+            .setIoBoundActorThreadCount(2)
+            .build();
+    actorScheduler.start();
+
+    serviceContainer = new ServiceContainerImpl(actorScheduler);
+    serviceContainer.start();
+
+    final TestStreams streams =
+        new TestStreams(storageDirectory, closeables, serviceContainer, actorScheduler);
+    logStream = streams.createLogStream(STREAM_NAME, PARTITION_ID);
+    logStreamWriter = new LogStreamWriterImpl(logStream);
+    logStreamReader = new BufferedLogStreamReader(logStream);
+
+    streamProcessorService = openStreamProcessor(DefaultZeebeDbFactory.DEFAULT_DB_FACTORY);
+    actor = recovered.join();
+  }
+
+  private StreamProcessorService openStreamProcessor(ZeebeDbFactory zeebeDbFactory) {
+    final String processorName = "benchmark-processor";
+    final StateStorageFactory stateStorageFactory =
+        new StateStorageFactory(new File(storageDirectory.getRoot(), "state"));
+    final StateSnapshotController snapshotController =
+        new StateSnapshotController(
+            zeebeDbFactory, stateStorageFactory.create(PARTITION_ID, processorName));
+
+    final LoopbackSubscriptionCommandSender subscriptionCommandSender =
+        new LoopbackSubscriptionCommandSender(logStream);
+    final TypedStreamEnvironment streamEnvironment =
+        new TypedStreamEnvironment(logStream, new NoopCommandResponseWriter());
+
+    return StreamProcessors.createStreamProcessor(processorName, PARTITION_ID)
+        .logStream(logStream)
+        .snapshotController(snapshotController)
+        .actorScheduler(actorScheduler)
+        .serviceContainer(serviceContainer)
+        .streamProcessorFactory(
+            (processorActor, zeebeDb, dbContext) -> {
+              zeebeState = new ZeebeState(PARTITION_ID, zeebeDb, dbContext);
+
+              final TypedEventStreamProcessorBuilder builder =
+                  streamEnvironment.newStreamProcessor().zeebeState(zeebeState);
+              final CatchEventBehavior catchEventBehavior =
+                  new CatchEventBehavior(zeebeState, subscriptionCommandSender, 1);
+
+              MessageEventProcessors.addMessageProcessors(
+                  builder, zeebeState, subscriptionCommandSender);
+              final BpmnStepProcessor stepProcessor =
+                  WorkflowEventProcessors.addWorkflowProcessors(
+                      builder,
+                      zeebeState,
+                      subscriptionCommandSender,
+                      catchEventBehavior,
+                      new DueDateTimerChecker(zeebeState.getWorkflowState()));
+              IncidentEventProcessors.addProcessors(builder, zeebeState, stepProcessor);
+              JobEventProcessors.addJobProcessors(builder, zeebeState);
+
+              return builder.withListener(this).build();
+            })
+        .build()
+        .join();
+  }
+
+  @Override
+  public void onRecovered(TypedStreamProcessor streamProcessor) {
+    recovered.complete(streamProcessor.getActor());
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    logStreamReader.close();
+    streamProcessorService.close();
+    closeables.after();
+    serviceContainer.close(10, TimeUnit.SECONDS);
+    actorScheduler.stop().get(10, TimeUnit.SECONDS);
+    storageDirectory.delete();
+  }
+
+  /** Puts the workflow directly into the state, without processing a deployment. */
+  public void deploy(BpmnModelInstance workflow) {
+    final ByteArrayOutputStream outStream = new ByteArrayOutputStream();
+    Bpmn.writeModelToStream(outStream, workflow);
+    final DirectBuffer resource = new UnsafeBuffer(outStream.toByteArray());
+
+    final Process process = workflow.getModelElementsByType(Process.class).iterator().next();
+    final DirectBuffer resourceName = BufferUtil.wrapString(process.getId() + ".bpmn");
+
+    final long key = deploymentKey++;
+    final DeploymentRecord record = new DeploymentRecord();
+    record
+        .resources()
+        .add()
+        .setResource(resource)
+        .setResourceName(resourceName)
+        .setResourceType(ResourceType.BPMN_XML);
+    record
+        .workflows()
+        .add()
+        .setKey(key)
+        .setResourceName(resourceName)
+        .setBpmnProcessId(BufferUtil.wrapString(process.getId()))
+        .setVersion(1);
+
+    actor.call(() -> zeebeState.getWorkflowState().putDeployment(key, record)).join();
+  }
+
+  public long writeCommand(ValueType valueType, Intent intent, UnpackedObject value) {
+    return writeCommand(-1, valueType, intent, value);
+  }
+
+  public long writeCommand(long key, ValueType valueType, Intent intent, UnpackedObject value) {
+    writeMetadata.reset().recordType(RecordType.COMMAND).valueType(valueType).intent(intent);
+
+    if (key >= 0) {
+      logStreamWriter.key(key);
+    } else {
+      logStreamWriter.keyNull();
+    }
+    logStreamWriter.metadataWriter(writeMetadata).valueWriter(value);
+
+    long position = logStreamWriter.tryWrite();
+    while (position < 0) {
+      Thread.yield();
+      position = logStreamWriter.tryWrite();
+    }
+    return position;
+  }
+
+  /**
+   * Reads the log until the next record with the given value type and intent.
+   *
+   * @return the record, which is only valid until the next invocation
+   */
+  public LoggedEvent awaitRecord(RecordCounters counters, ValueType valueType, Intent intent) {
+    final long deadline = System.nanoTime() + AWAIT_TIMEOUT_NANOS;
+
+    while (true) {
+      if (logStreamReader.hasNext()) {
+        final LoggedEvent event = logStreamReader.next();
+
+        readMetadata.reset();
+        event.readMetadata(readMetadata);
+        counters.count(readMetadata.getValueType());
+
+        if (readMetadata.getValueType() == valueType && readMetadata.getIntent() == intent) {
+          return event;
+        }
+      } else if (System.nanoTime() > deadline) {
+        throw new IllegalStateException(
+            String.format(
+                "Expected to read a record with value type '%s' and intent '%s', but timed out",
+                valueType, intent));
+      } else {
+        Thread.yield();
+      }
+    }
+  }
+
+  /** Reads the log until the next workflow instance is completed. */
+  public void awaitWorkflowInstanceCompleted(RecordCounters counters) {
+    while (true) {
+      final LoggedEvent event =
+          awaitRecord(
+              counters, ValueType.WORKFLOW_INSTANCE, WorkflowInstanceIntent.ELEMENT_COMPLETED);
+
+      event.readValue(workflowInstanceRecord);
+      if (event.getKey() == workflowInstanceRecord.getWorkflowInstanceKey()) {
+        return;
+      }
+    }
+  }
+}
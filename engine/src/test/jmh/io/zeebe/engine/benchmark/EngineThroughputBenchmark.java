@@ -0,0 +1,196 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.benchmark;
+
+import io.zeebe.logstreams.log.LoggedEvent;
+import io.zeebe.model.bpmn.Bpmn;
+import io.zeebe.model.bpmn.BpmnModelInstance;
+import io.zeebe.msgpack.spec.MsgPackWriter;
+import io.zeebe.protocol.clientapi.ValueType;
+import io.zeebe.protocol.impl.record.value.job.JobBatchRecord;
+import io.zeebe.protocol.impl.record.value.job.JobRecord;
+import io.zeebe.protocol.impl.record.value.message.MessageRecord;
+import io.zeebe.protocol.impl.record.value.workflowinstance.WorkflowInstanceCreationRecord;
+import io.zeebe.protocol.intent.JobBatchIntent;
+import io.zeebe.protocol.intent.JobIntent;
+import io.zeebe.protocol.intent.MessageIntent;
+import io.zeebe.protocol.intent.MessageSubscriptionIntent;
+import io.zeebe.protocol.intent.WorkflowInstanceCreationIntent;
+import io.zeebe.util.buffer.BufferUtil;
+import java.util.concurrent.TimeUnit;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throughput of the stream processor for the most common workloads. Each operation
+ * writes the commands of one workflow instance and waits until the instance is completed, the
+ * records which were read on the way are counted per value type (see {@link RecordCounters}).
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class EngineThroughputBenchmark {
+
+  private static final String JOB_TYPE = "benchmark";
+  private static final String MESSAGE_NAME = "benchmark";
+  private static final DirectBuffer CORRELATION_KEY_VARIABLE = BufferUtil.wrapString("key");
+
+  private static final BpmnModelInstance EMPTY_WORKFLOW =
+      Bpmn.createExecutableProcess("empty").startEvent().endEvent().done();
+
+  private static final BpmnModelInstance SERVICE_TASK_WORKFLOW =
+      Bpmn.createExecutableProcess("service-task")
+          .startEvent()
+          .serviceTask("task", t -> t.zeebeTaskType(JOB_TYPE))
+          .endEvent()
+          .done();
+
+  private static final BpmnModelInstance MESSAGE_WORKFLOW =
+      Bpmn.createExecutableProcess("message")
+          .startEvent()
+          .intermediateCatchEvent(
+              "catch", c -> c.message(m -> m.name(MESSAGE_NAME).zeebeCorrelationKey("key")))
+          .endEvent()
+          .done();
+
+  private static final BpmnModelInstance TIMER_WORKFLOW =
+      Bpmn.createExecutableProcess("timer")
+          .startEvent()
+          .intermediateCatchEvent("timer", c -> c.timerWithDuration("PT0.001S"))
+          .endEvent()
+          .done();
+
+  private final WorkflowInstanceCreationRecord creationRecord =
+      new WorkflowInstanceCreationRecord();
+  private final JobBatchRecord jobBatchRecord = new JobBatchRecord();
+  private final JobRecord jobRecord = new JobRecord();
+  private final MessageRecord messageRecord = new MessageRecord();
+
+  private final MsgPackWriter variablesWriter = new MsgPackWriter();
+  private final ExpandableArrayBuffer variablesBuffer = new ExpandableArrayBuffer();
+  private final UnsafeBuffer variablesView = new UnsafeBuffer(0, 0);
+  private long correlationKey;
+
+  @Setup(Level.Trial)
+  public void deployWorkflows(final EngineBenchmarkContext engine) {
+    engine.deploy(EMPTY_WORKFLOW);
+    engine.deploy(SERVICE_TASK_WORKFLOW);
+    engine.deploy(MESSAGE_WORKFLOW);
+    engine.deploy(TIMER_WORKFLOW);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void createWorkflowInstance(
+      final EngineBenchmarkContext engine, final RecordCounters counters) {
+    writeCreateCommand(engine, "empty", VariablesCtx.EMPTY_DOCUMENT);
+    engine.awaitWorkflowInstanceCompleted(counters);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void completeJob(final EngineBenchmarkContext engine, final RecordCounters counters) {
+    writeCreateCommand(engine, "service-task", VariablesCtx.EMPTY_DOCUMENT);
+    completeJob(engine, counters);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void completeJobWithVariables(
+      final EngineBenchmarkContext engine,
+      final RecordCounters counters,
+      final VariablesCtx variables) {
+    writeCreateCommand(engine, "service-task", variables.document);
+    completeJob(engine, counters);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void correlateMessage(final EngineBenchmarkContext engine, final RecordCounters counters) {
+    final String key = Long.toString(correlationKey++);
+    final DirectBuffer keyBuffer = BufferUtil.wrapString(key);
+
+    variablesWriter.wrap(variablesBuffer, 0);
+    variablesWriter.writeMapHeader(1);
+    variablesWriter.writeString(CORRELATION_KEY_VARIABLE);
+    variablesWriter.writeString(keyBuffer);
+    variablesView.wrap(variablesBuffer, 0, variablesWriter.getOffset());
+
+    writeCreateCommand(engine, "message", variablesView);
+    engine.awaitRecord(counters, ValueType.MESSAGE_SUBSCRIPTION, MessageSubscriptionIntent.OPENED);
+
+    messageRecord.reset();
+    messageRecord.setName(MESSAGE_NAME).setCorrelationKey(keyBuffer).setTimeToLive(0);
+    engine.writeCommand(ValueType.MESSAGE, MessageIntent.PUBLISH, messageRecord);
+
+    engine.awaitWorkflowInstanceCompleted(counters);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void triggerTimer(final EngineBenchmarkContext engine, final RecordCounters counters) {
+    writeCreateCommand(engine, "timer", VariablesCtx.EMPTY_DOCUMENT);
+    engine.awaitWorkflowInstanceCompleted(counters);
+  }
+
+  private void writeCreateCommand(
+      final EngineBenchmarkContext engine,
+      final String bpmnProcessId,
+      final DirectBuffer variables) {
+    creationRecord.reset();
+    creationRecord.setBpmnProcessId(bpmnProcessId).setVariables(variables);
+    engine.writeCommand(
+        ValueType.WORKFLOW_INSTANCE_CREATION,
+        WorkflowInstanceCreationIntent.CREATE,
+        creationRecord);
+  }
+
+  private void completeJob(final EngineBenchmarkContext engine, final RecordCounters counters) {
+    engine.awaitRecord(counters, ValueType.JOB, JobIntent.CREATED);
+
+    jobBatchRecord.reset();
+    jobBatchRecord
+        .setType(JOB_TYPE)
+        .setWorker("benchmark")
+        .setTimeout(TimeUnit.MINUTES.toMillis(1))
+        .setMaxJobsToActivate(1);
+    engine.writeCommand(ValueType.JOB_BATCH, JobBatchIntent.ACTIVATE, jobBatchRecord);
+
+    final LoggedEvent activated = engine.awaitRecord(counters, ValueType.JOB, JobIntent.ACTIVATED);
+    final long jobKey = activated.getKey();
+    jobRecord.reset();
+    activated.readValue(jobRecord);
+    engine.writeCommand(jobKey, ValueType.JOB, JobIntent.COMPLETE, jobRecord);
+
+    engine.awaitWorkflowInstanceCompleted(counters);
+  }
+}
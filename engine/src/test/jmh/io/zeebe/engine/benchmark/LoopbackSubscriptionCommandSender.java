@@ -0,0 +1,202 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.benchmark;
+
+import io.zeebe.engine.processor.workflow.message.command.SubscriptionCommandSender;
+import io.zeebe.logstreams.log.LogStream;
+import io.zeebe.logstreams.log.LogStreamRecordWriter;
+import io.zeebe.logstreams.log.LogStreamWriterImpl;
+import io.zeebe.msgpack.UnpackedObject;
+import io.zeebe.protocol.Protocol;
+import io.zeebe.protocol.clientapi.RecordType;
+import io.zeebe.protocol.clientapi.ValueType;
+import io.zeebe.protocol.impl.record.RecordMetadata;
+import io.zeebe.protocol.impl.record.value.message.MessageSubscriptionRecord;
+import io.zeebe.protocol.impl.record.value.message.WorkflowInstanceSubscriptionRecord;
+import io.zeebe.protocol.intent.Intent;
+import io.zeebe.protocol.intent.MessageSubscriptionIntent;
+import io.zeebe.protocol.intent.WorkflowInstanceSubscriptionIntent;
+import org.agrona.DirectBuffer;
+
+/**
+ * Writes the subscription commands directly to the log stream of the benchmark, which is the
+ * message partition and the workflow instance partition at the same time. It writes the same
+ * commands as the subscription API of the broker.
+ */
+public class LoopbackSubscriptionCommandSender implements SubscriptionCommandSender {
+
+  private final LogStreamRecordWriter logStreamWriter;
+  private final RecordMetadata recordMetadata = new RecordMetadata();
+
+  private final MessageSubscriptionRecord messageSubscriptionRecord =
+      new MessageSubscriptionRecord();
+  private final WorkflowInstanceSubscriptionRecord workflowInstanceSubscriptionRecord =
+      new WorkflowInstanceSubscriptionRecord();
+
+  public LoopbackSubscriptionCommandSender(LogStream logStream) {
+    logStreamWriter = new LogStreamWriterImpl(logStream);
+  }
+
+  @Override
+  public boolean openMessageSubscription(
+      int subscriptionPartitionId,
+      long workflowInstanceKey,
+      long elementInstanceKey,
+      DirectBuffer messageName,
+      DirectBuffer correlationKey,
+      boolean closeOnCorrelate) {
+    messageSubscriptionRecord.reset();
+    messageSubscriptionRecord
+        .setWorkflowInstanceKey(workflowInstanceKey)
+        .setElementInstanceKey(elementInstanceKey)
+        .setMessageKey(-1)
+        .setMessageName(messageName)
+        .setCorrelationKey(correlationKey)
+        .setCloseOnCorrelate(closeOnCorrelate);
+
+    return writeCommand(
+        ValueType.MESSAGE_SUBSCRIPTION, MessageSubscriptionIntent.OPEN, messageSubscriptionRecord);
+  }
+
+  @Override
+  public boolean openWorkflowInstanceSubscription(
+      long workflowInstanceKey,
+      long elementInstanceKey,
+      DirectBuffer messageName,
+      boolean closeOnCorrelate) {
+    workflowInstanceSubscriptionRecord.reset();
+    workflowInstanceSubscriptionRecord
+        .setSubscriptionPartitionId(Protocol.decodePartitionId(workflowInstanceKey))
+        .setWorkflowInstanceKey(workflowInstanceKey)
+        .setElementInstanceKey(elementInstanceKey)
+        .setMessageKey(-1)
+        .setMessageName(messageName)
+        .setCloseOnCorrelate(closeOnCorrelate);
+
+    return writeCommand(
+        ValueType.WORKFLOW_INSTANCE_SUBSCRIPTION,
+        WorkflowInstanceSubscriptionIntent.OPEN,
+        workflowInstanceSubscriptionRecord);
+  }
+
+  @Override
+  public boolean correlateWorkflowInstanceSubscription(
+      long workflowInstanceKey,
+      long elementInstanceKey,
+      DirectBuffer messageName,
+      long messageKey,
+      DirectBuffer variables) {
+    workflowInstanceSubscriptionRecord.reset();
+    workflowInstanceSubscriptionRecord
+        .setSubscriptionPartitionId(Protocol.decodePartitionId(workflowInstanceKey))
+        .setWorkflowInstanceKey(workflowInstanceKey)
+        .setElementInstanceKey(elementInstanceKey)
+        .setMessageKey(messageKey)
+        .setMessageName(messageName)
+        .setVariables(variables);
+
+    return writeCommand(
+        ValueType.WORKFLOW_INSTANCE_SUBSCRIPTION,
+        WorkflowInstanceSubscriptionIntent.CORRELATE,
+        workflowInstanceSubscriptionRecord);
+  }
+
+  @Override
+  public boolean correlateMessageSubscription(
+      int subscriptionPartitionId,
+      long workflowInstanceKey,
+      long elementInstanceKey,
+      DirectBuffer messageName) {
+    messageSubscriptionRecord.reset();
+    messageSubscriptionRecord
+        .setWorkflowInstanceKey(workflowInstanceKey)
+        .setElementInstanceKey(elementInstanceKey)
+        .setMessageKey(-1)
+        .setMessageName(messageName);
+
+    return writeCommand(
+        ValueType.MESSAGE_SUBSCRIPTION,
+        MessageSubscriptionIntent.CORRELATE,
+        messageSubscriptionRecord);
+  }
+
+  @Override
+  public boolean closeMessageSubscription(
+      int subscriptionPartitionId,
+      long workflowInstanceKey,
+      long elementInstanceKey,
+      DirectBuffer messageName) {
+    messageSubscriptionRecord.reset();
+    messageSubscriptionRecord
+        .setWorkflowInstanceKey(workflowInstanceKey)
+        .setElementInstanceKey(elementInstanceKey)
+        .setMessageKey(-1L)
+        .setMessageName(messageName);
+
+    return writeCommand(
+        ValueType.MESSAGE_SUBSCRIPTION, MessageSubscriptionIntent.CLOSE, messageSubscriptionRecord);
+  }
+
+  @Override
+  public boolean closeWorkflowInstanceSubscription(
+      long workflowInstanceKey, long elementInstanceKey, DirectBuffer messageName) {
+    workflowInstanceSubscriptionRecord.reset();
+    workflowInstanceSubscriptionRecord
+        .setSubscriptionPartitionId(Protocol.decodePartitionId(workflowInstanceKey))
+        .setWorkflowInstanceKey(workflowInstanceKey)
+        .setElementInstanceKey(elementInstanceKey)
+        .setMessageKey(-1)
+        .setMessageName(messageName);
+
+    return writeCommand(
+        ValueType.WORKFLOW_INSTANCE_SUBSCRIPTION,
+        WorkflowInstanceSubscriptionIntent.CLOSE,
+        workflowInstanceSubscriptionRecord);
+  }
+
+  @Override
+  public boolean rejectCorrelateMessageSubscription(
+      long workflowInstanceKey,
+      long elementInstanceKey,
+      long messageKey,
+      DirectBuffer messageName,
+      DirectBuffer correlationKey) {
+    messageSubscriptionRecord.reset();
+    messageSubscriptionRecord
+        .setWorkflowInstanceKey(workflowInstanceKey)
+        .setElementInstanceKey(-1L)
+        .setMessageName(messageName)
+        .setCorrelationKey(correlationKey)
+        .setMessageKey(messageKey)
+        .setCloseOnCorrelate(false);
+
+    return writeCommand(
+        ValueType.MESSAGE_SUBSCRIPTION,
+        MessageSubscriptionIntent.REJECT,
+        messageSubscriptionRecord);
+  }
+
+  private boolean writeCommand(ValueType valueType, Intent intent, UnpackedObject command) {
+    recordMetadata.reset().recordType(RecordType.COMMAND).valueType(valueType).intent(intent);
+
+    final long position =
+        logStreamWriter.key(-1).metadataWriter(recordMetadata).valueWriter(command).tryWrite();
+
+    return position > 0;
+  }
+}
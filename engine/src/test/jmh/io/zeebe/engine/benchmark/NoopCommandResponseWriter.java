@@ -0,0 +1,75 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.benchmark;
+
+import io.zeebe.engine.processor.CommandResponseWriter;
+import io.zeebe.protocol.clientapi.RecordType;
+import io.zeebe.protocol.clientapi.RejectionType;
+import io.zeebe.protocol.clientapi.ValueType;
+import io.zeebe.protocol.intent.Intent;
+import io.zeebe.util.buffer.BufferWriter;
+import org.agrona.DirectBuffer;
+
+/** Drops the responses, since the benchmarks read the results from the log. */
+public class NoopCommandResponseWriter implements CommandResponseWriter {
+
+  @Override
+  public CommandResponseWriter partitionId(int partitionId) {
+    return this;
+  }
+
+  @Override
+  public CommandResponseWriter key(long key) {
+    return this;
+  }
+
+  @Override
+  public CommandResponseWriter intent(Intent intent) {
+    return this;
+  }
+
+  @Override
+  public CommandResponseWriter recordType(RecordType type) {
+    return this;
+  }
+
+  @Override
+  public CommandResponseWriter valueType(ValueType valueType) {
+    return this;
+  }
+
+  @Override
+  public CommandResponseWriter rejectionType(RejectionType rejectionType) {
+    return this;
+  }
+
+  @Override
+  public CommandResponseWriter rejectionReason(DirectBuffer rejectionReason) {
+    return this;
+  }
+
+  @Override
+  public CommandResponseWriter valueWriter(BufferWriter value) {
+    return this;
+  }
+
+  @Override
+  public boolean tryWriteResponse(int requestStreamId, long requestId) {
+    return true;
+  }
+}
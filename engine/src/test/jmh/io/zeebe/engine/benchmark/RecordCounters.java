@@ -0,0 +1,100 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.benchmark;
+
+import io.zeebe.protocol.clientapi.ValueType;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Counts the records which are written to the log while the benchmark is running. JMH reports each
+ * counter as an additional throughput result, i.e. as records per second of the record type.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class RecordCounters {
+
+  public long workflowInstanceRecords;
+  public long workflowInstanceCreationRecords;
+  public long variableRecords;
+  public long jobRecords;
+  public long jobBatchRecords;
+  public long messageRecords;
+  public long messageSubscriptionRecords;
+  public long workflowInstanceSubscriptionRecords;
+  public long timerRecords;
+  public long incidentRecords;
+  public long otherRecords;
+
+  @Setup(Level.Iteration)
+  public void reset() {
+    workflowInstanceRecords = 0;
+    workflowInstanceCreationRecords = 0;
+    variableRecords = 0;
+    jobRecords = 0;
+    jobBatchRecords = 0;
+    messageRecords = 0;
+    messageSubscriptionRecords = 0;
+    workflowInstanceSubscriptionRecords = 0;
+    timerRecords = 0;
+    incidentRecords = 0;
+    otherRecords = 0;
+  }
+
+  void count(ValueType valueType) {
+    switch (valueType) {
+      case WORKFLOW_INSTANCE:
+        workflowInstanceRecords++;
+        break;
+      case WORKFLOW_INSTANCE_CREATION:
+        workflowInstanceCreationRecords++;
+        break;
+      case VARIABLE:
+      case VARIABLE_DOCUMENT:
+        variableRecords++;
+        break;
+      case JOB:
+        jobRecords++;
+        break;
+      case JOB_BATCH:
+        jobBatchRecords++;
+        break;
+      case MESSAGE:
+        messageRecords++;
+        break;
+      case MESSAGE_SUBSCRIPTION:
+        messageSubscriptionRecords++;
+        break;
+      case WORKFLOW_INSTANCE_SUBSCRIPTION:
+        workflowInstanceSubscriptionRecords++;
+        break;
+      case TIMER:
+        timerRecords++;
+        break;
+      case INCIDENT:
+        incidentRecords++;
+        break;
+      default:
+        otherRecords++;
+        break;
+    }
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.benchmark;
+
+import io.zeebe.msgpack.spec.MsgPackWriter;
+import io.zeebe.util.buffer.BufferUtil;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** A variables document of (roughly) the given size, consisting of string variables. */
+@State(Scope.Benchmark)
+public class VariablesCtx {
+
+  static final DirectBuffer EMPTY_DOCUMENT =
+      new UnsafeBuffer(new byte[] {(byte) 0x80}); // fixmap with zero entries
+
+  private static final int VALUE_LENGTH = 64;
+
+  @Param({"1024", "65536"})
+  public int size;
+
+  DirectBuffer document;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    final byte[] value = new byte[VALUE_LENGTH];
+    for (int i = 0; i < value.length; i++) {
+      value[i] = (byte) ('a' + i % 26);
+    }
+    final DirectBuffer valueBuffer = new UnsafeBuffer(value);
+
+    final int variableCount = Math.max(1, size / VALUE_LENGTH);
+    final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer(size * 2);
+    final MsgPackWriter writer = new MsgPackWriter();
+    writer.wrap(buffer, 0);
+    writer.writeMapHeader(variableCount);
+    for (int i = 0; i < variableCount; i++) {
+      writer.writeString(BufferUtil.wrapString("var" + i));
+      writer.writeString(valueBuffer);
+    }
+
+    document = new UnsafeBuffer(buffer, 0, writer.getOffset());
+  }
+}
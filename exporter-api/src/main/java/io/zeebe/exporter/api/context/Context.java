@@ -15,6 +15,9 @@
  */
 package io.zeebe.exporter.api.context;
 
+import io.zeebe.protocol.clientapi.RecordType;
+import io.zeebe.protocol.clientapi.ValueType;
+import io.zeebe.protocol.intent.Intent;
 import org.slf4j.Logger;
 
 /** Encapsulates context associated with the exporter on open. */
@@ -24,4 +27,44 @@ public interface Context {
 
   /** @return configuration for this exporter */
   Configuration getConfiguration();
+
+  /**
+   * Apply the given filter to limit the records which are exported to this exporter. The filter is
+   * applied on the metadata of a record before the record is deserialized, so records which are
+   * filtered out for all exporters are not deserialized at all.
+   *
+   * <p>Should be called in {@link io.zeebe.exporter.api.spi.Exporter#configure(Context)}. By
+   * default, all records are exported.
+   *
+   * @param filter the filter to apply
+   */
+  void setFilter(RecordFilter filter);
+
+  /** A filter to limit the records which are exported. */
+  interface RecordFilter {
+
+    /**
+     * @param recordType the type of the record
+     * @return true if records of this type should be exported
+     */
+    default boolean acceptType(RecordType recordType) {
+      return true;
+    }
+
+    /**
+     * @param valueType the type of the record value
+     * @return true if records with this value type should be exported
+     */
+    default boolean acceptValue(ValueType valueType) {
+      return true;
+    }
+
+    /**
+     * @param intent the intent of the record, which also identifies its value type
+     * @return true if records with this intent should be exported
+     */
+    default boolean acceptIntent(Intent intent) {
+      return true;
+    }
+  }
 }
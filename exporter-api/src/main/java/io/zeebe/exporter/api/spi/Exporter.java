@@ -18,6 +18,7 @@ package io.zeebe.exporter.api.spi;
 import io.zeebe.exporter.api.context.Context;
 import io.zeebe.exporter.api.context.Controller;
 import io.zeebe.exporter.api.record.Record;
+import java.util.List;
 
 /**
  * Minimal interface to be implemented by concrete exporters.
@@ -69,4 +70,22 @@ public interface Exporter {
    * @param record the record to export
    */
   void export(final Record record);
+
+  /**
+   * Called with consecutive records, in the order in which they were written to the log. Only the
+   * records which pass the filter of this exporter (see {@link Context#setFilter}) are passed.
+   *
+   * <p>By default, the records are passed one by one to {@link #export(Record)}. Implementations
+   * which can export multiple records at once, e.g. with a bulk request, can override this method.
+   *
+   * <p>Should the method throw an unexpected {@link RuntimeException}, it will be called again with
+   * the same records, so records which were exported before the exception may be received again.
+   *
+   * @param records the records to export, the list must not be used after the method returned
+   */
+  default void exportBatch(final List<Record> records) {
+    for (final Record record : records) {
+      export(record);
+    }
+  }
 }
@@ -25,6 +25,7 @@ import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import org.apache.http.HttpHost;
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.UsernamePasswordCredentials;
@@ -32,6 +33,7 @@ import org.apache.http.client.CredentialsProvider;
 import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
 import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.action.admin.indices.template.put.PutIndexTemplateRequest;
 import org.elasticsearch.action.bulk.BulkItemResponse;
 import org.elasticsearch.action.bulk.BulkRequest;
@@ -100,6 +102,33 @@ public class ElasticsearchClient {
     return success;
   }
 
+  /** @return the current bulk, which is replaced by a new bulk to collect further records */
+  public BulkRequest takeBulk() {
+    final BulkRequest request = bulkRequest;
+    bulkRequest = new BulkRequest();
+    return request;
+  }
+
+  /**
+   * Sends the given bulk asynchronously.
+   *
+   * @return a future which is completed with true if all bulk records were indexed successfully
+   */
+  public CompletableFuture<Boolean> sendBulk(final BulkRequest request) {
+    final CompletableFuture<Boolean> result = new CompletableFuture<>();
+    client.bulkAsync(
+        request,
+        RequestOptions.DEFAULT,
+        ActionListener.wrap(
+            responses -> result.complete(checkBulkResponses(responses)),
+            result::completeExceptionally));
+    return result;
+  }
+
+  public boolean hasPendingRecords() {
+    return bulkRequest.numberOfActions() > 0;
+  }
+
   private boolean checkBulkResponses(final BulkResponse responses) {
     for (BulkItemResponse response : responses) {
       if (response.isFailed()) {
@@ -112,7 +141,8 @@ public class ElasticsearchClient {
   }
 
   public boolean shouldFlush() {
-    return bulkRequest.numberOfActions() >= configuration.bulk.size;
+    return bulkRequest.numberOfActions() >= configuration.bulk.size
+        || bulkRequest.estimatedSizeInBytes() >= configuration.bulk.memoryLimit;
   }
 
   /** @return true if request was acknowledged */
@@ -20,8 +20,13 @@ import io.zeebe.exporter.api.context.Context;
 import io.zeebe.exporter.api.context.Controller;
 import io.zeebe.exporter.api.record.Record;
 import io.zeebe.exporter.api.spi.Exporter;
+import io.zeebe.protocol.clientapi.RecordType;
 import io.zeebe.protocol.clientapi.ValueType;
 import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import org.elasticsearch.action.bulk.BulkRequest;
 import org.slf4j.Logger;
 
 public class ElasticsearchExporter implements Exporter {
@@ -38,12 +43,17 @@ public class ElasticsearchExporter implements Exporter {
   private long lastPosition = -1;
   private boolean indexTemplatesCreated;
 
+  // bulks which are sent asynchronously, ordered by their position
+  private final Deque<InFlightBulk> inFlightBulks = new ArrayDeque<>();
+
   @Override
   public void configure(Context context) {
     log = context.getLogger();
     configuration =
         context.getConfiguration().instantiate(ElasticsearchExporterConfiguration.class);
     log.debug("Exporter configured with {}", configuration);
+
+    context.setFilter(new ElasticsearchRecordFilter(configuration));
   }
 
   @Override
@@ -61,6 +71,12 @@ public class ElasticsearchExporter implements Exporter {
   @Override
   public void close() {
     flush();
+    acknowledgeCompletedBulks();
+
+    if (!inFlightBulks.isEmpty()) {
+      // the position was not updated for these bulks, so they are exported again after a restart
+      log.warn("Closing exporter with {} unacknowledged bulks", inFlightBulks.size());
+    }
 
     try {
       client.close();
@@ -72,10 +88,28 @@ public class ElasticsearchExporter implements Exporter {
 
   @Override
   public void export(Record record) {
+    if (record.getPosition() <= lastPosition) {
+      // the record was already indexed, but the exporter director retries it after a failure
+      return;
+    }
+
     if (!indexTemplatesCreated) {
       createIndexTemplates();
     }
 
+    if (isAsync()) {
+      acknowledgeCompletedBulks();
+
+      if (client.shouldFlush()) {
+        if (!hasFreeBulkSlot()) {
+          // don't index the record, the exporter director retries it until a bulk slot is free
+          throw new ElasticsearchExporterException(
+              "Failed to export record, all bulk requests are in flight");
+        }
+        flushAsync();
+      }
+    }
+
     if (configuration.shouldIndexRecord(record)) {
       client.index(record);
     }
@@ -88,8 +122,13 @@ public class ElasticsearchExporter implements Exporter {
   }
 
   private void flushAndReschedule() {
-    flush();
-    scheduleDelayedFlush();
+    try {
+      flush();
+    } catch (Exception e) {
+      log.warn("Failed to flush bulk, try again after delay", e);
+    } finally {
+      scheduleDelayedFlush();
+    }
   }
 
   private void scheduleDelayedFlush() {
@@ -97,13 +136,78 @@ public class ElasticsearchExporter implements Exporter {
   }
 
   private void flush() {
-    if (client.flush()) {
+    if (isAsync()) {
+      flushAsync();
+    } else if (client.flush()) {
       controller.updateLastExportedRecordPosition(lastPosition);
     } else {
       log.warn("Failed to flush bulk completely");
     }
   }
 
+  private boolean isAsync() {
+    return configuration.bulk.concurrentRequests > 0;
+  }
+
+  private boolean hasFreeBulkSlot() {
+    return inFlightBulks.size() < configuration.bulk.concurrentRequests;
+  }
+
+  /**
+   * Sends the pending records as new bulk if a bulk slot is free. Otherwise, the records stay
+   * pending until one of the bulks in flight is acknowledged, without blocking the exporter.
+   */
+  private void flushAsync() {
+    acknowledgeCompletedBulks();
+
+    if (client.hasPendingRecords()) {
+      if (hasFreeBulkSlot()) {
+        final BulkRequest request = client.takeBulk();
+        inFlightBulks.add(new InFlightBulk(request, lastPosition, client.sendBulk(request)));
+      }
+    } else if (inFlightBulks.isEmpty()) {
+      controller.updateLastExportedRecordPosition(lastPosition);
+    }
+  }
+
+  /**
+   * Advances the exported position over all leading bulks which are acknowledged. A failed bulk is
+   * sent again after the bulk delay, and all bulks behind it wait for it to preserve the order of
+   * the positions.
+   */
+  private void acknowledgeCompletedBulks() {
+    long acknowledgedPosition = -1;
+
+    while (!inFlightBulks.isEmpty() && inFlightBulks.getFirst().isDone()) {
+      final InFlightBulk bulk = inFlightBulks.getFirst();
+      if (bulk.isSuccessful()) {
+        inFlightBulks.removeFirst();
+        acknowledgedPosition = bulk.position;
+      } else {
+        resendAfterBackoff(bulk);
+        break;
+      }
+    }
+
+    if (acknowledgedPosition >= 0) {
+      controller.updateLastExportedRecordPosition(acknowledgedPosition);
+    }
+  }
+
+  private void resendAfterBackoff(InFlightBulk bulk) {
+    final long now = System.currentTimeMillis();
+
+    if (bulk.resendTime < 0) {
+      log.warn("Failed to flush bulk completely, send it again after delay");
+      bulk.resendTime = now + Duration.ofSeconds(configuration.bulk.delay).toMillis();
+    }
+
+    if (now >= bulk.resendTime) {
+      bulk.resendTime = -1;
+      bulk.result = client.sendBulk(bulk.request);
+    }
+  }
+
   private void createIndexTemplates() {
     final IndexConfiguration index = configuration.index;
 
@@ -161,4 +265,45 @@ public class ElasticsearchExporter implements Exporter {
       log.warn("Put index template for value type {} was not acknowledged", valueType);
     }
   }
+
+  private static final class InFlightBulk {
+    private final BulkRequest request;
+    private final long position;
+    private CompletableFuture<Boolean> result;
+    // the time when a failed bulk is sent again, or -1 if the failure is not noticed yet
+    private long resendTime = -1;
+
+    InFlightBulk(BulkRequest request, long position, CompletableFuture<Boolean> result) {
+      this.request = request;
+      this.position = position;
+      this.result = result;
+    }
+
+    boolean isDone() {
+      return result.isDone();
+    }
+
+    boolean isSuccessful() {
+      return isDone() && !result.isCompletedExceptionally() && result.join();
+    }
+  }
+
+  private static class ElasticsearchRecordFilter implements Context.RecordFilter {
+
+    private final ElasticsearchExporterConfiguration configuration;
+
+    ElasticsearchRecordFilter(ElasticsearchExporterConfiguration configuration) {
+      this.configuration = configuration;
+    }
+
+    @Override
+    public boolean acceptType(RecordType recordType) {
+      return configuration.shouldIndexRecordType(recordType);
+    }
+
+    @Override
+    public boolean acceptValue(ValueType valueType) {
+      return configuration.shouldIndexValueType(valueType);
+    }
+  }
 }
@@ -115,10 +115,24 @@ public class ElasticsearchExporterConfiguration {
     public int delay = 5;
     // bulk size before flush
     public int size = 1_000;
+    // bulk memory utilisation in bytes before flush
+    public int memoryLimit = 10 * 1024 * 1024;
+    // bulk requests which can be in flight while the next bulk is collected, or zero to flush
+    // synchronously
+    public int concurrentRequests = 0;
 
     @Override
     public String toString() {
-      return "BulkConfiguration{" + "delay=" + delay + ", size=" + size + '}';
+      return "BulkConfiguration{"
+          + "delay="
+          + delay
+          + ", size="
+          + size
+          + ", memoryLimit="
+          + memoryLimit
+          + ", concurrentRequests="
+          + concurrentRequests
+          + '}';
     }
   }
 
@@ -142,7 +156,7 @@ public class ElasticsearchExporterConfiguration {
         && shouldIndexValueType(metadata.getValueType());
   }
 
-  private boolean shouldIndexValueType(ValueType valueType) {
+  public boolean shouldIndexValueType(ValueType valueType) {
     switch (valueType) {
       case DEPLOYMENT:
         return index.deployment;
@@ -171,7 +185,7 @@ public class ElasticsearchExporterConfiguration {
     }
   }
 
-  private boolean shouldIndexRecordType(RecordType recordType) {
+  public boolean shouldIndexRecordType(RecordType recordType) {
     switch (recordType) {
       case EVENT:
         return index.event;
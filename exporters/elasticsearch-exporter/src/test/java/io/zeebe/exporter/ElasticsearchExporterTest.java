@@ -16,22 +16,29 @@
 package io.zeebe.exporter;
 
 import static io.zeebe.exporter.ElasticsearchExporter.ZEEBE_RECORD_TEMPLATE_JSON;
+import static io.zeebe.test.util.TestUtil.waitUntil;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import io.zeebe.exporter.api.record.Record;
+import io.zeebe.exporter.util.ElasticsearchStandIn;
 import io.zeebe.protocol.clientapi.RecordType;
 import io.zeebe.protocol.clientapi.ValueType;
 import io.zeebe.test.exporter.ExporterTestHarness;
+import io.zeebe.test.exporter.MockController;
+import io.zeebe.test.exporter.record.MockRecord;
 import io.zeebe.util.ZbLogger;
+import java.io.IOException;
 import java.time.Duration;
 import java.util.List;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
@@ -41,6 +48,7 @@ public class ElasticsearchExporterTest {
   private ExporterTestHarness testHarness;
   private ElasticsearchExporterConfiguration config;
   private ElasticsearchClient esClient;
+  private ElasticsearchStandIn standIn;
 
   @Before
   public void setUp() {
@@ -48,6 +56,13 @@ public class ElasticsearchExporterTest {
     esClient = mockElasticsearchClient();
   }
 
+  @After
+  public void tearDown() {
+    if (standIn != null) {
+      standIn.stop();
+    }
+  }
+
   @Test
   public void shouldNotFailOnOpenIfElasticIsUnreachable() {
     // given
@@ -348,8 +363,222 @@ public class ElasticsearchExporterTest {
     assertThat(testHarness.getController().getPosition()).isEqualTo(exported.get(3).getPosition());
   }
 
-  private ElasticsearchExporter createExporter() {
-    return createExporter(esClient);
+  @Test
+  public void shouldUpdatePositionOnlyAfterBulkIsAcknowledged() throws Exception {
+    // given
+    final ElasticsearchStandIn standIn = startStandIn();
+    standIn.holdResponses();
+    config.bulk.size = 1;
+    config.bulk.concurrentRequests = 2;
+
+    createAndOpenExporter(new ElasticsearchClient(config, new ZbLogger("test")));
+
+    // when
+    final Record record =
+        testHarness.export(
+            r ->
+                r.getMetadata()
+                    .setValueType(ValueType.WORKFLOW_INSTANCE)
+                    .setRecordType(RecordType.EVENT));
+    waitUntil(() -> standIn.getReceivedBulks() == 1);
+
+    // then
+    assertThat(testHarness.getController().getPosition())
+        .isEqualTo(MockController.UNKNOWN_POSITION);
+
+    // when
+    standIn.resumeResponses();
+
+    // then
+    waitUntil(
+        () -> {
+          testHarness.getController().runScheduledTasks(Duration.ofSeconds(config.bulk.delay));
+          return testHarness.getController().getPosition() == record.getPosition();
+        });
+  }
+
+  @Test
+  public void shouldSendBulksConcurrently() throws Exception {
+    // given
+    final ElasticsearchStandIn standIn = startStandIn();
+    standIn.holdResponses();
+    config.bulk.size = 1;
+    config.bulk.concurrentRequests = 2;
+
+    createAndOpenExporter(new ElasticsearchClient(config, new ZbLogger("test")));
+
+    // when
+    testHarness.stream(
+            r ->
+                r.getMetadata()
+                    .setValueType(ValueType.WORKFLOW_INSTANCE)
+                    .setRecordType(RecordType.EVENT))
+        .export(2);
+
+    // then
+    waitUntil(() -> standIn.getReceivedBulks() == 2);
+    assertThat(testHarness.getController().getPosition())
+        .isEqualTo(MockController.UNKNOWN_POSITION);
+  }
+
+  @Test
+  public void shouldNotIndexRecordIfAllBulksAreInFlight() throws Exception {
+    // given
+    final ElasticsearchStandIn standIn = startStandIn();
+    standIn.holdResponses();
+    config.bulk.size = 1;
+    config.bulk.concurrentRequests = 1;
+
+    final ElasticsearchClient client =
+        Mockito.spy(new ElasticsearchClient(config, new ZbLogger("test")));
+    createAndOpenExporter(client);
+
+    final MockRecord first =
+        testHarness.export(
+            r ->
+                r.getMetadata()
+                    .setValueType(ValueType.WORKFLOW_INSTANCE)
+                    .setRecordType(RecordType.EVENT));
+    final MockRecord second = testHarness.export(nextRecord(first));
+    waitUntil(() -> standIn.getReceivedBulks() == 1);
+
+    // when
+    final MockRecord third = nextRecord(second);
+
+    // then
+    assertThatThrownBy(() -> testHarness.export(third))
+        .isInstanceOf(ElasticsearchExporterException.class);
+    verify(client, never()).index(third);
+
+    // when
+    standIn.resumeResponses();
+    waitUntil(() -> tryExport(third));
+    testHarness.export(third);
+
+    // then
+    waitUntil(() -> standIn.getReceivedBulks() == 2);
+    assertThat(testHarness.getController().getPosition()).isEqualTo(first.getPosition());
+    verify(client, times(1)).index(second);
+    verify(client, times(1)).index(third);
+  }
+
+  @Test
+  public void shouldResendFailedBulk() throws Exception {
+    // given
+    final ElasticsearchStandIn standIn = startStandIn();
+    standIn.failResponses(1);
+    config.bulk.size = 1;
+    config.bulk.concurrentRequests = 1;
+    config.bulk.delay = 0;
+
+    createAndOpenExporter(new ElasticsearchClient(config, new ZbLogger("test")));
+
+    final MockRecord first =
+        testHarness.export(
+            r ->
+                r.getMetadata()
+                    .setValueType(ValueType.WORKFLOW_INSTANCE)
+                    .setRecordType(RecordType.EVENT));
+    final MockRecord second = testHarness.export(nextRecord(first));
+
+    // when
+    final MockRecord third = nextRecord(second);
+    waitUntil(() -> tryExport(third));
+
+    // then
+    assertThat(standIn.getReceivedBulks()).isGreaterThanOrEqualTo(2);
+    assertThat(testHarness.getController().getPosition()).isEqualTo(first.getPosition());
+  }
+
+  @Test
+  public void shouldNotResendFailedBulkBeforeDelay() throws Exception {
+    // given
+    final ElasticsearchStandIn standIn = startStandIn();
+    standIn.failResponses(1);
+    config.bulk.size = 1;
+    config.bulk.concurrentRequests = 1;
+    config.bulk.delay = 60;
+
+    createAndOpenExporter(new ElasticsearchClient(config, new ZbLogger("test")));
+
+    final MockRecord first =
+        testHarness.export(
+            r ->
+                r.getMetadata()
+                    .setValueType(ValueType.WORKFLOW_INSTANCE)
+                    .setRecordType(RecordType.EVENT));
+    final MockRecord second = testHarness.export(nextRecord(first));
+    waitUntil(() -> standIn.getReceivedBulks() == 1);
+
+    // when
+    final MockRecord third = nextRecord(second);
+    for (int i = 0; i < 10; i++) {
+      assertThat(tryExport(third)).isFalse();
+      Thread.sleep(10);
+    }
+
+    // then
+    assertThat(standIn.getReceivedBulks()).isEqualTo(1);
+    assertThat(testHarness.getController().getPosition())
+        .isEqualTo(MockController.UNKNOWN_POSITION);
+  }
+
+  @Test
+  public void shouldRescheduleFlushIfFlushFails() {
+    // given
+    when(esClient.flush()).thenThrow(new ElasticsearchExporterException("expected"));
+    createAndOpenExporter();
+
+    // when
+    testHarness.getController().runScheduledTasks(Duration.ofSeconds(config.bulk.delay));
+
+    // then
+    assertThat(testHarness.getController().getScheduledTasks()).hasSize(2);
+  }
+
+  @Test
+  public void shouldFlushWhenMemoryLimitIsReached() {
+    // given
+    config.bulk.memoryLimit = 1;
+    config.index.createTemplate = false;
+    final ElasticsearchClient client =
+        Mockito.spy(new ElasticsearchClient(config, new ZbLogger("test")));
+    Mockito.doReturn(true).when(client).flush();
+
+    createAndOpenExporter(client);
+
+    // when
+    testHarness.export(
+        r ->
+            r.getMetadata()
+                .setValueType(ValueType.WORKFLOW_INSTANCE)
+                .setRecordType(RecordType.EVENT));
+
+    // then
+    verify(client).flush();
+  }
+
+  private MockRecord nextRecord(MockRecord record) {
+    final MockRecord next = (MockRecord) record.clone();
+    next.setPosition(record.getPosition() + 1);
+    return next;
+  }
+
+  private boolean tryExport(MockRecord record) {
+    try {
+      testHarness.export(record);
+      return true;
+    } catch (ElasticsearchExporterException e) {
+      return false;
+    }
+  }
+
+  private ElasticsearchStandIn startStandIn() throws IOException {
+    standIn = new ElasticsearchStandIn();
+    standIn.start();
+    config.url = standIn.getUrl();
+    config.index.createTemplate = false;
+    return standIn;
   }
 
   private ElasticsearchExporter createExporter(ElasticsearchClient client) {
@@ -368,7 +597,11 @@ public class ElasticsearchExporterTest {
   }
 
   private ElasticsearchExporter createAndOpenExporter() {
-    final ElasticsearchExporter exporter = createExporter();
+    return createAndOpenExporter(esClient);
+  }
+
+  private ElasticsearchExporter createAndOpenExporter(ElasticsearchClient client) {
+    final ElasticsearchExporter exporter = createExporter(client);
     openExporter(exporter);
     return exporter;
   }
@@ -0,0 +1,109 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.exporter.util;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A local HTTP server which answers bulk requests like Elasticsearch, without indexing anything.
+ * The responses can be held back to simulate a slow cluster, or fail to simulate an unavailable
+ * one.
+ */
+public class ElasticsearchStandIn {
+
+  private static final byte[] BULK_RESPONSE =
+      "{\"took\":1,\"errors\":false,\"items\":[]}".getBytes(StandardCharsets.UTF_8);
+
+  private final AtomicInteger receivedBulks = new AtomicInteger();
+  private final AtomicInteger responsesToFail = new AtomicInteger();
+  private volatile CountDownLatch responseLatch = new CountDownLatch(0);
+
+  private HttpServer server;
+  private ExecutorService executor;
+
+  public void start() throws IOException {
+    executor = Executors.newCachedThreadPool();
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/_bulk", this::handleBulk);
+    server.setExecutor(executor);
+    server.start();
+  }
+
+  public void stop() {
+    resumeResponses();
+    server.stop(0);
+    executor.shutdownNow();
+  }
+
+  public String getUrl() {
+    return "http://localhost:" + server.getAddress().getPort();
+  }
+
+  public int getReceivedBulks() {
+    return receivedBulks.get();
+  }
+
+  public void holdResponses() {
+    responseLatch = new CountDownLatch(1);
+  }
+
+  public void resumeResponses() {
+    responseLatch.countDown();
+  }
+
+  /** Answers the next given number of bulk requests with an error. */
+  public void failResponses(int count) {
+    responsesToFail.set(count);
+  }
+
+  private void handleBulk(HttpExchange exchange) throws IOException {
+    try (InputStream body = exchange.getRequestBody()) {
+      while (body.read() >= 0) {
+        // consume the request
+      }
+    }
+
+    receivedBulks.incrementAndGet();
+
+    try {
+      responseLatch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    if (responsesToFail.getAndUpdate(count -> Math.max(count - 1, 0)) > 0) {
+      exchange.sendResponseHeaders(503, -1);
+      exchange.close();
+      return;
+    }
+
+    exchange.getResponseHeaders().add("Content-Type", "application/json");
+    exchange.sendResponseHeaders(200, BULK_RESPONSE.length);
+    try (OutputStream response = exchange.getResponseBody()) {
+      response.write(BULK_RESPONSE);
+    }
+  }
+}
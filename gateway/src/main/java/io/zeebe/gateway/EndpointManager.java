@@ -30,7 +30,7 @@ import io.zeebe.gateway.impl.broker.cluster.BrokerTopologyManager;
 import io.zeebe.gateway.impl.broker.request.BrokerRequest;
 import io.zeebe.gateway.impl.broker.response.BrokerError;
 import io.zeebe.gateway.impl.broker.response.BrokerRejection;
-import io.zeebe.gateway.impl.job.ActivateJobsHandler;
+import io.zeebe.gateway.impl.job.LongPollingActivateJobsHandler;
 import io.zeebe.gateway.protocol.GatewayGrpc;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ActivateJobsRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ActivateJobsResponse;
@@ -68,12 +68,13 @@ public class EndpointManager extends GatewayGrpc.GatewayImplBase {
 
   private final BrokerClient brokerClient;
   private final BrokerTopologyManager topologyManager;
-  private final ActivateJobsHandler activateJobsHandler;
+  private final LongPollingActivateJobsHandler activateJobsHandler;
 
-  public EndpointManager(final BrokerClient brokerClient) {
+  public EndpointManager(
+      final BrokerClient brokerClient, final LongPollingActivateJobsHandler activateJobsHandler) {
     this.brokerClient = brokerClient;
     this.topologyManager = brokerClient.getTopologyManager();
-    this.activateJobsHandler = new ActivateJobsHandler(brokerClient);
+    this.activateJobsHandler = activateJobsHandler;
   }
 
   @Override
@@ -306,6 +307,8 @@ public class EndpointManager extends GatewayGrpc.GatewayImplBase {
     switch (error.getCode()) {
       case WORKFLOW_NOT_FOUND:
         return Status.NOT_FOUND.augmentDescription(error.getMessage());
+      case RESOURCE_EXHAUSTED:
+        return Status.RESOURCE_EXHAUSTED.augmentDescription(error.getMessage());
       default:
         return Status.INTERNAL.augmentDescription(
             String.format(
@@ -22,6 +22,7 @@ import io.grpc.netty.NettyServerBuilder;
 import io.zeebe.gateway.impl.broker.BrokerClient;
 import io.zeebe.gateway.impl.broker.BrokerClientImpl;
 import io.zeebe.gateway.impl.configuration.GatewayCfg;
+import io.zeebe.gateway.impl.job.LongPollingActivateJobsHandler;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.util.function.Function;
@@ -47,6 +48,7 @@ public class Gateway {
 
   private Server server;
   private BrokerClient brokerClient;
+  private LongPollingActivateJobsHandler activateJobsHandler;
   private EndpointManager endpointManager;
 
   public Gateway(GatewayCfg gatewayCfg, AtomixCluster atomixCluster) {
@@ -83,7 +85,10 @@ public class Gateway {
 
     brokerClient = buildBrokerClient();
 
-    endpointManager = new EndpointManager(brokerClient);
+    activateJobsHandler = new LongPollingActivateJobsHandler(brokerClient);
+    brokerClient.submitActor(activateJobsHandler).join();
+
+    endpointManager = new EndpointManager(brokerClient, activateJobsHandler);
     server = serverBuilderFactory.apply(gatewayCfg).addService(endpointManager).build();
 
     server.start();
@@ -110,6 +115,11 @@ public class Gateway {
       }
     }
 
+    if (activateJobsHandler != null) {
+      activateJobsHandler.close().join();
+      activateJobsHandler = null;
+    }
+
     if (brokerClient != null) {
       brokerClient.close();
       brokerClient = null;
@@ -15,7 +15,6 @@
  */
 package io.zeebe.gateway;
 
-import static io.zeebe.util.buffer.BufferUtil.bufferAsArray;
 import static io.zeebe.util.buffer.BufferUtil.bufferAsString;
 
 import io.zeebe.gateway.impl.data.MsgPackConverter;
@@ -148,7 +147,7 @@ public class ResponseMapper {
   }
 
   private static String bufferAsJson(DirectBuffer customHeaders) {
-    return MSG_PACK_CONVERTER.convertToJson(bufferAsArray(customHeaders));
+    return MSG_PACK_CONVERTER.convertToJson(customHeaders);
   }
 
   @FunctionalInterface
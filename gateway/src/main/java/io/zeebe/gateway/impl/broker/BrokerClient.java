@@ -18,6 +18,7 @@ package io.zeebe.gateway.impl.broker;
 import io.zeebe.gateway.impl.broker.cluster.BrokerTopologyManager;
 import io.zeebe.gateway.impl.broker.request.BrokerRequest;
 import io.zeebe.gateway.impl.broker.response.BrokerResponse;
+import io.zeebe.util.sched.Actor;
 import io.zeebe.util.sched.future.ActorFuture;
 import java.util.function.Consumer;
 
@@ -33,4 +34,13 @@ public interface BrokerClient extends AutoCloseable {
       Consumer<Throwable> throwableConsumer);
 
   BrokerTopologyManager getTopologyManager();
+
+  /**
+   * Subscribes to the notifications which are published by the brokers on the given topic, e.g.
+   * when jobs of a type become available.
+   */
+  void subscribeJobAvailableNotification(String topic, Consumer<String> handler);
+
+  /** Submits an actor to the scheduler which is used by this client. */
+  ActorFuture<Void> submitActor(Actor actor);
 }
@@ -21,12 +21,15 @@ import io.atomix.cluster.ClusterMembershipEvent.Type;
 import io.zeebe.dispatcher.Dispatcher;
 import io.zeebe.dispatcher.Dispatchers;
 import io.zeebe.gateway.Loggers;
+import io.zeebe.gateway.impl.broker.cluster.BrokerClusterState;
 import io.zeebe.gateway.impl.broker.cluster.BrokerTopologyManager;
 import io.zeebe.gateway.impl.broker.cluster.BrokerTopologyManagerImpl;
+import io.zeebe.gateway.impl.broker.request.BrokerPublishMessageRequest;
 import io.zeebe.gateway.impl.broker.request.BrokerRequest;
 import io.zeebe.gateway.impl.broker.response.BrokerResponse;
 import io.zeebe.gateway.impl.configuration.ClusterCfg;
 import io.zeebe.gateway.impl.configuration.GatewayCfg;
+import io.zeebe.protocol.impl.SubscriptionUtil;
 import io.zeebe.transport.ClientTransport;
 import io.zeebe.transport.ClientTransportBuilder;
 import io.zeebe.transport.RemoteAddress;
@@ -35,13 +38,16 @@ import io.zeebe.transport.Transports;
 import io.zeebe.transport.impl.memory.NonBlockingMemoryPool;
 import io.zeebe.transport.impl.memory.UnboundedMemoryPool;
 import io.zeebe.util.ByteValue;
+import io.zeebe.util.sched.Actor;
 import io.zeebe.util.sched.ActorScheduler;
 import io.zeebe.util.sched.clock.ActorClock;
 import io.zeebe.util.sched.future.ActorFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import org.agrona.DirectBuffer;
 import org.slf4j.Logger;
 
 public class BrokerClientImpl implements BrokerClient {
@@ -51,7 +57,9 @@ public class BrokerClientImpl implements BrokerClient {
   protected final ClientTransport transport;
   protected final BrokerTopologyManagerImpl topologyManager;
   private final Dispatcher dataFrameReceiveBuffer;
-  private final BrokerRequestManager requestManager;
+  private final BrokerRequestManager[] requestManagers;
+  private final AtomicInteger nextRequestManager = new AtomicInteger();
+  private final AtomixCluster atomixCluster;
   protected boolean isClosed;
 
   public BrokerClientImpl(final GatewayCfg configuration, final AtomixCluster atomixCluster) {
@@ -81,6 +89,7 @@ public class BrokerClientImpl implements BrokerClient {
       final boolean ownsActorScheduler) {
     this.actorScheduler = actorScheduler;
     this.ownsActorScheduler = ownsActorScheduler;
+    this.atomixCluster = atomixCluster;
 
     if (ownsActorScheduler) {
       actorScheduler.start();
@@ -118,13 +127,21 @@ public class BrokerClientImpl implements BrokerClient {
         .forEach(
             member -> topologyManager.event(new ClusterMembershipEvent(Type.MEMBER_ADDED, member)));
 
-    requestManager =
-        new BrokerRequestManager(
-            transport.getOutput(),
-            topologyManager,
-            new RoundRobinDispatchStrategy(topologyManager),
-            clusterCfg.getRequestTimeout());
-    actorScheduler.submitActor(requestManager);
+    // requests are handled by one actor per management thread, which share the transport and the
+    // dispatch strategy, so that the gateway is not limited by a single thread
+    final RequestDispatchStrategy dispatchStrategy = new LoadAwareDispatchStrategy(topologyManager);
+    final int requestManagerCount = Math.max(1, configuration.getThreads().getManagementThreads());
+    requestManagers = new BrokerRequestManager[requestManagerCount];
+    for (int i = 0; i < requestManagerCount; i++) {
+      requestManagers[i] =
+          new BrokerRequestManager(
+              transport.getOutput(),
+              topologyManager,
+              dispatchStrategy,
+              clusterCfg.getRequestTimeout(),
+              i);
+      actorScheduler.submitActor(requestManagers[i]);
+    }
   }
 
   private void registerEndpoint(final int nodeId, final SocketAddress socketAddress) {
@@ -151,6 +168,10 @@ public class BrokerClientImpl implements BrokerClient {
 
     doAndLogException(() -> topologyManager.close().join());
     LOG.debug("topology manager closed");
+    for (final BrokerRequestManager requestManager : requestManagers) {
+      doAndLogException(() -> requestManager.close().join());
+    }
+    LOG.debug("request managers closed");
     doAndLogException(transport::close);
     LOG.debug("transport closed");
     doAndLogException(dataFrameReceiveBuffer::close);
@@ -180,7 +201,7 @@ public class BrokerClientImpl implements BrokerClient {
    */
   @Override
   public <T> ActorFuture<BrokerResponse<T>> sendRequest(BrokerRequest<T> request) {
-    return requestManager.sendRequest(request);
+    return getRequestManager(request).sendRequest(request);
   }
 
   @Override
@@ -188,7 +209,37 @@ public class BrokerClientImpl implements BrokerClient {
       BrokerRequest<T> request,
       BrokerResponseConsumer<T> responseConsumer,
       Consumer<Throwable> throwableConsumer) {
-    requestManager.sendRequest(request, responseConsumer, throwableConsumer);
+    getRequestManager(request).sendRequest(request, responseConsumer, throwableConsumer);
+  }
+
+  /**
+   * Requests to a specific partition are always handled by the same request manager, so they are
+   * sent in the order they are submitted. This includes messages, which are published on the
+   * partition of their correlation key. All other requests are distributed round robin.
+   */
+  private BrokerRequestManager getRequestManager(BrokerRequest<?> request) {
+    final int index;
+    if (request.addressesSpecificPartition()) {
+      index = request.getPartitionId();
+    } else if (request instanceof BrokerPublishMessageRequest) {
+      index = getMessagePartitionId((BrokerPublishMessageRequest) request);
+    } else {
+      index = nextRequestManager.getAndIncrement() & Integer.MAX_VALUE;
+    }
+    return requestManagers[index % requestManagers.length];
+  }
+
+  private int getMessagePartitionId(BrokerPublishMessageRequest request) {
+    final DirectBuffer correlationKey = request.getCorrelationKey();
+    final BrokerClusterState topology = topologyManager.getTopology();
+    if (topology != null) {
+      return SubscriptionUtil.getSubscriptionPartitionId(
+          correlationKey, topology.getPartitionsCount());
+    } else {
+      // the partition is resolved by the request manager once the topology is fetched, until then
+      // messages with the same correlation key are still handled by the same request manager
+      return SubscriptionUtil.getSubscriptionPartitionId(correlationKey, requestManagers.length);
+    }
   }
 
   @Override
@@ -196,6 +247,16 @@ public class BrokerClientImpl implements BrokerClient {
     return topologyManager;
   }
 
+  @Override
+  public void subscribeJobAvailableNotification(String topic, Consumer<String> handler) {
+    atomixCluster.getEventService().subscribe(topic, handler, Runnable::run);
+  }
+
+  @Override
+  public ActorFuture<Void> submitActor(Actor actor) {
+    return actorScheduler.submitActor(actor);
+  }
+
   public ClientTransport getTransport() {
     return transport;
   }
@@ -25,6 +25,7 @@ import io.zeebe.gateway.cmd.NoTopologyAvailableException;
 import io.zeebe.gateway.impl.ErrorResponseHandler;
 import io.zeebe.gateway.impl.broker.cluster.BrokerClusterState;
 import io.zeebe.gateway.impl.broker.cluster.BrokerTopologyManagerImpl;
+import io.zeebe.gateway.impl.broker.cluster.PartitionLoad;
 import io.zeebe.gateway.impl.broker.request.BrokerPublishMessageRequest;
 import io.zeebe.gateway.impl.broker.request.BrokerRequest;
 import io.zeebe.gateway.impl.broker.response.BrokerError;
@@ -52,18 +53,34 @@ public class BrokerRequestManager extends Actor {
   private final RequestDispatchStrategy dispatchStrategy;
   private final BrokerTopologyManagerImpl topologyManager;
   private final Duration requestTimeout;
+  private final String name;
 
   public BrokerRequestManager(
       ClientOutput clientOutput,
       BrokerTopologyManagerImpl topologyManager,
       RequestDispatchStrategy dispatchStrategy,
       Duration requestTimeout) {
+    this(clientOutput, topologyManager, dispatchStrategy, requestTimeout, 0);
+  }
+
+  public BrokerRequestManager(
+      ClientOutput clientOutput,
+      BrokerTopologyManagerImpl topologyManager,
+      RequestDispatchStrategy dispatchStrategy,
+      Duration requestTimeout,
+      int id) {
+    this.name = "gateway-request-manager-" + id;
     this.clientOutput = clientOutput;
     this.dispatchStrategy = dispatchStrategy;
     this.topologyManager = topologyManager;
     this.requestTimeout = requestTimeout;
   }
 
+  @Override
+  public String getName() {
+    return name;
+  }
+
   private static boolean shouldRetryRequest(final DirectBuffer responseContent) {
     final ErrorResponseHandler errorHandler = new ErrorResponseHandler();
     final MessageHeaderDecoder headerDecoder = new MessageHeaderDecoder();
@@ -152,24 +169,36 @@ public class BrokerRequestManager extends Actor {
   private <T> void sendRequestInternal(
       BrokerRequest<T> request, BiConsumer<BrokerResponse<T>, Throwable> responseConsumer) {
     final BrokerNodeIdProvider nodeIdProvider = determineBrokerNodeIdProvider(request);
+    final PartitionLoad partitionLoad = getPartitionLoad(request);
+    final long startTime = System.nanoTime();
 
     final ActorFuture<ClientResponse> responseFuture =
         clientOutput.sendRequestWithRetry(
             nodeIdProvider, BrokerRequestManager::shouldRetryRequest, request, requestTimeout);
 
     if (responseFuture != null) {
+      if (partitionLoad != null) {
+        partitionLoad.onRequestSent();
+      }
+
       actor.runOnCompletion(
           responseFuture,
           (clientResponse, error) -> {
+            boolean failed = true;
             try {
               if (error == null) {
                 final BrokerResponse<T> response = request.getResponse(clientResponse);
+                failed = isPartitionUnavailable(response);
                 responseConsumer.accept(response, null);
               } else {
                 responseConsumer.accept(null, error);
               }
             } catch (RuntimeException e) {
               responseConsumer.accept(null, new ClientResponseException(e));
+            } finally {
+              if (partitionLoad != null) {
+                partitionLoad.onRequestCompleted(System.nanoTime() - startTime, failed);
+              }
             }
           });
     } else {
@@ -177,6 +206,26 @@ public class BrokerRequestManager extends Actor {
     }
   }
 
+  private PartitionLoad getPartitionLoad(BrokerRequest<?> request) {
+    if (!request.addressesSpecificPartition() && !request.requiresPartitionId()) {
+      return null;
+    }
+
+    final BrokerClusterState topology = topologyManager.getTopology();
+    return topology != null ? topology.getPartitionLoad(request.getPartitionId()) : null;
+  }
+
+  private static boolean isPartitionUnavailable(BrokerResponse<?> response) {
+    if (!response.isError()) {
+      return false;
+    }
+
+    final ErrorCode errorCode = response.getError().getCode();
+    return errorCode == ErrorCode.PARTITION_LEADER_MISMATCH
+        || errorCode == ErrorCode.RESOURCE_EXHAUSTED
+        || errorCode == ErrorCode.INTERNAL_ERROR;
+  }
+
   private BrokerNodeIdProvider determineBrokerNodeIdProvider(BrokerRequest<?> request) {
     if (request.addressesSpecificPartition()) {
       // already know partition id
@@ -0,0 +1,68 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.impl.broker;
+
+import io.zeebe.gateway.impl.broker.cluster.BrokerClusterState;
+import io.zeebe.gateway.impl.broker.cluster.BrokerTopologyManagerImpl;
+import io.zeebe.gateway.impl.broker.cluster.PartitionLoad;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Picks the next partition in round robin order and a random other partition, and returns the one
+ * with the lower load (see {@link PartitionLoad#getScore()}). As long as the partitions are equally
+ * loaded, the requests are distributed round robin. Comparing only two partitions avoids that all
+ * requests are sent to the same partition until its load is updated.
+ */
+public class LoadAwareDispatchStrategy implements RequestDispatchStrategy {
+
+  private final BrokerTopologyManagerImpl topologyManager;
+  private final AtomicInteger partitions = new AtomicInteger(0);
+
+  public LoadAwareDispatchStrategy(final BrokerTopologyManagerImpl topologyManager) {
+    this.topologyManager = topologyManager;
+  }
+
+  @Override
+  public int determinePartition() {
+    final BrokerClusterState topology = topologyManager.getTopology();
+    if (topology == null) {
+      return BrokerClusterState.PARTITION_ID_NULL;
+    }
+
+    final int partitionsCount = topology.getPartitions().size();
+    final int offset = partitions.getAndIncrement() & Integer.MAX_VALUE;
+    final int candidate = topology.getPartition(offset);
+    if (partitionsCount < 2) {
+      return candidate;
+    }
+
+    final int otherOffset = 1 + ThreadLocalRandom.current().nextInt(partitionsCount - 1);
+    final int otherIndex = (offset % partitionsCount + otherOffset) % partitionsCount;
+    final int other = topology.getPartition(otherIndex);
+
+    return getScore(topology, other) < getScore(topology, candidate) ? other : candidate;
+  }
+
+  private static double getScore(final BrokerClusterState topology, final int partitionId) {
+    if (topology.getLeaderForPartition(partitionId) == BrokerClusterState.NODE_ID_NULL) {
+      return Double.MAX_VALUE;
+    }
+
+    final PartitionLoad load = topology.getPartitionLoad(partitionId);
+    return load != null ? load.getScore() : 0;
+  }
+}
@@ -35,6 +35,9 @@ public interface BrokerClusterState {
 
   List<Integer> getFollowersForPartition(int partition);
 
+  /** @return the observed load of the partition or null if the partition is unknown */
+  PartitionLoad getPartitionLoad(int partition);
+
   /**
    * @return the node id of a random broker or {@link ClientTransport#UNKNOWN_NODE_ID} if no brokers
    *     are known
@@ -29,6 +29,7 @@ public class BrokerClusterStateImpl implements BrokerClusterState {
   private final Int2IntHashMap partitionLeaders;
   private final Int2ObjectHashMap<List<Integer>> partitionFollowers;
   private final Int2ObjectHashMap<String> brokerAddresses;
+  private final Int2ObjectHashMap<PartitionLoad> partitionLoads;
   private final IntArrayList brokers;
   private final IntArrayList partitions;
   private final Random randomBroker;
@@ -42,6 +43,7 @@ public class BrokerClusterStateImpl implements BrokerClusterState {
       partitionLeaders.putAll(topology.partitionLeaders);
       partitionFollowers.putAll(topology.partitionFollowers);
       brokerAddresses.putAll(topology.brokerAddresses);
+      partitionLoads.putAll(topology.partitionLoads);
 
       brokers.addAll(topology.brokers);
       partitions.addAll(topology.partitions);
@@ -56,6 +58,7 @@ public class BrokerClusterStateImpl implements BrokerClusterState {
     partitionLeaders = new Int2IntHashMap(NODE_ID_NULL);
     partitionFollowers = new Int2ObjectHashMap<>();
     brokerAddresses = new Int2ObjectHashMap<>();
+    partitionLoads = new Int2ObjectHashMap<>();
     brokers = new IntArrayList(5, NODE_ID_NULL);
     partitions = new IntArrayList(32, PARTITION_ID_NULL);
     randomBroker = new Random();
@@ -76,6 +79,7 @@ public class BrokerClusterStateImpl implements BrokerClusterState {
   public void addPartitionIfAbsent(int partitionId) {
     if (partitions.indexOf(partitionId) == -1) {
       partitions.addInt(partitionId);
+      partitionLoads.computeIfAbsent(partitionId, id -> new PartitionLoad());
     }
   }
 
@@ -144,6 +148,11 @@ public class BrokerClusterStateImpl implements BrokerClusterState {
     return partitionFollowers.get(partition);
   }
 
+  @Override
+  public PartitionLoad getPartitionLoad(int partition) {
+    return partitionLoads.get(partition);
+  }
+
   @Override
   public int getRandomBroker() {
     if (brokers.isEmpty()) {
@@ -182,6 +191,8 @@ public class BrokerClusterStateImpl implements BrokerClusterState {
     return "BrokerClusterStateImpl{"
         + "partitionLeaders="
         + partitionLeaders
+        + ", partitionLoads="
+        + partitionLoads
         + ", brokers="
         + brokers
         + ", partitions="
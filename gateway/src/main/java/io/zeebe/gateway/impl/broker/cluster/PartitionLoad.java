@@ -0,0 +1,90 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.impl.broker.cluster;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The load of a partition as observed by the gateway: the number of requests in flight, the
+ * smoothed response latency and the smoothed rate of failed requests (timeouts and errors which
+ * indicate that the partition is not available, e.g. while it is recovering or without leader).
+ *
+ * <p>The load is shared by all topology versions, so it is not reset by topology changes.
+ */
+public class PartitionLoad {
+
+  /** weight of the latest sample in the exponentially weighted moving averages */
+  static final double SMOOTHING_FACTOR = 0.2;
+
+  /** latency of a partition without any samples, avoids a score of zero for idle partitions */
+  static final long MIN_LATENCY_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+  /** a partition which fails all requests counts as if its latency was this much higher */
+  static final double FAILURE_PENALTY = 10;
+
+  private final AtomicInteger inFlightRequests = new AtomicInteger();
+  private volatile long latencyNanos;
+  private volatile double failureRate;
+
+  public void onRequestSent() {
+    inFlightRequests.incrementAndGet();
+  }
+
+  public synchronized void onRequestCompleted(final long latencyNanos, final boolean failed) {
+    inFlightRequests.decrementAndGet();
+
+    if (this.latencyNanos == 0) {
+      this.latencyNanos = latencyNanos;
+    } else {
+      this.latencyNanos += (long) (SMOOTHING_FACTOR * (latencyNanos - this.latencyNanos));
+    }
+    failureRate += SMOOTHING_FACTOR * ((failed ? 1.0 : 0.0) - failureRate);
+  }
+
+  public int getInFlightRequests() {
+    return inFlightRequests.get();
+  }
+
+  public long getLatencyNanos() {
+    return latencyNanos;
+  }
+
+  public double getFailureRate() {
+    return failureRate;
+  }
+
+  /**
+   * @return the expected time a new request has to wait for its response, relative to the other
+   *     partitions; lower is better
+   */
+  public double getScore() {
+    final long latency = Math.max(latencyNanos, MIN_LATENCY_NANOS);
+    return (inFlightRequests.get() + 1) * (double) latency * (1 + FAILURE_PENALTY * failureRate);
+  }
+
+  @Override
+  public String toString() {
+    return "PartitionLoad{"
+        + "inFlightRequests="
+        + inFlightRequests
+        + ", latencyNanos="
+        + latencyNanos
+        + ", failureRate="
+        + failureRate
+        + '}';
+  }
+}
@@ -23,12 +23,15 @@ import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.MappingJsonFactory;
+import io.zeebe.msgpack.spec.MsgPackJsonWriter;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
 import org.msgpack.jackson.dataformat.MessagePackFactory;
 
 public class MsgPackConverter {
@@ -39,6 +42,9 @@ public class MsgPackConverter {
       new MessagePackFactory().setReuseResourceInGenerator(false).setReuseResourceInParser(false);
   protected final JsonFactory jsonFactory = new MappingJsonFactory();
 
+  private final ThreadLocal<MsgPackJsonWriter> jsonWriter =
+      ThreadLocal.withInitial(MsgPackJsonWriter::new);
+
   public byte[] convertToMsgPack(String json) {
     final byte[] jsonBytes = getBytes(json, JSON_CHARSET);
     final ByteArrayInputStream inputStream = new ByteArrayInputStream(jsonBytes);
@@ -55,8 +61,20 @@ public class MsgPackConverter {
     }
   }
 
+  /**
+   * Converts the MessagePack document by streaming over its tokens, without creating a Jackson
+   * parser and generator for it.
+   */
+  public String convertToJson(DirectBuffer msgPack) {
+    try {
+      return jsonWriter.get().toJson(msgPack);
+    } catch (Exception e) {
+      throw new RuntimeException("Failed to convert MessagePack to JSON", e);
+    }
+  }
+
   public String convertToJson(byte[] msgPack) {
-    return convertToJson(new ByteArrayInputStream(msgPack));
+    return convertToJson(new UnsafeBuffer(msgPack));
   }
 
   public String convertToJson(InputStream msgPackInputStream) {
@@ -23,12 +23,14 @@ import io.zeebe.gateway.impl.broker.BrokerClient;
 import io.zeebe.gateway.impl.broker.request.BrokerActivateJobsRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ActivateJobsRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ActivateJobsResponse;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 
 public class ActivateJobsHandler {
 
-  private final Map<String, Integer> jobTypeToNextPartitionId = new HashMap<>();
+  private final Map<String, Integer> jobTypeToNextPartitionId = new ConcurrentHashMap<>();
   private final BrokerClient brokerClient;
 
   public ActivateJobsHandler(BrokerClient brokerClient) {
@@ -39,21 +41,35 @@ public class ActivateJobsHandler {
       int partitionsCount,
       ActivateJobsRequest request,
       StreamObserver<ActivateJobsResponse> responseObserver) {
+    activateJobs(
+        partitionsCount,
+        request,
+        responseObserver::onNext,
+        activatedJobsCount -> responseObserver.onCompleted());
+  }
+
+  /**
+   * Activates jobs on all partitions round-robin, like {@link #activateJobs(int,
+   * ActivateJobsRequest, StreamObserver)}, but leaves it to the caller how to complete the request.
+   *
+   * @param onResponse invoked for every partition response which contains activated jobs
+   * @param onCompleted invoked with the total amount of activated jobs when all partitions are
+   *     checked or enough jobs are activated
+   */
+  public void activateJobs(
+      int partitionsCount,
+      ActivateJobsRequest request,
+      Consumer<ActivateJobsResponse> onResponse,
+      IntConsumer onCompleted) {
+    final int maxJobsToActivate = request.getMaxJobsToActivate();
     activateJobs(
         RequestMapper.toActivateJobsRequest(request),
         partitionIdIteratorForType(request.getType(), partitionsCount),
-        request.getMaxJobsToActivate(),
+        maxJobsToActivate,
         request.getType(),
-        responseObserver);
-  }
-
-  private void activateJobs(
-      BrokerActivateJobsRequest request,
-      PartitionIdIterator partitionIdIterator,
-      int remainingAmount,
-      String jobType,
-      StreamObserver<ActivateJobsResponse> responseObserver) {
-    activateJobs(request, partitionIdIterator, remainingAmount, jobType, responseObserver, false);
+        onResponse,
+        remainingAmount -> onCompleted.accept(maxJobsToActivate - remainingAmount),
+        false);
   }
 
   private void activateJobs(
@@ -61,7 +77,8 @@ public class ActivateJobsHandler {
       PartitionIdIterator partitionIdIterator,
       int remainingAmount,
       String jobType,
-      StreamObserver<ActivateJobsResponse> responseObserver,
+      Consumer<ActivateJobsResponse> onResponse,
+      IntConsumer onCompleted,
       boolean pollPrevPartition) {
 
     if (remainingAmount > 0 && (pollPrevPartition || partitionIdIterator.hasNext())) {
@@ -80,7 +97,7 @@ public class ActivateJobsHandler {
                 ResponseMapper.toActivateJobsResponse(key, response);
             final int jobsCount = grpcResponse.getJobsCount();
             if (jobsCount > 0) {
-              responseObserver.onNext(grpcResponse);
+              onResponse.accept(grpcResponse);
             }
 
             activateJobs(
@@ -88,7 +105,8 @@ public class ActivateJobsHandler {
                 partitionIdIterator,
                 remainingAmount - jobsCount,
                 jobType,
-                responseObserver,
+                onResponse,
+                onCompleted,
                 response.getTruncated());
           },
           error -> {
@@ -97,12 +115,19 @@ public class ActivateJobsHandler {
                 jobType,
                 partitionIdIterator.getCurrentPartitionId(),
                 error);
-            activateJobs(request, partitionIdIterator, remainingAmount, jobType, responseObserver);
+            activateJobs(
+                request,
+                partitionIdIterator,
+                remainingAmount,
+                jobType,
+                onResponse,
+                onCompleted,
+                false);
           });
     } else {
       // enough jobs activated or no more partitions left to check
       jobTypeToNextPartitionId.put(jobType, partitionIdIterator.getCurrentPartitionId());
-      responseObserver.onCompleted();
+      onCompleted.accept(remainingAmount);
     }
   }
 
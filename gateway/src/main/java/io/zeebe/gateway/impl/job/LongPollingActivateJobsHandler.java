@@ -0,0 +1,242 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.impl.job;
+
+import static io.zeebe.protocol.Protocol.JOBS_AVAILABLE_TOPIC;
+
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import io.zeebe.gateway.Loggers;
+import io.zeebe.gateway.impl.broker.BrokerClient;
+import io.zeebe.gateway.protocol.GatewayOuterClass.ActivateJobsRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.ActivateJobsResponse;
+import io.zeebe.util.sched.Actor;
+import io.zeebe.util.sched.ScheduledTimer;
+import io.zeebe.util.sched.clock.ActorClock;
+import io.zeebe.util.sched.future.ActorFuture;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Activates jobs like the {@link ActivateJobsHandler}, but holds requests which have a request
+ * timeout open if no job could be activated. A parked request is retried as soon as a broker
+ * notifies the gateway that jobs of the requested type became available, and is completed without
+ * jobs when its request timeout is reached.
+ *
+ * <p>Requests without a request timeout are passed to the {@link ActivateJobsHandler} directly.
+ */
+public class LongPollingActivateJobsHandler extends Actor {
+
+  private final BrokerClient brokerClient;
+  private final ActivateJobsHandler activateJobsHandler;
+
+  private final Map<String, JobTypeState> jobTypeStates = new HashMap<>();
+
+  public LongPollingActivateJobsHandler(BrokerClient brokerClient) {
+    this.brokerClient = brokerClient;
+    this.activateJobsHandler = new ActivateJobsHandler(brokerClient);
+  }
+
+  @Override
+  public String getName() {
+    return "GatewayLongPollingJobHandler";
+  }
+
+  public ActorFuture<Void> close() {
+    return actor.close();
+  }
+
+  @Override
+  protected void onActorStarted() {
+    brokerClient.subscribeJobAvailableNotification(JOBS_AVAILABLE_TOPIC, this::onJobsAvailable);
+  }
+
+  public void activateJobs(
+      int partitionsCount,
+      ActivateJobsRequest request,
+      StreamObserver<ActivateJobsResponse> responseObserver) {
+    if (request.getRequestTimeout() <= 0) {
+      activateJobsHandler.activateJobs(partitionsCount, request, responseObserver);
+      return;
+    }
+
+    final LongPollingRequest longPollingRequest =
+        new LongPollingRequest(partitionsCount, request, responseObserver);
+
+    if (responseObserver instanceof ServerCallStreamObserver) {
+      // the cancel handler has to be set before the service method returns
+      ((ServerCallStreamObserver<ActivateJobsResponse>) responseObserver)
+          .setOnCancelHandler(() -> actor.run(() -> cancel(longPollingRequest)));
+    }
+
+    actor.run(
+        () -> {
+          final long now = ActorClock.currentTimeMillis();
+          longPollingRequest.deadline = now + request.getRequestTimeout();
+          tryActivateJobs(longPollingRequest);
+        });
+  }
+
+  public void onJobsAvailable(String jobType) {
+    actor.run(
+        () -> {
+          final JobTypeState state = jobTypeStates.get(jobType);
+          if (state == null) {
+            return;
+          }
+
+          state.notificationCount += 1;
+
+          if (!state.parkedRequests.isEmpty()) {
+            final List<LongPollingRequest> parkedRequests = new ArrayList<>(state.parkedRequests);
+            state.parkedRequests.clear();
+
+            for (LongPollingRequest request : parkedRequests) {
+              request.cancelTimer();
+              tryActivateJobs(request);
+            }
+          }
+        });
+  }
+
+  private void tryActivateJobs(LongPollingRequest request) {
+    final JobTypeState state = getJobTypeState(request.getJobType());
+    final long notificationCount = state.notificationCount;
+    state.activeRequests += 1;
+
+    activateJobsHandler.activateJobs(
+        request.partitionsCount,
+        request.request,
+        request::onResponse,
+        activatedJobsCount ->
+            actor.run(
+                () -> {
+                  state.activeRequests -= 1;
+
+                  if (activatedJobsCount > 0 || request.isTimedOut()) {
+                    request.complete();
+                  } else if (state.notificationCount != notificationCount) {
+                    // jobs became available while the partitions were polled
+                    tryActivateJobs(request);
+                  } else {
+                    park(request, state);
+                  }
+
+                  removeIfIdle(request.getJobType(), state);
+                }));
+  }
+
+  private void park(LongPollingRequest request, JobTypeState state) {
+    if (request.isCanceled) {
+      return;
+    }
+
+    final long remainingTime = request.deadline - ActorClock.currentTimeMillis();
+    if (remainingTime <= 0) {
+      // the request timed out while the partitions were polled
+      request.complete();
+      return;
+    }
+
+    state.parkedRequests.add(request);
+    request.timer =
+        actor.runDelayed(
+            Duration.ofMillis(remainingTime),
+            () -> {
+              if (state.parkedRequests.remove(request)) {
+                request.complete();
+                removeIfIdle(request.getJobType(), state);
+              }
+            });
+  }
+
+  private void cancel(LongPollingRequest request) {
+    request.isCanceled = true;
+
+    final JobTypeState state = jobTypeStates.get(request.getJobType());
+    if (state != null && state.parkedRequests.remove(request)) {
+      request.cancelTimer();
+      removeIfIdle(request.getJobType(), state);
+      Loggers.GATEWAY_LOGGER.trace(
+          "Canceled parked activate jobs request for type {}", request.getJobType());
+    }
+  }
+
+  private JobTypeState getJobTypeState(String jobType) {
+    return jobTypeStates.computeIfAbsent(jobType, t -> new JobTypeState());
+  }
+
+  private void removeIfIdle(String jobType, JobTypeState state) {
+    if (state.activeRequests == 0 && state.parkedRequests.isEmpty()) {
+      jobTypeStates.remove(jobType, state);
+    }
+  }
+
+  private static final class JobTypeState {
+    private final List<LongPollingRequest> parkedRequests = new ArrayList<>();
+    private int activeRequests;
+    private long notificationCount;
+  }
+
+  private static final class LongPollingRequest {
+    private final int partitionsCount;
+    private final ActivateJobsRequest request;
+    private final StreamObserver<ActivateJobsResponse> responseObserver;
+
+    private long deadline;
+    private ScheduledTimer timer;
+    private volatile boolean isCanceled;
+
+    LongPollingRequest(
+        int partitionsCount,
+        ActivateJobsRequest request,
+        StreamObserver<ActivateJobsResponse> responseObserver) {
+      this.partitionsCount = partitionsCount;
+      this.request = request;
+      this.responseObserver = responseObserver;
+    }
+
+    String getJobType() {
+      return request.getType();
+    }
+
+    boolean isTimedOut() {
+      return ActorClock.currentTimeMillis() >= deadline;
+    }
+
+    void onResponse(ActivateJobsResponse response) {
+      if (!isCanceled) {
+        responseObserver.onNext(response);
+      }
+    }
+
+    void complete() {
+      if (!isCanceled) {
+        responseObserver.onCompleted();
+      }
+    }
+
+    void cancelTimer() {
+      if (timer != null) {
+        timer.cancel();
+        timer = null;
+      }
+    }
+  }
+}
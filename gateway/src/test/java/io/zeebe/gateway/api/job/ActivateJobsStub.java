@@ -50,6 +50,12 @@ public class ActivateJobsStub
   public static final DirectBuffer VARIABLES_MSGPACK =
       new UnsafeBuffer(MSG_PACK_CONVERTER.convertToMsgPack(VARIABLES));
 
+  private volatile int availableJobs = Integer.MAX_VALUE;
+
+  public void setAvailableJobs(int availableJobs) {
+    this.availableJobs = availableJobs;
+  }
+
   public long getJobBatchKey() {
     return JOB_BATCH_KEY;
   }
@@ -108,7 +114,7 @@ public class ActivateJobsStub
     addJobs(
         response,
         partitionId,
-        requestDto.getMaxJobsToActivate(),
+        Math.min(requestDto.getMaxJobsToActivate(), availableJobs),
         requestDto.getType(),
         requestDto.getWorker());
 
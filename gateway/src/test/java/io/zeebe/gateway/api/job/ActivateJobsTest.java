@@ -15,6 +15,7 @@
  */
 package io.zeebe.gateway.api.job;
 
+import static io.zeebe.test.util.TestUtil.waitUntil;
 import static io.zeebe.util.buffer.BufferUtil.wrapString;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -28,13 +29,18 @@ import io.zeebe.protocol.impl.record.value.job.JobBatchRecord;
 import io.zeebe.test.util.JsonUtil;
 import io.zeebe.util.buffer.BufferUtil;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import org.junit.Test;
 
 public class ActivateJobsTest extends GatewayTest {
 
+  private static final int PARTITIONS_COUNT = 8;
+
   @Test
   public void shouldMapRequestAndResponse() {
     // given
@@ -121,4 +127,80 @@ public class ActivateJobsTest extends GatewayTest {
       }
     }
   }
+
+  @Test
+  public void shouldCompleteLongPollingRequestWithoutJobsAfterTimeout() {
+    // given
+    final ActivateJobsStub stub = new ActivateJobsStub();
+    stub.registerWith(gateway);
+    stub.setAvailableJobs(0);
+
+    final ActivateJobsRequest request =
+        ActivateJobsRequest.newBuilder()
+            .setType("test")
+            .setMaxJobsToActivate(2)
+            .setRequestTimeout(500)
+            .build();
+
+    // when
+    final Iterator<ActivateJobsResponse> responses = client.activateJobs(request);
+
+    // then
+    assertThat(responses.hasNext()).isFalse();
+    assertThat(gateway.getBrokerRequests()).hasSize(PARTITIONS_COUNT);
+  }
+
+  @Test
+  public void shouldCompleteLongPollingRequestIfTimedOutWhilePolling() {
+    // given
+    final ActivateJobsStub stub = new ActivateJobsStub();
+    stub.registerWith(gateway);
+    stub.setAvailableJobs(0);
+
+    final ActivateJobsRequest request =
+        ActivateJobsRequest.newBuilder()
+            .setType("test")
+            .setMaxJobsToActivate(2)
+            .setRequestTimeout(1)
+            .build();
+
+    // when
+    final Iterator<ActivateJobsResponse> responses = client.activateJobs(request);
+
+    // then
+    assertThat(responses.hasNext()).isFalse();
+    assertThat(gateway.getBrokerRequests()).hasSize(PARTITIONS_COUNT);
+  }
+
+  @Test
+  public void shouldActivateJobsOfParkedRequestWhenNotified() throws Exception {
+    // given
+    final ActivateJobsStub stub = new ActivateJobsStub();
+    stub.registerWith(gateway);
+    stub.setAvailableJobs(0);
+
+    final ActivateJobsRequest request =
+        ActivateJobsRequest.newBuilder()
+            .setType("test")
+            .setMaxJobsToActivate(2)
+            .setRequestTimeout(Duration.ofMinutes(1).toMillis())
+            .build();
+
+    final CompletableFuture<List<ActivatedJob>> activatedJobs =
+        CompletableFuture.supplyAsync(
+            () -> {
+              final List<ActivatedJob> jobs = new ArrayList<>();
+              client.activateJobs(request).forEachRemaining(r -> jobs.addAll(r.getJobsList()));
+              return jobs;
+            });
+
+    waitUntil(() -> gateway.getBrokerRequests().size() == PARTITIONS_COUNT);
+
+    // when
+    stub.setAvailableJobs(2);
+    gateway.notifyJobsAvailable("test");
+
+    // then
+    assertThat(activatedJobs.get(10, TimeUnit.SECONDS)).hasSize(2);
+  }
 }
@@ -15,6 +15,7 @@
  */
 package io.zeebe.gateway.api.util;
 
+import static io.zeebe.protocol.Protocol.JOBS_AVAILABLE_TOPIC;
 import static io.zeebe.protocol.Protocol.START_PARTITION_ID;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -36,11 +37,15 @@ import io.zeebe.gateway.impl.broker.response.BrokerResponse;
 import io.zeebe.gateway.impl.configuration.GatewayCfg;
 import io.zeebe.gateway.protocol.GatewayGrpc;
 import io.zeebe.gateway.protocol.GatewayGrpc.GatewayBlockingStub;
+import io.zeebe.util.sched.Actor;
+import io.zeebe.util.sched.ActorScheduler;
 import io.zeebe.util.sched.future.ActorFuture;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
 import java.util.function.Consumer;
 
 @SuppressWarnings({"rawtypes", "unchecked"})
@@ -49,10 +54,16 @@ public class StubbedGateway extends Gateway {
   private static final String SERVER_NAME = "server";
 
   private Map<Class<?>, RequestHandler> requestHandlers = new HashMap<>();
-  private List<BrokerRequest> brokerRequests = new ArrayList<>();
+  private List<BrokerRequest> brokerRequests = new CopyOnWriteArrayList<>();
+  private Map<String, Consumer<String>> notificationHandlers = new ConcurrentHashMap<>();
+
+  private final ActorScheduler actorScheduler;
 
   public StubbedGateway() {
     super(new GatewayCfg(), cfg -> null, cfg -> InProcessServerBuilder.forName(SERVER_NAME));
+
+    actorScheduler = ActorScheduler.newActorScheduler().build();
+    actorScheduler.start();
   }
 
   public <RequestT extends BrokerRequest<?>, ResponseT extends BrokerResponse<?>>
@@ -77,6 +88,14 @@ public class StubbedGateway extends Gateway {
     return (T) brokerRequests.get(0);
   }
 
+  public List<BrokerRequest> getBrokerRequests() {
+    return brokerRequests;
+  }
+
+  public void notifyJobsAvailable(String jobType) {
+    notificationHandlers.get(JOBS_AVAILABLE_TOPIC).accept(jobType);
+  }
+
   @FunctionalInterface
   interface RequestHandler<RequestT extends BrokerRequest<?>, ResponseT extends BrokerResponse<?>> {
     ResponseT handle(RequestT request) throws Exception;
@@ -93,7 +112,13 @@ public class StubbedGateway extends Gateway {
     BrokerTopologyManager topologyManager = new StubbedTopologyManager();
 
     @Override
-    public void close() {}
+    public void close() {
+      try {
+        actorScheduler.stop().get();
+      } catch (InterruptedException | ExecutionException e) {
+        throw new RuntimeException(e);
+      }
+    }
 
     @Override
     public <T> ActorFuture<BrokerResponse<T>> sendRequest(BrokerRequest<T> request) {
@@ -128,6 +153,16 @@ public class StubbedGateway extends Gateway {
     public BrokerTopologyManager getTopologyManager() {
       return topologyManager;
     }
+
+    @Override
+    public void subscribeJobAvailableNotification(String topic, Consumer<String> handler) {
+      notificationHandlers.put(topic, handler);
+    }
+
+    @Override
+    public ActorFuture<Void> submitActor(Actor actor) {
+      return actorScheduler.submitActor(actor);
+    }
   }
 
   private class StubbedTopologyManager implements BrokerTopologyManager {
@@ -32,6 +32,7 @@ import io.zeebe.gateway.impl.broker.cluster.BrokerTopologyManagerImpl;
 import io.zeebe.gateway.impl.broker.request.BrokerCompleteJobRequest;
 import io.zeebe.gateway.impl.broker.request.BrokerCreateWorkflowInstanceRequest;
 import io.zeebe.gateway.impl.broker.request.BrokerDeployWorkflowRequest;
+import io.zeebe.gateway.impl.broker.request.BrokerPublishMessageRequest;
 import io.zeebe.gateway.impl.broker.response.BrokerError;
 import io.zeebe.gateway.impl.broker.response.BrokerRejection;
 import io.zeebe.gateway.impl.broker.response.BrokerResponse;
@@ -45,6 +46,7 @@ import io.zeebe.protocol.impl.record.value.job.JobRecord;
 import io.zeebe.protocol.impl.record.value.workflowinstance.WorkflowInstanceCreationRecord;
 import io.zeebe.protocol.intent.DeploymentIntent;
 import io.zeebe.protocol.intent.JobIntent;
+import io.zeebe.protocol.intent.MessageIntent;
 import io.zeebe.protocol.intent.WorkflowInstanceCreationIntent;
 import io.zeebe.protocol.intent.WorkflowInstanceIntent;
 import io.zeebe.test.broker.protocol.brokerapi.ExecuteCommandRequest;
@@ -61,6 +63,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
+import java.util.stream.IntStream;
 import org.agrona.DirectBuffer;
 import org.junit.After;
 import org.junit.Before;
@@ -81,7 +84,10 @@ public class BrokerClientTest {
 
   @Before
   public void setUp() {
-    final GatewayCfg configuration = new GatewayCfg();
+    client = createClient(new GatewayCfg());
+  }
+
+  private BrokerClient createClient(final GatewayCfg configuration) {
     configuration
         .getCluster()
         .setHost("0.0.0.0")
@@ -94,15 +100,16 @@ public class BrokerClientTest {
     final ClusterMembershipService memberShipService = mock(ClusterMembershipService.class);
     when(atomixCluster.getMembershipService()).thenReturn(memberShipService);
 
-    client = new BrokerClientImpl(configuration, atomixCluster, clock);
+    final BrokerClientImpl brokerClient = new BrokerClientImpl(configuration, atomixCluster, clock);
 
-    ((BrokerClientImpl) client).getTransport().registerEndpoint(0, broker.getSocketAddress());
+    brokerClient.getTransport().registerEndpoint(0, broker.getSocketAddress());
 
     final BrokerClusterStateImpl topology = new BrokerClusterStateImpl();
     topology.addPartitionIfAbsent(START_PARTITION_ID);
     topology.setPartitionLeader(START_PARTITION_ID, 0);
 
-    ((BrokerTopologyManagerImpl) client.getTopologyManager()).setTopology(topology);
+    ((BrokerTopologyManagerImpl) brokerClient.getTopologyManager()).setTopology(topology);
+    return brokerClient;
   }
 
   @After
@@ -254,6 +261,65 @@ public class BrokerClientTest {
     }
   }
 
+  @Test
+  public void shouldSendRequestsWithMultipleRequestManagers() {
+    // given
+    client.close();
+    final GatewayCfg configuration = new GatewayCfg();
+    configuration.getThreads().setManagementThreads(4);
+    client = createClient(configuration);
+
+    registerCreateWfCommand();
+
+    final List<ActorFuture<BrokerResponse<WorkflowInstanceCreationRecord>>> futures =
+        new ArrayList<>();
+
+    // when
+    for (int i = 0; i < 16; i++) {
+      futures.add(client.sendRequest(new BrokerCreateWorkflowInstanceRequest()));
+    }
+
+    // then
+    for (final ActorFuture<BrokerResponse<WorkflowInstanceCreationRecord>> future : futures) {
+      assertThat(future.join().isResponse()).isTrue();
+    }
+    assertThat(broker.getReceivedCommandRequests()).hasSize(16);
+  }
+
+  @Test
+  public void shouldSendMessagesOfPartitionInOrder() {
+    // given
+    client.close();
+    final GatewayCfg configuration = new GatewayCfg();
+    configuration.getThreads().setManagementThreads(4);
+    client = createClient(configuration);
+
+    broker
+        .onExecuteCommandRequest(ValueType.MESSAGE, MessageIntent.PUBLISH)
+        .respondWith()
+        .event()
+        .intent(MessageIntent.PUBLISHED)
+        .key(r -> r.key())
+        .value()
+        .allOf((r) -> r.getCommand())
+        .done()
+        .register();
+
+    final List<ActorFuture<BrokerResponse<Void>>> futures = new ArrayList<>();
+
+    // when
+    for (int i = 0; i < 16; i++) {
+      futures.add(client.sendRequest(new BrokerPublishMessageRequest("message-" + i, "key")));
+    }
+
+    // then
+    futures.forEach(future -> assertThat(future.join().isResponse()).isTrue());
+    assertThat(broker.getReceivedCommandRequests())
+        .extracting(request -> request.getCommand().get("name"))
+        .containsExactly(
+            IntStream.range(0, 16).mapToObj(i -> "message-" + i).toArray(Object[]::new));
+  }
+
   @Test
   public void shouldReleaseRequestsOnGet() {
     // given
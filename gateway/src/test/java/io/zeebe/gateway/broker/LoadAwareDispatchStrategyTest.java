@@ -0,0 +1,157 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.broker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.gateway.impl.broker.LoadAwareDispatchStrategy;
+import io.zeebe.gateway.impl.broker.cluster.BrokerClusterState;
+import io.zeebe.gateway.impl.broker.cluster.BrokerClusterStateImpl;
+import io.zeebe.gateway.impl.broker.cluster.BrokerTopologyManagerImpl;
+import io.zeebe.gateway.impl.broker.cluster.PartitionLoad;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LoadAwareDispatchStrategyTest {
+
+  private static final int PARTITIONS = 3;
+
+  private BrokerTopologyManagerImpl topologyManager;
+  private BrokerClusterStateImpl topology;
+  private LoadAwareDispatchStrategy strategy;
+
+  @Before
+  public void setUp() {
+    topologyManager = new BrokerTopologyManagerImpl((nodeId, address) -> {});
+    topology = new BrokerClusterStateImpl();
+    for (int partitionId = 0; partitionId < PARTITIONS; partitionId++) {
+      topology.addPartitionIfAbsent(partitionId);
+      topology.setPartitionLeader(partitionId, 0);
+    }
+    topologyManager.setTopology(topology);
+
+    strategy = new LoadAwareDispatchStrategy(topologyManager);
+  }
+
+  @Test
+  public void shouldReturnNullPartitionWithoutTopology() {
+    // given
+    topologyManager.setTopology(null);
+
+    // when
+    final int partitionId = strategy.determinePartition();
+
+    // then
+    assertThat(partitionId).isEqualTo(BrokerClusterState.PARTITION_ID_NULL);
+  }
+
+  @Test
+  public void shouldDistributeRoundRobinIfPartitionsAreEquallyLoaded() {
+    // when
+    final List<Integer> partitionIds = determinePartitions(6);
+
+    // then
+    assertThat(partitionIds).containsExactly(0, 1, 2, 0, 1, 2);
+  }
+
+  @Test
+  public void shouldAvoidPartitionWithRequestsInFlight() {
+    // given
+    final PartitionLoad load = topology.getPartitionLoad(1);
+    load.onRequestSent();
+    load.onRequestSent();
+
+    // when
+    final List<Integer> partitionIds = determinePartitions(100);
+
+    // then
+    assertThat(partitionIds).doesNotContain(1).contains(0, 2);
+  }
+
+  @Test
+  public void shouldAvoidPartitionWithHighLatency() {
+    // given
+    completeRequest(0, TimeUnit.MILLISECONDS.toNanos(1), false);
+    completeRequest(1, TimeUnit.MILLISECONDS.toNanos(1), false);
+    completeRequest(2, TimeUnit.MILLISECONDS.toNanos(50), false);
+
+    // when
+    final List<Integer> partitionIds = determinePartitions(100);
+
+    // then
+    assertThat(partitionIds).doesNotContain(2).contains(0, 1);
+  }
+
+  @Test
+  public void shouldAvoidPartitionWithFailedRequests() {
+    // given
+    completeRequest(0, TimeUnit.MILLISECONDS.toNanos(1), true);
+    completeRequest(1, TimeUnit.MILLISECONDS.toNanos(1), false);
+    completeRequest(2, TimeUnit.MILLISECONDS.toNanos(1), false);
+
+    // when
+    final List<Integer> partitionIds = determinePartitions(100);
+
+    // then
+    assertThat(partitionIds).doesNotContain(0).contains(1, 2);
+  }
+
+  @Test
+  public void shouldAvoidPartitionWithoutLeader() {
+    // given
+    final BrokerClusterStateImpl newTopology = new BrokerClusterStateImpl();
+    newTopology.addPartitionIfAbsent(0);
+    newTopology.addPartitionIfAbsent(1);
+    newTopology.setPartitionLeader(1, 0);
+    topologyManager.setTopology(newTopology);
+
+    // when
+    final List<Integer> partitionIds = determinePartitions(10);
+
+    // then
+    assertThat(partitionIds).containsOnly(1);
+  }
+
+  @Test
+  public void shouldKeepLoadOnTopologyChange() {
+    // given
+    final PartitionLoad load = topology.getPartitionLoad(0);
+
+    // when
+    final BrokerClusterStateImpl newTopology = new BrokerClusterStateImpl(topology);
+    newTopology.addPartitionIfAbsent(0);
+
+    // then
+    assertThat(newTopology.getPartitionLoad(0)).isSameAs(load);
+  }
+
+  private void completeRequest(final int partitionId, final long latency, final boolean failed) {
+    final PartitionLoad load = topology.getPartitionLoad(partitionId);
+    load.onRequestSent();
+    load.onRequestCompleted(latency, failed);
+  }
+
+  private List<Integer> determinePartitions(final int count) {
+    final List<Integer> partitionIds = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      partitionIds.add(strategy.determinePartition());
+    }
+    return partitionIds;
+  }
+}
@@ -22,10 +22,13 @@ import io.zeebe.gateway.impl.data.MsgPackConverter;
 import io.zeebe.test.util.MsgPackUtil;
 import io.zeebe.util.LangUtil;
 import io.zeebe.util.StreamUtil;
+import io.zeebe.util.buffer.BufferUtil;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
@@ -71,6 +74,43 @@ public class MsgPackConverterTest {
     assertThat(json).isEqualTo(JSON);
   }
 
+  @Test
+  public void shouldConvertFromMsgPackBufferToJsonString() throws Exception {
+    // when
+    final String json = converter.convertToJson(new UnsafeBuffer(MSG_PACK));
+
+    // then
+    assertThat(json).isEqualTo(JSON);
+  }
+
+  @Test
+  public void shouldConvertFromMsgPackBufferLikeFromMsgPackStream() throws Exception {
+    // given
+    final DirectBuffer msgPack =
+        MsgPackUtil.encodeMsgPack(
+            b ->
+                b.packMapHeader(3)
+                    .packString("a\"b\n")
+                    .packArrayHeader(3)
+                    .packDouble(1.5)
+                    .packNil()
+                    .packBoolean(false)
+                    .packString("\u00e4")
+                    .packMapHeader(1)
+                    .packString("c")
+                    .packLong(Long.MIN_VALUE)
+                    .packString("d")
+                    .packString("\u0001\t"));
+
+    // when
+    final String json = converter.convertToJson(msgPack);
+
+    // then
+    assertThat(json)
+        .isEqualTo(
+            converter.convertToJson(new ByteArrayInputStream(BufferUtil.bufferAsArray(msgPack))));
+  }
+
   @Test
   public void shouldConvertFromMsgPackToJsonStream() throws Exception {
     // when
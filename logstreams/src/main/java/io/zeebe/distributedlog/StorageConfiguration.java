@@ -43,6 +43,7 @@ public class StorageConfiguration {
   private final File blockIndexDirectory;
   private int partitionId;
   private long logSegmentSize;
+  private long logWriteBufferSize;
   private long indexBlockSize;
 
   public StorageConfiguration(
@@ -84,6 +85,15 @@ public class StorageConfiguration {
     return logSegmentSize;
   }
 
+  public StorageConfiguration setLogWriteBufferSize(final long logWriteBufferSize) {
+    this.logWriteBufferSize = logWriteBufferSize;
+    return this;
+  }
+
+  public long getLogWriteBufferSize() {
+    return logWriteBufferSize;
+  }
+
   public void setIndexBlockSize(final long indexBlockSize) {
     this.indexBlockSize = indexBlockSize;
   }
@@ -15,6 +15,7 @@
  */
 package io.zeebe.distributedlog;
 
+import io.zeebe.logstreams.impl.Loggers;
 import io.zeebe.util.ByteValue;
 import io.zeebe.util.FileUtil;
 import io.zeebe.util.sched.Actor;
@@ -23,15 +24,30 @@ import io.zeebe.util.sched.future.CompletableActorFuture;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import org.slf4j.Logger;
 
 /**
- * Manages {@link StorageConfiguration} instances. When the broker is started, it loads the stored
- * files. Knows where to put new configuration files when a new raft is started.
+ * Manages {@link StorageConfiguration} instances. Knows where to put the data of a partition when a
+ * new raft is started.
+ *
+ * <p>The log of a partition is placed in one of the log directories, and the state (i.e. the
+ * RocksDB instances of the block index and the stream processors) in one of the state directories.
+ * Each is placed in the directory with the fewest partitions, so that the partitions are striped
+ * over the directories. If no state directories are given, the state is placed in the same
+ * partition directory as the log. The data of a partition which exists already is not moved, i.e.
+ * the state of a partition which was created before state directories were configured stays with
+ * its log.
  */
 public class StorageConfigurationManager extends Actor {
+  private static final Logger LOG = Loggers.LOGSTREAMS_LOGGER;
+
+  private static final String DEFAULT_LOG_WRITE_BUFFER_SIZE = "8M";
+
   private static final String PARTITION_METAFILE_NAME = "partition.json";
+  private static final String PARTITION_DIR_PREFIX = "partition-";
   private static final String PARTITION_LOG_DIR = "segments";
   private static final String PARTITION_STATES_DIR = "state";
   private static final String PARTITION_INDEX_ROOT_DIR = "index";
@@ -40,51 +56,55 @@ public class StorageConfigurationManager extends Actor {
 
   private final List<StorageConfiguration> configurations = new ArrayList<>();
 
-  private final int[] partitionCountPerDataDirectory;
-  private final String indexBlockSize;
-  private final List<String> directories;
+  private final List<String> logDirectories;
+  private final List<String> stateDirectories;
+  private final int[] partitionCountPerLogDirectory;
+  private final int[] partitionCountPerStateDirectory;
+
   private final String segmentSize;
+  private final String indexBlockSize;
+  private final String logWriteBufferSize;
 
   public StorageConfigurationManager(
       List<String> dataDirectories, String segmentSize, final String indexBlockSize) {
-    this.directories = dataDirectories;
+    this(
+        dataDirectories,
+        Collections.emptyList(),
+        segmentSize,
+        indexBlockSize,
+        DEFAULT_LOG_WRITE_BUFFER_SIZE);
+  }
+
+  public StorageConfigurationManager(
+      List<String> logDirectories,
+      List<String> stateDirectories,
+      String segmentSize,
+      String indexBlockSize,
+      String logWriteBufferSize) {
+    this.logDirectories = logDirectories;
+    this.stateDirectories = stateDirectories;
+    this.partitionCountPerLogDirectory = new int[logDirectories.size()];
+    this.partitionCountPerStateDirectory = new int[stateDirectories.size()];
     this.segmentSize = segmentSize;
-    this.partitionCountPerDataDirectory = new int[dataDirectories.size()];
     this.indexBlockSize = indexBlockSize;
+    this.logWriteBufferSize = logWriteBufferSize;
   }
 
   @Override
   protected void onActorStarting() {
-    for (int i = 0; i < directories.size(); i++) {
-      readConfigurations(directories.get(i), i);
-    }
+    countPartitions(logDirectories, partitionCountPerLogDirectory);
+    countPartitions(stateDirectories, partitionCountPerStateDirectory);
   }
 
-  private void readConfigurations(String dataDirectoryName, int offset) {
-    final File dataDirectory = new File(dataDirectoryName);
-
-    final File[] partitionDirectories =
-        dataDirectory.listFiles((d, f) -> new File(d, f).isDirectory());
-
-    for (File partitionDirectory : partitionDirectories) {
-      final File configFile = new File(partitionDirectory, PARTITION_METAFILE_NAME);
-
-      if (configFile.exists()) {
-        final File logDirectory = new File(partitionDirectory, PARTITION_LOG_DIR);
-        final File statesDirectory = new File(partitionDirectory, PARTITION_STATES_DIR);
-        final File indexDirectory = new File(partitionDirectory, PARTITION_INDEX_ROOT_DIR);
-        final File indexRuntimeDirectory = new File(indexDirectory, PARTITION_INDEX_RUNTIME_DIR);
-        final File indexSnapshotsDirectory =
-            new File(indexDirectory, PARTITION_INDEX_SNAPSHOTS_DIR);
-
-        configurations.add(
-            new StorageConfiguration(
-                configFile,
-                logDirectory,
-                indexSnapshotsDirectory,
-                statesDirectory,
-                indexRuntimeDirectory));
-        partitionCountPerDataDirectory[offset]++;
+  private static void countPartitions(List<String> directories, int[] partitionCounts) {
+    for (int i = 0; i < directories.size(); i++) {
+      final File[] partitionDirectories =
+          new File(directories.get(i))
+              .listFiles(
+                  (d, f) -> f.startsWith(PARTITION_DIR_PREFIX) && new File(d, f).isDirectory());
+
+      if (partitionDirectories != null) {
+        partitionCounts[i] = partitionDirectories.length;
       }
     }
   }
@@ -106,24 +126,33 @@ public class StorageConfigurationManager extends Actor {
           if (partitionConfig.isPresent()) {
             future.complete(partitionConfig.get());
           } else {
-            final String partitionName = String.format("partition-%d", partitionId);
+            final String partitionName = PARTITION_DIR_PREFIX + partitionId;
 
-            final int assignedDataDirOffset = assignDataDirectory();
-            final String assignedDataDirectoryName = directories.get(assignedDataDirOffset);
-            final File partitionDirectory = new File(assignedDataDirectoryName, partitionName);
+            final File partitionDirectory =
+                getPartitionDirectory(partitionName, logDirectories, partitionCountPerLogDirectory);
+            final File statePartitionDirectory;
+            try {
+              statePartitionDirectory =
+                  getStatePartitionDirectory(partitionName, partitionDirectory);
+            } catch (IllegalStateException e) {
+              future.completeExceptionally(e);
+              return;
+            }
 
             try {
               partitionDirectory.mkdir();
+              statePartitionDirectory.mkdir();
 
               final File metafile = new File(partitionDirectory, PARTITION_METAFILE_NAME);
 
               final File logDirectory = new File(partitionDirectory, PARTITION_LOG_DIR);
               logDirectory.mkdir();
 
-              final File statesDirectory = new File(partitionDirectory, PARTITION_STATES_DIR);
+              final File statesDirectory = new File(statePartitionDirectory, PARTITION_STATES_DIR);
               statesDirectory.mkdir();
 
-              final File indexDirectory = new File(partitionDirectory, PARTITION_INDEX_ROOT_DIR);
+              final File indexDirectory =
+                  new File(statePartitionDirectory, PARTITION_INDEX_ROOT_DIR);
               indexDirectory.mkdir();
 
               final File indexRuntimeDirectory =
@@ -145,17 +174,25 @@ public class StorageConfigurationManager extends Actor {
               storage
                   .setPartitionId(partitionId)
                   .setLogSegmentSize(new ByteValue(segmentSize).toBytes())
+                  .setLogWriteBufferSize(new ByteValue(logWriteBufferSize).toBytes())
                   .setIndexBlockSize(new ByteValue(indexBlockSize).toBytes());
 
               configurations.add(storage);
 
-              future.complete(storage);
+              LOG.info(
+                  "Place log of partition {} in {} and state in {}",
+                  partitionId,
+                  partitionDirectory,
+                  statePartitionDirectory);
 
-              partitionCountPerDataDirectory[assignedDataDirOffset]++;
+              future.complete(storage);
             } catch (Exception e) {
               try {
                 // try to deleted partially created dirs / files
                 FileUtil.deleteFolder(partitionDirectory.getAbsolutePath());
+                if (statePartitionDirectory != partitionDirectory) {
+                  FileUtil.deleteFolder(statePartitionDirectory.getAbsolutePath());
+                }
               } catch (IOException e1) {
                 e1.printStackTrace();
               }
@@ -168,12 +205,59 @@ public class StorageConfigurationManager extends Actor {
     return future;
   }
 
-  private int assignDataDirectory() {
+  /**
+   * Returns the directory of the partition's state. If the log partition directory contains the
+   * state already, then it is kept there, since the partition was created without separate state
+   * directories.
+   *
+   * @throws IllegalStateException if the state exists in the log and in a state directory
+   */
+  private File getStatePartitionDirectory(String partitionName, File logPartitionDirectory) {
+    if (stateDirectories.isEmpty()) {
+      return logPartitionDirectory;
+    }
+
+    if (containsState(logPartitionDirectory)) {
+      for (String directory : stateDirectories) {
+        final File statePartitionDirectory = new File(directory, partitionName);
+        if (!statePartitionDirectory.equals(logPartitionDirectory)
+            && containsState(statePartitionDirectory)) {
+          throw new IllegalStateException(
+              String.format(
+                  "Expected the state of %s in either %s or %s, but found it in both. Remove the one which is outdated.",
+                  partitionName, logPartitionDirectory, statePartitionDirectory));
+        }
+      }
+
+      return logPartitionDirectory;
+    }
+
+    return getPartitionDirectory(partitionName, stateDirectories, partitionCountPerStateDirectory);
+  }
+
+  private static boolean containsState(File partitionDirectory) {
+    return new File(partitionDirectory, PARTITION_STATES_DIR).exists()
+        || new File(partitionDirectory, PARTITION_INDEX_ROOT_DIR).exists();
+  }
+
+  /**
+   * Returns the existing directory of the partition, or assigns the directory with the fewest
+   * partitions.
+   */
+  private static File getPartitionDirectory(
+      String partitionName, List<String> directories, int[] partitionCounts) {
+    for (String directory : directories) {
+      final File partitionDirectory = new File(directory, partitionName);
+      if (partitionDirectory.exists()) {
+        return partitionDirectory;
+      }
+    }
+
     int min = Integer.MAX_VALUE;
     int minOffset = -1;
 
-    for (int i = 0; i < partitionCountPerDataDirectory.length; i++) {
-      final int partitionCount = partitionCountPerDataDirectory[i];
+    for (int i = 0; i < partitionCounts.length; i++) {
+      final int partitionCount = partitionCounts[i];
 
       if (partitionCount < min) {
         min = partitionCount;
@@ -181,7 +265,8 @@ public class StorageConfigurationManager extends Actor {
       }
     }
 
-    return minOffset;
+    partitionCounts[minOffset]++;
+    return new File(directories.get(minOffset), partitionName);
   }
 
   public ActorFuture<Void> deleteConfiguration(StorageConfiguration configuration) {
@@ -29,6 +29,8 @@ import io.zeebe.distributedlog.StorageConfiguration;
 import io.zeebe.distributedlog.restore.RestoreClient;
 import io.zeebe.distributedlog.restore.log.LogReplicationAppender;
 import io.zeebe.logstreams.LogStreams;
+import io.zeebe.logstreams.impl.LogBlockIndexWriter;
+import io.zeebe.logstreams.impl.LogEntryDescriptor;
 import io.zeebe.logstreams.impl.service.LogStreamServiceNames;
 import io.zeebe.logstreams.log.BufferedLogStreamReader;
 import io.zeebe.logstreams.log.LogStream;
@@ -38,6 +40,7 @@ import io.zeebe.servicecontainer.ServiceContainer;
 import java.io.File;
 import java.lang.reflect.Field;
 import java.nio.ByteBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -54,6 +57,8 @@ public class DefaultDistributedLogstreamService
   private String currentLeader;
   private long currentLeaderTerm = -1;
 
+  private final UnsafeBuffer appendedBlock = new UnsafeBuffer(0, 0);
+
   private String logName;
 
   private ServiceContainer serviceContainer;
@@ -137,6 +142,7 @@ public class DefaultDistributedLogstreamService
               .logDirectory(logDirectory.getAbsolutePath())
               .logSegmentSize((int) config.getLogSegmentSize())
               .indexBlockSize((int) config.getIndexBlockSize())
+              .writeBufferSize((int) config.getLogWriteBufferSize())
               .logName(logServiceName)
               .serviceContainer(serviceContainer)
               .indexStateStorage(stateStorage)
@@ -183,12 +189,24 @@ public class DefaultDistributedLogstreamService
       // Following is required to trigger the commit listeners.
       logStream.setCommitPosition(commitPosition);
       lastPosition = commitPosition;
+
+      indexAppendedBlock(appendResult, blockBuffer);
     }
     // the return result is valid only for the leader. If the followers failed to append, they don't
     // retry
     return appendResult;
   }
 
+  private void indexAppendedBlock(long address, byte[] blockBuffer) {
+    // the block is committed already - add it to the index without reading it from the storage
+    final LogBlockIndexWriter indexWriter = logStream.getLogBlockIndexWriter();
+    if (indexWriter != null) {
+      appendedBlock.wrap(blockBuffer);
+      final long firstEventPosition = LogEntryDescriptor.getPosition(appendedBlock, 0);
+      indexWriter.onBlockAppended(address, firstEventPosition, blockBuffer.length);
+    }
+  }
+
   @Override
   public boolean claimLeaderShip(String nodeId, long term) {
     LOG.debug(
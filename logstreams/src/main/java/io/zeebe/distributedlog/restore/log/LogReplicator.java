@@ -18,15 +18,30 @@ package io.zeebe.distributedlog.restore.log;
 import io.atomix.cluster.MemberId;
 import io.zeebe.distributedlog.restore.log.impl.DefaultLogReplicationRequest;
 import io.zeebe.util.ZbLogger;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import org.slf4j.Logger;
 
+/**
+ * Replicates a range of events from other replicas. The next range is requested as soon as the
+ * response of the previous one is received, while the events of the previous ranges are appended.
+ * The number of received responses which are not appended yet is limited by the window size. The
+ * events are always appended in order.
+ *
+ * <p>The start of a range is the position of the last event of the previous response, so the ranges
+ * can not be requested ahead. If multiple replicas are given, the requests are sent to them in
+ * turns, and a failed request is sent to the next replica.
+ */
 public class LogReplicator {
+  public static final int DEFAULT_WINDOW_SIZE = 2;
+
   private final LogReplicationAppender appender;
   private final LogReplicationClient client;
   private final Executor executor;
   private final Logger logger;
+  private final int windowSize;
 
   public LogReplicator(
       LogReplicationAppender appender, LogReplicationClient client, Executor executor) {
@@ -38,71 +53,145 @@ public class LogReplicator {
       LogReplicationClient client,
       Executor executor,
       Logger logger) {
+    this(appender, client, executor, logger, DEFAULT_WINDOW_SIZE);
+  }
+
+  public LogReplicator(
+      LogReplicationAppender appender,
+      LogReplicationClient client,
+      Executor executor,
+      Logger logger,
+      int windowSize) {
     this.appender = appender;
     this.client = client;
     this.executor = executor;
     this.logger = logger;
+    this.windowSize = Math.max(windowSize, 1);
   }
 
   public CompletableFuture<Long> replicate(MemberId server, long from, long to) {
-    final CompletableFuture<Long> result = new CompletableFuture<>();
-    replicateInternal(server, from, to, result);
-    return result;
+    return replicate(Collections.singletonList(server), from, to);
   }
 
-  private void replicateInternal(
-      MemberId server, long from, long to, CompletableFuture<Long> result) {
-    final LogReplicationRequest request = new DefaultLogReplicationRequest(from, to);
-    client
-        .replicate(server, request)
-        .whenCompleteAsync(
-            (r, e) -> {
-              if (e != null) {
-                logger.trace("Error replicating {} from {}", request, server, e);
-                result.completeExceptionally(e);
-              } else {
-                if (!r.isValid()) {
-                  logger.trace(
-                      "Received invalid response {} when requesting {} from {}",
-                      r,
-                      request,
-                      server);
-                  result.completeExceptionally(
-                      new InvalidLogReplicationResponse(server, request, r));
-                  return;
-                }
-
-                if (appendEvents(server, from, to, result, r)) {
-                  if (r.getToPosition() < to && r.hasMoreAvailable()) {
-                    replicateInternal(server, r.getToPosition(), to, result);
-                  } else {
-                    result.complete(r.getToPosition());
-                  }
-                }
-              }
-            },
-            executor);
+  public CompletableFuture<Long> replicate(List<MemberId> servers, long from, long to) {
+    if (servers.isEmpty()) {
+      final CompletableFuture<Long> result = new CompletableFuture<>();
+      result.completeExceptionally(
+          new IllegalArgumentException(
+              String.format(
+                  "Expected to replicate events '%d' to '%d' from at least one server, but none was given",
+                  from, to)));
+      return result;
+    }
+
+    final Replication replication = new Replication(servers, from, to);
+    replication.requestNext();
+    return replication.result;
   }
 
-  private boolean appendEvents(
-      MemberId server,
-      long from,
-      long to,
-      CompletableFuture<Long> result,
-      LogReplicationResponse response) {
-    try {
-      final long appendResult =
-          appender.append(response.getToPosition(), response.getSerializedEvents());
-      if (appendResult <= 0) {
-        logger.trace("Failed to append events from {} - {} with result {}", from, to, appendResult);
-        result.completeExceptionally(new FailedAppendException(server, from, to, appendResult));
+  private final class Replication {
+    private final CompletableFuture<Long> result = new CompletableFuture<>();
+    private final List<MemberId> servers;
+    private final long to;
+
+    private CompletableFuture<Void> appends = CompletableFuture.completedFuture(null);
+    private int pendingAppends;
+    private long nextFrom;
+    private int nextServer;
+    private int failedRequests;
+    private boolean isRequesting;
+    private boolean isFetched;
+
+    Replication(List<MemberId> servers, long from, long to) {
+      this.servers = servers;
+      this.nextFrom = from;
+      this.to = to;
+    }
+
+    private synchronized void requestNext() {
+      if (result.isDone() || isRequesting || isFetched || pendingAppends >= windowSize) {
+        return;
       }
-    } catch (RuntimeException error) {
-      logger.trace("Error when appending events from {} - {}", from, to, error);
-      result.completeExceptionally(error);
-      return false;
+
+      final MemberId server = servers.get(nextServer);
+      nextServer = (nextServer + 1) % servers.size();
+
+      final LogReplicationRequest request = new DefaultLogReplicationRequest(nextFrom, to);
+      isRequesting = true;
+      client
+          .replicate(server, request)
+          .whenCompleteAsync((r, e) -> onResponse(server, request, r, e), executor);
     }
 
-    return true;
+    private synchronized void onResponse(
+        MemberId server, LogReplicationRequest request, LogReplicationResponse r, Throwable e) {
+      isRequesting = false;
+      if (result.isDone()) {
+        return;
+      }
+
+      if (e != null) {
+        logger.trace("Error replicating {} from {}", request, server, e);
+        onRequestFailed(e);
+      } else if (!r.isValid()) {
+        logger.trace("Received invalid response {} when requesting {} from {}", r, request, server);
+        onRequestFailed(new InvalidLogReplicationResponse(server, request, r));
+      } else {
+        failedRequests = 0;
+        nextFrom = r.getToPosition();
+        isFetched = r.getToPosition() >= to || !r.hasMoreAvailable();
+
+        pendingAppends += 1;
+        appends = appends.thenRunAsync(() -> appendEvents(server, request, r), executor);
+
+        requestNext();
+      }
+    }
+
+    private void onRequestFailed(Throwable error) {
+      failedRequests += 1;
+
+      if (failedRequests < servers.size()) {
+        // try the same range on the next replica
+        requestNext();
+      } else {
+        result.completeExceptionally(error);
+      }
+    }
+
+    private void appendEvents(
+        MemberId server, LogReplicationRequest request, LogReplicationResponse response) {
+      if (result.isDone()) {
+        return;
+      }
+
+      final long from = request.getFromPosition();
+      try {
+        final long appendResult =
+            appender.append(response.getToPosition(), response.getSerializedEvents());
+        if (appendResult <= 0) {
+          logger.trace(
+              "Failed to append events from {} - {} with result {}", from, to, appendResult);
+          result.completeExceptionally(new FailedAppendException(server, from, to, appendResult));
+          return;
+        }
+      } catch (RuntimeException error) {
+        logger.trace("Error when appending events from {} - {}", from, to, error);
+        result.completeExceptionally(error);
+        return;
+      }
+
+      onAppended(response.getToPosition());
+    }
+
+    private synchronized void onAppended(long position) {
+      pendingAppends -= 1;
+
+      if (isFetched && pendingAppends == 0) {
+        result.complete(position);
+      } else {
+        requestNext();
+      }
+    }
   }
 }
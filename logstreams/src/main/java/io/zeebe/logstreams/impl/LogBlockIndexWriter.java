@@ -19,6 +19,7 @@ import static io.zeebe.logstreams.impl.LogEntryDescriptor.getPosition;
 import static io.zeebe.logstreams.impl.service.LogStreamService.INVALID_ADDRESS;
 import static io.zeebe.logstreams.spi.LogStorage.OP_RESULT_INSUFFICIENT_BUFFER_CAPACITY;
 import static io.zeebe.logstreams.spi.LogStorage.OP_RESULT_INVALID_ADDR;
+import static io.zeebe.logstreams.spi.LogStorage.OP_RESULT_NO_DATA;
 
 import io.zeebe.logstreams.impl.log.index.LogBlockIndex;
 import io.zeebe.logstreams.impl.log.index.LogBlockIndexContext;
@@ -37,7 +38,11 @@ import org.agrona.concurrent.UnsafeBuffer;
 import org.agrona.concurrent.status.Position;
 import org.slf4j.Logger;
 
-/** Read committed events from the log storage and append them to the block index. */
+/**
+ * Append the blocks of committed events to the block index. On start, the events are read from the
+ * log storage until its end is reached. Afterwards, the blocks are added when they are appended to
+ * the log storage (see {@link #onBlockAppended(long, long, int)}), without reading them again.
+ */
 public class LogBlockIndexWriter extends Actor {
   public static final Logger LOG = Loggers.LOGSTREAMS_LOGGER;
 
@@ -75,6 +80,9 @@ public class LogBlockIndexWriter extends Actor {
 
   private long nextAddress = INVALID_ADDRESS;
 
+  /** true if all events of the log storage are read and the appended blocks can be added */
+  private boolean caughtUp = false;
+
   private int currentBlockSize = 0;
   private long currentBlockAddress = INVALID_ADDRESS;
   private long currentBlockEventPosition = 0;
@@ -163,7 +171,7 @@ public class LogBlockIndexWriter extends Actor {
 
   @Override
   protected void onActorStarted() {
-    this.onCommitCondition = actor.onCondition("log-index-on-commit", runCurrentWork);
+    this.onCommitCondition = actor.onCondition("log-index-on-commit", this::onCommit);
     onCommitPositionUpdatedConditions.registerConsumer(onCommitCondition);
 
     actor.runAtFixedRate(snapshotInterval, createSnapshot);
@@ -172,16 +180,14 @@ public class LogBlockIndexWriter extends Actor {
       currentRunnable = readLogStorage;
       runCurrentWork();
     } else {
-      // the log is empty
-      currentRunnable =
-          () -> {
-            // when the first position is committed
-            // - then start reading on the head of the log
-            nextAddress = logStorage.getFirstBlockAddress();
-
-            currentRunnable = readLogStorage;
-            runCurrentWork();
-          };
+      // the log is empty - all events are added when they are appended
+      caughtUp = true;
+    }
+  }
+
+  private void onCommit() {
+    if (!caughtUp) {
+      runCurrentWork();
     }
   }
 
@@ -208,6 +214,45 @@ public class LogBlockIndexWriter extends Actor {
 
       nextAddress = lastBlockAddress;
       resetCurrentBlock();
+    } else if (result == OP_RESULT_NO_DATA) {
+      LOG.debug("Read all events of the log storage, add appended blocks to the index.");
+      caughtUp = true;
+    }
+  }
+
+  /**
+   * Adds a block which was appended to the log storage, instead of reading it from the log storage.
+   * The block must contain only complete events which are committed. Blocks which are appended
+   * before the end of the log storage is read are ignored, since they are read from the log
+   * storage.
+   *
+   * <p>Can be called from outside of the actor.
+   *
+   * @param address the address of the appended block
+   * @param firstEventPosition the position of the first event in the block
+   * @param length the length of the block in bytes
+   */
+  public void onBlockAppended(long address, long firstEventPosition, int length) {
+    actor.run(() -> addAppendedBlock(address, firstEventPosition, length));
+  }
+
+  private void addAppendedBlock(long address, long firstEventPosition, int length) {
+    if (!caughtUp || address < nextAddress) {
+      // the block is (or will be) read from the log storage
+      return;
+    }
+
+    nextAddress = address + length;
+
+    if (currentBlockAddress == INVALID_ADDRESS) {
+      currentBlockAddress = address;
+      currentBlockEventPosition = firstEventPosition;
+    }
+
+    currentBlockSize += length;
+
+    if (currentBlockSize >= indexBlockSize) {
+      indexCurrentBlock();
     }
   }
 
@@ -230,19 +275,7 @@ public class LogBlockIndexWriter extends Actor {
 
   private void addCurrentBlockToIndex() {
     if (isCurrentBlockCommitted()) {
-      if (currentBlockAddress > lastBlockAddress) {
-        LOG.trace(
-            "Add block to index with position {} and address {}.",
-            currentBlockEventPosition,
-            currentBlockAddress);
-
-        blockIndex.addBlock(indexContext, currentBlockEventPosition, currentBlockAddress);
-
-        lastBlockAddress = currentBlockAddress;
-        lastBlockEventPosition = currentBlockEventPosition;
-      }
-
-      resetCurrentBlock();
+      indexCurrentBlock();
 
       currentRunnable = readLogStorage;
     } else {
@@ -253,6 +286,22 @@ public class LogBlockIndexWriter extends Actor {
     runCurrentWork();
   }
 
+  private void indexCurrentBlock() {
+    if (currentBlockAddress > lastBlockAddress) {
+      LOG.trace(
+          "Add block to index with position {} and address {}.",
+          currentBlockEventPosition,
+          currentBlockAddress);
+
+      blockIndex.addBlock(indexContext, currentBlockEventPosition, currentBlockAddress);
+
+      lastBlockAddress = currentBlockAddress;
+      lastBlockEventPosition = currentBlockEventPosition;
+    }
+
+    resetCurrentBlock();
+  }
+
   private boolean isCurrentBlockCommitted() {
     return commitPosition.getVolatile() >= completeEventsProcessor.getLastReadEventPosition();
   }
@@ -18,6 +18,7 @@ package io.zeebe.logstreams.impl;
 import io.zeebe.dispatcher.BlockPeek;
 import io.zeebe.dispatcher.Subscription;
 import io.zeebe.distributedlog.impl.DistributedLogstreamPartition;
+import io.zeebe.logstreams.log.UncommittedBlockListener;
 import io.zeebe.util.sched.Actor;
 import io.zeebe.util.sched.future.ActorFuture;
 import java.nio.ByteBuffer;
@@ -35,6 +36,7 @@ public class LogStorageAppender extends Actor {
   private final BlockPeek blockPeek = new BlockPeek();
   private byte[] bytesToAppend;
   private long commitPosition;
+  private long previousCommitPosition = UncommittedBlockListener.UNKNOWN_POSITION;
 
   private final String name;
   private final Subscription writeBufferSubscription;
@@ -43,16 +45,27 @@ public class LogStorageAppender extends Actor {
   private final int maxAppendBlockSize;
 
   private final DistributedLogstreamPartition distributedLog;
+  private final UncommittedBlockListener uncommittedBlockListener;
 
   public LogStorageAppender(
       String name,
       DistributedLogstreamPartition distributedLog,
       Subscription writeBufferSubscription,
       int maxBlockSize) {
+    this(name, distributedLog, writeBufferSubscription, maxBlockSize, (p, l, b) -> {});
+  }
+
+  public LogStorageAppender(
+      String name,
+      DistributedLogstreamPartition distributedLog,
+      Subscription writeBufferSubscription,
+      int maxBlockSize,
+      UncommittedBlockListener uncommittedBlockListener) {
     this.name = name;
     this.distributedLog = distributedLog;
     this.writeBufferSubscription = writeBufferSubscription;
     this.maxAppendBlockSize = maxBlockSize;
+    this.uncommittedBlockListener = uncommittedBlockListener;
   }
 
   @Override
@@ -89,6 +102,11 @@ public class LogStorageAppender extends Actor {
   private void tryWrite() {
     distributedLog.asyncAppend(bytesToAppend, commitPosition);
     blockPeek.markCompleted();
+
+    // the block is not modified anymore and can be shared
+    uncommittedBlockListener.onUncommittedBlock(
+        previousCommitPosition, commitPosition, bytesToAppend);
+    previousCommitPosition = commitPosition;
     actor.done();
     /*// TODO: Handle error codes
     if (res >= 0) {
@@ -28,6 +28,7 @@ import java.nio.ByteBuffer;
 import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileChannel.MapMode;
+import org.agrona.DirectBuffer;
 import org.agrona.IoUtil;
 import org.agrona.LangUtil;
 import org.agrona.concurrent.UnsafeBuffer;
@@ -58,6 +59,15 @@ public class FsLogSegment {
 
   private MappedByteBuffer mappedBuffer;
 
+  /**
+   * Read-only mapping of a filled segment which is shared by the readers. It is unmapped when the
+   * segment is closed and no reader wraps it anymore.
+   */
+  private MappedByteBuffer readOnlyMapping;
+
+  // the number of readers which wrap the read-only mapping
+  private int mappingReferences;
+
   private final Rater rater =
       new Rater(
           1024 * 1024 * 4,
@@ -90,10 +100,13 @@ public class FsLogSegment {
     return fileChannel != null;
   }
 
-  public void closeSegment() {
+  public synchronized void closeSegment() {
     if (fileChannel.isOpen()) {
       try {
         this.metadataSection = null;
+        if (mappingReferences == 0) {
+          unmapReadOnlyMapping();
+        }
         IoUtil.unmap(mappedBuffer);
         fileChannel.close();
       } catch (IOException e) {
@@ -256,6 +269,86 @@ public class FsLogSegment {
     return opResult;
   }
 
+  /**
+   * Wraps the given buffer around the bytes from the given offset until the end of the segment,
+   * without copying them. Only a filled segment can be wrapped since its content doesn't change
+   * anymore. A successful wrap must be released by {@link #releaseReadOnlyMapping()} when the
+   * buffer is not used anymore. Returns the result of the operation which is either
+   *
+   * <ul>
+   *   <li>Number of bytes wrapped in case of a successful operation
+   *   <li>{@link #NO_DATA} in case the segment is not filled yet
+   *   <li>{@link #END_OF_SEGMENT} in case the end of the segment is reached
+   * </ul>
+   *
+   * @param buffer the buffer to wrap
+   * @param fileOffset the offset in the file to wrap from
+   * @return operation result
+   */
+  public int wrapBytes(DirectBuffer buffer, int fileOffset) {
+    if (!isFilled()) {
+      return NO_DATA;
+    }
+
+    final int size = getSize();
+
+    int opResult = INVALID_ADDR;
+
+    if (fileOffset >= METADATA_LENGTH && fileOffset < size) {
+      final int length = size - fileOffset;
+      buffer.wrap(acquireReadOnlyMapping(size), fileOffset, length);
+      opResult = length;
+    } else if (fileOffset == size) {
+      opResult = END_OF_SEGMENT;
+    }
+
+    return opResult;
+  }
+
+  private synchronized MappedByteBuffer acquireReadOnlyMapping(int size) {
+    if (readOnlyMapping == null) {
+      try {
+        readOnlyMapping = fileChannel.map(MapMode.READ_ONLY, 0, size);
+      } catch (IOException e) {
+        throw new RuntimeException("Failed to map file " + fileName, e);
+      }
+    }
+
+    mappingReferences += 1;
+    return readOnlyMapping;
+  }
+
+  /**
+   * Releases the read-only mapping of a reader. The mapping is unmapped if the segment is closed
+   * and no other reader wraps it.
+   *
+   * @return true if the mapping was unmapped
+   */
+  public synchronized boolean releaseReadOnlyMapping() {
+    if (mappingReferences > 0) {
+      mappingReferences -= 1;
+
+      if (mappingReferences == 0 && !fileChannel.isOpen()) {
+        unmapReadOnlyMapping();
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  /** @return true if a reader still wraps the read-only mapping */
+  public synchronized boolean isReadOnlyMappingWrapped() {
+    return mappingReferences > 0;
+  }
+
+  private void unmapReadOnlyMapping() {
+    if (readOnlyMapping != null) {
+      IoUtil.unmap(readOnlyMapping);
+      readOnlyMapping = null;
+    }
+  }
+
   public void setFilled() {
     // invoked by appender when segment is filled
     state = STATE_FILLED;
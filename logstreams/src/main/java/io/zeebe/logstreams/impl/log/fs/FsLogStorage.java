@@ -36,6 +36,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
+import org.agrona.DirectBuffer;
+import org.agrona.collections.Int2ObjectHashMap;
 import org.slf4j.Logger;
 
 public class FsLogStorage implements LogStorage {
@@ -54,6 +56,9 @@ public class FsLogStorage implements LogStorage {
 
   private FsLogSegment currentSegment;
 
+  /** Closed log segments which are still wrapped by readers, by their segment id */
+  private final Int2ObjectHashMap<FsLogSegment> wrappedClosedSegments = new Int2ObjectHashMap<>();
+
   private int dirtySegmentId = -1;
 
   protected volatile int state = STATE_CREATED;
@@ -142,7 +147,7 @@ public class FsLogStorage implements LogStorage {
       for (int i = logSegments.initialSegmentId; i < segmentId; i++) {
         final FsLogSegment segmentToDelete = logSegments.getSegment(i);
         if (segmentToDelete != null) {
-          segmentToDelete.closeSegment();
+          closeSegment(segmentToDelete);
           segmentToDelete.delete();
         }
       }
@@ -195,6 +200,69 @@ public class FsLogStorage implements LogStorage {
     return opStatus;
   }
 
+  @Override
+  public long wrap(final DirectBuffer buffer, final long addr) {
+    ensureOpenedStorage();
+
+    final int segmentId = partitionId(addr);
+    final int segmentOffset = partitionOffset(addr);
+
+    final FsLogSegment segment = logSegments.getSegment(segmentId);
+
+    long opStatus = OP_RESULT_INVALID_ADDR;
+
+    if (segment != null) {
+      final int wrapResult = segment.wrapBytes(buffer, segmentOffset);
+
+      if (wrapResult > 0) {
+        opStatus = position(segmentId, segmentOffset + wrapResult);
+      } else if (wrapResult == END_OF_SEGMENT) {
+        final long nextAddr = position(segmentId + 1, METADATA_LENGTH);
+        // move to next segment
+        return wrap(buffer, nextAddr);
+      } else if (wrapResult == NO_DATA) {
+        opStatus = OP_RESULT_NO_DATA;
+      }
+    }
+
+    return opStatus;
+  }
+
+  @Override
+  public void release(final long addr) {
+    final int segmentId = partitionId(addr);
+
+    FsLogSegment segment = logSegments.getSegment(segmentId);
+    if (segment == null) {
+      synchronized (wrappedClosedSegments) {
+        segment = wrappedClosedSegments.get(segmentId);
+      }
+    }
+
+    if (segment != null && segment.releaseReadOnlyMapping()) {
+      synchronized (wrappedClosedSegments) {
+        wrappedClosedSegments.remove(segmentId);
+      }
+    }
+  }
+
+  private void closeSegment(final FsLogSegment segment) {
+    retainIfWrapped(segment);
+    segment.closeSegment();
+  }
+
+  /**
+   * Keeps the segment until the readers released it, so that its mapping can be unmapped after the
+   * segment is closed and not part of the log anymore.
+   */
+  private void retainIfWrapped(final FsLogSegment segment) {
+    if (segment != null && segment.isReadOnlyMappingWrapped()) {
+      synchronized (wrappedClosedSegments) {
+        wrappedClosedSegments.put(segment.getSegmentId(), segment);
+      }
+    }
+  }
+
   @Override
   public void open() {
     ensureNotOpenedStorage();
@@ -301,6 +369,9 @@ public class FsLogStorage implements LogStorage {
 
     ensureOpenedStorage();
 
+    for (int i = logSegments.initialSegmentId; i <= logSegments.getLastSegmentId(); i++) {
+      retainIfWrapped(logSegments.getSegment(i));
+    }
     logSegments.closeAll();
 
     if (config.isDeleteOnClose()) {
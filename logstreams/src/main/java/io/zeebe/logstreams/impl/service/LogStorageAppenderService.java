@@ -18,6 +18,7 @@ package io.zeebe.logstreams.impl.service;
 import io.zeebe.dispatcher.Subscription;
 import io.zeebe.distributedlog.impl.DistributedLogstreamPartition;
 import io.zeebe.logstreams.impl.LogStorageAppender;
+import io.zeebe.logstreams.log.UncommittedBlockListener;
 import io.zeebe.servicecontainer.Injector;
 import io.zeebe.servicecontainer.Service;
 import io.zeebe.servicecontainer.ServiceStartContext;
@@ -30,11 +31,18 @@ public class LogStorageAppenderService implements Service<LogStorageAppender> {
       new Injector<>();
 
   private final int maxAppendBlockSize;
+  private final UncommittedBlockListener uncommittedBlockListener;
 
   private LogStorageAppender service;
 
   public LogStorageAppenderService(int maxAppendBlockSize) {
+    this(maxAppendBlockSize, (p, l, b) -> {});
+  }
+
+  public LogStorageAppenderService(
+      int maxAppendBlockSize, UncommittedBlockListener uncommittedBlockListener) {
     this.maxAppendBlockSize = maxAppendBlockSize;
+    this.uncommittedBlockListener = uncommittedBlockListener;
   }
 
   @Override
@@ -46,7 +54,8 @@ public class LogStorageAppenderService implements Service<LogStorageAppender> {
             startContext.getName(),
             distributedLogstreamInjector.getValue(),
             subscription,
-            maxAppendBlockSize);
+            maxAppendBlockSize,
+            uncommittedBlockListener);
 
     startContext.async(
         startContext.getScheduler().submitActor(service, true, SchedulingHints.ioBound()));
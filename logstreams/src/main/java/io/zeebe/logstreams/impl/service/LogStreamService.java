@@ -33,6 +33,7 @@ import io.zeebe.logstreams.impl.Loggers;
 import io.zeebe.logstreams.impl.log.index.LogBlockIndex;
 import io.zeebe.logstreams.impl.log.index.LogBlockIndexContext;
 import io.zeebe.logstreams.log.LogStream;
+import io.zeebe.logstreams.log.UncommittedBlockListener;
 import io.zeebe.logstreams.spi.LogStorage;
 import io.zeebe.servicecontainer.CompositeServiceBuilder;
 import io.zeebe.servicecontainer.Injector;
@@ -45,6 +46,8 @@ import io.zeebe.util.ByteValue;
 import io.zeebe.util.sched.ActorCondition;
 import io.zeebe.util.sched.channel.ActorConditions;
 import io.zeebe.util.sched.future.ActorFuture;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Supplier;
 import org.agrona.concurrent.status.Position;
 import org.slf4j.Logger;
@@ -62,6 +65,8 @@ public class LogStreamService implements LogStream, Service<LogStream> {
   private final ServiceContainer serviceContainer;
 
   private final ActorConditions onCommitPositionUpdatedConditions;
+  private final List<UncommittedBlockListener> uncommittedBlockListeners =
+      new CopyOnWriteArrayList<>();
 
   private final String logName;
   private final int partitionId;
@@ -141,7 +146,7 @@ public class LogStreamService implements LogStream, Service<LogStream> {
         .install();
 
     final LogStorageAppenderService appenderService =
-        new LogStorageAppenderService(maxAppendBlockSize);
+        new LogStorageAppenderService(maxAppendBlockSize, this::onUncommittedBlock);
     appenderFuture =
         installOperation
             .createService(logStorageAppenderServiceName, appenderService)
@@ -275,6 +280,23 @@ public class LogStreamService implements LogStream, Service<LogStream> {
     onCommitPositionUpdatedConditions.removeConsumer(condition);
   }
 
+  @Override
+  public void registerUncommittedBlockListener(final UncommittedBlockListener listener) {
+    uncommittedBlockListeners.add(listener);
+  }
+
+  @Override
+  public void removeUncommittedBlockListener(final UncommittedBlockListener listener) {
+    uncommittedBlockListeners.remove(listener);
+  }
+
+  private void onUncommittedBlock(
+      final long previousPosition, final long lastPosition, final byte[] block) {
+    for (final UncommittedBlockListener listener : uncommittedBlockListeners) {
+      listener.onUncommittedBlock(previousPosition, lastPosition, block);
+    }
+  }
+
   @Override
   public void setExporterPositionSupplier(final Supplier<Long> supplier) {
     exporterPositionSupplier = supplier;
@@ -28,6 +28,7 @@ import io.zeebe.util.allocation.DirectBufferAllocator;
 import java.nio.ByteBuffer;
 import java.util.NoSuchElementException;
 import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
 
 public class BufferedLogStreamReader implements LogStreamReader {
@@ -59,7 +60,15 @@ public class BufferedLogStreamReader implements LogStreamReader {
   private AllocatedBuffer allocatedBuffer;
   private ByteBuffer byteBuffer;
   private int bufferOffset;
-  private final DirectBuffer directBuffer = new UnsafeBuffer(0, 0);
+  private final MutableDirectBuffer directBuffer = new UnsafeBuffer(0, 0);
+
+  // blocks of filled segments are wrapped instead of copied into the buffer
+  private final DirectBuffer mappedBlock = new UnsafeBuffer(0, 0);
+  private final DirectBuffer mappedBuffer = new UnsafeBuffer(0, 0);
+  // the address returned by the log storage for the mapped buffer, to release it again
+  private long mappedBufferAddress = UNINITIALIZED;
+  // the buffer which contains the next event, either the direct or the mapped buffer
+  private DirectBuffer currentBuffer = directBuffer;
 
   public BufferedLogStreamReader(final LogStream logStream) {
     this();
@@ -86,6 +95,8 @@ public class BufferedLogStreamReader implements LogStreamReader {
 
   public void wrap(
       final LogStorage logStorage, final LogBlockIndex logBlockIndex, final long position) {
+    releaseMappedBuffer();
+
     this.logStorage = logStorage;
     this.logBlockIndex = logBlockIndex;
     this.indexContext = logBlockIndex.createLogBlockIndexContext();
@@ -174,10 +185,13 @@ public class BufferedLogStreamReader implements LogStreamReader {
   @Override
   public void close() {
     if (allocatedBuffer != null) {
+      releaseMappedBuffer();
+
       allocatedBuffer.close();
       allocatedBuffer = null;
       byteBuffer = null;
       directBuffer.wrap(0, 0);
+      currentBuffer = directBuffer;
       bufferOffset = 0;
 
       logStorage = null;
@@ -295,6 +309,24 @@ public class BufferedLogStreamReader implements LogStreamReader {
   }
 
   private boolean readBlockIntoBuffer(final long blockAddress) {
+    final long wrapResult = logStorage.wrap(mappedBlock, blockAddress);
+    if (wrapResult > 0) {
+      // the block doesn't change anymore => read the events without copying them
+      preserveWrappedEvents();
+      releaseMappedBuffer();
+
+      mappedBuffer.wrap(mappedBlock);
+      mappedBufferAddress = wrapResult;
+      currentBuffer = mappedBuffer;
+      bufferOffset = 0;
+
+      this.nextLogStorageReadAddress = wrapResult;
+      return true;
+    } else if (isMappedBlock()) {
+      preserveWrappedEvents();
+      releaseMappedBuffer();
+    }
+
     if (byteBuffer.remaining() < LogEntryDescriptor.HEADER_BLOCK_LENGTH) {
       compactBuffer();
     }
@@ -320,6 +352,67 @@ public class BufferedLogStreamReader implements LogStreamReader {
     }
   }
 
+  private boolean isMappedBlock() {
+    return currentBuffer == mappedBuffer;
+  }
+
+  /**
+   * Moves the wrapped events to the start of the buffer and discards the other data, since the data
+   * of the mapped buffer is replaced. The returned event must stay valid.
+   */
+  private void preserveWrappedEvents() {
+    final int offset = minimalOffsetToPreserve();
+    final int length = bufferOffset - offset;
+
+    if (isMappedBlock()) {
+      if (byteBuffer.capacity() < length) {
+        replaceBuffer(length);
+      }
+      directBuffer.putBytes(0, mappedBuffer, offset, length);
+    } else {
+      byteBuffer.limit(bufferOffset);
+      byteBuffer.position(offset);
+      byteBuffer.compact();
+    }
+
+    final int returnedEventOffset = returnedEvent.getFragmentOffset();
+    final int nextEventOffset = nextEvent.getFragmentOffset();
+
+    currentBuffer = directBuffer;
+    byteBuffer.clear();
+    byteBuffer.position(length);
+    bufferOffset = length;
+
+    wrapReturnedEvent(returnedEventOffset >= 0 ? returnedEventOffset - offset : UNINITIALIZED);
+    wrapNextEvent(nextEventOffset >= 0 ? nextEventOffset - offset : UNINITIALIZED);
+  }
+
+  private void releaseMappedBuffer() {
+    if (mappedBufferAddress != UNINITIALIZED) {
+      logStorage.release(mappedBufferAddress);
+      mappedBufferAddress = UNINITIALIZED;
+      mappedBuffer.wrap(0, 0);
+    }
+  }
+
+  private void replaceBuffer(final int minCapacity) {
+    if (minCapacity > MAX_BUFFER_CAPACITY) {
+      throw new RuntimeException(
+          "Next fragment requires more space then the maximal buffer capacity of "
+              + BufferedLogStreamReader.MAX_BUFFER_CAPACITY);
+    }
+
+    long capacity = byteBuffer.capacity();
+    while (capacity < minCapacity) {
+      capacity *= 2;
+    }
+
+    allocatedBuffer.close();
+    allocatedBuffer = bufferAllocator.allocate((int) Math.min(capacity, MAX_BUFFER_CAPACITY));
+    byteBuffer = allocatedBuffer.getRawBuffer();
+    directBuffer.wrap(byteBuffer);
+  }
+
   private boolean searchPositionInBuffer(final long position) {
     while (isNextUncommittedEventAvailable() && nextEvent.getPosition() < position) {
       readNextEvent();
@@ -361,7 +454,8 @@ public class BufferedLogStreamReader implements LogStreamReader {
     // initially we assume there is not enough data
     state = IteratorState.NOT_ENOUGH_DATA;
 
-    final int remaining = byteBuffer.position() - bufferOffset;
+    final int limit = isMappedBlock() ? mappedBuffer.capacity() : byteBuffer.position();
+    final int remaining = limit - bufferOffset;
     if (remaining > 0) {
       wrapNextEvent(bufferOffset);
       bufferOffset += nextEvent.getFragmentLength();
@@ -391,6 +485,8 @@ public class BufferedLogStreamReader implements LogStreamReader {
 
   private void invalidateBufferAndOffsets() {
     state = IteratorState.NOT_ENOUGH_DATA;
+    currentBuffer = directBuffer;
+    releaseMappedBuffer();
 
     wrapNextEvent(UNINITIALIZED);
     wrapReturnedEvent(UNINITIALIZED);
@@ -402,11 +498,11 @@ public class BufferedLogStreamReader implements LogStreamReader {
   }
 
   private void wrapNextEvent(final int offset) {
-    nextEvent.wrap(directBuffer, offset);
+    nextEvent.wrap(currentBuffer, offset);
   }
 
   private void wrapReturnedEvent(final int offset) {
-    returnedEvent.wrap(directBuffer, offset);
+    returnedEvent.wrap(currentBuffer, offset);
   }
 
   private void checkIfNextEventIsCommitted() {
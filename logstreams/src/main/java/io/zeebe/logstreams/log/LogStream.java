@@ -123,5 +123,13 @@ public interface LogStream extends AutoCloseable {
 
   void removeOnCommitPositionUpdatedCondition(ActorCondition condition);
 
+  /**
+   * Registers a listener which is notified about the blocks which are appended by the leader,
+   * before they are committed.
+   */
+  void registerUncommittedBlockListener(UncommittedBlockListener listener);
+
+  void removeUncommittedBlockListener(UncommittedBlockListener listener);
+
   void setExporterPositionSupplier(Supplier<Long> supplier);
 }
@@ -71,6 +71,10 @@ public class LogStreamBatchWriterImpl implements LogStreamBatchWriter, LogEntryB
   private BufferWriter metadataWriter;
   private BufferWriter valueWriter;
 
+  public LogStreamBatchWriterImpl() {
+    reset();
+  }
+
   public LogStreamBatchWriterImpl(final LogStream logStream) {
     wrap(logStream);
   }
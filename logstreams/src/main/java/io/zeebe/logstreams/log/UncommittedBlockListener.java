@@ -0,0 +1,34 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.log;
+
+/**
+ * Is notified about the blocks which the leader appends to the distributed log, before they are
+ * committed. The listener is called on the thread of the log storage appender and must not block.
+ */
+@FunctionalInterface
+public interface UncommittedBlockListener {
+  /** The previous position of the first block which is appended after the appender is opened. */
+  long UNKNOWN_POSITION = Long.MAX_VALUE;
+
+  /**
+   * @param previousPosition the position of the last event of the previous block, or {@link
+   *     #UNKNOWN_POSITION} if it is not known
+   * @param lastPosition the position of the last event of the block
+   * @param block the events of the block; must not be modified
+   */
+  void onUncommittedBlock(long previousPosition, long lastPosition, byte[] block);
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.log;
+
+import io.zeebe.logstreams.impl.LoggedEventImpl;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.agrona.concurrent.ManyToOneConcurrentLinkedQueue;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Reads the events which are appended by the leader but not committed yet. The reader only returns
+ * an event if all events before it were already read, either from this reader or from the committed
+ * log. Blocks which can not be used anymore are dropped.
+ *
+ * <p>The blocks are added by the log storage appender and read by one consumer.
+ */
+public class UncommittedEventReader implements UncommittedBlockListener {
+  public static final int DEFAULT_MAX_PENDING_BLOCKS = 256;
+
+  private final ManyToOneConcurrentLinkedQueue<UncommittedBlock> pendingBlocks =
+      new ManyToOneConcurrentLinkedQueue<>();
+  private final AtomicInteger pendingBlockCount = new AtomicInteger();
+  private final int maxPendingBlocks;
+  private final Runnable onBlockAvailable;
+
+  private final UnsafeBuffer blockBuffer = new UnsafeBuffer(0, 0);
+  private final LoggedEventImpl event = new LoggedEventImpl();
+  private UncommittedBlock currentBlock;
+  private int offset;
+
+  public UncommittedEventReader(final Runnable onBlockAvailable) {
+    this(DEFAULT_MAX_PENDING_BLOCKS, onBlockAvailable);
+  }
+
+  public UncommittedEventReader(final int maxPendingBlocks, final Runnable onBlockAvailable) {
+    this.maxPendingBlocks = maxPendingBlocks;
+    this.onBlockAvailable = onBlockAvailable;
+  }
+
+  @Override
+  public void onUncommittedBlock(
+      final long previousPosition, final long lastPosition, final byte[] block) {
+    if (pendingBlockCount.incrementAndGet() > maxPendingBlocks) {
+      // the consumer is behind - it reads the events of the block from the committed log
+      pendingBlockCount.decrementAndGet();
+      return;
+    }
+
+    pendingBlocks.offer(new UncommittedBlock(previousPosition, lastPosition, block));
+    onBlockAvailable.run();
+  }
+
+  /**
+   * Returns the event which directly follows the given position.
+   *
+   * @param position the position of the last event which was read
+   * @return the next event, or null if it is not available
+   */
+  public LoggedEvent next(final long position) {
+    while (true) {
+      if (currentBlock == null) {
+        currentBlock = pendingBlocks.peek();
+        if (currentBlock == null) {
+          return null;
+        }
+
+        blockBuffer.wrap(currentBlock.events);
+        offset = 0;
+      }
+
+      if (currentBlock.lastPosition <= position) {
+        // already read
+        dropCurrentBlock();
+      } else if (currentBlock.previousPosition > position) {
+        // the events before the block are not available yet, wait for the committed log
+        return null;
+      } else {
+        while (offset < blockBuffer.capacity()) {
+          event.wrap(blockBuffer, offset);
+          offset += event.getFragmentLength();
+
+          if (event.getPosition() > position) {
+            return event;
+          }
+        }
+
+        dropCurrentBlock();
+      }
+    }
+  }
+
+  private void dropCurrentBlock() {
+    pendingBlocks.poll();
+    pendingBlockCount.decrementAndGet();
+    currentBlock = null;
+  }
+
+  private static final class UncommittedBlock {
+    private final long previousPosition;
+    private final long lastPosition;
+    private final byte[] events;
+
+    UncommittedBlock(final long previousPosition, final long lastPosition, final byte[] events) {
+      this.previousPosition = previousPosition;
+      this.lastPosition = lastPosition;
+      this.events = events;
+    }
+  }
+}
@@ -16,6 +16,7 @@
 package io.zeebe.logstreams.spi;
 
 import java.nio.ByteBuffer;
+import org.agrona.DirectBuffer;
 
 /** Log structured storage abstraction */
 public interface LogStorage {
@@ -122,6 +123,39 @@ public interface LogStorage {
    */
   long read(ByteBuffer readBuffer, long addr, ReadResultProcessor processor);
 
+  /**
+   * Wraps the given buffer around the complete log entries starting at addr, without copying them.
+   * This is only possible if the entries are not modified anymore, e.g. if the underlying segment
+   * is filled. The wrapped data must be released by {@link #release(long)} when the buffer is not
+   * used anymore.
+   *
+   * <p>Returns an operation result status code which is either
+   *
+   * <ul>
+   *   <li>positive long representing the next address at which the next block of data can be read
+   *   <li>{@link #OP_RESULT_INVALID_ADDR}: in case the provided address does not exist
+   *   <li>{@link #OP_RESULT_NO_DATA}: in case the data at that address can't be wrapped (yet), it
+   *       must be read by {@link #read(ByteBuffer, long, ReadResultProcessor)} instead
+   * </ul>
+   *
+   * <p>This method is invoked concurrently by consumer threads of the log.
+   *
+   * @param buffer the buffer to wrap around the data
+   * @param addr the address in the underlying storage from which the data should be wrapped
+   * @return the next address from which bytes can be read or error status code.
+   */
+  long wrap(DirectBuffer buffer, long addr);
+
+  /**
+   * Releases the data which was wrapped by {@link #wrap(DirectBuffer, long)}. The underlying
+   * resources can be freed when all wrapped data is released.
+   *
+   * <p>This method is invoked concurrently by consumer threads of the log.
+   *
+   * @param addr the address which was returned by the wrap operation
+   */
+  void release(long addr);
+
   /**
    * @return true if the storage is byte addressable (each byte managed in the underlying storage
    *     can be uniquely addressed using a long addr. False in case the storage is block
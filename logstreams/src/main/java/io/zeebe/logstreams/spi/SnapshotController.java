@@ -50,6 +50,14 @@ public interface SnapshotController extends AutoCloseable {
    */
   void replicateLatestSnapshot(Consumer<Runnable> executor);
 
+  /**
+   * Replicates the latest valid snapshot like {@link #replicateLatestSnapshot(Consumer)}, but sends
+   * the content of all files, also of the files which were replicated before.
+   *
+   * @param executor executor which executed the given Runnable
+   */
+  void replicateLatestSnapshotFully(Consumer<Runnable> executor);
+
   /** Registers to consumes replicated snapshots. */
   void consumeReplicatedSnapshots(Consumer<Long> dataDeleteCallback);
 
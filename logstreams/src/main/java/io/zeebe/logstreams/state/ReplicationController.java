@@ -15,22 +15,41 @@
  */
 package io.zeebe.logstreams.state;
 
-import static java.nio.file.StandardOpenOption.CREATE_NEW;
-
 import io.zeebe.logstreams.impl.Loggers;
 import io.zeebe.util.FileUtil;
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.zip.CRC32;
 import org.agrona.collections.Long2LongHashMap;
+import org.agrona.collections.Long2ObjectHashMap;
 import org.slf4j.Logger;
 
+/**
+ * Replicates snapshots incrementally. The files of a snapshot are sent in chunks of at most {@link
+ * #MAX_CHUNK_LENGTH} bytes, which are read from the file one after another.
+ *
+ * <p>RocksDB shares the immutable SST files between consecutive snapshots. An SST file which was
+ * replicated before is not sent again, instead a file reference with its name and checksum is sent.
+ * The receiver links the file with the same name and checksum of one of its snapshots. Since a
+ * receiver may have missed a file, every {@link #FULL_REPLICATION_INTERVAL}th replication sends the
+ * content of all files.
+ */
 final class ReplicationController {
 
   private static final Logger LOG = Loggers.SNAPSHOT_LOGGER;
@@ -39,13 +58,25 @@ final class ReplicationController {
   private static final long INVALID_SNAPSHOT = -1;
   private static final long MISSING_SNAPSHOT = Long.MIN_VALUE;
 
+  private static final int MAX_CHUNK_LENGTH = 512 * 1024;
+  private static final int FULL_REPLICATION_INTERVAL = 10;
+  private static final String SHARED_FILE_SUFFIX = ".sst";
+
   private final SnapshotReplication replication;
   private final Long2LongHashMap receivedSnapshots = new Long2LongHashMap(MISSING_SNAPSHOT);
+  private final Long2ObjectHashMap<Set<String>> receivedChunks = new Long2ObjectHashMap<>();
   private final StateStorage storage;
   private final Runnable ensureMaxSnapshotCount;
   private final Supplier<Long> deletablePositionSupplier;
   private Consumer<Long> deleteDataCallback;
 
+  // the shared files which were replicated already - the replication can run on different threads
+  private final Map<String, ReplicatedFile> replicatedFiles = new ConcurrentHashMap<>();
+  private final AtomicInteger replicationCount = new AtomicInteger();
+
+  // the checksums of the shared files of the valid snapshots, by file
+  private final Map<File, Long> receivedFileChecksums = new HashMap<>();
+
   private final List<SnapshotReplicationListener> replicationListeners =
       new CopyOnWriteArrayList<>();
 
@@ -66,17 +97,127 @@ final class ReplicationController {
     return crc32.getValue();
   }
 
-  public void replicate(long snapshotPosition, int totalCount, File snapshotChunkFile) {
-    try {
-      final byte[] content = Files.readAllBytes(snapshotChunkFile.toPath());
-      final long checksum = createChecksum(content);
+  private static long createChecksum(File file) throws IOException {
+    final CRC32 crc32 = new CRC32();
+    final ByteBuffer buffer = ByteBuffer.allocate(MAX_CHUNK_LENGTH);
+
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      while (channel.read(buffer) > 0) {
+        buffer.flip();
+        crc32.update(buffer);
+        buffer.clear();
+      }
+    }
+
+    return crc32.getValue();
+  }
+
+  private static boolean isSharedFile(String fileName) {
+    return fileName.endsWith(SHARED_FILE_SUFFIX);
+  }
+
+  /**
+   * Replicates the given files of a snapshot. The given executor is called once for each file.
+   *
+   * @param snapshotPosition the position of the snapshot
+   * @param files the files of the snapshot
+   * @param full {@code true} if the content of all files should be sent, also of the shared files
+   *     which were replicated before
+   * @param executor executor which runs the replication of a file
+   */
+  public void replicate(
+      long snapshotPosition, File[] files, boolean full, Consumer<Runnable> executor) {
+    final boolean sendAllFiles =
+        full || replicationCount.getAndIncrement() % FULL_REPLICATION_INTERVAL == 0;
+
+    final List<String> fileNames = new ArrayList<>();
+    final List<File> filesToSend = new ArrayList<>();
+    final List<File> filesToRefer = new ArrayList<>();
+    int totalCount = 0;
+
+    for (File file : files) {
+      final String fileName = file.getName();
+      fileNames.add(fileName);
+
+      final ReplicatedFile replicatedFile = replicatedFiles.get(fileName);
+      if (!sendAllFiles && replicatedFile != null && replicatedFile.length == file.length()) {
+        filesToRefer.add(file);
+        totalCount += 1;
+      } else {
+        filesToSend.add(file);
+        totalCount += getChunkCount(file.length());
+      }
+    }
 
-      replication.replicate(
-          new SnapshotChunkImpl(
-              snapshotPosition, totalCount, snapshotChunkFile.getName(), checksum, content));
+    // the receiver doesn't keep the files which are not part of the snapshot anymore
+    replicatedFiles.keySet().retainAll(fileNames);
+
+    final int chunkCount = totalCount;
+    for (File file : filesToRefer) {
+      final long checksum = replicatedFiles.get(file.getName()).checksum;
+      executor.accept(() -> replicateFileReference(snapshotPosition, chunkCount, file, checksum));
+    }
+
+    for (File file : filesToSend) {
+      executor.accept(() -> replicateFile(snapshotPosition, chunkCount, file));
+    }
+  }
+
+  private static int getChunkCount(long fileLength) {
+    return (int) Math.max(1, (fileLength + MAX_CHUNK_LENGTH - 1) / MAX_CHUNK_LENGTH);
+  }
+
+  private void replicateFileReference(
+      long snapshotPosition, int totalCount, File snapshotFile, long checksum) {
+    LOG.debug("Replicate reference of snapshot file {}", snapshotFile.toPath());
+
+    replication.replicate(
+        new SnapshotChunkImpl(
+            snapshotPosition, totalCount, snapshotFile.getName(), checksum, 0, true, new byte[0]));
+  }
+
+  private void replicateFile(long snapshotPosition, int totalCount, File snapshotFile) {
+    LOG.debug("Replicate snapshot file {}", snapshotFile.toPath());
+    final String fileName = snapshotFile.getName();
+    final CRC32 fileChecksum = new CRC32();
+
+    try (FileChannel channel = FileChannel.open(snapshotFile.toPath(), StandardOpenOption.READ)) {
+      final long fileLength = channel.size();
+      long offset = 0;
+
+      do {
+        final byte[] content = new byte[(int) Math.min(MAX_CHUNK_LENGTH, fileLength - offset)];
+        readFully(channel, content, offset);
+        fileChecksum.update(content);
+
+        replication.replicate(
+            new SnapshotChunkImpl(
+                snapshotPosition,
+                totalCount,
+                fileName,
+                createChecksum(content),
+                offset,
+                false,
+                content));
+
+        offset += content.length;
+      } while (offset < fileLength);
+
+      if (isSharedFile(fileName)) {
+        replicatedFiles.put(fileName, new ReplicatedFile(fileLength, fileChecksum.getValue()));
+      }
     } catch (IOException ioe) {
-      LOG.error(
-          "Unexpected error on reading snapshot chunk from file '{}'.", snapshotChunkFile, ioe);
+      LOG.error("Unexpected error on reading snapshot chunk from file '{}'.", snapshotFile, ioe);
+    }
+  }
+
+  private static void readFully(FileChannel channel, byte[] content, long position)
+      throws IOException {
+    final ByteBuffer buffer = ByteBuffer.wrap(content);
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) < 0) {
+        throw new IOException("Unexpected end of file");
+      }
     }
   }
 
@@ -120,17 +261,19 @@ final class ReplicationController {
     }
 
     final long expectedChecksum = snapshotChunk.getChecksum();
-    final long actualChecksum = createChecksum(snapshotChunk.getContent());
-
-    if (expectedChecksum != actualChecksum) {
-      markSnapshotAsInvalid(snapshotChunk);
-      LOG.warn(
-          "Expected to have checksum {} for snapshot chunk file {} ({}), but calculated {}",
-          expectedChecksum,
-          chunkName,
-          snapshotName,
-          actualChecksum);
-      return;
+    if (!snapshotChunk.isFileReference()) {
+      final long actualChecksum = createChecksum(snapshotChunk.getContent());
+
+      if (expectedChecksum != actualChecksum) {
+        markSnapshotAsInvalid(snapshotChunk);
+        LOG.warn(
+            "Expected to have checksum {} for snapshot chunk file {} ({}), but calculated {}",
+            expectedChecksum,
+            chunkName,
+            snapshotName,
+            actualChecksum);
+        return;
+      }
     }
 
     final File tmpSnapshotDirectory = storage.getTmpSnapshotDirectoryFor(snapshotName);
@@ -139,28 +282,105 @@ final class ReplicationController {
     }
 
     final File snapshotFile = new File(tmpSnapshotDirectory, chunkName);
-    if (snapshotFile.exists()) {
-      LOG.debug("Received a snapshot file which already exist '{}'.", snapshotFile);
+    final Set<String> chunks =
+        receivedChunks.computeIfAbsent(snapshotPosition, k -> new HashSet<>());
+    if (!chunks.add(chunkName + "@" + snapshotChunk.getFileOffset())) {
+      LOG.debug("Received a snapshot chunk which already exist '{}'.", snapshotFile);
       return;
     }
 
     LOG.debug("Consume snapshot chunk {}", chunkName);
-    writeReceivedSnapshotChunk(snapshotChunk, tmpSnapshotDirectory, snapshotFile);
+    if (snapshotChunk.isFileReference()) {
+      linkReferencedFile(snapshotChunk, tmpSnapshotDirectory, snapshotFile);
+    } else {
+      writeReceivedSnapshotChunk(snapshotChunk, tmpSnapshotDirectory, snapshotFile);
+    }
   }
 
   private void writeReceivedSnapshotChunk(
       SnapshotChunk snapshotChunk, File tmpSnapshotDirectory, File snapshotFile) {
-    try {
-      Files.write(
-          snapshotFile.toPath(), snapshotChunk.getContent(), CREATE_NEW, StandardOpenOption.WRITE);
+    // the file is received again, so a cached checksum of it may be outdated
+    receivedFileChecksums.remove(
+        new File(
+            storage.getSnapshotDirectoryFor(snapshotChunk.getSnapshotPosition()),
+            snapshotChunk.getChunkName()));
+
+    try (FileChannel channel =
+        FileChannel.open(
+            snapshotFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+      final ByteBuffer content = ByteBuffer.wrap(snapshotChunk.getContent());
+      final long offset = snapshotChunk.getFileOffset();
+      while (content.hasRemaining()) {
+        channel.write(content, offset + content.position());
+      }
       LOG.debug("Wrote replicated snapshot chunk to file {}", snapshotFile.toPath());
-
-      validateWhenReceivedAllChunks(snapshotChunk, tmpSnapshotDirectory);
     } catch (IOException ioe) {
       markSnapshotAsInvalid(snapshotChunk);
       LOG.error(
           "Unexpected error occurred on writing an snapshot chunk to '{}'.", snapshotFile, ioe);
+      return;
     }
+
+    validateWhenReceivedAllChunks(snapshotChunk, tmpSnapshotDirectory);
+  }
+
+  private void linkReferencedFile(
+      SnapshotChunk snapshotChunk, File tmpSnapshotDirectory, File snapshotFile) {
+    final String fileName = snapshotChunk.getChunkName();
+
+    try {
+      final File referencedFile = findReferencedFile(fileName, snapshotChunk.getChecksum());
+      if (referencedFile == null) {
+        markSnapshotAsInvalid(snapshotChunk);
+        LOG.warn(
+            "Expected to find referenced snapshot file {} with checksum {}, but found none",
+            fileName,
+            snapshotChunk.getChecksum());
+        return;
+      }
+
+      try {
+        // the file is immutable and can be shared by the snapshots
+        Files.createLink(snapshotFile.toPath(), referencedFile.toPath());
+      } catch (UnsupportedOperationException | IOException e) {
+        Files.copy(
+            referencedFile.toPath(), snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+      }
+      LOG.debug("Linked referenced snapshot file {} to {}", referencedFile, snapshotFile.toPath());
+    } catch (IOException ioe) {
+      markSnapshotAsInvalid(snapshotChunk);
+      LOG.error(
+          "Unexpected error occurred on linking a referenced snapshot file to '{}'.",
+          snapshotFile,
+          ioe);
+      return;
+    }
+
+    validateWhenReceivedAllChunks(snapshotChunk, tmpSnapshotDirectory);
+  }
+
+  /**
+   * Returns the file with the given name and checksum of the newest snapshot which contains it. The
+   * snapshots are searched from the newest to the oldest, since a file with the same name may have
+   * a different content in another snapshot.
+   */
+  private File findReferencedFile(String fileName, long checksum) throws IOException {
+    for (File snapshotDirectory : storage.listByPositionDesc()) {
+      final File file = new File(snapshotDirectory, fileName);
+      if (file.exists()) {
+        Long fileChecksum = receivedFileChecksums.get(file);
+        if (fileChecksum == null) {
+          fileChecksum = createChecksum(file);
+          receivedFileChecksums.put(file, fileChecksum);
+        }
+
+        if (fileChecksum == checksum) {
+          return file;
+        }
+      }
+    }
+
+    return null;
   }
 
   private void deleteTmpSnapshotDirectoryIfExists(long snapshotPosition) {
@@ -181,6 +401,7 @@ final class ReplicationController {
   private void markSnapshotAsInvalid(SnapshotChunk chunk) {
     final long snapshotPosition = chunk.getSnapshotPosition();
     receivedSnapshots.put(snapshotPosition, INVALID_SNAPSHOT);
+    receivedChunks.remove(snapshotPosition);
     replicationListeners.forEach(listener -> listener.onFailure(snapshotPosition));
   }
 
@@ -222,8 +443,10 @@ final class ReplicationController {
     try {
       Files.move(tmpSnapshotDirectory.toPath(), validSnapshotDirectory.toPath());
       receivedSnapshots.remove(snapshotChunk.getSnapshotPosition());
+      receivedChunks.remove(snapshotChunk.getSnapshotPosition());
 
       ensureMaxSnapshotCount.run();
+      receivedFileChecksums.keySet().removeIf(file -> !file.exists());
     } catch (IOException ioe) {
       markSnapshotAsInvalid(snapshotChunk);
       LOG.error(
@@ -244,19 +467,39 @@ final class ReplicationController {
     }
   }
 
+  private static final class ReplicatedFile {
+    private final long length;
+    private final long checksum;
+
+    ReplicatedFile(long length, long checksum) {
+      this.length = length;
+      this.checksum = checksum;
+    }
+  }
+
   private final class SnapshotChunkImpl implements SnapshotChunk {
     private final long snapshotPosition;
     private final int totalCount;
     private final String chunkName;
     private final byte[] content;
     private final long checksum;
+    private final long fileOffset;
+    private final boolean fileReference;
 
     SnapshotChunkImpl(
-        long snapshotPosition, int totalCount, String chunkName, long checksum, byte[] content) {
+        long snapshotPosition,
+        int totalCount,
+        String chunkName,
+        long checksum,
+        long fileOffset,
+        boolean fileReference,
+        byte[] content) {
       this.snapshotPosition = snapshotPosition;
       this.totalCount = totalCount;
       this.chunkName = chunkName;
       this.checksum = checksum;
+      this.fileOffset = fileOffset;
+      this.fileReference = fileReference;
       this.content = content;
     }
 
@@ -278,6 +521,16 @@ final class ReplicationController {
       return checksum;
     }
 
+    @Override
+    public long getFileOffset() {
+      return fileOffset;
+    }
+
+    @Override
+    public boolean isFileReference() {
+      return fileReference;
+    }
+
     public byte[] getContent() {
       return content;
     }
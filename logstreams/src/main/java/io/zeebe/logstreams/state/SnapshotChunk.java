@@ -26,9 +26,21 @@ public interface SnapshotChunk {
   /** @return the name of the current chunk (e.g. file name) */
   String getChunkName();
 
-  /** @return the checksum of the content, can be use to verify the integrity of the content */
+  /**
+   * @return the checksum of the content, can be use to verify the integrity of the content. If the
+   *     chunk is a file reference, it is the checksum of the referred file.
+   */
   long getChecksum();
 
+  /** @return the offset of the content in the file of the chunk (a file can have many chunks) */
+  long getFileOffset();
+
+  /**
+   * @return {@code true} if the chunk has no content but refers to a file with the same name and
+   *     checksum, which was replicated with a previous snapshot already
+   */
+  boolean isFileReference();
+
   /** @return the content of the current chunk */
   byte[] getContent();
 }
@@ -111,6 +111,14 @@ public class StateSnapshotController implements SnapshotController {
   }
 
   public void replicateLatestSnapshot(Consumer<Runnable> executor) {
+    replicateLatestSnapshot(false, executor);
+  }
+
+  public void replicateLatestSnapshotFully(Consumer<Runnable> executor) {
+    replicateLatestSnapshot(true, executor);
+  }
+
+  private void replicateLatestSnapshot(boolean full, Consumer<Runnable> executor) {
     final List<File> snapshots = storage.listByPositionDesc();
 
     if (snapshots != null && !snapshots.isEmpty()) {
@@ -119,13 +127,7 @@ public class StateSnapshotController implements SnapshotController {
       final long snapshotPosition = Long.parseLong(latestSnapshotDirectory.getName());
 
       final File[] files = latestSnapshotDirectory.listFiles();
-      for (File snapshotChunkFile : files) {
-        executor.accept(
-            () -> {
-              LOG.debug("Replicate snapshot chunk {}", snapshotChunkFile.toPath());
-              replicationController.replicate(snapshotPosition, files.length, snapshotChunkFile);
-            });
-      }
+      replicationController.replicate(snapshotPosition, files, full, executor);
     }
   }
 
@@ -0,0 +1,186 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.distributedlog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.zeebe.util.sched.future.ActorFuture;
+import io.zeebe.util.sched.testing.ActorSchedulerRule;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+import org.junit.rules.TemporaryFolder;
+
+public class StorageConfigurationManagerTest {
+
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+  public ActorSchedulerRule actorScheduler = new ActorSchedulerRule();
+
+  @Rule public RuleChain ruleChain = RuleChain.outerRule(temporaryFolder).around(actorScheduler);
+
+  private List<String> logDirectories;
+  private List<String> stateDirectories;
+
+  @Before
+  public void setup() throws IOException {
+    logDirectories =
+        Arrays.asList(
+            temporaryFolder.newFolder("log1").getAbsolutePath(),
+            temporaryFolder.newFolder("log2").getAbsolutePath());
+    stateDirectories =
+        Arrays.asList(
+            temporaryFolder.newFolder("state1").getAbsolutePath(),
+            temporaryFolder.newFolder("state2").getAbsolutePath());
+  }
+
+  @Test
+  public void shouldStripePartitionsOverDirectories() {
+    // given
+    final StorageConfigurationManager manager = startManager();
+
+    // when
+    final StorageConfiguration first = manager.createConfiguration(1).join();
+    final StorageConfiguration second = manager.createConfiguration(2).join();
+
+    // then
+    assertThat(getDataDirectory(first.getLogDirectory()))
+        .isNotEqualTo(getDataDirectory(second.getLogDirectory()));
+    assertThat(getDataDirectory(first.getStatesDirectory()))
+        .isNotEqualTo(getDataDirectory(second.getStatesDirectory()));
+  }
+
+  @Test
+  public void shouldPlaceStateInStateDirectories() {
+    // given
+    final StorageConfigurationManager manager = startManager();
+
+    // when
+    final StorageConfiguration configuration = manager.createConfiguration(1).join();
+
+    // then
+    assertThat(logDirectories).contains(getDataDirectory(configuration.getLogDirectory()));
+    assertThat(stateDirectories)
+        .contains(
+            getDataDirectory(configuration.getStatesDirectory()),
+            getDataDirectory(configuration.getBlockIndexDirectory().getParentFile()));
+  }
+
+  @Test
+  public void shouldPlaceStateWithLogWithoutStateDirectories() {
+    // given
+    final StorageConfigurationManager manager =
+        new StorageConfigurationManager(logDirectories, "512M", "4M");
+    actorScheduler.submitActor(manager).join();
+
+    // when
+    final StorageConfiguration configuration = manager.createConfiguration(1).join();
+
+    // then
+    assertThat(configuration.getStatesDirectory().getParentFile())
+        .isEqualTo(configuration.getLogDirectory().getParentFile());
+  }
+
+  @Test
+  public void shouldKeepPlacementOfExistingPartition() {
+    // given
+    StorageConfigurationManager manager = startManager();
+    manager.createConfiguration(1).join();
+    final StorageConfiguration configuration = manager.createConfiguration(2).join();
+    manager.close().join();
+
+    // when
+    manager = startManager();
+    final StorageConfiguration recreatedConfiguration = manager.createConfiguration(2).join();
+
+    // then
+    assertThat(recreatedConfiguration.getLogDirectory()).isEqualTo(configuration.getLogDirectory());
+    assertThat(recreatedConfiguration.getStatesDirectory())
+        .isEqualTo(configuration.getStatesDirectory());
+  }
+
+  @Test
+  public void shouldKeepStateWithLogOfUpgradedDataDirectory() {
+    // given
+    StorageConfigurationManager manager =
+        new StorageConfigurationManager(logDirectories, "512M", "4M");
+    actorScheduler.submitActor(manager).join();
+    final StorageConfiguration configuration = manager.createConfiguration(1).join();
+    manager.close().join();
+
+    // when
+    manager = startManager();
+    final StorageConfiguration upgradedConfiguration = manager.createConfiguration(1).join();
+
+    // then
+    assertThat(upgradedConfiguration.getLogDirectory()).isEqualTo(configuration.getLogDirectory());
+    assertThat(upgradedConfiguration.getStatesDirectory())
+        .isEqualTo(configuration.getStatesDirectory());
+    assertThat(upgradedConfiguration.getBlockIndexDirectory())
+        .isEqualTo(configuration.getBlockIndexDirectory());
+  }
+
+  @Test
+  public void shouldFailIfStateExistsInLogAndStateDirectory() {
+    // given
+    StorageConfigurationManager manager =
+        new StorageConfigurationManager(logDirectories, "512M", "4M");
+    actorScheduler.submitActor(manager).join();
+    manager.createConfiguration(1).join();
+    manager.close().join();
+
+    final File statePartitionDirectory = new File(stateDirectories.get(0), "partition-1");
+    new File(statePartitionDirectory, "state").mkdirs();
+
+    // when
+    manager = startManager();
+    final ActorFuture<StorageConfiguration> configuration = manager.createConfiguration(1);
+
+    // then
+    assertThatThrownBy(configuration::join)
+        .hasCauseInstanceOf(IllegalStateException.class)
+        .hasMessageContaining(statePartitionDirectory.getPath());
+  }
+
+  @Test
+  public void shouldConfigureLogWriteBufferSize() {
+    // given
+    final StorageConfigurationManager manager = startManager();
+
+    // when
+    final StorageConfiguration configuration = manager.createConfiguration(1).join();
+
+    // then
+    assertThat(configuration.getLogWriteBufferSize()).isEqualTo(16 * 1024 * 1024);
+  }
+
+  private StorageConfigurationManager startManager() {
+    final StorageConfigurationManager manager =
+        new StorageConfigurationManager(logDirectories, stateDirectories, "512M", "4M", "16M");
+    actorScheduler.submitActor(manager).join();
+    return manager;
+  }
+
+  private static String getDataDirectory(File directory) {
+    // <data directory>/partition-<id>/<directory>
+    return directory.getParentFile().getParentFile().getAbsolutePath();
+  }
+}
@@ -21,6 +21,11 @@ import io.atomix.cluster.MemberId;
 import io.zeebe.distributedlog.restore.log.impl.ControllableLogReplicationClient;
 import io.zeebe.distributedlog.restore.log.impl.DefaultLogReplicationResponse;
 import io.zeebe.distributedlog.restore.log.impl.RecordingLogReplicationAppender;
+import io.zeebe.util.ZbLogger;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadLocalRandom;
@@ -163,6 +168,19 @@ public class LogReplicatorTest {
         .isInstanceOf(InvalidLogReplicationResponse.class);
   }
 
+  @Test
+  public void shouldCompleteExceptionallyIfNoServerIsGiven() {
+    // when
+    final CompletableFuture<Long> result = replicator.replicate(Collections.emptyList(), -1, -1);
+
+    // then
+    assertThat(result)
+        .isCompletedExceptionally()
+        .hasFailedWithThrowableThat()
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThat(client.getRequests()).isEmpty();
+  }
+
   @Test
   public void shouldCompleteExceptionallyIfAppenderReturnsNegativeResult() {
     // given
@@ -201,6 +219,83 @@ public class LogReplicatorTest {
     assertThat(result).isCompletedExceptionally().hasFailedWithThrowableThat().isEqualTo(error);
   }
 
+  @Test
+  public void shouldRequestNextRangeBeforeAppending() {
+    // given
+    final Queue<Runnable> tasks = new ArrayDeque<>();
+    final LogReplicator replicator = new LogReplicator(appender, client, tasks::add);
+    final LogReplicationResponse[] response =
+        new LogReplicationResponse[] {newResponse(true, 2), newResponse(false, 4)};
+
+    // when
+    final CompletableFuture<Long> result =
+        replicator.replicate(server, -1, response[1].getToPosition());
+    client.complete(-1, response[0]);
+    tasks.poll().run();
+
+    // then
+    assertThat(appender.getInvocations()).isEmpty();
+    assertThat(client.getRequests()).containsKey(response[0].getToPosition());
+
+    // when
+    client.complete(response[0].getToPosition(), response[1]);
+    runAll(tasks);
+
+    // then
+    assertThat(result).isCompletedWithValue(response[1].getToPosition());
+    assertThat(appender.getInvocations())
+        .extracting("commitPosition")
+        .containsExactly(response[0].getToPosition(), response[1].getToPosition());
+  }
+
+  @Test
+  public void shouldNotRequestMoreThanWindowSizeAllows() {
+    // given
+    final Queue<Runnable> tasks = new ArrayDeque<>();
+    final LogReplicator replicator =
+        new LogReplicator(appender, client, tasks::add, new ZbLogger(LogReplicator.class), 1);
+    final LogReplicationResponse response = newResponse(true, 2);
+
+    // when
+    replicator.replicate(server, -1, response.getToPosition() + 1);
+    client.complete(-1, response);
+    tasks.poll().run();
+
+    // then
+    assertThat(client.getRequests()).hasSize(1);
+
+    // when
+    runAll(tasks);
+
+    // then
+    assertThat(appender.getInvocations()).hasSize(1);
+    assertThat(client.getRequests()).containsKey(response.getToPosition());
+  }
+
+  @Test
+  public void shouldRequestFromNextServerOnError() {
+    // given
+    final LogReplicationResponse response = newResponse(false, 2);
+
+    // when
+    final CompletableFuture<Long> result =
+        replicator.replicate(
+            Arrays.asList(server, MemberId.anonymous()), -1, response.getToPosition());
+    client.complete(-1, new IllegalStateException("fail"));
+    client.complete(-1, response);
+
+    // then
+    assertThat(result).isCompletedWithValue(response.getToPosition());
+    assertThat(appender.getInvocations()).hasSize(1);
+  }
+
+  private void runAll(Queue<Runnable> tasks) {
+    Runnable task;
+    while ((task = tasks.poll()) != null) {
+      task.run();
+    }
+  }
+
   private LogReplicationResponse newResponse(boolean moreAvailable) {
     final long toPosition = ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
     return newResponse(moreAvailable, toPosition);
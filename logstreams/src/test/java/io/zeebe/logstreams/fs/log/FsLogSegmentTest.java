@@ -22,11 +22,13 @@ import static org.assertj.core.api.Assertions.fail;
 import io.zeebe.logstreams.impl.log.fs.FsLogSegment;
 import io.zeebe.logstreams.impl.log.fs.FsLogSegmentDescriptor;
 import io.zeebe.util.FileUtil;
+import io.zeebe.util.buffer.BufferUtil;
 import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.util.Random;
+import org.agrona.concurrent.UnsafeBuffer;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -230,6 +232,54 @@ public class FsLogSegmentTest {
     assertThat(result).isEqualTo(FsLogSegment.INSUFFICIENT_CAPACITY);
   }
 
+  @Test
+  public void shouldKeepWrappedMappingAfterClose() {
+    fsLogSegment.allocate(1, CAPACITY);
+    final int offset = fsLogSegment.append(ByteBuffer.wrap(MSG));
+    fsLogSegment.setFilled();
+
+    final UnsafeBuffer buffer = new UnsafeBuffer(0, 0);
+    final int result = fsLogSegment.wrapBytes(buffer, offset);
+
+    fsLogSegment.closeSegment();
+
+    assertThat(result).isEqualTo(MSG.length);
+    assertThat(fsLogSegment.isReadOnlyMappingWrapped()).isTrue();
+    assertThat(BufferUtil.bufferAsArray(buffer)).isEqualTo(MSG);
+  }
+
+  @Test
+  public void shouldUnmapMappingWhenLastReaderReleasesClosedSegment() {
+    fsLogSegment.allocate(1, CAPACITY);
+    final int offset = fsLogSegment.append(ByteBuffer.wrap(MSG));
+    fsLogSegment.setFilled();
+
+    fsLogSegment.wrapBytes(new UnsafeBuffer(0, 0), offset);
+    fsLogSegment.wrapBytes(new UnsafeBuffer(0, 0), offset);
+
+    assertThat(fsLogSegment.releaseReadOnlyMapping()).isFalse();
+
+    fsLogSegment.closeSegment();
+
+    assertThat(fsLogSegment.releaseReadOnlyMapping()).isTrue();
+    assertThat(fsLogSegment.isReadOnlyMappingWrapped()).isFalse();
+  }
+
+  @Test
+  public void shouldNotUnmapMappingOfOpenSegment() {
+    fsLogSegment.allocate(1, CAPACITY);
+    final int offset = fsLogSegment.append(ByteBuffer.wrap(MSG));
+    fsLogSegment.setFilled();
+
+    final UnsafeBuffer buffer = new UnsafeBuffer(0, 0);
+    fsLogSegment.wrapBytes(buffer, offset);
+
+    assertThat(fsLogSegment.releaseReadOnlyMapping()).isFalse();
+
+    fsLogSegment.wrapBytes(buffer, offset);
+    assertThat(BufferUtil.bufferAsArray(buffer)).isEqualTo(MSG);
+  }
+
   @Test
   public void shouldRestoreExistingSegment() throws IOException {
     fsLogSegment.allocate(1, CAPACITY);
@@ -31,6 +31,11 @@ import io.zeebe.logstreams.util.LogStreamWriterRule;
 import io.zeebe.util.metrics.Metric;
 import java.nio.ByteBuffer;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import org.agrona.DirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.junit.Before;
@@ -282,6 +287,78 @@ public class LogBlockIndexWriterTest {
     assertCorrectBlockAndEvent(newIndex, lastBlockPosition, lastEventPosition, EVENT_2);
   }
 
+  @Test
+  public void shouldCreateSameIndexFromAppendedBlocksAsFromLogStorage() {
+    // given
+    logStreamRule.getClock().pinCurrentTime();
+    final List<Long> positions = new ArrayList<>();
+    for (int i = 0; i < 9; i++) {
+      positions.add(writer.writeEvent(EVENT_1));
+    }
+    waitUntil(() -> blockIndex.getLastPosition() == positions.get(6));
+    final Map<Long, List<Long>> appendedIndex = getIndexEntries(blockIndex, positions);
+
+    // when
+    final LogBlockIndex readIndex = reopenLogStream(positions.get(8));
+
+    // then
+    waitUntil(() -> readIndex.getLastPosition() == positions.get(6));
+    assertThat(getIndexEntries(readIndex, positions)).isEqualTo(appendedIndex);
+  }
+
+  @Test
+  public void shouldCreateSameIndexFromAppendedBlocksAsFromLogStorageAfterRestart() {
+    // given
+    logStreamRule.getClock().pinCurrentTime();
+    final List<Long> positions = new ArrayList<>();
+    for (int i = 0; i < 9; i++) {
+      positions.add(writer.writeEvent(EVENT_1));
+    }
+
+    final LogBlockIndex recoveredIndex = reopenLogStream(positions.get(8));
+    waitUntil(() -> recoveredIndex.getLastPosition() == positions.get(6));
+
+    writer.wrap(logStreamRule);
+    for (int i = 0; i < 4; i++) {
+      positions.add(writer.writeEvent(EVENT_2));
+    }
+    waitUntil(() -> recoveredIndex.getLastPosition() == positions.get(10));
+    final Map<Long, List<Long>> appendedIndex = getIndexEntries(recoveredIndex, positions);
+
+    // when
+    final LogBlockIndex readIndex = reopenLogStream(positions.get(12));
+
+    // then
+    waitUntil(() -> readIndex.getLastPosition() == positions.get(10));
+    assertThat(getIndexEntries(readIndex, positions)).isEqualTo(appendedIndex);
+  }
+
+  private LogBlockIndex reopenLogStream(long commitPosition) {
+    logStreamRule.closeLogStream();
+    assertThat(stateStorage.list()).isEmpty();
+
+    logStreamRule.openLogStream();
+    logStreamRule.setCommitPosition(commitPosition);
+    logStorage = logStreamRule.getLogStream().getLogStorage();
+
+    final LogBlockIndex newIndex = logStreamRule.getLogStream().getLogBlockIndex();
+    indexContext = newIndex.createLogBlockIndexContext();
+    return newIndex;
+  }
+
+  /** @return the position and address of the block of each event, by the event position */
+  private Map<Long, List<Long>> getIndexEntries(LogBlockIndex index, List<Long> positions) {
+    final Map<Long, List<Long>> entries = new HashMap<>();
+    for (final long position : positions) {
+      entries.put(
+          position,
+          Arrays.asList(
+              index.lookupBlockPosition(indexContext, position),
+              index.lookupBlockAddress(indexContext, position)));
+    }
+    return entries;
+  }
+
   private void assertCorrectBlockAndEvent(
       LogBlockIndex newIndex,
       long expectedBlockPosition,
@@ -0,0 +1,121 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.log;
+
+import static io.zeebe.util.StringUtil.getBytes;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.logstreams.util.LogStreamReaderRule;
+import io.zeebe.logstreams.util.LogStreamRule;
+import io.zeebe.logstreams.util.LogStreamWriterRule;
+import io.zeebe.util.buffer.BufferUtil;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+import org.junit.rules.TemporaryFolder;
+
+public class MappedLogStreamReaderTest {
+  private static final int SEGMENT_SIZE = 1024 * 8;
+  private static final UnsafeBuffer EVENT_VALUE = new UnsafeBuffer(getBytes("test"));
+
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+  public LogStreamRule logStreamRule =
+      new LogStreamRule(temporaryFolder, b -> b.logSegmentSize(SEGMENT_SIZE));
+  public LogStreamWriterRule writer = new LogStreamWriterRule(logStreamRule);
+  public LogStreamReaderRule readerRule = new LogStreamReaderRule(logStreamRule);
+
+  @Rule
+  public RuleChain ruleChain =
+      RuleChain.outerRule(temporaryFolder).around(logStreamRule).around(readerRule).around(writer);
+
+  private LogStreamReader reader;
+
+  @Before
+  public void setUp() {
+    reader = readerRule.getLogStreamReader();
+  }
+
+  @Test
+  public void shouldIterateOverEventsOfFilledSegments() {
+    // given
+    final int eventCount = 1_000;
+
+    // when
+    writer.writeEvents(eventCount, EVENT_VALUE);
+
+    // then
+    readerRule.assertEvents(eventCount, EVENT_VALUE);
+    assertThat(reader.hasNext()).isFalse();
+  }
+
+  @Test
+  public void shouldPreserveReturnedEventWhenReadingNextSegment() {
+    // given
+    final int eventCount = 1_000;
+    writer.writeEvents(eventCount, EVENT_VALUE);
+
+    // when
+    for (int i = 1; i < eventCount; i++) {
+      final LoggedEvent event = readerRule.nextEvent();
+      final long position = event.getPosition();
+      final DirectBuffer value = BufferUtil.cloneBuffer(readerRule.eventValue(event));
+
+      assertThat(reader.hasNext()).isTrue();
+
+      // then
+      assertThat(event.getKey()).isEqualTo(i);
+      assertThat(event.getPosition()).isEqualTo(position);
+      assertThat(readerRule.eventValue(event)).isEqualTo(value);
+    }
+  }
+
+  @Test
+  public void shouldSeekToEventInFilledSegment() {
+    // given
+    final int eventCount = 1_000;
+    writer.writeEvents(eventCount, EVENT_VALUE);
+
+    reader.seekToFirstEvent();
+    long position = -1;
+    for (int i = 1; i <= eventCount / 2; i++) {
+      position = readerRule.nextEvent().getPosition();
+    }
+
+    // when
+    final boolean found = reader.seek(position);
+
+    // then
+    assertThat(found).isTrue();
+    assertThat(readerRule.nextEvent().getKey()).isEqualTo(eventCount / 2);
+  }
+
+  @Test
+  public void shouldReturnLastEventAfterSeekToLastEvent() {
+    // given
+    final int eventCount = 1_000;
+    final long lastPosition = writer.writeEvents(eventCount, EVENT_VALUE);
+
+    // when
+    reader.seekToLastEvent();
+
+    // then
+    assertThat(readerRule.nextEvent().getPosition()).isEqualTo(lastPosition);
+    assertThat(reader.hasNext()).isFalse();
+  }
+}
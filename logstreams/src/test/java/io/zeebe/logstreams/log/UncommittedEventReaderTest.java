@@ -0,0 +1,148 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.log;
+
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.alignedFramedLength;
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.framedLength;
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.lengthOffset;
+import static io.zeebe.dispatcher.impl.log.DataFrameDescriptor.messageOffset;
+import static io.zeebe.logstreams.impl.LogEntryDescriptor.headerLength;
+import static io.zeebe.logstreams.impl.LogEntryDescriptor.setPosition;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.protocol.Protocol;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Before;
+import org.junit.Test;
+
+public class UncommittedEventReaderTest {
+  private static final int LENGTH = headerLength(0);
+  private static final int ALIGNED_LEN = alignedFramedLength(LENGTH);
+
+  private final AtomicInteger signals = new AtomicInteger();
+  private UncommittedEventReader reader;
+
+  @Before
+  public void setup() {
+    reader = new UncommittedEventReader(2, signals::incrementAndGet);
+  }
+
+  @Test
+  public void shouldReadEventsFollowingPosition() {
+    // given
+    reader.onUncommittedBlock(1, 3, block(2, 3));
+
+    // when
+    final LoggedEvent first = reader.next(1);
+    final long firstPosition = first.getPosition();
+    final LoggedEvent second = reader.next(firstPosition);
+
+    // then
+    assertThat(firstPosition).isEqualTo(2);
+    assertThat(second.getPosition()).isEqualTo(3);
+    assertThat(reader.next(3)).isNull();
+  }
+
+  @Test
+  public void shouldSignalAddedBlock() {
+    // when
+    reader.onUncommittedBlock(1, 3, block(2, 3));
+
+    // then
+    assertThat(signals.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldNotReadBlockIfPreviousEventIsNotRead() {
+    // given
+    reader.onUncommittedBlock(2, 4, block(3, 4));
+
+    // when
+    final LoggedEvent event = reader.next(1);
+
+    // then
+    assertThat(event).isNull();
+    assertThat(reader.next(2).getPosition()).isEqualTo(3);
+  }
+
+  @Test
+  public void shouldSkipEventsWhichWereAlreadyRead() {
+    // given
+    reader.onUncommittedBlock(1, 4, block(2, 3, 4));
+
+    // when
+    final LoggedEvent event = reader.next(3);
+
+    // then
+    assertThat(event.getPosition()).isEqualTo(4);
+  }
+
+  @Test
+  public void shouldDropBlocksWhichWereAlreadyRead() {
+    // given
+    reader.onUncommittedBlock(1, 3, block(2, 3));
+    reader.onUncommittedBlock(3, 4, block(4));
+
+    // when
+    final LoggedEvent event = reader.next(3);
+
+    // then
+    assertThat(event.getPosition()).isEqualTo(4);
+  }
+
+  @Test
+  public void shouldNotReadBlockWithUnknownPreviousPosition() {
+    // given
+    reader.onUncommittedBlock(UncommittedBlockListener.UNKNOWN_POSITION, 3, block(2, 3));
+    reader.onUncommittedBlock(3, 4, block(4));
+
+    // when
+    final LoggedEvent event = reader.next(1);
+
+    // then
+    assertThat(event).isNull();
+    assertThat(reader.next(3).getPosition()).isEqualTo(4);
+  }
+
+  @Test
+  public void shouldDropNewBlocksIfLimitIsReached() {
+    // given
+    reader.onUncommittedBlock(1, 2, block(2));
+    reader.onUncommittedBlock(2, 3, block(3));
+
+    // when
+    reader.onUncommittedBlock(3, 4, block(4));
+
+    // then
+    assertThat(signals.get()).isEqualTo(2);
+    assertThat(reader.next(1).getPosition()).isEqualTo(2);
+    assertThat(reader.next(2).getPosition()).isEqualTo(3);
+    assertThat(reader.next(3)).isNull();
+  }
+
+  private static byte[] block(final long... positions) {
+    final UnsafeBuffer buffer = new UnsafeBuffer(new byte[positions.length * ALIGNED_LEN]);
+
+    for (int i = 0; i < positions.length; i++) {
+      final int offset = i * ALIGNED_LEN;
+      buffer.putInt(lengthOffset(offset), framedLength(LENGTH), Protocol.ENDIANNESS);
+      setPosition(buffer, messageOffset(offset), positions[i]);
+    }
+
+    return buffer.byteArray();
+  }
+}
@@ -230,6 +230,16 @@ public class FailingSnapshotChunkReplicationTest {
       return 0;
     }
 
+    @Override
+    public long getFileOffset() {
+      return snapshotChunk.getFileOffset();
+    }
+
+    @Override
+    public boolean isFileReference() {
+      return snapshotChunk.isFileReference();
+    }
+
     @Override
     public byte[] getContent() {
       return snapshotChunk.getContent();
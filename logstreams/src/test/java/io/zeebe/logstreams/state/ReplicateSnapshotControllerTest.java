@@ -241,6 +241,52 @@ public class ReplicateSnapshotControllerTest {
     assertThat(position).isEqualTo(1L);
   }
 
+  @Test
+  public void shouldReplicateSharedFilesAsReference() throws Exception {
+    // given
+    receiverSnapshotController.consumeReplicatedSnapshots(pos -> {});
+    replicatorSnapshotController.takeSnapshot(1);
+    replicatorSnapshotController.replicateLatestSnapshot(Runnable::run);
+    replicator.replicatedChunks.clear();
+
+    // when
+    replicatorSnapshotController.takeSnapshot(2);
+    replicatorSnapshotController.replicateLatestSnapshot(Runnable::run);
+
+    // then
+    assertThat(replicator.replicatedChunks)
+        .filteredOn(SnapshotChunk::isFileReference)
+        .isNotEmpty()
+        .allSatisfy(
+            chunk -> {
+              assertThat(chunk.getChunkName()).endsWith(".sst");
+              assertThat(chunk.getContent()).isEmpty();
+            });
+
+    final RocksDBWrapper wrapper = new RocksDBWrapper();
+    final long recoveredSnapshot = receiverSnapshotController.recover();
+    assertThat(recoveredSnapshot).isEqualTo(2);
+
+    wrapper.wrap(receiverSnapshotController.openDb());
+    final int valueFromSnapshot = wrapper.getInt(KEY);
+    assertThat(valueFromSnapshot).isEqualTo(VALUE);
+  }
+
+  @Test
+  public void shouldReplicateAllFilesFully() {
+    // given
+    replicatorSnapshotController.takeSnapshot(1);
+    replicatorSnapshotController.replicateLatestSnapshot(Runnable::run);
+    replicator.replicatedChunks.clear();
+
+    // when
+    replicatorSnapshotController.takeSnapshot(2);
+    replicatorSnapshotController.replicateLatestSnapshotFully(Runnable::run);
+
+    // then
+    assertThat(replicator.replicatedChunks).isNotEmpty().noneMatch(SnapshotChunk::isFileReference);
+  }
+
   private void replicateXSnapshots(final int snapshotAmount) {
     for (int i = 1; i <= snapshotAmount; ++i) {
       replicatorSnapshotController.takeSnapshot(i);
@@ -81,7 +81,7 @@ public class LogStreamReaderRule extends ExternalResource {
     return null;
   }
 
-  private DirectBuffer eventValue(final LoggedEvent event) {
+  public DirectBuffer eventValue(final LoggedEvent event) {
     assertThat(event).isNotNull();
     return new UnsafeBuffer(event.getValueBuffer(), event.getValueOffset(), event.getValueLength());
   }
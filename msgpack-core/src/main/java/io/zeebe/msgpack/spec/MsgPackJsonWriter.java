@@ -0,0 +1,298 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.msgpack.spec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+
+/**
+ * Converts a MessagePack document into JSON by streaming over the MessagePack tokens. The JSON is
+ * written into a buffer which is reused for every document, so that a conversion doesn't create
+ * intermediate objects. The output is the same as converting the document with Jackson.
+ *
+ * <p>This class is not thread-safe.
+ */
+public class MsgPackJsonWriter {
+
+  private static final byte[] NULL = "null".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] TRUE = "true".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] FALSE = "false".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] HEX_DIGITS = "0123456789ABCDEF".getBytes(StandardCharsets.UTF_8);
+
+  private final MsgPackReader reader = new MsgPackReader();
+  private final ExpandableArrayBuffer jsonBuffer = new ExpandableArrayBuffer();
+  private int jsonLength;
+
+  /**
+   * Converts the given MessagePack document. The result can be accessed by {@link #getJsonBuffer()}
+   * and is valid until the next conversion.
+   *
+   * @return the length of the JSON document
+   */
+  public int write(DirectBuffer msgPack, int offset, int length) {
+    reader.wrap(msgPack, offset, length);
+    jsonLength = 0;
+
+    writeValue();
+
+    if (reader.hasNext()) {
+      throw new MsgpackReaderException("Document has more content than a single value");
+    }
+
+    return jsonLength;
+  }
+
+  /** @see #write(DirectBuffer, int, int) */
+  public int write(DirectBuffer msgPack) {
+    return write(msgPack, 0, msgPack.capacity());
+  }
+
+  /** @return the buffer which contains the JSON document of the last conversion */
+  public DirectBuffer getJsonBuffer() {
+    return jsonBuffer;
+  }
+
+  /** Converts the given MessagePack document into a JSON string. */
+  public String toJson(DirectBuffer msgPack) {
+    final int length = write(msgPack);
+    return jsonBuffer.getStringWithoutLengthUtf8(0, length);
+  }
+
+  private void writeValue() {
+    if (writeUnsignedLong()) {
+      return;
+    }
+
+    final MsgPackToken token = reader.readToken();
+
+    switch (token.getType()) {
+      case MAP:
+        writeMap(token.getSize());
+        break;
+      case ARRAY:
+        writeArray(token.getSize());
+        break;
+      default:
+        writeScalar(token);
+        break;
+    }
+  }
+
+  private void writeMap(int size) {
+    writeByte('{');
+
+    for (int i = 0; i < size; i++) {
+      if (i > 0) {
+        writeByte(',');
+      }
+
+      writeKey();
+
+      writeByte(':');
+      writeValue();
+    }
+
+    writeByte('}');
+  }
+
+  private void writeKey() {
+    if (isUnsignedLong()) {
+      writeByte('"');
+      writeUnsignedLong();
+      writeByte('"');
+      return;
+    }
+
+    final MsgPackToken key = reader.readToken();
+    if (key.getType() == MsgPackType.STRING) {
+      writeString(key.getValueBuffer());
+    } else if (key.getType().isScalar()) {
+      writeByte('"');
+      writeScalar(key);
+      writeByte('"');
+    } else {
+      throw new MsgpackReaderException(
+          String.format("Expected a scalar map key, but found '%s'", key.getType()));
+    }
+  }
+
+  private void writeArray(int size) {
+    writeByte('[');
+
+    for (int i = 0; i < size; i++) {
+      if (i > 0) {
+        writeByte(',');
+      }
+      writeValue();
+    }
+
+    writeByte(']');
+  }
+
+  private void writeScalar(MsgPackToken token) {
+    switch (token.getType()) {
+      case NIL:
+        writeBytes(NULL);
+        break;
+      case BOOLEAN:
+        writeBytes(token.getBooleanValue() ? TRUE : FALSE);
+        break;
+      case INTEGER:
+        jsonBuffer.checkLimit(jsonLength + 20);
+        jsonLength += jsonBuffer.putLongAscii(jsonLength, token.getIntegerValue());
+        break;
+      case FLOAT:
+        writeFloat(token);
+        break;
+      case STRING:
+        writeString(token.getValueBuffer());
+        break;
+      case BINARY:
+        writeBinary(token.getValueBuffer());
+        break;
+      default:
+        throw new MsgpackReaderException(
+            String.format("Unexpected token of type '%s'", token.getType()));
+    }
+  }
+
+  private boolean isUnsignedLong() {
+    return reader.hasNext()
+        && reader.getBuffer().getByte(reader.getOffset()) == MsgPackCodes.UINT64;
+  }
+
+  /**
+   * Writes the next value if it is a uint64. The reader rejects uint64 values which don't fit into
+   * a long, but like Jackson, they are written as unsigned number.
+   *
+   * @return true if the value was written
+   */
+  private boolean writeUnsignedLong() {
+    if (!isUnsignedLong()) {
+      return false;
+    }
+
+    final long value = reader.getBuffer().getLong(reader.getOffset() + 1, MsgPackCodes.BYTE_ORDER);
+    reader.skipBytes(1 + Long.BYTES);
+
+    if (value >= 0) {
+      jsonBuffer.checkLimit(jsonLength + 20);
+      jsonLength += jsonBuffer.putLongAscii(jsonLength, value);
+    } else {
+      final String text = Long.toUnsignedString(value);
+      for (int i = 0; i < text.length(); i++) {
+        writeByte(text.charAt(i));
+      }
+    }
+
+    return true;
+  }
+
+  private void writeFloat(MsgPackToken token) {
+    final int tokenOffset = reader.getOffset() - token.getTotalLength();
+    final boolean isFloat32 = reader.getBuffer().getByte(tokenOffset) == MsgPackCodes.FLOAT32;
+    final double value = token.getFloatValue();
+
+    // like Jackson, print a float32 with the digits of the float rather than of the widened double
+    final String text = isFloat32 ? Float.toString((float) value) : Double.toString(value);
+
+    // like Jackson, quote numbers which are not valid in JSON
+    final boolean isQuoted = Double.isNaN(value) || Double.isInfinite(value);
+    if (isQuoted) {
+      writeByte('"');
+    }
+
+    for (int i = 0; i < text.length(); i++) {
+      writeByte(text.charAt(i));
+    }
+
+    if (isQuoted) {
+      writeByte('"');
+    }
+  }
+
+  private void writeBinary(DirectBuffer value) {
+    final byte[] bytes = new byte[value.capacity()];
+    value.getBytes(0, bytes);
+
+    writeByte('"');
+    writeBytes(Base64.getEncoder().encode(bytes));
+    writeByte('"');
+  }
+
+  private void writeString(DirectBuffer value) {
+    writeByte('"');
+
+    // multi-byte UTF-8 sequences contain no bytes below 0x80 and are copied as they are
+    final int length = value.capacity();
+    for (int i = 0; i < length; i++) {
+      final byte b = value.getByte(i);
+
+      switch (b) {
+        case '"':
+        case '\\':
+          writeByte('\\');
+          writeByte(b);
+          break;
+        case '\n':
+          writeEscaped('n');
+          break;
+        case '\r':
+          writeEscaped('r');
+          break;
+        case '\t':
+          writeEscaped('t');
+          break;
+        case '\b':
+          writeEscaped('b');
+          break;
+        case '\f':
+          writeEscaped('f');
+          break;
+        default:
+          if (b >= 0 && b < 0x20) {
+            writeEscaped('u');
+            writeByte('0');
+            writeByte('0');
+            writeByte(HEX_DIGITS[b >> 4]);
+            writeByte(HEX_DIGITS[b & 0xF]);
+          } else {
+            writeByte(b);
+          }
+          break;
+      }
+    }
+
+    writeByte('"');
+  }
+
+  private void writeEscaped(char c) {
+    writeByte('\\');
+    writeByte(c);
+  }
+
+  private void writeByte(int b) {
+    jsonBuffer.putByte(jsonLength, (byte) b);
+    jsonLength += 1;
+  }
+
+  private void writeBytes(byte[] bytes) {
+    jsonBuffer.putBytes(jsonLength, bytes);
+    jsonLength += bytes.length;
+  }
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.msgpack.spec;
+
+import static io.zeebe.msgpack.spec.MsgPackUtil.encodeMsgPack;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class MsgPackJsonWriterTest {
+
+  @Rule public ExpectedException exception = ExpectedException.none();
+
+  private final MsgPackJsonWriter writer = new MsgPackJsonWriter();
+
+  @Test
+  public void shouldWriteMap() {
+    // given
+    final DirectBuffer msgPack =
+        encodeMsgPack(
+            (w) -> {
+              w.packMapHeader(2);
+              w.packString("foo");
+              w.packInt(1);
+              w.packString("bar");
+              w.packString("baz");
+            });
+
+    // when
+    final String json = writer.toJson(msgPack);
+
+    // then
+    assertThat(json).isEqualTo("{\"foo\":1,\"bar\":\"baz\"}");
+  }
+
+  @Test
+  public void shouldWriteNestedDocument() {
+    // given
+    final DirectBuffer msgPack =
+        encodeMsgPack(
+            (w) -> {
+              w.packMapHeader(2);
+              w.packString("a");
+              w.packArrayHeader(3);
+              w.packInt(1);
+              w.packMapHeader(0);
+              w.packArrayHeader(0);
+              w.packString("b");
+              w.packMapHeader(1);
+              w.packString("c");
+              w.packNil();
+            });
+
+    // when
+    final String json = writer.toJson(msgPack);
+
+    // then
+    assertThat(json).isEqualTo("{\"a\":[1,{},[]],\"b\":{\"c\":null}}");
+  }
+
+  @Test
+  public void shouldWriteScalars() {
+    // given
+    final DirectBuffer msgPack =
+        encodeMsgPack(
+            (w) -> {
+              w.packArrayHeader(7);
+              w.packBoolean(true);
+              w.packBoolean(false);
+              w.packNil();
+              w.packLong(Long.MIN_VALUE);
+              w.packLong(Long.MAX_VALUE);
+              w.packDouble(1.5);
+              w.packDouble(-0.25);
+            });
+
+    // when
+    final String json = writer.toJson(msgPack);
+
+    // then
+    assertThat(json)
+        .isEqualTo("[true,false,null,-9223372036854775808,9223372036854775807,1.5,-0.25]");
+  }
+
+  @Test
+  public void shouldWriteScalarDocument() {
+    // given
+    final DirectBuffer msgPack = encodeMsgPack((w) -> w.packString("foo"));
+
+    // when
+    final String json = writer.toJson(msgPack);
+
+    // then
+    assertThat(json).isEqualTo("\"foo\"");
+  }
+
+  @Test
+  public void shouldWriteUnsignedLong() {
+    // given
+    final DirectBuffer msgPack =
+        new UnsafeBuffer(
+            new byte[] {
+              (byte) 0x92,
+              (byte) 0xcf,
+              (byte) 0xff,
+              (byte) 0xff,
+              (byte) 0xff,
+              (byte) 0xff,
+              (byte) 0xff,
+              (byte) 0xff,
+              (byte) 0xff,
+              (byte) 0xff,
+              (byte) 0xcf,
+              (byte) 0x7f,
+              (byte) 0xff,
+              (byte) 0xff,
+              (byte) 0xff,
+              (byte) 0xff,
+              (byte) 0xff,
+              (byte) 0xff,
+              (byte) 0xff
+            });
+
+    // when
+    final String json = writer.toJson(msgPack);
+
+    // then
+    assertThat(json).isEqualTo("[18446744073709551615,9223372036854775807]");
+  }
+
+  @Test
+  public void shouldWriteFloat32AsFloat() {
+    // given
+    final DirectBuffer msgPack =
+        encodeMsgPack(
+            (w) -> {
+              w.packArrayHeader(4);
+              w.packFloat(0.1f);
+              w.packDouble(0.1f);
+              w.packFloat(-3.4028235E38f);
+              w.packFloat(Float.NaN);
+            });
+
+    // when
+    final String json = writer.toJson(msgPack);
+
+    // then
+    assertThat(json).isEqualTo("[0.1,0.10000000149011612,-3.4028235E38,\"NaN\"]");
+  }
+
+  @Test
+  public void shouldQuoteNonFiniteFloats() {
+    // given
+    final DirectBuffer msgPack =
+        encodeMsgPack(
+            (w) -> {
+              w.packArrayHeader(2);
+              w.packDouble(Double.NaN);
+              w.packDouble(Double.POSITIVE_INFINITY);
+            });
+
+    // when
+    final String json = writer.toJson(msgPack);
+
+    // then
+    assertThat(json).isEqualTo("[\"NaN\",\"Infinity\"]");
+  }
+
+  @Test
+  public void shouldEscapeStrings() {
+    // given
+    final DirectBuffer msgPack =
+        encodeMsgPack((w) -> w.packString("a\"b\\c\nd\re\tf\bg\fh\u0001i"));
+
+    // when
+    final String json = writer.toJson(msgPack);
+
+    // then
+    assertThat(json).isEqualTo("\"a\\\"b\\\\c\\nd\\re\\tf\\bg\\fh\\u0001i\"");
+  }
+
+  @Test
+  public void shouldWriteMultiByteCharacters() {
+    // given
+    final DirectBuffer msgPack = encodeMsgPack((w) -> w.packString("\u00e4\u20ac\ud83d\ude00"));
+
+    // when
+    final String json = writer.toJson(msgPack);
+
+    // then
+    assertThat(json).isEqualTo("\"\u00e4\u20ac\ud83d\ude00\"");
+  }
+
+  @Test
+  public void shouldWriteBinaryAsBase64() {
+    // given
+    final byte[] bytes = "foo".getBytes(StandardCharsets.UTF_8);
+    final DirectBuffer msgPack =
+        encodeMsgPack(
+            (w) -> {
+              w.packBinaryHeader(bytes.length);
+              w.writePayload(bytes);
+            });
+
+    // when
+    final String json = writer.toJson(msgPack);
+
+    // then
+    assertThat(json).isEqualTo("\"Zm9v\"");
+  }
+
+  @Test
+  public void shouldQuoteNonStringMapKeys() {
+    // given
+    final DirectBuffer msgPack =
+        encodeMsgPack(
+            (w) -> {
+              w.packMapHeader(1);
+              w.packInt(1);
+              w.packBoolean(true);
+            });
+
+    // when
+    final String json = writer.toJson(msgPack);
+
+    // then
+    assertThat(json).isEqualTo("{\"1\":true}");
+  }
+
+  @Test
+  public void shouldReuseBufferForNextDocument() {
+    // given
+    final DirectBuffer longDocument = encodeMsgPack((w) -> w.packString("foobarbaz"));
+    final DirectBuffer shortDocument = encodeMsgPack((w) -> w.packInt(1));
+    writer.write(longDocument);
+
+    // when
+    final int length = writer.write(shortDocument);
+
+    // then
+    assertThat(length).isEqualTo(1);
+    assertThat(writer.getJsonBuffer().getStringWithoutLengthUtf8(0, length)).isEqualTo("1");
+  }
+
+  @Test
+  public void shouldFailOnMoreThanOneValue() {
+    // given
+    final DirectBuffer msgPack =
+        encodeMsgPack(
+            (w) -> {
+              w.packInt(1);
+              w.packInt(2);
+            });
+
+    // then
+    exception.expect(MsgpackReaderException.class);
+    exception.expectMessage("Document has more content than a single value");
+
+    // when
+    writer.toJson(msgPack);
+  }
+}
@@ -41,6 +41,8 @@ public class ArrayProperty<T extends BaseValue> extends BaseProperty<ArrayValue<
 
   @Override
   public T add() {
+    decodeValue();
+
     try {
       return value.add();
     } catch (Exception e) {
@@ -22,6 +22,8 @@ import io.zeebe.msgpack.spec.MsgPackWriter;
 import io.zeebe.msgpack.value.BaseValue;
 import io.zeebe.msgpack.value.StringValue;
 import java.util.Objects;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
 
 public abstract class BaseProperty<T extends BaseValue> implements Recyclable {
   protected StringValue key;
@@ -29,6 +31,11 @@ public abstract class BaseProperty<T extends BaseValue> implements Recyclable {
   protected T defaultValue;
   protected boolean isSet;
 
+  // the encoded value, if the property is read lazily and the value is not decoded yet
+  private final DirectBuffer encodedValue = new UnsafeBuffer(0, 0);
+  private MsgPackReader encodedValueReader;
+  private boolean hasEncodedValue;
+
   public BaseProperty(T value) {
     this(StringValue.EMPTY_STRING, value);
   }
@@ -48,11 +55,13 @@ public abstract class BaseProperty<T extends BaseValue> implements Recyclable {
 
   public void set() {
     this.isSet = true;
+    this.hasEncodedValue = false;
   }
 
   @Override
   public void reset() {
     this.isSet = false;
+    this.hasEncodedValue = false;
     this.value.reset();
   }
 
@@ -65,6 +74,8 @@ public abstract class BaseProperty<T extends BaseValue> implements Recyclable {
   }
 
   protected T resolveValue() {
+    decodeValue();
+
     if (isSet) {
       return value;
     } else if (defaultValue != null) {
@@ -76,6 +87,10 @@ public abstract class BaseProperty<T extends BaseValue> implements Recyclable {
   }
 
   public int getEncodedLength() {
+    if (hasEncodedValue) {
+      return key.getEncodedLength() + encodedValue.capacity();
+    }
+
     return key.getEncodedLength() + resolveValue().getEncodedLength();
   }
 
@@ -84,7 +99,42 @@ public abstract class BaseProperty<T extends BaseValue> implements Recyclable {
     set();
   }
 
+  /**
+   * Reads the property lazily. The given encoded value is decoded on the first access of the value.
+   * Until then, the property refers to the given buffer which must not be modified.
+   */
+  public void readLazily(DirectBuffer buffer, int offset, int length) {
+    encodedValue.wrap(buffer, offset, length);
+    hasEncodedValue = true;
+    isSet = true;
+  }
+
+  /** Decodes the value if the property was read lazily and the value is not decoded yet. */
+  protected void decodeValue() {
+    if (hasEncodedValue) {
+      hasEncodedValue = false;
+
+      if (encodedValueReader == null) {
+        encodedValueReader = new MsgPackReader();
+      }
+      encodedValueReader.wrap(encodedValue, 0, encodedValue.capacity());
+
+      try {
+        value.read(encodedValueReader);
+      } catch (Exception e) {
+        throw new MsgpackPropertyException(key, e);
+      }
+    }
+  }
+
   public void write(MsgPackWriter writer) {
+    if (hasEncodedValue) {
+      // the value is not accessed - write it as it is
+      key.write(writer);
+      writer.writeRaw(encodedValue);
+      return;
+    }
+
     T valueToWrite = value;
     if (!isSet) {
       valueToWrite = defaultValue;
@@ -111,6 +161,8 @@ public abstract class BaseProperty<T extends BaseValue> implements Recyclable {
 
   @Override
   public String toString() {
+    decodeValue();
+
     final StringBuilder builder = new StringBuilder();
     builder.append(key.toString());
     builder.append(" => ");
@@ -135,6 +187,7 @@ public abstract class BaseProperty<T extends BaseValue> implements Recyclable {
 
   @Override
   public int hashCode() {
+    decodeValue();
     return Objects.hash(getKey(), value, defaultValue, isSet);
   }
 }
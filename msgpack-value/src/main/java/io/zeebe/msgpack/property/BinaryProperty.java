@@ -37,6 +37,6 @@ public class BinaryProperty extends BaseProperty<BinaryValue> {
 
   public void setValue(DirectBuffer data, int offset, int length) {
     this.value.wrap(data, offset, length);
-    this.isSet = true;
+    set();
   }
 }
@@ -33,6 +33,6 @@ public class BooleanProperty extends BaseProperty<BooleanValue> {
 
   public void setValue(boolean value) {
     this.value.setValue(value);
-    this.isSet = true;
+    set();
   }
 }
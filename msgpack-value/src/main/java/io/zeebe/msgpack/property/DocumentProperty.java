@@ -40,7 +40,7 @@ public class DocumentProperty extends BaseProperty<DocumentValue> {
   public void setValue(DirectBuffer data, int offset, int length) {
     try {
       this.value.wrap(data, offset, length);
-      this.isSet = true;
+      set();
     } catch (Exception e) {
       throw new MsgpackPropertyException(key, e);
     }
@@ -22,19 +22,41 @@ import io.zeebe.msgpack.spec.MsgPackWriter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import org.agrona.DirectBuffer;
+import org.agrona.collections.Int2ObjectHashMap;
 
 public class ObjectValue extends BaseValue {
   private final List<BaseProperty<? extends BaseValue>> declaredProperties = new ArrayList<>();
   private final List<UndeclaredProperty> undeclaredProperties = new ArrayList<>();
   private final List<UndeclaredProperty> recycledProperties = new ArrayList<>();
 
+  // declared properties by the hash of their key, to find the property of a key without a scan
+  private final Int2ObjectHashMap<BaseProperty<? extends BaseValue>> declaredPropertiesByHash =
+      new Int2ObjectHashMap<>();
+  private boolean hasKeyHashCollision;
+
   private final StringValue decodedKey = new StringValue();
 
+  private boolean isLazyDecoding;
+
   public ObjectValue declareProperty(BaseProperty<? extends BaseValue> prop) {
     declaredProperties.add(prop);
+    if (declaredPropertiesByHash.putIfAbsent(hashKey(prop.getKey()), prop) != null) {
+      hasKeyHashCollision = true;
+    }
     return this;
   }
 
+  /**
+   * If enabled, the values of the declared properties are not decoded on read. Instead, each
+   * property keeps the offset of its encoded value and decodes it on the first access. This is
+   * cheaper if only a few properties of an object are accessed, but the object refers to the read
+   * buffer until all properties are decoded.
+   */
+  public void setLazyDecoding(boolean isLazyDecoding) {
+    this.isLazyDecoding = isLazyDecoding;
+  }
+
   @Override
   public void reset() {
     for (int i = 0; i < declaredProperties.size(); ++i) {
@@ -97,24 +119,21 @@ public class ObjectValue extends BaseValue {
     for (int i = 0; i < mapSize; ++i) {
       decodedKey.read(reader);
 
-      BaseProperty<? extends BaseValue> prop = null;
-
-      for (int k = 0; k < declaredProperties.size(); ++k) {
-        final BaseProperty<?> declaredProperty = declaredProperties.get(k);
-        final StringValue declaredKey = declaredProperty.getKey();
-
-        if (declaredKey.equals(decodedKey)) {
-          prop = declaredProperty;
-          break;
-        }
-      }
+      BaseProperty<? extends BaseValue> prop = getDeclaredProperty(decodedKey);
 
-      if (prop == null) {
+      final boolean isDeclared = prop != null;
+      if (!isDeclared) {
         prop = newUndeclaredProperty(decodedKey);
       }
 
       try {
-        prop.read(reader);
+        if (isLazyDecoding && isDeclared) {
+          final int valueOffset = reader.getOffset();
+          reader.skipValue();
+          prop.readLazily(reader.getBuffer(), valueOffset, reader.getOffset() - valueOffset);
+        } else {
+          prop.read(reader);
+        }
       } catch (Exception e) {
         throw new RuntimeException(String.format("Could not read property '%s'", prop.getKey()), e);
       }
@@ -130,6 +149,36 @@ public class ObjectValue extends BaseValue {
     }
   }
 
+  private BaseProperty<? extends BaseValue> getDeclaredProperty(StringValue key) {
+    final BaseProperty<? extends BaseValue> prop = declaredPropertiesByHash.get(hashKey(key));
+    if (prop != null && prop.getKey().equals(key)) {
+      return prop;
+    } else if (!hasKeyHashCollision) {
+      return null;
+    }
+
+    // fall back to a scan if the keys of some properties have the same hash
+    for (int k = 0; k < declaredProperties.size(); ++k) {
+      final BaseProperty<? extends BaseValue> declaredProperty = declaredProperties.get(k);
+      if (declaredProperty != prop && declaredProperty.getKey().equals(key)) {
+        return declaredProperty;
+      }
+    }
+
+    return null;
+  }
+
+  private static int hashKey(StringValue key) {
+    final DirectBuffer bytes = key.getValue();
+    final int length = key.getLength();
+
+    int hash = length;
+    for (int i = 0; i < length; i++) {
+      hash = 31 * hash + bytes.getByte(i);
+    }
+    return hash;
+  }
+
   /**
    * Caution: In case not all properties are writeable (i.e. value not set and no default), this
    * method may write some of the values and only then throw an exception. The same exception is
@@ -0,0 +1,160 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.msgpack;
+
+import static io.zeebe.msgpack.MsgPackUtil.encodeMsgPack;
+import static io.zeebe.test.util.BufferAssert.assertThatBuffer;
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.assertj.core.api.Assertions.entry;
+
+import io.zeebe.msgpack.POJO.POJOEnum;
+import java.util.Map;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ObjectMappingLazyDecodingTest {
+  private static final DirectBuffer BUF1 = wrapString("foo");
+  private static final DirectBuffer BUF2 = wrapString("bar");
+
+  private final POJO pojo = new POJO();
+  private DirectBuffer buffer;
+
+  @Before
+  public void setUp() {
+    pojo.setLazyDecoding(true);
+
+    buffer =
+        encodeMsgPack(
+            (w) -> {
+              w.writeMapHeader(8);
+
+              w.writeString(wrapString("enumProp"));
+              w.writeString(wrapString(POJOEnum.BAR.toString()));
+
+              w.writeString(wrapString("binaryProp"));
+              w.writeBinary(BUF1);
+
+              w.writeString(wrapString("stringProp"));
+              w.writeString(BUF2);
+
+              w.writeString(wrapString("packedProp"));
+              w.writeRaw(ObjectMappingTest.MSGPACK_BUF1);
+
+              w.writeString(wrapString("longProp"));
+              w.writeInteger(88888L);
+
+              w.writeString(wrapString("intProp"));
+              w.writeInteger(123L);
+
+              w.writeString(wrapString("objectProp"));
+              w.writeRaw(ObjectMappingTest.MSGPACK_BUF1);
+
+              w.writeString(wrapString("undeclaredProp"));
+              w.writeInteger(7L);
+            });
+  }
+
+  @Test
+  public void shouldDeserializePOJOLazily() {
+    // when
+    pojo.wrap(buffer);
+
+    // then
+    assertThat(pojo.getEnum()).isEqualByComparingTo(POJOEnum.BAR);
+    assertThat(pojo.getLong()).isEqualTo(88888L);
+    assertThat(pojo.getInt()).isEqualTo(123);
+    assertThatBuffer(pojo.getPacked()).hasBytes(ObjectMappingTest.MSGPACK_BUF1);
+    assertThatBuffer(pojo.getBinary()).hasBytes(BUF1);
+    assertThatBuffer(pojo.getString()).hasBytes(BUF2);
+    assertThat(pojo.nestedObject().getLong()).isEqualTo(123123L);
+  }
+
+  @Test
+  public void shouldSerializeLazilyDeserializedPOJO() {
+    // given
+    pojo.wrap(buffer);
+    pojo.setLong(1L);
+
+    // when
+    final UnsafeBuffer resultBuffer = new UnsafeBuffer(new byte[pojo.getLength()]);
+    pojo.write(resultBuffer, 0);
+
+    // then
+    final Map<String, Object> msgPackMap =
+        MsgPackUtil.asMap(resultBuffer, 0, resultBuffer.capacity());
+    assertThat(msgPackMap).hasSize(8);
+    assertThat(msgPackMap)
+        .contains(
+            entry("enumProp", POJOEnum.BAR.toString()),
+            entry("longProp", 1L),
+            entry("intProp", 123L),
+            entry("stringProp", "bar"),
+            entry("binaryProp", BUF1.byteArray()),
+            entry("undeclaredProp", 7L));
+  }
+
+  @Test
+  public void shouldOverrideLazilyDeserializedValue() {
+    // given
+    pojo.wrap(buffer);
+
+    // when
+    pojo.setInt(456);
+
+    // then
+    assertThat(pojo.getInt()).isEqualTo(456);
+  }
+
+  @Test
+  public void shouldResetLazilyDeserializedValue() {
+    // given
+    pojo.wrap(buffer);
+
+    // when
+    pojo.reset();
+
+    // then
+    final Throwable error = catchThrowable(pojo::getLong);
+    assertThat(error).isInstanceOf(MsgpackPropertyException.class);
+  }
+
+  @Test
+  public void shouldFailOnAccessOfValueWithWrongType() {
+    // given
+    final DirectBuffer buffer =
+        encodeMsgPack(
+            (w) -> {
+              w.writeMapHeader(1);
+
+              w.writeString(wrapString("longProp"));
+              w.writeString(BUF1);
+            });
+
+    final MinimalPOJO minimalPOJO = new MinimalPOJO();
+    minimalPOJO.setLazyDecoding(true);
+    minimalPOJO.wrap(buffer);
+
+    // when
+    final Throwable error = catchThrowable(minimalPOJO::getLongProp);
+
+    // then
+    assertThat(error).isInstanceOf(MsgpackPropertyException.class).hasMessageContaining("longProp");
+  }
+}
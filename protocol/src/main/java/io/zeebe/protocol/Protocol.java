@@ -40,6 +40,12 @@ public class Protocol {
    */
   public static final int START_PARTITION_ID = 1;
 
+  /**
+   * The topic of the cluster event which is broadcast by the brokers when jobs of a type become
+   * available. The event contains the job type.
+   */
+  public static final String JOBS_AVAILABLE_TOPIC = "jobsAvailable";
+
   public static final long encodePartitionId(int partitionId, long key) {
     return ((long) partitionId << KEY_BITS) + key;
   }
@@ -23,6 +23,7 @@ public class MockContext implements Context {
 
   private Logger logger;
   private Configuration configuration;
+  private RecordFilter filter;
 
   public MockContext() {}
 
@@ -48,4 +49,13 @@ public class MockContext implements Context {
   public void setConfiguration(Configuration configuration) {
     this.configuration = configuration;
   }
+
+  public RecordFilter getFilter() {
+    return filter;
+  }
+
+  @Override
+  public void setFilter(RecordFilter filter) {
+    this.filter = filter;
+  }
 }
@@ -0,0 +1,195 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.util.metrics;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+import org.agrona.MutableDirectBuffer;
+
+/**
+ * A histogram which counts the recorded values in buckets with exponentially growing upper bounds
+ * (1, 2, 4, 8, ...), like the top-level buckets of an HDR histogram. The bucket of a value is found
+ * in constant time and recording a value is lock-free and doesn't allocate.
+ *
+ * <p>The histogram is written in the Prometheus exposition format, with cumulative buckets, the sum
+ * and the count of the recorded values.
+ */
+public class Histogram {
+  private static final byte[] EMPTY = new byte[0];
+  private static final byte[] DESCRIPTION_PREFIX = "# HELP ".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] TYPE_PREFIX = "# TYPE ".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] TYPE = " histogram\n".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] BUCKET_SUFFIX = "_bucket{".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] SUM_SUFFIX = "_sum{".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] COUNT_SUFFIX = "_count{".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] UPPER_BOUND_LABEL = "le=\"".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] INFINITY = "+Inf".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] CLOSING_CURLY_BRACE = "} ".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] NEW_LINE = "\n".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] DOUBLE_QUOTE = "\"".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] COMMA = ",".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] WHITESPACE = " ".getBytes(StandardCharsets.UTF_8);
+
+  private final byte[] name;
+  private final byte[] description;
+  private final byte[] labels;
+  private final Consumer<Histogram> onClose;
+
+  private final int bucketCount;
+  // the last bucket counts the values which are greater than the highest upper bound
+  private final AtomicLongArray bucketValues;
+  private final AtomicLong sum = new AtomicLong();
+
+  public Histogram(
+      String name,
+      String description,
+      Map<String, String> labels,
+      int bucketCount,
+      Consumer<Histogram> onClose) {
+    if (bucketCount < 1 || bucketCount > 63) {
+      throw new IllegalArgumentException(
+          "Expected bucket count to be between 1 and 63, but was " + bucketCount);
+    }
+
+    this.name = name.getBytes(StandardCharsets.UTF_8);
+    this.description = description == null ? EMPTY : description.getBytes(StandardCharsets.UTF_8);
+    this.labels = formatLabels(labels);
+    this.bucketCount = bucketCount;
+    this.bucketValues = new AtomicLongArray(bucketCount + 1);
+    this.onClose = onClose;
+  }
+
+  private static byte[] formatLabels(Map<String, String> labels) {
+    final StringBuilder builder = new StringBuilder();
+    final List<Entry<String, String>> labelSet = new ArrayList<>(labels.entrySet());
+    for (int i = 0; i < labelSet.size(); i++) {
+      final Entry<String, String> entry = labelSet.get(i);
+      builder.append(entry.getKey()).append("=\"").append(entry.getValue()).append("\"");
+      builder.append(i < labelSet.size() - 1 ? "," : "");
+    }
+    return builder.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  /** Records the given value. Negative values are recorded as zero. */
+  public void record(long value) {
+    final long normalizedValue = Math.max(0, value);
+
+    bucketValues.incrementAndGet(bucketIndex(normalizedValue));
+    sum.addAndGet(normalizedValue);
+  }
+
+  private int bucketIndex(long value) {
+    // the index of the smallest power of two which is greater or equal to the value
+    final int index = value <= 1 ? 0 : Long.SIZE - Long.numberOfLeadingZeros(value - 1);
+    return Math.min(index, bucketCount);
+  }
+
+  /** @return the upper bound of the bucket with the given index */
+  public long getUpperBound(int bucketIndex) {
+    return 1L << bucketIndex;
+  }
+
+  public int getBucketCount() {
+    return bucketCount;
+  }
+
+  public long getCount() {
+    long count = 0;
+    for (int i = 0; i <= bucketCount; i++) {
+      count += bucketValues.get(i);
+    }
+    return count;
+  }
+
+  public long getSum() {
+    return sum.get();
+  }
+
+  public String getName() {
+    return new String(name, StandardCharsets.UTF_8);
+  }
+
+  public int dump(MutableDirectBuffer buffer, int offset, long now) {
+    final byte[] timestamp = toBytes(now);
+
+    if (description.length > 0) {
+      offset = writeArray(buffer, offset, DESCRIPTION_PREFIX);
+      offset = writeArray(buffer, offset, name);
+      offset = writeArray(buffer, offset, WHITESPACE);
+      offset = writeArray(buffer, offset, description);
+      offset = writeArray(buffer, offset, NEW_LINE);
+    }
+
+    offset = writeArray(buffer, offset, TYPE_PREFIX);
+    offset = writeArray(buffer, offset, name);
+    offset = writeArray(buffer, offset, TYPE);
+
+    long cumulativeCount = 0;
+    for (int i = 0; i <= bucketCount; i++) {
+      cumulativeCount += bucketValues.get(i);
+
+      offset = writeArray(buffer, offset, name);
+      offset = writeArray(buffer, offset, BUCKET_SUFFIX);
+      if (labels.length > 0) {
+        offset = writeArray(buffer, offset, labels);
+        offset = writeArray(buffer, offset, COMMA);
+      }
+      offset = writeArray(buffer, offset, UPPER_BOUND_LABEL);
+      offset = writeArray(buffer, offset, i < bucketCount ? toBytes(getUpperBound(i)) : INFINITY);
+      offset = writeArray(buffer, offset, DOUBLE_QUOTE);
+      offset = writeValue(buffer, offset, cumulativeCount, timestamp);
+    }
+
+    offset = writeArray(buffer, offset, name);
+    offset = writeArray(buffer, offset, SUM_SUFFIX);
+    offset = writeArray(buffer, offset, labels);
+    offset = writeValue(buffer, offset, sum.get(), timestamp);
+
+    offset = writeArray(buffer, offset, name);
+    offset = writeArray(buffer, offset, COUNT_SUFFIX);
+    offset = writeArray(buffer, offset, labels);
+    offset = writeValue(buffer, offset, cumulativeCount, timestamp);
+
+    return offset;
+  }
+
+  private int writeValue(MutableDirectBuffer buffer, int offset, long value, byte[] timestamp) {
+    offset = writeArray(buffer, offset, CLOSING_CURLY_BRACE);
+    offset = writeArray(buffer, offset, toBytes(value));
+    offset = writeArray(buffer, offset, WHITESPACE);
+    offset = writeArray(buffer, offset, timestamp);
+    return writeArray(buffer, offset, NEW_LINE);
+  }
+
+  private static byte[] toBytes(long value) {
+    return Long.toString(value).getBytes(StandardCharsets.UTF_8);
+  }
+
+  private int writeArray(MutableDirectBuffer buffer, int offset, byte[] array) {
+    buffer.putBytes(offset, array);
+    return offset + array.length;
+  }
+
+  public void close() {
+    onClose.accept(this);
+  }
+}
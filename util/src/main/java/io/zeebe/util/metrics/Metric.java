@@ -106,6 +106,11 @@ public class Metric {
     return value.getAndAddOrdered(increment);
   }
 
+  /** Atomically adds the increment, can be used if the metric is updated by multiple threads. */
+  public long getAndAdd(long increment) {
+    return value.getAndAdd(increment);
+  }
+
   public String getName() {
     return new String(name, StandardCharsets.UTF_8);
   }
@@ -24,11 +24,15 @@ import java.util.function.Consumer;
 import org.agrona.MutableDirectBuffer;
 
 public class MetricsManager {
+  private static final int DEFAULT_BUCKET_COUNT = 24;
+
   private final List<Metric> metrics = new ArrayList<>();
+  private final List<Histogram> histograms = new ArrayList<>();
 
   private final String prefix;
   private final Map<String, String> globalLabels;
   private final Consumer<Metric> onClose = this::free;
+  private final Consumer<Histogram> onHistogramClose = this::free;
   private final ReentrantLock lock = new ReentrantLock();
 
   public MetricsManager() {
@@ -52,10 +56,28 @@ public class MetricsManager {
     }
   }
 
+  public Histogram allocateHistogram(
+      String name, String description, Map<String, String> labels, int bucketCount) {
+    lock.lock();
+    try {
+      labels.putAll(globalLabels);
+      final Histogram histogram =
+          new Histogram(prefix + name, description, labels, bucketCount, onHistogramClose);
+      histograms.add(histogram);
+      return histogram;
+    } finally {
+      lock.unlock();
+    }
+  }
+
   public MetricBuilder newMetric(String name) {
     return new MetricBuilder(name);
   }
 
+  public HistogramBuilder newHistogram(String name) {
+    return new HistogramBuilder(name);
+  }
+
   public int dump(MutableDirectBuffer buffer, int offset, long now) {
     lock.lock();
     try {
@@ -63,6 +85,10 @@ public class MetricsManager {
         offset = metrics.get(i).dump(buffer, offset, now);
       }
 
+      for (int i = 0; i < histograms.size(); i++) {
+        offset = histograms.get(i).dump(buffer, offset, now);
+      }
+
       return offset;
     } finally {
       lock.unlock();
@@ -78,6 +104,15 @@ public class MetricsManager {
     }
   }
 
+  public void free(Histogram histogram) {
+    lock.lock();
+    try {
+      histograms.remove(histogram);
+    } finally {
+      lock.unlock();
+    }
+  }
+
   public class MetricBuilder {
 
     private final String name;
@@ -109,4 +144,44 @@ public class MetricsManager {
       return MetricsManager.this.allocate(name, type, description, labels);
     }
   }
+
+  public class HistogramBuilder {
+
+    private final String name;
+    private String description;
+    private int bucketCount = DEFAULT_BUCKET_COUNT;
+    private final Map<String, String> labels = new HashMap<>();
+
+    public HistogramBuilder(String name) {
+      this.name = name;
+    }
+
+    public HistogramBuilder label(String name, String value) {
+      labels.put(name, value);
+      return this;
+    }
+
+    public HistogramBuilder description(String description) {
+      this.description = description;
+      return this;
+    }
+
+    /**
+     * Sets the number of buckets. The upper bound of the highest bucket is 2^(bucketCount - 1),
+     * larger values are only counted in the implicit +Inf bucket.
+     */
+    public HistogramBuilder bucketCount(int bucketCount) {
+      this.bucketCount = bucketCount;
+      return this;
+    }
+
+    public Histogram create() {
+      return MetricsManager.this.allocateHistogram(name, description, labels, bucketCount);
+    }
+
+    /** Creates a histogram which records durations in microseconds. */
+    public Timer createTimer() {
+      return new Timer(create());
+    }
+  }
 }
@@ -0,0 +1,54 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.util.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures durations in microseconds and records them in a {@link Histogram}. Since the start time
+ * is passed around by the caller, measuring a duration doesn't allocate.
+ *
+ * <pre>
+ * final long startTime = timer.start();
+ * // do something
+ * timer.stop(startTime);
+ * </pre>
+ */
+public class Timer {
+  private final Histogram histogram;
+
+  public Timer(Histogram histogram) {
+    this.histogram = histogram;
+  }
+
+  /** @return the start time, which has to be passed to {@link #stop(long)} */
+  public long start() {
+    return System.nanoTime();
+  }
+
+  /** Records the time which elapsed since the given start time. */
+  public void stop(long startTime) {
+    histogram.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startTime));
+  }
+
+  public Histogram getHistogram() {
+    return histogram;
+  }
+
+  public void close() {
+    histogram.close();
+  }
+}
@@ -144,6 +144,85 @@ public class MetricsTests {
             metricComment("bz_metric1") + "bz_metric1{broker=\"node1\",label1=\"value1\"} 0 100\n");
   }
 
+  @Test
+  public void shouldCreateHistogram() {
+    final MetricsManager metricsManager = new MetricsManager();
+
+    metricsManager
+        .newHistogram("latency")
+        .description("example histogram")
+        .label("label1", "value1")
+        .bucketCount(3)
+        .create();
+
+    final String dump = dumpAsString(metricsManager, 100);
+    assertThat(dump)
+        .isEqualTo(
+            metricComment("example histogram", "histogram", "zb_latency")
+                + "zb_latency_bucket{label1=\"value1\",le=\"1\"} 0 100\n"
+                + "zb_latency_bucket{label1=\"value1\",le=\"2\"} 0 100\n"
+                + "zb_latency_bucket{label1=\"value1\",le=\"4\"} 0 100\n"
+                + "zb_latency_bucket{label1=\"value1\",le=\"+Inf\"} 0 100\n"
+                + "zb_latency_sum{label1=\"value1\"} 0 100\n"
+                + "zb_latency_count{label1=\"value1\"} 0 100\n");
+  }
+
+  @Test
+  public void shouldRecordValuesInHistogramBuckets() {
+    final MetricsManager metricsManager = new MetricsManager();
+
+    final Histogram histogram = metricsManager.newHistogram("latency").bucketCount(3).create();
+
+    histogram.record(0);
+    histogram.record(1);
+    histogram.record(2);
+    histogram.record(3);
+    histogram.record(4);
+    histogram.record(5);
+    histogram.record(1_000);
+
+    assertThat(histogram.getCount()).isEqualTo(7);
+    assertThat(histogram.getSum()).isEqualTo(1_015);
+
+    final String dump = dumpAsString(metricsManager, 100);
+    assertThat(dump)
+        .isEqualTo(
+            metricComment("histogram", "zb_latency")
+                + "zb_latency_bucket{le=\"1\"} 2 100\n"
+                + "zb_latency_bucket{le=\"2\"} 3 100\n"
+                + "zb_latency_bucket{le=\"4\"} 5 100\n"
+                + "zb_latency_bucket{le=\"+Inf\"} 7 100\n"
+                + "zb_latency_sum{} 1015 100\n"
+                + "zb_latency_count{} 7 100\n");
+  }
+
+  @Test
+  public void shouldCloseHistogram() {
+    final MetricsManager metricsManager = new MetricsManager();
+
+    final Histogram histogram = metricsManager.newHistogram("latency").create();
+
+    histogram.close();
+
+    final String dump = dumpAsString(metricsManager, 100);
+    assertThat(dump).isEqualTo("");
+  }
+
+  @Test
+  public void shouldRecordDurationWithTimer() throws Exception {
+    final MetricsManager metricsManager = new MetricsManager();
+
+    final Timer timer = metricsManager.newHistogram("latency_microseconds").createTimer();
+
+    final long startTime = timer.start();
+    Thread.sleep(1);
+    timer.stop(startTime);
+
+    final Histogram histogram = timer.getHistogram();
+    assertThat(histogram.getCount()).isEqualTo(1);
+    assertThat(histogram.getSum()).isGreaterThanOrEqualTo(1_000);
+  }
+
   private static String dumpAsString(MetricsManager metricsManager, long now) {
     final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer();
     final int length = metricsManager.dump(buffer, 0, now);
@@ -110,4 +110,12 @@ public interface DbContext {
    * @return the transaction object
    */
   ZeebeDbTransaction getCurrentTransaction();
+
+  /**
+   * Adds a listener which is notified when a transaction of this context is committed or rolled
+   * back.
+   *
+   * @param listener the listener to add
+   */
+  void addTransactionListener(TransactionListener listener);
 }
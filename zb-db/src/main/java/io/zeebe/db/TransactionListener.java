@@ -0,0 +1,36 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.db;
+
+/**
+ * Is notified when the transaction of a {@link DbContext} is committed or rolled back, e.g. to keep
+ * an in-memory view of the state consistent with the committed state. The listener is only notified
+ * if the operation succeeded.
+ */
+public interface TransactionListener {
+
+  /** Is called after the transaction was committed. */
+  default void onCommit() {}
+
+  /** Is called after a save point was recorded for the transaction. */
+  default void onSavePoint() {}
+
+  /** Is called after the transaction was rolled back to its latest save point. */
+  default void onRollbackToSavePoint() {}
+
+  /** Is called after the transaction was rolled back. */
+  default void onRollback() {}
+}
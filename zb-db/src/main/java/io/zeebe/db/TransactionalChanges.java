@@ -0,0 +1,90 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.db;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import org.agrona.collections.IntArrayList;
+
+/**
+ * Collects the changes of an in-memory view which are made in the current transaction. The changes
+ * are applied when the transaction is committed and discarded when it is rolled back. A rollback to
+ * a save point only discards the changes which were added after the save point.
+ *
+ * <p>A change must be added before the corresponding state is written, since writing outside of a
+ * transaction commits immediately.
+ *
+ * @param <T> the type of a change
+ */
+public final class TransactionalChanges<T> implements TransactionListener {
+
+  private final List<T> changes = new ArrayList<>();
+  private final List<T> changesView = Collections.unmodifiableList(changes);
+  private final IntArrayList savePoints = new IntArrayList();
+  private final Consumer<List<T>> applyChanges;
+
+  /**
+   * @param applyChanges applies the committed changes in the order they were added; the list is
+   *     only valid during the call
+   */
+  public TransactionalChanges(Consumer<List<T>> applyChanges) {
+    this.applyChanges = applyChanges;
+  }
+
+  public void add(T change) {
+    changes.add(change);
+  }
+
+  /** @return the changes of the current transaction which are not committed yet */
+  public List<T> getChanges() {
+    return changesView;
+  }
+
+  @Override
+  public void onCommit() {
+    if (!changes.isEmpty()) {
+      applyChanges.accept(changesView);
+    }
+    discard();
+  }
+
+  @Override
+  public void onSavePoint() {
+    savePoints.addInt(changes.size());
+  }
+
+  @Override
+  public void onRollbackToSavePoint() {
+    if (savePoints.isEmpty()) {
+      changes.clear();
+    } else {
+      final int savePoint = savePoints.fastUnorderedRemove(savePoints.size() - 1);
+      changes.subList(savePoint, changes.size()).clear();
+    }
+  }
+
+  @Override
+  public void onRollback() {
+    discard();
+  }
+
+  private void discard() {
+    changes.clear();
+    savePoints.clear();
+  }
+}
@@ -46,4 +46,23 @@ public interface ZeebeDbTransaction {
    * @throws Exception if the underlying database has a non recoverable exception thrown
    */
   void rollback() throws Exception;
+
+  /**
+   * Records a save point for the current transaction. A subsequent {@link #rollbackToSavePoint()}
+   * discards only the changes which were made after this save point, which allows to commit several
+   * independent units of work with one {@link #commit()}.
+   *
+   * @throws ZeebeDbException if the underlying database has a recoverable exception thrown
+   * @throws Exception if the underlying database has a non recoverable exception thrown
+   */
+  void setSavePoint() throws Exception;
+
+  /**
+   * Rolls the transaction back to the latest save point, discards all changes made since then. The
+   * save point is removed afterwards.
+   *
+   * @throws ZeebeDbException if the underlying database has a recoverable exception thrown
+   * @throws Exception if the underlying database has a non recoverable exception thrown
+   */
+  void rollbackToSavePoint() throws Exception;
 }
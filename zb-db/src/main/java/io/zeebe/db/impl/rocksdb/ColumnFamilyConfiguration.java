@@ -0,0 +1,131 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.db.impl.rocksdb;
+
+/**
+ * The RocksDB options of a column family. A value of zero (or null for the compression) keeps the
+ * RocksDB default.
+ */
+public final class ColumnFamilyConfiguration {
+
+  private long writeBufferSize;
+  private int maxWriteBufferNumber;
+  private String compression;
+  private int bloomFilterBitsPerKey;
+  private int fixedPrefixLength;
+  private long cacheSize;
+
+  public ColumnFamilyConfiguration() {}
+
+  public ColumnFamilyConfiguration(ColumnFamilyConfiguration other) {
+    this.writeBufferSize = other.writeBufferSize;
+    this.maxWriteBufferNumber = other.maxWriteBufferNumber;
+    this.compression = other.compression;
+    this.bloomFilterBitsPerKey = other.bloomFilterBitsPerKey;
+    this.fixedPrefixLength = other.fixedPrefixLength;
+    this.cacheSize = other.cacheSize;
+  }
+
+  public long getWriteBufferSize() {
+    return writeBufferSize;
+  }
+
+  /** The size of a memtable in bytes. */
+  public ColumnFamilyConfiguration setWriteBufferSize(long writeBufferSize) {
+    this.writeBufferSize = writeBufferSize;
+    return this;
+  }
+
+  public int getMaxWriteBufferNumber() {
+    return maxWriteBufferNumber;
+  }
+
+  /** The maximum number of memtables, including the ones which are flushed. */
+  public ColumnFamilyConfiguration setMaxWriteBufferNumber(int maxWriteBufferNumber) {
+    this.maxWriteBufferNumber = maxWriteBufferNumber;
+    return this;
+  }
+
+  public String getCompression() {
+    return compression;
+  }
+
+  /** The compression library, e.g. none, snappy, lz4 or zstd. */
+  public ColumnFamilyConfiguration setCompression(String compression) {
+    this.compression = compression;
+    return this;
+  }
+
+  public int getBloomFilterBitsPerKey() {
+    return bloomFilterBitsPerKey;
+  }
+
+  /**
+   * Adds a bloom filter with the given bits per key to the SST files, so that lookups of absent
+   * keys (and prefixes) can skip files. Ten bits per key give a false positive rate of about 1%.
+   */
+  public ColumnFamilyConfiguration setBloomFilterBitsPerKey(int bloomFilterBitsPerKey) {
+    this.bloomFilterBitsPerKey = bloomFilterBitsPerKey;
+    return this;
+  }
+
+  public int getFixedPrefixLength() {
+    return fixedPrefixLength;
+  }
+
+  /**
+   * Sets a prefix extractor which takes the given number of bytes of a key. It should only be set
+   * for column families which are iterated by a prefix of at least this length, e.g. the first
+   * {@code long} of a composite key, since prefix iterations can then skip files which don't
+   * contain the prefix. An iteration by a shorter prefix falls back to a total order seek.
+   */
+  public ColumnFamilyConfiguration setFixedPrefixLength(int fixedPrefixLength) {
+    this.fixedPrefixLength = fixedPrefixLength;
+    return this;
+  }
+
+  public long getCacheSize() {
+    return cacheSize;
+  }
+
+  /**
+   * The size in bytes of the read-through cache for the committed values of the column family. Zero
+   * disables the cache.
+   */
+  public ColumnFamilyConfiguration setCacheSize(long cacheSize) {
+    this.cacheSize = cacheSize;
+    return this;
+  }
+
+  @Override
+  public String toString() {
+    return "ColumnFamilyConfiguration{"
+        + "writeBufferSize="
+        + writeBufferSize
+        + ", maxWriteBufferNumber="
+        + maxWriteBufferNumber
+        + ", compression='"
+        + compression
+        + '\''
+        + ", bloomFilterBitsPerKey="
+        + bloomFilterBitsPerKey
+        + ", fixedPrefixLength="
+        + fixedPrefixLength
+        + ", cacheSize="
+        + cacheSize
+        + '}';
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.db.impl.rocksdb;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The RocksDB options of a database: a block cache which is shared by all column families, the
+ * default options of the column families and the options of single column families. Column families
+ * are identified by the (case insensitive) name of their enum constant.
+ */
+public final class RocksDbConfiguration {
+
+  private boolean useWriteBatch;
+  private long blockCacheSize;
+  private ColumnFamilyConfiguration defaultColumnFamilyConfiguration =
+      new ColumnFamilyConfiguration();
+  private final Map<String, ColumnFamilyConfiguration> columnFamilyConfigurations = new HashMap<>();
+
+  public RocksDbConfiguration() {}
+
+  public RocksDbConfiguration(RocksDbConfiguration other) {
+    this.useWriteBatch = other.useWriteBatch;
+    this.blockCacheSize = other.blockCacheSize;
+    this.defaultColumnFamilyConfiguration =
+        new ColumnFamilyConfiguration(other.defaultColumnFamilyConfiguration);
+    other.columnFamilyConfigurations.forEach(
+        (name, configuration) ->
+            columnFamilyConfigurations.put(name, new ColumnFamilyConfiguration(configuration)));
+  }
+
+  public boolean isUseWriteBatch() {
+    return useWriteBatch;
+  }
+
+  /**
+   * If enabled, the transactions collect their writes in a write batch which is written atomically
+   * on commit, instead of using optimistic RocksDB transactions. The transactions don't detect
+   * conflicts, so the database should only be written by one context.
+   */
+  public RocksDbConfiguration setUseWriteBatch(boolean useWriteBatch) {
+    this.useWriteBatch = useWriteBatch;
+    return this;
+  }
+
+  public long getBlockCacheSize() {
+    return blockCacheSize;
+  }
+
+  /**
+   * The size in bytes of the LRU block cache which is shared by all column families. Zero keeps the
+   * RocksDB default of a small cache.
+   */
+  public RocksDbConfiguration setBlockCacheSize(long blockCacheSize) {
+    this.blockCacheSize = blockCacheSize;
+    return this;
+  }
+
+  public ColumnFamilyConfiguration getDefaultColumnFamilyConfiguration() {
+    return defaultColumnFamilyConfiguration;
+  }
+
+  /** The options of all column families which are not configured explicitly. */
+  public RocksDbConfiguration setDefaultColumnFamilyConfiguration(
+      ColumnFamilyConfiguration defaultColumnFamilyConfiguration) {
+    this.defaultColumnFamilyConfiguration = defaultColumnFamilyConfiguration;
+    return this;
+  }
+
+  public RocksDbConfiguration setColumnFamilyConfiguration(
+      String columnFamily, ColumnFamilyConfiguration configuration) {
+    columnFamilyConfigurations.put(columnFamily.toUpperCase(), configuration);
+    return this;
+  }
+
+  public boolean hasColumnFamilyConfiguration(String columnFamily) {
+    return columnFamilyConfigurations.containsKey(columnFamily.toUpperCase());
+  }
+
+  /** @return the explicitly configured column families, by the upper case name */
+  public Map<String, ColumnFamilyConfiguration> getColumnFamilyConfigurations() {
+    return columnFamilyConfigurations;
+  }
+
+  /** @return the options of the column family, or the default options if it has none */
+  public ColumnFamilyConfiguration getColumnFamilyConfiguration(String columnFamily) {
+    return columnFamilyConfigurations.getOrDefault(
+        columnFamily.toUpperCase(), defaultColumnFamilyConfiguration);
+  }
+
+  @Override
+  public String toString() {
+    return "RocksDbConfiguration{"
+        + "useWriteBatch="
+        + useWriteBatch
+        + ", blockCacheSize="
+        + blockCacheSize
+        + ", defaultColumnFamilyConfiguration="
+        + defaultColumnFamilyConfiguration
+        + ", columnFamilyConfigurations="
+        + columnFamilyConfigurations
+        + '}';
+  }
+}
@@ -19,13 +19,18 @@ import io.zeebe.db.ZeebeDbFactory;
 import io.zeebe.db.impl.rocksdb.transaction.ZeebeTransactionDb;
 import java.io.File;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.BloomFilter;
+import org.rocksdb.Cache;
 import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyOptions;
 import org.rocksdb.CompactionPriority;
+import org.rocksdb.CompressionType;
 import org.rocksdb.DBOptions;
+import org.rocksdb.LRUCache;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 
@@ -37,38 +42,55 @@ public final class ZeebeRocksDbFactory<ColumnFamilyType extends Enum<ColumnFamil
   }
 
   private final Class<ColumnFamilyType> columnFamilyTypeClass;
+  private final RocksDbConfiguration configuration;
 
-  private ZeebeRocksDbFactory(Class<ColumnFamilyType> columnFamilyTypeClass) {
+  private ZeebeRocksDbFactory(
+      Class<ColumnFamilyType> columnFamilyTypeClass, RocksDbConfiguration configuration) {
     this.columnFamilyTypeClass = columnFamilyTypeClass;
+    this.configuration = configuration;
   }
 
   public static <ColumnFamilyType extends Enum<ColumnFamilyType>>
       ZeebeDbFactory<ColumnFamilyType> newFactory(Class<ColumnFamilyType> columnFamilyTypeClass) {
-    return new ZeebeRocksDbFactory(columnFamilyTypeClass);
+    return new ZeebeRocksDbFactory<>(columnFamilyTypeClass, new RocksDbConfiguration());
   }
 
-  @Override
-  public ZeebeTransactionDb<ColumnFamilyType> createDb(File pathName) {
-    return open(
-        pathName,
-        Arrays.stream(columnFamilyTypeClass.getEnumConstants())
-            .map(c -> c.name().toLowerCase().getBytes())
-            .collect(Collectors.toList()));
+  /**
+   * Creates a factory for databases with the given RocksDB options, e.g. bloom filters, prefix
+   * extractors or a read-through cache for some column families.
+   */
+  public static <ColumnFamilyType extends Enum<ColumnFamilyType>>
+      ZeebeDbFactory<ColumnFamilyType> newFactory(
+          Class<ColumnFamilyType> columnFamilyTypeClass, RocksDbConfiguration configuration) {
+    return new ZeebeRocksDbFactory<>(columnFamilyTypeClass, configuration);
   }
 
-  protected ZeebeTransactionDb<ColumnFamilyType> open(
-      final File dbDirectory, List<byte[]> columnFamilyNames) {
-
+  @Override
+  public ZeebeTransactionDb<ColumnFamilyType> createDb(File pathName) {
     final ZeebeTransactionDb<ColumnFamilyType> db;
     try {
       final List<AutoCloseable> closeables = new ArrayList<>();
 
-      // column family options have to be closed as last
-      final ColumnFamilyOptions columnFamilyOptions = createColumnFamilyOptions();
-      closeables.add(columnFamilyOptions);
+      // the block cache, filters and column family options have to be closed as last
+      final Cache blockCache = createBlockCache(closeables);
+
+      final List<ColumnFamilyDescriptor> columnFamilyDescriptors = new ArrayList<>();
+      final Map<ColumnFamilyType, ColumnFamilyConfiguration> columnFamilyConfigurations =
+          new EnumMap<>(columnFamilyTypeClass);
+
+      for (ColumnFamilyType columnFamily : columnFamilyTypeClass.getEnumConstants()) {
+        final ColumnFamilyConfiguration columnFamilyConfiguration =
+            configuration.getColumnFamilyConfiguration(columnFamily.name());
+
+        final ColumnFamilyOptions columnFamilyOptions =
+            createColumnFamilyOptions(columnFamilyConfiguration, blockCache, closeables);
+        columnFamilyDescriptors.add(
+            new ColumnFamilyDescriptor(
+                columnFamily.name().toLowerCase().getBytes(), columnFamilyOptions));
+
+        columnFamilyConfigurations.put(columnFamily, columnFamilyConfiguration);
+      }
 
-      final List<ColumnFamilyDescriptor> columnFamilyDescriptors =
-          createFamilyDescriptors(columnFamilyNames, columnFamilyOptions);
       final DBOptions dbOptions =
           new DBOptions()
               .setCreateMissingColumnFamilies(true)
@@ -77,13 +99,25 @@ public final class ZeebeRocksDbFactory<ColumnFamilyType extends Enum<ColumnFamil
               .setParanoidChecks(true);
       closeables.add(dbOptions);
 
-      db =
-          ZeebeTransactionDb.openTransactionalDb(
-              dbOptions,
-              dbDirectory.getAbsolutePath(),
-              columnFamilyDescriptors,
-              closeables,
-              columnFamilyTypeClass);
+      if (configuration.isUseWriteBatch()) {
+        db =
+            ZeebeTransactionDb.openWriteBatchDb(
+                dbOptions,
+                pathName.getAbsolutePath(),
+                columnFamilyDescriptors,
+                closeables,
+                columnFamilyTypeClass,
+                columnFamilyConfigurations);
+      } else {
+        db =
+            ZeebeTransactionDb.openTransactionalDb(
+                dbOptions,
+                pathName.getAbsolutePath(),
+                columnFamilyDescriptors,
+                closeables,
+                columnFamilyTypeClass,
+                columnFamilyConfigurations);
+      }
 
     } catch (final RocksDBException e) {
       throw new RuntimeException("Unexpected error occurred trying to open the database", e);
@@ -91,23 +125,71 @@ public final class ZeebeRocksDbFactory<ColumnFamilyType extends Enum<ColumnFamil
     return db;
   }
 
-  private List<ColumnFamilyDescriptor> createFamilyDescriptors(
-      List<byte[]> columnFamilyNames, ColumnFamilyOptions columnFamilyOptions) {
-    final List<ColumnFamilyDescriptor> columnFamilyDescriptors = new ArrayList<>();
-
-    if (columnFamilyNames != null && columnFamilyNames.size() > 0) {
-      for (byte[] name : columnFamilyNames) {
-        final ColumnFamilyDescriptor columnFamilyDescriptor =
-            new ColumnFamilyDescriptor(name, columnFamilyOptions);
-        columnFamilyDescriptors.add(columnFamilyDescriptor);
-      }
+  private Cache createBlockCache(List<AutoCloseable> closeables) {
+    if (configuration.getBlockCacheSize() <= 0) {
+      return null;
     }
-    return columnFamilyDescriptors;
+
+    final Cache blockCache = new LRUCache(configuration.getBlockCacheSize());
+    closeables.add(blockCache);
+    return blockCache;
   }
 
-  private static ColumnFamilyOptions createColumnFamilyOptions() {
+  private static ColumnFamilyOptions createColumnFamilyOptions(
+      ColumnFamilyConfiguration configuration, Cache blockCache, List<AutoCloseable> closeables) {
     // Options which are used on all column families
-    return new ColumnFamilyOptions()
-        .setCompactionPriority(CompactionPriority.OldestSmallestSeqFirst);
+    final ColumnFamilyOptions options =
+        new ColumnFamilyOptions().setCompactionPriority(CompactionPriority.OldestSmallestSeqFirst);
+
+    final BlockBasedTableConfig tableConfig = new BlockBasedTableConfig();
+    if (blockCache != null) {
+      tableConfig.setBlockCache(blockCache);
+    }
+
+    if (configuration.getBloomFilterBitsPerKey() > 0) {
+      final BloomFilter bloomFilter =
+          new BloomFilter(configuration.getBloomFilterBitsPerKey(), false);
+      closeables.add(bloomFilter);
+      tableConfig.setFilterPolicy(bloomFilter);
+    }
+
+    options.setTableFormatConfig(tableConfig);
+
+    if (configuration.getFixedPrefixLength() > 0) {
+      options.useFixedLengthPrefixExtractor(configuration.getFixedPrefixLength());
+    }
+
+    if (configuration.getWriteBufferSize() > 0) {
+      options.setWriteBufferSize(configuration.getWriteBufferSize());
+    }
+
+    if (configuration.getMaxWriteBufferNumber() > 0) {
+      options.setMaxWriteBufferNumber(configuration.getMaxWriteBufferNumber());
+    }
+
+    if (configuration.getCompression() != null) {
+      options.setCompressionType(toCompressionType(configuration.getCompression()));
+    }
+
+    closeables.add(options);
+    return options;
+  }
+
+  private static CompressionType toCompressionType(String compression) {
+    final String libraryName = compression.toLowerCase();
+    if (libraryName.equals("none")) {
+      return CompressionType.NO_COMPRESSION;
+    }
+
+    for (CompressionType type : CompressionType.values()) {
+      if (libraryName.equals(type.getLibraryName())) {
+        return type;
+      }
+    }
+
+    throw new IllegalArgumentException(
+        String.format(
+            "Expected compression to be one of none, snappy, z, bzip2, lz4, lz4hc, xpress or zstd, but was '%s'",
+            compression));
   }
 }
@@ -0,0 +1,94 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.db.impl.rocksdb.transaction;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * A least recently used cache for the committed values of a column family. It holds at most the
+ * configured size in bytes (keys and values).
+ *
+ * <p>The cache never contains values which are not committed: a key is invalidated when it is
+ * written in a transaction, and again when the transaction is committed or rolled back. In between,
+ * the transaction bypasses the cache for this key (see {@link ZeebeTransaction}).
+ *
+ * <p>The cached value arrays are returned by reference and must not be modified.
+ */
+final class ColumnFamilyCache {
+
+  private final long maxSize;
+  private final LinkedHashMap<DirectBuffer, byte[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private final UnsafeBuffer lookupKey = new UnsafeBuffer(0, 0);
+
+  private long size;
+
+  ColumnFamilyCache(long maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  byte[] get(byte[] key, int keyLength) {
+    lookupKey.wrap(key, 0, keyLength);
+    return entries.get(lookupKey);
+  }
+
+  void put(byte[] key, int keyLength, byte[] value) {
+    final long entrySize = keyLength + value.length;
+    if (entrySize > maxSize) {
+      return;
+    }
+
+    invalidate(key, keyLength);
+
+    entries.put(new UnsafeBuffer(Arrays.copyOf(key, keyLength)), value);
+    size += entrySize;
+
+    evict();
+  }
+
+  void invalidate(byte[] key, int keyLength) {
+    lookupKey.wrap(key, 0, keyLength);
+    invalidate(lookupKey);
+  }
+
+  void invalidate(DirectBuffer key) {
+    final byte[] value = entries.remove(key);
+    if (value != null) {
+      size -= key.capacity() + value.length;
+    }
+  }
+
+  private void evict() {
+    final Iterator<Entry<DirectBuffer, byte[]>> iterator = entries.entrySet().iterator();
+    while (size > maxSize && iterator.hasNext()) {
+      final Entry<DirectBuffer, byte[]> eldest = iterator.next();
+      size -= eldest.getKey().capacity() + eldest.getValue().length;
+      iterator.remove();
+    }
+  }
+
+  int getEntryCount() {
+    return entries.size();
+  }
+
+  long getSize() {
+    return size;
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.db.impl.rocksdb.transaction;
+
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ReadOptions;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+import org.rocksdb.WriteBatchWithIndex;
+import org.rocksdb.WriteOptions;
+
+/**
+ * A transaction which collects the writes in an indexed write batch and writes the batch atomically
+ * to the database on commit. Reads and iterations see the uncommitted writes of the batch.
+ *
+ * <p>In contrast to an optimistic transaction, it doesn't track the read and written keys to detect
+ * conflicts with other transactions. This is not needed if the database is only written by one
+ * context, like the state of a partition.
+ */
+public class WriteBatchZeebeTransaction extends ZeebeTransaction {
+
+  private final RocksDB database;
+  private final long databaseHandle;
+  private final WriteOptions writeOptions;
+
+  // overwrite keys, otherwise the iterators see all writes of a key
+  private final WriteBatchWithIndex batch = new WriteBatchWithIndex(true);
+  private final long batchHandle;
+
+  public WriteBatchZeebeTransaction(RocksDB database, WriteOptions writeOptions) {
+    this.database = database;
+    this.writeOptions = writeOptions;
+    try {
+      databaseHandle = RocksDbInternal.nativeHandle.getLong(database);
+      batchHandle = RocksDbInternal.nativeHandle.getLong(batch);
+    } catch (Exception ex) {
+      throw new RuntimeException(ex);
+    }
+  }
+
+  @Override
+  public void put(long columnFamilyHandle, byte[] key, int keyLength, byte[] value, int valueLength)
+      throws Exception {
+    RocksDbInternal.batchPutWithHandle.invoke(
+        batch, batchHandle, key, keyLength, value, valueLength, columnFamilyHandle);
+  }
+
+  @Override
+  public byte[] get(long columnFamilyHandle, long readOptionsHandle, byte[] key, int keyLength)
+      throws Exception {
+    return (byte[])
+        RocksDbInternal.batchGetWithHandle.invoke(
+            batch,
+            batchHandle,
+            databaseHandle,
+            readOptionsHandle,
+            key,
+            keyLength,
+            columnFamilyHandle);
+  }
+
+  @Override
+  public void delete(long columnFamilyHandle, byte[] key, int keyLength) throws Exception {
+    RocksDbInternal.batchRemoveWithHandle.invoke(
+        batch, batchHandle, key, keyLength, columnFamilyHandle);
+  }
+
+  @Override
+  public RocksIterator newIterator(ReadOptions options, ColumnFamilyHandle handle) {
+    // the returned iterator takes the ownership of the base iterator
+    return batch.newIteratorWithBase(handle, database.newIterator(handle, options));
+  }
+
+  @Override
+  protected void commitTransaction() throws RocksDBException {
+    database.write(writeOptions, batch);
+    batch.clear();
+  }
+
+  @Override
+  protected void rollbackTransaction() {
+    batch.clear();
+  }
+
+  @Override
+  protected void setTransactionSavePoint() {
+    batch.setSavePoint();
+  }
+
+  @Override
+  protected void rollbackTransactionToSavePoint() throws RocksDBException {
+    batch.rollbackToSavePoint();
+  }
+
+  @Override
+  public void close() {
+    batch.close();
+  }
+}
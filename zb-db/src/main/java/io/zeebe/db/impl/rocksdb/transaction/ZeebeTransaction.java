@@ -17,50 +17,99 @@ package io.zeebe.db.impl.rocksdb.transaction;
 
 import static io.zeebe.db.impl.rocksdb.transaction.RocksDbInternal.isRocksDbExceptionRecoverable;
 
+import io.zeebe.db.TransactionListener;
 import io.zeebe.db.TransactionOperation;
 import io.zeebe.db.ZeebeDbException;
 import io.zeebe.db.ZeebeDbTransaction;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
-import org.rocksdb.Transaction;
 
-public class ZeebeTransaction implements ZeebeDbTransaction, AutoCloseable {
+/**
+ * The transaction of a {@link DefaultDbContext}. The operations are implemented either on an
+ * optimistic RocksDB transaction or on a write batch, see {@link OptimisticZeebeTransaction} and
+ * {@link WriteBatchZeebeTransaction}.
+ */
+public abstract class ZeebeTransaction implements ZeebeDbTransaction, AutoCloseable {
 
-  private final Transaction transaction;
-  private final long nativeHandle;
   private boolean inCurrentTransaction;
 
-  public ZeebeTransaction(Transaction transaction) {
-    this.transaction = transaction;
-    try {
-      nativeHandle = RocksDbInternal.nativeHandle.getLong(transaction);
-    } catch (Exception ex) {
-      throw new RuntimeException(ex);
+  // keys of cached column families which are written in the current transaction
+  private final Map<ColumnFamilyCache, Set<DirectBuffer>> writtenCachedKeys =
+      new IdentityHashMap<>();
+  private final UnsafeBuffer lookupKey = new UnsafeBuffer(0, 0);
+
+  private final List<TransactionListener> listeners = new ArrayList<>();
+
+  public abstract void put(
+      long columnFamilyHandle, byte[] key, int keyLength, byte[] value, int valueLength)
+      throws Exception;
+
+  public abstract byte[] get(
+      long columnFamilyHandle, long readOptionsHandle, byte[] key, int keyLength) throws Exception;
+
+  public abstract void delete(long columnFamilyHandle, byte[] key, int keyLength) throws Exception;
+
+  public abstract RocksIterator newIterator(ReadOptions options, ColumnFamilyHandle handle);
+
+  protected abstract void commitTransaction() throws RocksDBException;
+
+  protected abstract void rollbackTransaction() throws RocksDBException;
+
+  protected abstract void setTransactionSavePoint() throws RocksDBException;
+
+  protected abstract void rollbackTransactionToSavePoint() throws RocksDBException;
+
+  /**
+   * Removes the key from the cache and bypasses the cache for it until the transaction is committed
+   * or rolled back, since the transaction sees the uncommitted value.
+   */
+  void onCachedKeyWritten(ColumnFamilyCache cache, byte[] key, int keyLength) {
+    cache.invalidate(key, keyLength);
+
+    final Set<DirectBuffer> writtenKeys =
+        writtenCachedKeys.computeIfAbsent(cache, c -> new HashSet<>());
+    lookupKey.wrap(key, 0, keyLength);
+    if (!writtenKeys.contains(lookupKey)) {
+      writtenKeys.add(new UnsafeBuffer(Arrays.copyOf(key, keyLength)));
     }
   }
 
-  public void put(long columnFamilyHandle, byte[] key, int keyLength, byte[] value, int valueLength)
-      throws Exception {
-    RocksDbInternal.putWithHandle.invoke(
-        transaction, nativeHandle, key, keyLength, value, valueLength, columnFamilyHandle, false);
-  }
+  boolean isCachedKeyWritten(ColumnFamilyCache cache, byte[] key, int keyLength) {
+    final Set<DirectBuffer> writtenKeys = writtenCachedKeys.get(cache);
+    if (writtenKeys == null || writtenKeys.isEmpty()) {
+      return false;
+    }
 
-  public byte[] get(long columnFamilyHandle, long readOptionsHandle, byte[] key, int keyLength)
-      throws Exception {
-    return (byte[])
-        RocksDbInternal.getWithHandle.invoke(
-            transaction, nativeHandle, readOptionsHandle, key, keyLength, columnFamilyHandle);
+    lookupKey.wrap(key, 0, keyLength);
+    return writtenKeys.contains(lookupKey);
   }
 
-  public void delete(long columnFamilyHandle, byte[] key, int keyLength) throws Exception {
-    RocksDbInternal.removeWithHandle.invoke(
-        transaction, nativeHandle, key, keyLength, columnFamilyHandle, false);
+  private void invalidateWrittenCachedKeys() {
+    // another context may have cached the previous value of a key in the meantime
+    for (Map.Entry<ColumnFamilyCache, Set<DirectBuffer>> entry : writtenCachedKeys.entrySet()) {
+      final ColumnFamilyCache cache = entry.getKey();
+      final Set<DirectBuffer> writtenKeys = entry.getValue();
+
+      for (DirectBuffer writtenKey : writtenKeys) {
+        cache.invalidate(writtenKey);
+      }
+      writtenKeys.clear();
+    }
   }
 
-  public RocksIterator newIterator(ReadOptions options, ColumnFamilyHandle handle) {
-    return transaction.getIterator(options, handle);
+  void addListener(TransactionListener listener) {
+    listeners.add(listener);
   }
 
   void resetTransaction() {
@@ -86,7 +135,15 @@ public class ZeebeTransaction implements ZeebeDbTransaction, AutoCloseable {
 
   void commitInternal() throws RocksDBException {
     inCurrentTransaction = false;
-    transaction.commit();
+    try {
+      commitTransaction();
+    } finally {
+      invalidateWrittenCachedKeys();
+    }
+
+    for (int i = 0; i < listeners.size(); i++) {
+      listeners.get(i).onCommit();
+    }
   }
 
   @Override
@@ -104,7 +161,15 @@ public class ZeebeTransaction implements ZeebeDbTransaction, AutoCloseable {
 
   void rollbackInternal() throws RocksDBException {
     inCurrentTransaction = false;
-    transaction.rollback();
+    try {
+      rollbackTransaction();
+    } finally {
+      invalidateWrittenCachedKeys();
+    }
+
+    for (int i = 0; i < listeners.size(); i++) {
+      listeners.get(i).onRollback();
+    }
   }
 
   @Override
@@ -120,7 +185,41 @@ public class ZeebeTransaction implements ZeebeDbTransaction, AutoCloseable {
     }
   }
 
-  public void close() {
-    transaction.close();
+  @Override
+  public void setSavePoint() throws RocksDBException {
+    try {
+      setTransactionSavePoint();
+
+      for (int i = 0; i < listeners.size(); i++) {
+        listeners.get(i).onSavePoint();
+      }
+    } catch (RocksDBException rdbex) {
+      final String errorMessage = "Unexpected error occurred during RocksDB set save point.";
+      if (isRocksDbExceptionRecoverable(rdbex)) {
+        throw new ZeebeDbException(errorMessage, rdbex);
+      }
+      throw rdbex;
+    }
   }
+
+  @Override
+  public void rollbackToSavePoint() throws RocksDBException {
+    try {
+      rollbackTransactionToSavePoint();
+
+      for (int i = 0; i < listeners.size(); i++) {
+        listeners.get(i).onRollbackToSavePoint();
+      }
+    } catch (RocksDBException rdbex) {
+      final String errorMessage =
+          "Unexpected error occurred during RocksDB transaction rollback to save point.";
+      if (isRocksDbExceptionRecoverable(rdbex)) {
+        throw new ZeebeDbException(errorMessage, rdbex);
+      }
+      throw rdbex;
+    }
+  }
+
+  @Override
+  public abstract void close();
 }
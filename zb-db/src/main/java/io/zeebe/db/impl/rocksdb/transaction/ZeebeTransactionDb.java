@@ -24,16 +24,19 @@ import io.zeebe.db.DbValue;
 import io.zeebe.db.KeyValuePairVisitor;
 import io.zeebe.db.ZeebeDb;
 import io.zeebe.db.ZeebeDbException;
+import io.zeebe.db.impl.rocksdb.ColumnFamilyConfiguration;
 import io.zeebe.db.impl.rocksdb.Loggers;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import org.agrona.DirectBuffer;
+import org.agrona.collections.Long2LongHashMap;
 import org.agrona.collections.Long2ObjectHashMap;
 import org.rocksdb.Checkpoint;
 import org.rocksdb.ColumnFamilyDescriptor;
@@ -41,10 +44,10 @@ import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.DBOptions;
 import org.rocksdb.OptimisticTransactionDB;
 import org.rocksdb.ReadOptions;
+import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
 import org.rocksdb.RocksObject;
-import org.rocksdb.Transaction;
 import org.rocksdb.WriteOptions;
 import org.slf4j.Logger;
 
@@ -63,13 +66,86 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
           final List<AutoCloseable> closables,
           Class<ColumnFamilyNames> columnFamilyTypeClass)
           throws RocksDBException {
-    final EnumMap<ColumnFamilyNames, Long> columnFamilyMap = new EnumMap<>(columnFamilyTypeClass);
+    return openTransactionalDb(
+        options,
+        path,
+        columnFamilyDescriptors,
+        closables,
+        columnFamilyTypeClass,
+        Collections.emptyMap());
+  }
 
+  /**
+   * Opens the database with a read-through cache and a prefix extractor for the column families
+   * which are configured so.
+   *
+   * @param columnFamilyConfigurations the options of the column families, which were used to create
+   *     the descriptors
+   */
+  public static <ColumnFamilyNames extends Enum<ColumnFamilyNames>>
+      ZeebeTransactionDb<ColumnFamilyNames> openTransactionalDb(
+          final DBOptions options,
+          final String path,
+          final List<ColumnFamilyDescriptor> columnFamilyDescriptors,
+          final List<AutoCloseable> closables,
+          Class<ColumnFamilyNames> columnFamilyTypeClass,
+          Map<ColumnFamilyNames, ColumnFamilyConfiguration> columnFamilyConfigurations)
+          throws RocksDBException {
     final List<ColumnFamilyHandle> handles = new ArrayList<>();
     final OptimisticTransactionDB optimisticTransactionDB =
         OptimisticTransactionDB.open(options, path, columnFamilyDescriptors, handles);
     closables.add(optimisticTransactionDB);
 
+    return newDb(
+        optimisticTransactionDB,
+        writeOptions ->
+            new OptimisticZeebeTransaction(optimisticTransactionDB.beginTransaction(writeOptions)),
+        handles,
+        closables,
+        columnFamilyTypeClass,
+        columnFamilyConfigurations);
+  }
+
+  /**
+   * Opens the database without transaction support of RocksDB. Instead, the transactions collect
+   * their writes in a write batch which is written atomically on commit. Since the transactions
+   * don't detect conflicts, the database should only be written by one context.
+   *
+   * @param columnFamilyConfigurations the options of the column families, which were used to create
+   *     the descriptors
+   */
+  public static <ColumnFamilyNames extends Enum<ColumnFamilyNames>>
+      ZeebeTransactionDb<ColumnFamilyNames> openWriteBatchDb(
+          final DBOptions options,
+          final String path,
+          final List<ColumnFamilyDescriptor> columnFamilyDescriptors,
+          final List<AutoCloseable> closables,
+          Class<ColumnFamilyNames> columnFamilyTypeClass,
+          Map<ColumnFamilyNames, ColumnFamilyConfiguration> columnFamilyConfigurations)
+          throws RocksDBException {
+    final List<ColumnFamilyHandle> handles = new ArrayList<>();
+    final RocksDB database = RocksDB.open(options, path, columnFamilyDescriptors, handles);
+    closables.add(database);
+
+    return newDb(
+        database,
+        writeOptions -> new WriteBatchZeebeTransaction(database, writeOptions),
+        handles,
+        closables,
+        columnFamilyTypeClass,
+        columnFamilyConfigurations);
+  }
+
+  private static <ColumnFamilyNames extends Enum<ColumnFamilyNames>>
+      ZeebeTransactionDb<ColumnFamilyNames> newDb(
+          final RocksDB database,
+          final TransactionFactory transactionFactory,
+          final List<ColumnFamilyHandle> handles,
+          final List<AutoCloseable> closables,
+          Class<ColumnFamilyNames> columnFamilyTypeClass,
+          Map<ColumnFamilyNames, ColumnFamilyConfiguration> columnFamilyConfigurations) {
+    final EnumMap<ColumnFamilyNames, Long> columnFamilyMap = new EnumMap<>(columnFamilyTypeClass);
+
     final ColumnFamilyNames[] enumConstants = columnFamilyTypeClass.getEnumConstants();
     final Long2ObjectHashMap<ColumnFamilyHandle> handleToEnumMap = new Long2ObjectHashMap<>();
     for (int i = 0; i < handles.size(); i++) {
@@ -79,8 +155,27 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
       handleToEnumMap.put(getNativeHandle(handles.get(i)), handles.get(i));
     }
 
+    final Long2ObjectHashMap<ColumnFamilyCache> caches = new Long2ObjectHashMap<>();
+    final Long2LongHashMap prefixExtractorLengths = new Long2LongHashMap(0);
+    columnFamilyConfigurations.forEach(
+        (columnFamily, configuration) -> {
+          final long handle = columnFamilyMap.get(columnFamily);
+          if (configuration.getCacheSize() > 0) {
+            caches.put(handle, new ColumnFamilyCache(configuration.getCacheSize()));
+          }
+          if (configuration.getFixedPrefixLength() > 0) {
+            prefixExtractorLengths.put(handle, configuration.getFixedPrefixLength());
+          }
+        });
+
     return new ZeebeTransactionDb<>(
-        optimisticTransactionDB, columnFamilyMap, handleToEnumMap, closables);
+        database,
+        transactionFactory,
+        columnFamilyMap,
+        handleToEnumMap,
+        caches,
+        prefixExtractorLengths,
+        closables);
   }
 
   private static long getNativeHandle(final RocksObject object) {
@@ -92,29 +187,40 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
     }
   }
 
-  private final OptimisticTransactionDB optimisticTransactionDB;
+  private final RocksDB database;
+  private final TransactionFactory transactionFactory;
   private final List<AutoCloseable> closables;
 
   private final EnumMap<ColumnFamilyNames, Long> columnFamilyMap;
   private final Long2ObjectHashMap<ColumnFamilyHandle> handelToEnumMap;
+  private final Long2ObjectHashMap<ColumnFamilyCache> caches;
+  // the length of the fixed prefix extractor by column family handle, if it has one
+  private final Long2LongHashMap prefixExtractorLengths;
 
   private final ReadOptions prefixReadOptions;
   private final ReadOptions defaultReadOptions;
   private final WriteOptions defaultWriteOptions;
 
   protected ZeebeTransactionDb(
-      OptimisticTransactionDB optimisticTransactionDB,
+      RocksDB database,
+      TransactionFactory transactionFactory,
       EnumMap<ColumnFamilyNames, Long> columnFamilyMap,
       Long2ObjectHashMap<ColumnFamilyHandle> handelToEnumMap,
+      Long2ObjectHashMap<ColumnFamilyCache> caches,
+      Long2LongHashMap prefixExtractorLengths,
       List<AutoCloseable> closables) {
-    this.optimisticTransactionDB = optimisticTransactionDB;
+    this.database = database;
+    this.transactionFactory = transactionFactory;
     this.columnFamilyMap = columnFamilyMap;
     this.handelToEnumMap = handelToEnumMap;
+    this.caches = caches;
+    this.prefixExtractorLengths = prefixExtractorLengths;
     this.closables = closables;
 
     prefixReadOptions = new ReadOptions().setPrefixSameAsStart(true).setTotalOrderSeek(false);
     closables.add(prefixReadOptions);
-    defaultReadOptions = new ReadOptions();
+    // iterate over all keys, even if the column family has a prefix extractor
+    defaultReadOptions = new ReadOptions().setTotalOrderSeek(true);
     closables.add(defaultReadOptions);
     defaultWriteOptions = new WriteOptions();
     closables.add(defaultWriteOptions);
@@ -147,9 +253,19 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
               key.getLength(),
               context.getValueBufferArray(),
               value.getLength());
+
+          onWrite(columnFamilyHandle, transaction, context, key);
         });
   }
 
+  private void onWrite(
+      long columnFamilyHandle, ZeebeTransaction transaction, DbContext context, DbKey key) {
+    final ColumnFamilyCache cache = caches.get(columnFamilyHandle);
+    if (cache != null) {
+      transaction.onCachedKeyWritten(cache, context.getKeyBufferArray(), key.getLength());
+    }
+  }
+
   private void ensureInOpenTransaction(DbContext context, TransactionConsumer operation) {
     context.runInTransaction(
         () -> operation.run((ZeebeTransaction) context.getCurrentTransaction()));
@@ -169,12 +285,22 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
     ensureInOpenTransaction(
         context,
         transaction -> {
-          final byte[] value =
-              transaction.get(
-                  columnFamilyHandle,
-                  getNativeHandle(defaultReadOptions),
-                  context.getKeyBufferArray(),
-                  keyLength);
+          final byte[] key = context.getKeyBufferArray();
+          final ColumnFamilyCache cache = caches.get(columnFamilyHandle);
+          final boolean isCacheable =
+              cache != null && !transaction.isCachedKeyWritten(cache, key, keyLength);
+
+          byte[] value = isCacheable ? cache.get(key, keyLength) : null;
+          if (value == null) {
+            value =
+                transaction.get(
+                    columnFamilyHandle, getNativeHandle(defaultReadOptions), key, keyLength);
+
+            if (isCacheable && value != null) {
+              cache.put(key, keyLength, value);
+            }
+          }
+
           context.wrapValueView(value);
         });
     return context.getValueView();
@@ -196,8 +322,10 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
 
     ensureInOpenTransaction(
         context,
-        transaction ->
-            transaction.delete(columnFamilyHandle, context.getKeyBufferArray(), key.getLength()));
+        transaction -> {
+          transaction.delete(columnFamilyHandle, context.getKeyBufferArray(), key.getLength());
+          onWrite(columnFamilyHandle, transaction, context, key);
+        });
   }
 
   ////////////////////////////////////////////////////////////////////
@@ -303,6 +431,10 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
    * prefix.
    *
    * <p>While iterating over subsequent keys we have to validate it.
+   *
+   * <p>If the prefix is shorter than the prefix extractor of the column family, the keys with the
+   * prefix can have different extracted prefixes, so the iteration must not be restricted by the
+   * prefix extractor and uses a total order seek instead.
    */
   protected <KeyType extends DbKey, ValueType extends DbValue> void whileEqualPrefix(
       long columnFamilyHandle,
@@ -316,8 +448,13 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
             ensureInOpenTransaction(
                 context,
                 transaction -> {
+                  final ReadOptions readOptions =
+                      prefix.getLength() >= prefixExtractorLengths.get(columnFamilyHandle)
+                          ? prefixReadOptions
+                          : defaultReadOptions;
+
                   try (RocksIterator iterator =
-                      newIterator(columnFamilyHandle, context, prefixReadOptions)) {
+                      newIterator(columnFamilyHandle, context, readOptions)) {
                     prefix.write(prefixKeyBuffer, 0);
                     final int prefixLength = prefix.getLength();
 
@@ -382,7 +519,7 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
 
   @Override
   public void createSnapshot(File snapshotDir) {
-    try (Checkpoint checkpoint = Checkpoint.create(optimisticTransactionDB)) {
+    try (Checkpoint checkpoint = Checkpoint.create(database)) {
       try {
         checkpoint.createCheckpoint(snapshotDir.getAbsolutePath());
       } catch (RocksDBException rocksException) {
@@ -393,8 +530,8 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
 
   @Override
   public DbContext createContext() {
-    final Transaction transaction = optimisticTransactionDB.beginTransaction(defaultWriteOptions);
-    final ZeebeTransaction zeebeTransaction = new ZeebeTransaction(transaction);
+    final ZeebeTransaction zeebeTransaction =
+        transactionFactory.newTransaction(defaultWriteOptions);
     closables.add(zeebeTransaction);
     return new DefaultDbContext(zeebeTransaction);
   }
@@ -420,6 +557,11 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
         });
   }
 
+  @FunctionalInterface
+  interface TransactionFactory {
+    ZeebeTransaction newTransaction(WriteOptions writeOptions);
+  }
+
   @FunctionalInterface
   interface TransactionConsumer {
     void run(ZeebeTransaction transaction) throws Exception;
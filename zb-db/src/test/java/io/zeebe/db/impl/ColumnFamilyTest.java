@@ -27,13 +27,24 @@ import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
 
+@RunWith(Parameterized.class)
 public class ColumnFamilyTest {
 
   @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
 
-  private final ZeebeDbFactory<DefaultColumnFamily> dbFactory =
-      DefaultZeebeDbFactory.getDefaultFactory(DefaultColumnFamily.class);
+  @Parameters(name = "useWriteBatch: {0}")
+  public static Object[][] parameters() {
+    return new Object[][] {new Object[] {false}, new Object[] {true}};
+  }
+
+  @Parameter public boolean useWriteBatch;
+
+  private ZeebeDbFactory<DefaultColumnFamily> dbFactory;
 
   private ZeebeDb<DefaultColumnFamily> zeebeDb;
   private ColumnFamily<DbLong, DbLong> columnFamily;
@@ -42,6 +53,11 @@ public class ColumnFamilyTest {
 
   @Before
   public void setup() throws Exception {
+    dbFactory =
+        useWriteBatch
+            ? DefaultZeebeDbFactory.getWriteBatchFactory(DefaultColumnFamily.class)
+            : DefaultZeebeDbFactory.getDefaultFactory(DefaultColumnFamily.class);
+
     final File pathName = temporaryFolder.newFolder();
     zeebeDb = dbFactory.createDb(pathName);
 
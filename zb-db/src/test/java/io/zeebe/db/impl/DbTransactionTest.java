@@ -30,13 +30,24 @@ import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
 
+@RunWith(Parameterized.class)
 public class DbTransactionTest {
 
   @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
 
-  private final ZeebeDbFactory<ColumnFamilies> dbFactory =
-      DefaultZeebeDbFactory.getDefaultFactory(ColumnFamilies.class);
+  @Parameters(name = "useWriteBatch: {0}")
+  public static Object[][] parameters() {
+    return new Object[][] {new Object[] {false}, new Object[] {true}};
+  }
+
+  @Parameter public boolean useWriteBatch;
+
+  private ZeebeDbFactory<ColumnFamilies> dbFactory;
 
   private DbContext dbContext;
 
@@ -60,6 +71,11 @@ public class DbTransactionTest {
 
   @Before
   public void setup() throws Exception {
+    dbFactory =
+        useWriteBatch
+            ? DefaultZeebeDbFactory.getWriteBatchFactory(ColumnFamilies.class)
+            : DefaultZeebeDbFactory.getDefaultFactory(ColumnFamilies.class);
+
     final File pathName = temporaryFolder.newFolder();
     final ZeebeDb<ColumnFamilies> zeebeDb = dbFactory.createDb(pathName);
     dbContext = zeebeDb.createContext();
@@ -247,6 +263,37 @@ public class DbTransactionTest {
     assertThat(threeColumnFamily.exists(threeKey)).isFalse();
   }
 
+  @Test
+  public void shouldRollbackToSavePoint() throws Exception {
+    // given
+    oneKey.wrapLong(1);
+    oneValue.wrapLong(-1);
+
+    twoKey.wrapLong(52000);
+    twoValue.wrapLong(192313);
+
+    threeKey.wrapLong(Short.MAX_VALUE);
+    threeValue.wrapLong(Integer.MAX_VALUE);
+
+    final ZeebeDbTransaction transaction = dbContext.getCurrentTransaction();
+    transaction.run(() -> oneColumnFamily.put(oneKey, oneValue));
+    transaction.setSavePoint();
+    transaction.run(
+        () -> {
+          twoColumnFamily.put(twoKey, twoValue);
+          threeColumnFamily.put(threeKey, threeValue);
+        });
+
+    // when
+    transaction.rollbackToSavePoint();
+    transaction.commit();
+
+    // then
+    assertThat(oneColumnFamily.exists(oneKey)).isTrue();
+    assertThat(twoColumnFamily.exists(twoKey)).isFalse();
+    assertThat(threeColumnFamily.exists(threeKey)).isFalse();
+  }
+
   @Test
   public void shouldGetValueInTransaction() {
     // given
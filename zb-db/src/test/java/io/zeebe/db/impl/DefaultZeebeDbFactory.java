@@ -16,6 +16,7 @@
 package io.zeebe.db.impl;
 
 import io.zeebe.db.ZeebeDbFactory;
+import io.zeebe.db.impl.rocksdb.RocksDbConfiguration;
 import io.zeebe.db.impl.rocksdb.ZeebeRocksDbFactory;
 
 public class DefaultZeebeDbFactory {
@@ -25,4 +26,11 @@ public class DefaultZeebeDbFactory {
           Class<ColumnFamilyType> columnFamilyTypeClass) {
     return ZeebeRocksDbFactory.newFactory(columnFamilyTypeClass);
   }
+
+  public static <ColumnFamilyType extends Enum<ColumnFamilyType>>
+      ZeebeDbFactory<ColumnFamilyType> getWriteBatchFactory(
+          Class<ColumnFamilyType> columnFamilyTypeClass) {
+    return ZeebeRocksDbFactory.newFactory(
+        columnFamilyTypeClass, new RocksDbConfiguration().setUseWriteBatch(true));
+  }
 }
@@ -0,0 +1,128 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.db.impl.rocksdb.transaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.db.ColumnFamily;
+import io.zeebe.db.DbContext;
+import io.zeebe.db.TransactionalChanges;
+import io.zeebe.db.ZeebeDb;
+import io.zeebe.db.ZeebeDbFactory;
+import io.zeebe.db.ZeebeDbTransaction;
+import io.zeebe.db.impl.DbLong;
+import io.zeebe.db.impl.DefaultColumnFamily;
+import io.zeebe.db.impl.DefaultZeebeDbFactory;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TransactionalChangesTest {
+
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final ZeebeDbFactory<DefaultColumnFamily> dbFactory =
+      DefaultZeebeDbFactory.getDefaultFactory(DefaultColumnFamily.class);
+  private final List<Long> appliedChanges = new ArrayList<>();
+
+  private DbContext dbContext;
+  private ColumnFamily<DbLong, DbLong> columnFamily;
+  private DbLong key;
+  private DbLong value;
+  private TransactionalChanges<Long> changes;
+
+  @Before
+  public void setup() throws Exception {
+    final File pathName = temporaryFolder.newFolder();
+    final ZeebeDb<DefaultColumnFamily> zeebeDb = dbFactory.createDb(pathName);
+    dbContext = zeebeDb.createContext();
+
+    key = new DbLong();
+    value = new DbLong();
+    columnFamily = zeebeDb.createColumnFamily(DefaultColumnFamily.DEFAULT, dbContext, key, value);
+
+    changes = new TransactionalChanges<>(appliedChanges::addAll);
+    dbContext.addTransactionListener(changes);
+  }
+
+  @Test
+  public void shouldApplyChangesOnCommit() throws Exception {
+    // given
+    final ZeebeDbTransaction transaction = dbContext.getCurrentTransaction();
+    transaction.run(() -> put(1));
+    transaction.run(() -> put(2));
+    assertThat(appliedChanges).isEmpty();
+    assertThat(changes.getChanges()).containsExactly(1L, 2L);
+
+    // when
+    transaction.commit();
+
+    // then
+    assertThat(appliedChanges).containsExactly(1L, 2L);
+    assertThat(changes.getChanges()).isEmpty();
+  }
+
+  @Test
+  public void shouldApplyChangesOutsideOfTransaction() {
+    // when
+    put(1);
+
+    // then
+    assertThat(appliedChanges).containsExactly(1L);
+  }
+
+  @Test
+  public void shouldDiscardChangesOnRollback() throws Exception {
+    // given
+    final ZeebeDbTransaction transaction = dbContext.getCurrentTransaction();
+    transaction.run(() -> put(1));
+
+    // when
+    transaction.rollback();
+    dbContext.getCurrentTransaction().commit();
+
+    // then
+    assertThat(appliedChanges).isEmpty();
+    assertThat(changes.getChanges()).isEmpty();
+  }
+
+  @Test
+  public void shouldDiscardChangesAfterSavePoint() throws Exception {
+    // given
+    final ZeebeDbTransaction transaction = dbContext.getCurrentTransaction();
+    transaction.run(() -> put(1));
+    transaction.setSavePoint();
+    transaction.run(() -> put(2));
+
+    // when
+    transaction.rollbackToSavePoint();
+    transaction.commit();
+
+    // then
+    assertThat(appliedChanges).containsExactly(1L);
+  }
+
+  private void put(long change) {
+    changes.add(change);
+    key.wrapLong(change);
+    value.wrapLong(change);
+    columnFamily.put(key, value);
+  }
+}
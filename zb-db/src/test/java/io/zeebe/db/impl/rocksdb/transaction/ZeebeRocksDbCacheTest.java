@@ -0,0 +1,235 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.db.impl.rocksdb.transaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.db.ColumnFamily;
+import io.zeebe.db.DbContext;
+import io.zeebe.db.ZeebeDb;
+import io.zeebe.db.ZeebeDbFactory;
+import io.zeebe.db.ZeebeDbTransaction;
+import io.zeebe.db.impl.DbLong;
+import io.zeebe.db.impl.rocksdb.ColumnFamilyConfiguration;
+import io.zeebe.db.impl.rocksdb.RocksDbConfiguration;
+import io.zeebe.db.impl.rocksdb.ZeebeRocksDbFactory;
+import java.io.File;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ZeebeRocksDbCacheTest {
+
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private ZeebeDb<ColumnFamilies> zeebeDb;
+  private DbContext dbContext;
+  private ColumnFamily<DbLong, DbLong> columnFamily;
+  private DbLong key;
+  private DbLong value;
+
+  private enum ColumnFamilies {
+    DEFAULT, // rocksDB needs a default column family
+    CACHED
+  }
+
+  @Before
+  public void setup() throws Exception {
+    final RocksDbConfiguration configuration =
+        new RocksDbConfiguration()
+            .setColumnFamilyConfiguration(
+                ColumnFamilies.CACHED.name(), new ColumnFamilyConfiguration().setCacheSize(1024));
+    final ZeebeDbFactory<ColumnFamilies> dbFactory =
+        ZeebeRocksDbFactory.newFactory(ColumnFamilies.class, configuration);
+
+    final File pathName = temporaryFolder.newFolder();
+    zeebeDb = dbFactory.createDb(pathName);
+    dbContext = zeebeDb.createContext();
+
+    key = new DbLong();
+    value = new DbLong();
+    columnFamily = zeebeDb.createColumnFamily(ColumnFamilies.CACHED, dbContext, key, value);
+  }
+
+  @Test
+  public void shouldReadCachedValueAfterUpdate() {
+    // given
+    put(1, 10);
+    assertThat(get(1)).isEqualTo(10);
+
+    // when
+    put(1, 11);
+
+    // then
+    assertThat(get(1)).isEqualTo(11);
+  }
+
+  @Test
+  public void shouldNotFindDeletedValue() {
+    // given
+    put(1, 10);
+    assertThat(get(1)).isEqualTo(10);
+
+    // when
+    key.wrapLong(1);
+    columnFamily.delete(key);
+
+    // then
+    assertThat(get(1)).isEqualTo(-1);
+    assertThat(columnFamily.exists(key)).isFalse();
+  }
+
+  @Test
+  public void shouldSeeUncommittedValueInTransaction() throws Exception {
+    // given
+    put(1, 10);
+    assertThat(get(1)).isEqualTo(10);
+
+    // when
+    final ZeebeDbTransaction transaction = dbContext.getCurrentTransaction();
+    transaction.run(
+        () -> {
+          put(1, 11);
+
+          // then
+          assertThat(get(1)).isEqualTo(11);
+        });
+    transaction.commit();
+
+    assertThat(get(1)).isEqualTo(11);
+  }
+
+  @Test
+  public void shouldNotCacheRolledBackValue() throws Exception {
+    // given
+    put(1, 10);
+    assertThat(get(1)).isEqualTo(10);
+
+    // when
+    final ZeebeDbTransaction transaction = dbContext.getCurrentTransaction();
+    transaction.run(
+        () -> {
+          put(1, 11);
+          assertThat(get(1)).isEqualTo(11);
+        });
+    transaction.rollback();
+
+    // then
+    assertThat(get(1)).isEqualTo(10);
+  }
+
+  @Test
+  public void shouldNotCacheValueRolledBackToSavePoint() throws Exception {
+    // given
+    put(1, 10);
+    assertThat(get(1)).isEqualTo(10);
+
+    // when
+    final ZeebeDbTransaction transaction = dbContext.getCurrentTransaction();
+    transaction.run(
+        () -> {
+          put(2, 20);
+          transaction.setSavePoint();
+          put(1, 11);
+          transaction.rollbackToSavePoint();
+
+          assertThat(get(1)).isEqualTo(10);
+        });
+    transaction.commit();
+
+    // then
+    assertThat(get(1)).isEqualTo(10);
+    assertThat(get(2)).isEqualTo(20);
+  }
+
+  @Test
+  public void shouldNotReturnValueCachedByOtherContextAfterCommit() throws Exception {
+    // given
+    put(1, 10);
+
+    final DbContext otherContext = zeebeDb.createContext();
+    final DbLong otherKey = new DbLong();
+    final DbLong otherValue = new DbLong();
+    final ColumnFamily<DbLong, DbLong> otherColumnFamily =
+        zeebeDb.createColumnFamily(ColumnFamilies.CACHED, otherContext, otherKey, otherValue);
+    otherKey.wrapLong(1);
+
+    // when
+    final ZeebeDbTransaction transaction = dbContext.getCurrentTransaction();
+    transaction.run(
+        () -> {
+          put(1, 11);
+
+          // the other context doesn't see the uncommitted value
+          assertThat(otherColumnFamily.get(otherKey).getValue()).isEqualTo(10);
+        });
+    transaction.commit();
+
+    // then
+    assertThat(otherColumnFamily.get(otherKey).getValue()).isEqualTo(11);
+  }
+
+  @Test
+  public void shouldEvictLeastRecentlyUsedEntries() {
+    // given
+    final ColumnFamilyCache cache = new ColumnFamilyCache(30);
+    final byte[] value = new byte[5];
+
+    cache.put(new byte[] {1}, 1, value);
+    cache.put(new byte[] {2}, 1, value);
+    cache.put(new byte[] {3}, 1, value);
+    cache.put(new byte[] {4}, 1, value);
+    cache.put(new byte[] {5}, 1, value);
+    assertThat(cache.getSize()).isEqualTo(30);
+
+    // when
+    cache.get(new byte[] {1}, 1);
+    cache.put(new byte[] {6}, 1, value);
+
+    // then
+    assertThat(cache.getSize()).isEqualTo(30);
+    assertThat(cache.getEntryCount()).isEqualTo(5);
+    assertThat(cache.get(new byte[] {1}, 1)).isSameAs(value);
+    assertThat(cache.get(new byte[] {2}, 1)).isNull();
+    assertThat(cache.get(new byte[] {6}, 1)).isSameAs(value);
+  }
+
+  @Test
+  public void shouldNotCacheEntryLargerThanCache() {
+    // given
+    final ColumnFamilyCache cache = new ColumnFamilyCache(10);
+
+    // when
+    cache.put(new byte[] {1}, 1, new byte[10]);
+
+    // then
+    assertThat(cache.getEntryCount()).isEqualTo(0);
+    assertThat(cache.getSize()).isEqualTo(0);
+  }
+
+  private void put(long k, long v) {
+    key.wrapLong(k);
+    value.wrapLong(v);
+    columnFamily.put(key, value);
+  }
+
+  private long get(long k) {
+    key.wrapLong(k);
+    final DbLong result = columnFamily.get(key);
+    return result == null ? -1 : result.getValue();
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.db.impl.rocksdb.transaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.db.ColumnFamily;
+import io.zeebe.db.DbContext;
+import io.zeebe.db.ZeebeDb;
+import io.zeebe.db.ZeebeDbFactory;
+import io.zeebe.db.impl.DbCompositeKey;
+import io.zeebe.db.impl.DbLong;
+import io.zeebe.db.impl.DbString;
+import io.zeebe.db.impl.rocksdb.ColumnFamilyConfiguration;
+import io.zeebe.db.impl.rocksdb.RocksDbConfiguration;
+import io.zeebe.db.impl.rocksdb.ZeebeRocksDbFactory;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ZeebeRocksDbPrefixExtractorTest {
+
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private ZeebeDb<ColumnFamilies> zeebeDb;
+  private ColumnFamily<DbCompositeKey<DbString, DbLong>, DbLong> columnFamily;
+  private DbString firstKey;
+  private DbLong secondKey;
+  private DbCompositeKey<DbString, DbLong> compositeKey;
+  private DbLong value;
+
+  private enum ColumnFamilies {
+    DEFAULT, // rocksDB needs a default column family
+    PREFIXED
+  }
+
+  @Before
+  public void setup() throws Exception {
+    final RocksDbConfiguration configuration =
+        new RocksDbConfiguration()
+            .setColumnFamilyConfiguration(
+                ColumnFamilies.PREFIXED.name(),
+                new ColumnFamilyConfiguration().setFixedPrefixLength(8));
+    final ZeebeDbFactory<ColumnFamilies> dbFactory =
+        ZeebeRocksDbFactory.newFactory(ColumnFamilies.class, configuration);
+
+    final File pathName = temporaryFolder.newFolder();
+    zeebeDb = dbFactory.createDb(pathName);
+    final DbContext dbContext = zeebeDb.createContext();
+
+    firstKey = new DbString();
+    secondKey = new DbLong();
+    compositeKey = new DbCompositeKey<>(firstKey, secondKey);
+    value = new DbLong();
+    columnFamily =
+        zeebeDb.createColumnFamily(ColumnFamilies.PREFIXED, dbContext, compositeKey, value);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    zeebeDb.close();
+  }
+
+  @Test
+  public void shouldIterateOverPrefixShorterThanPrefixExtractor() {
+    // given
+    put("a", 1L, 1);
+    put("a", Long.MAX_VALUE, 2);
+    put("b", 1L, 3);
+
+    // when
+    final List<Long> values = new ArrayList<>();
+    firstKey.wrapString("a");
+    columnFamily.whileEqualPrefix(
+        firstKey,
+        (key, prefixedValue) -> {
+          values.add(prefixedValue.getValue());
+        });
+
+    // then
+    assertThat(values).containsExactly(1L, 2L);
+  }
+
+  @Test
+  public void shouldIterateOverPrefixLongerThanPrefixExtractor() {
+    // given
+    put("abcdefgh", 1L, 1);
+    put("abcdefgh", Long.MAX_VALUE, 2);
+    put("abcdefgi", 1L, 3);
+
+    // when
+    final List<Long> values = new ArrayList<>();
+    firstKey.wrapString("abcdefgh");
+    columnFamily.whileEqualPrefix(
+        firstKey,
+        (key, prefixedValue) -> {
+          values.add(prefixedValue.getValue());
+        });
+
+    // then
+    assertThat(values).containsExactly(1L, 2L);
+  }
+
+  private void put(String first, long second, long newValue) {
+    firstKey.wrapString(first);
+    secondKey.wrapLong(second);
+    value.wrapLong(newValue);
+    columnFamily.put(compositeKey, value);
+  }
+}